@@ -0,0 +1,152 @@
+package pt.up.fe.comp2025.benchmark;
+
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ollir.OllirResult;
+import pt.up.fe.comp.jmm.parser.JmmParserResult;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.analysis.JmmAnalysisImpl;
+import pt.up.fe.comp2025.driver.CompilerPipeline;
+import pt.up.fe.comp2025.generator.GeneratorOptions;
+import pt.up.fe.comp2025.generator.ProgramGenerator;
+import pt.up.fe.comp2025.optimization.core.OllirGenerator;
+import pt.up.fe.comp2025.parser.JmmParserImpl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Sources the benchmarks compile, and helpers that run the stages preceding the one being measured.
+ * <p>
+ * The 'corpus' workload holds every '.jmm' file under the test folder (or the folder given with the 'jmm.corpus'
+ * system property) that compiles without errors, so that every stage has valid input.
+ * <p>
+ * The 'generated-&lt;size&gt;' workloads hold programs built by {@link ProgramGenerator} with its default shape, adding
+ * up to the given number of lines ('generated-1k', 'generated-250k', 'generated-1m', ...), to see how each stage
+ * scales with the size of its input.
+ */
+public class BenchmarkCorpus {
+
+    public static final String CORPUS = "corpus";
+    public static final String GENERATED_1K = "generated-1k";
+
+    private static final String GENERATED_PREFIX = "generated-";
+
+    /**
+     * Constant propagation revisits the branches of nested ifs once per enclosing if, so its cost grows exponentially
+     * with the nesting depth (a chain of six else-ifs takes minutes). Deeper sources are left out of the AST optimizer
+     * benchmark, otherwise a single operation would not finish.
+     */
+    public static final int MAX_OPTIMIZER_IF_NESTING = 4;
+
+    private static final String DEFAULT_CORPUS_FOLDER = "test/pt/up/fe/comp";
+
+    /**
+     * Loads the sources of a workload.
+     *
+     * @param workload The name of the workload, see {@link #CORPUS} and {@link #GENERATED_1K}
+     */
+    public static List<String> load(String workload) {
+        if (workload.equals(CORPUS)) {
+            return loadCorpus(Path.of(System.getProperty("jmm.corpus", DEFAULT_CORPUS_FOLDER)));
+        }
+
+        if (workload.startsWith(GENERATED_PREFIX)) {
+            return new ProgramGenerator(new GeneratorOptions()).generateLines(parseLines(workload));
+        }
+
+        throw new IllegalArgumentException("Unknown workload '" + workload + "'");
+    }
+
+    private static long parseLines(String workload) {
+        String size = workload.substring(GENERATED_PREFIX.length()).toLowerCase();
+
+        long multiplier = 1;
+        if (size.endsWith("k")) {
+            multiplier = 1_000;
+        } else if (size.endsWith("m")) {
+            multiplier = 1_000_000;
+        }
+        if (multiplier > 1) {
+            size = size.substring(0, size.length() - 1);
+        }
+
+        try {
+            return Long.parseLong(size) * multiplier;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unknown workload '" + workload + "', expected a size such as '"
+                    + GENERATED_1K + "'", e);
+        }
+    }
+
+    private static List<String> loadCorpus(Path folder) {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(folder)) {
+            files = paths.filter(path -> path.toString().endsWith(".jmm")).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list benchmark corpus '" + folder.toAbsolutePath() + "'", e);
+        }
+
+        // Many test inputs are meant to fail, keep only the ones that go through every stage
+        CompilerPipeline pipeline = new CompilerPipeline();
+        List<String> sources = new ArrayList<>();
+        for (Path file : files) {
+            String code = read(file);
+            if (pipeline.compile(code, config(false)).isSuccess()) {
+                sources.add(code);
+            }
+        }
+
+        if (sources.isEmpty()) {
+            throw new IllegalStateException("No compilable '.jmm' file in '" + folder.toAbsolutePath() + "'");
+        }
+
+        return sources;
+    }
+
+    private static String read(Path file) {
+        try {
+            return Files.readString(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return The deepest nesting of if statements in the given AST
+     */
+    public static int ifNesting(JmmNode node) {
+        int deepest = 0;
+        for (JmmNode child : node.getChildren()) {
+            deepest = Math.max(deepest, ifNesting(child));
+        }
+
+        return node.getKind().equals("IfStmt") ? deepest + 1 : deepest;
+    }
+
+    public static Map<String, String> config(boolean optimize) {
+        Map<String, String> config = CompilerConfig.getDefault();
+        config.put(ConfigOptions.getOptimize(), Boolean.toString(optimize));
+        return config;
+    }
+
+    public static JmmParserResult parse(String code, Map<String, String> config) {
+        return new JmmParserImpl().parse(code, config);
+    }
+
+    public static JmmSemanticsResult analyze(String code, Map<String, String> config) {
+        return new JmmAnalysisImpl().semanticAnalysis(parse(code, config));
+    }
+
+    public static OllirResult toOllir(String code, Map<String, String> config) {
+        return new OllirGenerator().generateOllir(analyze(code, config));
+    }
+}
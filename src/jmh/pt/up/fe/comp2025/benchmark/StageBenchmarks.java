@@ -0,0 +1,201 @@
+package pt.up.fe.comp2025.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.specs.comp.ollir.ClassUnit;
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp.jmm.ollir.OllirResult;
+import pt.up.fe.comp.jmm.parser.JmmParserResult;
+import pt.up.fe.comp2025.analysis.JmmAnalysisImpl;
+import pt.up.fe.comp2025.backend.JasminGenerator;
+import pt.up.fe.comp2025.optimization.core.AstOptimizer;
+import pt.up.fe.comp2025.optimization.core.OllirGenerator;
+import pt.up.fe.comp2025.optimization.register.RegisterAllocator;
+import pt.up.fe.comp2025.parser.JmmParserImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of each compiler stage. One operation runs the stage over every source of the workload.
+ * <p>
+ * Stages that change their input in place (the AST optimizer rewrites the AST, register allocation rewrites the
+ * variable tables) get fresh input before each operation, built by the preceding stages outside of the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StageBenchmarks {
+
+    @State(Scope.Benchmark)
+    public static class Sources {
+
+        // Larger generated workloads are selected with '-p workload=generated-100k'. The AST optimizer is slow enough on
+        // generated code (close to a minute per class) that they are not run by default
+        @Param({BenchmarkCorpus.CORPUS, BenchmarkCorpus.GENERATED_1K})
+        public String workload;
+
+        List<String> codes;
+
+        @Setup(Level.Trial)
+        public void load() {
+            codes = BenchmarkCorpus.load(workload);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ParsedSources {
+
+        List<JmmParserResult> parserResults;
+
+        @Setup(Level.Invocation)
+        public void parse(Sources sources) {
+            Map<String, String> config = BenchmarkCorpus.config(false);
+
+            parserResults = new ArrayList<>();
+            for (String code : sources.codes) {
+                parserResults.add(BenchmarkCorpus.parse(code, config));
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class AnalyzedSources {
+
+        List<JmmSemanticsResult> semanticsResults;
+
+        @Setup(Level.Invocation)
+        public void analyze(Sources sources) {
+            semanticsResults = analyzeAll(sources, false);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class AnalyzedOptimizedSources {
+
+        List<JmmSemanticsResult> semanticsResults;
+
+        @Setup(Level.Invocation)
+        public void analyze(Sources sources) {
+            semanticsResults = analyzeAll(sources, true);
+            semanticsResults.removeIf(result ->
+                    BenchmarkCorpus.ifNesting(result.getRootNode()) > BenchmarkCorpus.MAX_OPTIMIZER_IF_NESTING);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OllirClasses {
+
+        List<ClassUnit> classes;
+
+        @Setup(Level.Invocation)
+        public void generate(OllirSources ollirSources) {
+            classes = new ArrayList<>();
+            for (String ollirCode : ollirSources.ollirCodes) {
+                ClassUnit ollirClass = new OllirResult(ollirCode, BenchmarkCorpus.config(false)).getOllirClass();
+                classes.add(ollirClass);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class OllirSources {
+
+        List<String> ollirCodes;
+
+        @Setup(Level.Trial)
+        public void generate(Sources sources) {
+            Map<String, String> config = BenchmarkCorpus.config(false);
+
+            ollirCodes = new ArrayList<>();
+            for (String code : sources.codes) {
+                ollirCodes.add(BenchmarkCorpus.toOllir(code, config).getOllirCode());
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OllirResults {
+
+        List<OllirResult> ollirResults;
+
+        @Setup(Level.Invocation)
+        public void parse(OllirSources ollirSources) {
+            ollirResults = new ArrayList<>();
+            for (String ollirCode : ollirSources.ollirCodes) {
+                ollirResults.add(new OllirResult(ollirCode, BenchmarkCorpus.config(false)));
+            }
+        }
+    }
+
+    private static List<JmmSemanticsResult> analyzeAll(Sources sources, boolean optimize) {
+        Map<String, String> config = BenchmarkCorpus.config(optimize);
+
+        List<JmmSemanticsResult> results = new ArrayList<>();
+        for (String code : sources.codes) {
+            results.add(BenchmarkCorpus.analyze(code, config));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public void parse(Sources sources, Blackhole blackhole) {
+        Map<String, String> config = BenchmarkCorpus.config(false);
+
+        for (String code : sources.codes) {
+            blackhole.consume(new JmmParserImpl().parse(code, config));
+        }
+    }
+
+    @Benchmark
+    public void semanticAnalysis(ParsedSources parsed, Blackhole blackhole) {
+        for (JmmParserResult parserResult : parsed.parserResults) {
+            blackhole.consume(new JmmAnalysisImpl().semanticAnalysis(parserResult));
+        }
+    }
+
+    @Benchmark
+    public void astOptimizer(AnalyzedOptimizedSources analyzed, Blackhole blackhole) {
+        for (JmmSemanticsResult semanticsResult : analyzed.semanticsResults) {
+            blackhole.consume(new AstOptimizer(semanticsResult).optimize());
+        }
+    }
+
+    @Benchmark
+    public void ollirGenerator(AnalyzedSources analyzed, Blackhole blackhole) {
+        for (JmmSemanticsResult semanticsResult : analyzed.semanticsResults) {
+            blackhole.consume(new OllirGenerator().generateOllir(semanticsResult));
+        }
+    }
+
+    @Benchmark
+    public void registerAllocator(OllirClasses ollir, Blackhole blackhole) {
+        for (ClassUnit ollirClass : ollir.classes) {
+            RegisterAllocator allocator = new RegisterAllocator(ollirClass, 0);
+            allocator.allocate();
+            blackhole.consume(allocator);
+        }
+    }
+
+    @Benchmark
+    public void jasminGenerator(OllirResults ollir, Blackhole blackhole) {
+        for (OllirResult ollirResult : ollir.ollirResults) {
+            blackhole.consume(new JasminGenerator(ollirResult).build());
+        }
+    }
+}
@@ -1,15 +1,41 @@
 package pt.up.fe.comp2025;
 
+import pt.up.fe.comp2025.logging.LogLevel;
+import pt.up.fe.comp2025.optimization.register.AllocationStrategy;
+import pt.up.fe.comp2025.optimization.register.RegisterAllocator;
+
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class CompilerConfig {
 
     private static final String INPUT_FILE = "inputFile";
     private static final String OPTIMIZE = "optimize";
     private static final String REGISTER = "registerAllocation";
+    private static final String ALLOCATOR = "allocator";
+    private static final String ALLOCATION_BUDGET = "allocationBudget";
+    private static final String EXACT_COLORING_NODES = "exactColoringNodes";
+    private static final String BATCH_INPUT = "batchInput";
+    private static final String WORKERS = "workers";
+    private static final String DAEMON = "daemon";
+    private static final String CACHE_DIRECTORY = "cacheDirectory";
+    private static final String CACHE_SIZE = "cacheSize";
+    private static final String METRICS = "metrics";
+    private static final String LOG_LEVEL = "logLevel";
+
+    private static final long DEFAULT_CACHE_SIZE_MB = 256;
+    private static final long DEFAULT_ALLOCATION_BUDGET_MS = 250;
+    private static final LogLevel DEFAULT_LOG_LEVEL = LogLevel.WARN;
 
 
     static Map<String, String> shortToLong = new HashMap<>();
@@ -18,6 +44,16 @@ public class CompilerConfig {
         shortToLong.put("i", CompilerConfig.INPUT_FILE);
         shortToLong.put("o", CompilerConfig.OPTIMIZE);
         shortToLong.put("r", CompilerConfig.REGISTER);
+        shortToLong.put("a", CompilerConfig.ALLOCATOR);
+        shortToLong.put("t", CompilerConfig.ALLOCATION_BUDGET);
+        shortToLong.put("x", CompilerConfig.EXACT_COLORING_NODES);
+        shortToLong.put("b", CompilerConfig.BATCH_INPUT);
+        shortToLong.put("j", CompilerConfig.WORKERS);
+        shortToLong.put("s", CompilerConfig.DAEMON);
+        shortToLong.put("c", CompilerConfig.CACHE_DIRECTORY);
+        shortToLong.put("z", CompilerConfig.CACHE_SIZE);
+        shortToLong.put("m", CompilerConfig.METRICS);
+        shortToLong.put("l", CompilerConfig.LOG_LEVEL);
     }
 
 
@@ -40,6 +76,134 @@ public class CompilerConfig {
         return Integer.parseInt(config.getOrDefault(REGISTER, "-1"));
     }
 
+    /**
+     * Strategy used to minimize registers with '-r=0', given with '-a' (see {@link AllocationStrategy}).
+     */
+    public static AllocationStrategy getAllocationStrategy(Map<String, String> config) {
+        return AllocationStrategy.fromName(config.getOrDefault(ALLOCATOR, AllocationStrategy.AUTO.getOptionName()));
+    }
+
+    /**
+     * Time the register allocation of each method may take with '-r=0' before falling back to binpacking, given with
+     * '-t' in milliseconds.
+     */
+    public static long getAllocationBudgetMillis(Map<String, String> config) {
+        var budget = config.get(ALLOCATION_BUDGET);
+        return budget == null ? DEFAULT_ALLOCATION_BUDGET_MS : Long.parseLong(budget);
+    }
+
+    /**
+     * Largest number of variables, besides 'this' and the parameters, whose interference graph is colored exactly with
+     * '-r=0', given with '-x'. Larger graphs are colored with heuristics.
+     */
+    public static int getExactColoringNodes(Map<String, String> config) {
+        var nodes = config.get(EXACT_COLORING_NODES);
+        return nodes == null ? RegisterAllocator.EXACT_COLORING_NODES : Integer.parseInt(nodes);
+    }
+
+
+    /**
+     * Returns the sources to compile in batch mode, in a stable order.
+     * <p>
+     * The '-b' option accepts either a directory, which is searched recursively for '.jmm' files,
+     * or a list of files separated by ','.
+     */
+    public static List<File> getBatchInputs(Map<String, String> config) {
+        var batchInput = config.get(BATCH_INPUT);
+
+        if (batchInput == null) {
+            return List.of();
+        }
+
+        var inputs = new ArrayList<File>();
+        for (String entry : batchInput.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+
+            var path = Path.of(entry.trim());
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.walk(path)) {
+                    inputs.addAll(files.filter(Files::isRegularFile)
+                            .filter(file -> file.toString().endsWith(".jmm"))
+                            .sorted()
+                            .map(Path::toFile)
+                            .collect(Collectors.toList()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not list batch input directory '" + path + "'", e);
+                }
+            } else {
+                inputs.add(path.toFile());
+            }
+        }
+
+        return inputs;
+    }
+
+    public static boolean isBatch(Map<String, String> config) {
+        return config.containsKey(BATCH_INPUT);
+    }
+
+    /**
+     * Number of compilations that run at the same time in batch mode, defaults to the number of available processors.
+     */
+    public static int getWorkers(Map<String, String> config) {
+        var workers = config.get(WORKERS);
+
+        if (workers == null) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+
+        return Integer.parseInt(workers);
+    }
+
+    /**
+     * Address the compile daemon listens on, given with '-s'. A number is a loopback TCP port, anything else is the
+     * path of a Unix-domain socket.
+     */
+    public static Optional<String> getDaemonAddress(Map<String, String> config) {
+        return Optional.ofNullable(config.get(DAEMON));
+    }
+
+    /**
+     * Directory of the compilation cache given with '-c', compilations are not cached without it.
+     */
+    public static Optional<Path> getCacheDirectory(Map<String, String> config) {
+        return Optional.ofNullable(config.get(CACHE_DIRECTORY)).map(Path::of);
+    }
+
+    /**
+     * Size bound of the compilation cache, given with '-z' in megabytes.
+     */
+    public static long getCacheMaxBytes(Map<String, String> config) {
+        var cacheSize = config.get(CACHE_SIZE);
+        long megabytes = cacheSize == null ? DEFAULT_CACHE_SIZE_MB : Long.parseLong(cacheSize);
+
+        return megabytes * 1024 * 1024;
+    }
+
+    /**
+     * Format of the per-stage metrics requested with '-m', either 'json' or 'table'. No metrics are collected without it.
+     */
+    public static Optional<String> getMetricsFormat(Map<String, String> config) {
+        return Optional.ofNullable(config.get(METRICS))
+                // A bare '-m' asks for the table
+                .map(format -> format.equals("true") ? "table" : format);
+    }
+
+    /**
+     * Verbosity of the diagnostics written to stderr, given with '-l' (off, error, warn, info, debug or trace).
+     */
+    public static LogLevel getLogLevel(Map<String, String> config) {
+        var logLevel = config.get(LOG_LEVEL);
+
+        if (logLevel == null) {
+            return DEFAULT_LOG_LEVEL;
+        }
+
+        // A bare '-l' asks for the debug messages
+        return logLevel.equals("true") ? LogLevel.DEBUG : LogLevel.fromName(logLevel);
+    }
 
     public static Map<String, String> getDefault() {
 
@@ -61,6 +225,54 @@ public class CompilerConfig {
         return shortToLong.containsKey(shortOpt);
     }
 
+    /**
+     * Checks the options that change how a source is compiled ('-m', '-r', '-a', '-t' and '-x'), which the compile
+     * daemon also accepts in each request.
+     *
+     * @throws RuntimeException Naming the first option with an invalid value
+     */
+    public static void validateCompileOptions(Map<String, String> config) {
+        var metricsFormat = getMetricsFormat(config);
+        if (metricsFormat.isPresent() && !metricsFormat.get().equals("json") && !metricsFormat.get().equals("table")) {
+            throw new RuntimeException("Option '-m' expects 'json' or 'table', got '" + metricsFormat.get() + "'");
+        }
+
+        try {
+            getRegisterAllocation(config);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Option '-r' expects a number of registers, got '" + config.get(REGISTER) + "'");
+        }
+
+        try {
+            getAllocationStrategy(config);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Option '-a' expects one of " + AllocationStrategy.optionNames() + ", got '"
+                    + config.get(ALLOCATOR) + "'");
+        }
+
+        long budget;
+        try {
+            budget = getAllocationBudgetMillis(config);
+        } catch (NumberFormatException e) {
+            budget = 0;
+        }
+        if (budget < 1) {
+            throw new RuntimeException("Option '-t' expects a positive time in milliseconds, got '"
+                    + config.get(ALLOCATION_BUDGET) + "'");
+        }
+
+        int exactNodes;
+        try {
+            exactNodes = getExactColoringNodes(config);
+        } catch (NumberFormatException e) {
+            exactNodes = -1;
+        }
+        if (exactNodes < 0) {
+            throw new RuntimeException("Option '-x' expects a number of variables, got '"
+                    + config.get(EXACT_COLORING_NODES) + "'");
+        }
+    }
+
     public static Map<String, String> parseArgs(String[] args) {
 
         // default options for config
@@ -89,9 +301,56 @@ public class CompilerConfig {
             config.put(getLongOpt(shortOption), value);
         }
 
+        if (config.containsKey(CACHE_DIRECTORY) && "true".equals(config.get(CACHE_DIRECTORY))) {
+            throw new RuntimeException("Option '-c' expects a directory, use '-c=<CACHE_DIR>'");
+        }
+
+        if (getCacheMaxBytes(config) < 1) {
+            throw new RuntimeException("Option '-z' expects a positive size in megabytes");
+        }
+
+        try {
+            getLogLevel(config);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Option '-l' expects one of off, error, warn, info, debug or trace, got '"
+                    + config.get(LOG_LEVEL) + "'");
+        }
+
+        validateCompileOptions(config);
+
+        if (getDaemonAddress(config).isPresent()) {
+            // Sources arrive through the socket, '-o' and '-r' only provide the defaults for each request
+            getOptimize(config);
+            getRegisterAllocation(config);
+
+            return config;
+        }
+
+        if (isBatch(config)) {
+            var inputs = getBatchInputs(config);
+            if (inputs.isEmpty()) {
+                throw new RuntimeException("Option '-b' did not match any '.jmm' file");
+            }
+
+            for (var input : inputs) {
+                if (!input.isFile()) {
+                    throw new RuntimeException("Could not find batch input file '" + input + "'");
+                }
+            }
+
+            if (getWorkers(config) < 1) {
+                throw new RuntimeException("Option '-j' expects a positive number of workers");
+            }
+
+            getOptimize(config);
+            getRegisterAllocation(config);
+
+            return config;
+        }
+
         if (!config.containsKey(INPUT_FILE)) {
 
-            throw new RuntimeException("Expected an input file, use '-i=<PATH_TO_FILE>'");
+            throw new RuntimeException("Expected an input file, use '-i=<PATH_TO_FILE>' or '-b=<DIR_OR_FILES>'");
         }
 
         // make sure we save the absolute path of the input file
@@ -1,5 +1,7 @@
 package pt.up.fe.comp2025;
 
+import pt.up.fe.comp2025.optimization.register.AllocationStrategy;
+
 import java.io.File;
 import java.util.Map;
 import java.util.Optional;
@@ -10,7 +12,11 @@ public class ConfigOptions {
     private static final String INPUT_FILE = "inputFile";
     private static final String OPTIMIZE = "optimize";
     private static final String REGISTER = "registerAllocation";
+    private static final String ALLOCATOR = "allocator";
+    private static final String ALLOCATION_BUDGET = "allocationBudget";
+    private static final String EXACT_COLORING_NODES = "exactColoringNodes";
     private static final String EXTRA = "extra";
+    private static final String METRICS = "metrics";
 
     // These methods should be on CompilerConfig, but to avoid rewriting a file
     // that is in the src folder, this new class was added
@@ -27,10 +33,26 @@ public class ConfigOptions {
         return REGISTER;
     }
 
+    public static String getAllocator() {
+        return ALLOCATOR;
+    }
+
+    public static String getAllocationBudget() {
+        return ALLOCATION_BUDGET;
+    }
+
+    public static String getExactColoringNodes() {
+        return EXACT_COLORING_NODES;
+    }
+
     public static String getExtra() {
         return EXTRA;
     }
 
+    public static String getMetrics() {
+        return METRICS;
+    }
+
     public static Optional<File> getInputFile(Map<String, String> config) {
         var inputFile = config.get(INPUT_FILE);
 
@@ -51,6 +73,10 @@ public class ConfigOptions {
         return Integer.parseInt(config.getOrDefault(REGISTER, "-1"));
     }
 
+    public static AllocationStrategy getAllocationStrategy(Map<String, String> config) {
+        return AllocationStrategy.fromName(config.getOrDefault(ALLOCATOR, AllocationStrategy.AUTO.getOptionName()));
+    }
+
     public static boolean getExtra(Map<String, String> config) {
         return Boolean.parseBoolean(config.getOrDefault(EXTRA, "false"));
     }
@@ -1,17 +1,18 @@
 package pt.up.fe.comp2025;
 
 import pt.up.fe.comp.TestUtils;
-import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
-import pt.up.fe.comp.jmm.jasmin.JasminResult;
-import pt.up.fe.comp.jmm.ollir.OllirResult;
-import pt.up.fe.comp.jmm.parser.JmmParserResult;
-import pt.up.fe.comp2025.analysis.JmmAnalysisImpl;
-import pt.up.fe.comp2025.backend.JasminBackendImpl;
-import pt.up.fe.comp2025.optimization.JmmOptimizationImpl;
-import pt.up.fe.comp2025.parser.JmmParserImpl;
+import pt.up.fe.comp2025.driver.BatchCompiler;
+import pt.up.fe.comp2025.driver.CompilationCache;
+import pt.up.fe.comp2025.driver.CompilationResult;
+import pt.up.fe.comp2025.driver.CompileDaemon;
+import pt.up.fe.comp2025.driver.CompilerPipeline;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.metrics.CompilerMetrics;
 import pt.up.fe.specs.util.SpecsIo;
 import pt.up.fe.specs.util.SpecsSystem;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Map;
 
 public class Launcher {
@@ -20,6 +21,18 @@ public class Launcher {
         SpecsSystem.programStandardInit();
 
         Map<String, String> config = CompilerConfig.parseArgs(args);
+        Log.setLevel(CompilerConfig.getLogLevel(config));
+
+        var daemonAddress = CompilerConfig.getDaemonAddress(config);
+        if (daemonAddress.isPresent()) {
+            runDaemon(daemonAddress.get(), config);
+            return;
+        }
+
+        if (CompilerConfig.isBatch(config)) {
+            runBatch(config);
+            return;
+        }
 
         var inputFile = CompilerConfig.getInputFile(config).orElseThrow();
         if (!inputFile.isFile()) {
@@ -27,43 +40,57 @@ public class Launcher {
         }
         String code = SpecsIo.read(inputFile);
 
-        // Parsing stage
-        JmmParserImpl parser = new JmmParserImpl();
-        JmmParserResult parserResult = parser.parse(code, config);
-        TestUtils.noErrors(parserResult.getReports());
-
-        // Print AST
-        //System.out.println("AST:");
-        //System.out.println(parserResult.getRootNode().toTree());
-
-
-        // Semantic Analysis stage
-        JmmAnalysisImpl sema = new JmmAnalysisImpl();
-        JmmSemanticsResult semanticsResult = sema.semanticAnalysis(parserResult);
-        TestUtils.noErrors(semanticsResult.getReports());
-
+        // Parse, semantic analysis, OLLIR generation, register allocation and Jasmin generation, answered by the
+        // cache ('-c') when the source was compiled before with the same options
+        var pipeline = new CompilerPipeline(CompilationCache.fromConfig(config).orElse(null));
+        CompilationResult result = pipeline.compile(code, config);
+        TestUtils.noErrors(result.getReports());
 
-        // Optimization stage
-        JmmOptimizationImpl ollirGen = new JmmOptimizationImpl();
-
-        // Generate OLLIR code
-        OllirResult ollirResult = ollirGen.toOllir(semanticsResult);
-        TestUtils.noErrors(ollirResult.getReports());
+        var metricsFormat = CompilerConfig.getMetricsFormat(config);
+        result.getMetrics().ifPresent(metrics -> printMetrics(metrics, metricsFormat.orElseThrow()));
+    }
 
-        // Apply optimizations including register allocation
-        ollirResult = ollirGen.optimize(ollirResult);
-        TestUtils.noErrors(ollirResult.getReports());
+    /**
+     * Compiles every input given with '-b' in this JVM, using '-j' workers.
+     */
+    private static void runBatch(Map<String, String> config) {
+        var inputs = CompilerConfig.getBatchInputs(config);
+        var batchCompiler = new BatchCompiler(config, CompilerConfig.getWorkers(config));
+
+        var results = batchCompiler.compileAll(inputs);
+        System.out.print(BatchCompiler.summarize(results));
+
+        var metricsFormat = CompilerConfig.getMetricsFormat(config);
+        if (metricsFormat.isPresent()) {
+            // Totals over every file of the batch
+            var metrics = new CompilerMetrics();
+            results.forEach(result -> result.getResult().getMetrics().ifPresent(metrics::merge));
+            printMetrics(metrics, metricsFormat.get());
+        }
 
-        // Print OLLIR code
-        //System.out.println(ollirResult.getOllirCode());
+        boolean anyFailed = results.stream().anyMatch(result -> !result.getResult().isSuccess());
+        if (anyFailed) {
+            System.exit(1);
+        }
+    }
 
-        // Code generation stage
-        JasminBackendImpl jasminGen = new JasminBackendImpl();
-        JasminResult jasminResult = jasminGen.toJasmin(ollirResult);
-        TestUtils.noErrors(jasminResult.getReports());
+    private static void printMetrics(CompilerMetrics metrics, String format) {
+        if (format.equals("json")) {
+            System.out.println(metrics.toJson());
+        } else {
+            System.out.print(metrics.toTable());
+        }
+    }
 
-        // Print Jasmin code
-        //System.out.println(jasminResult.getJasminCode());
+    /**
+     * Serves compile requests on the address given with '-s' until a shutdown request arrives.
+     */
+    private static void runDaemon(String address, Map<String, String> config) {
+        try {
+            new CompileDaemon(address, config).serve();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Compile daemon failed on '" + address + "'", e);
+        }
     }
 
 }
@@ -9,6 +9,9 @@ import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.ReportType;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.passes.*;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.metrics.CompilerMetrics;
+import pt.up.fe.comp2025.metrics.StageTimer;
 import pt.up.fe.comp2025.symboltable.JmmSymbolTableBuilder;
 
 import java.util.ArrayList;
@@ -47,7 +50,10 @@ public class JmmAnalysisImpl implements JmmAnalysis {
         JmmNode rootNode = parserResult.getRootNode();
 
         var symbolTableBuilder = new JmmSymbolTableBuilder();
-        SymbolTable table = symbolTableBuilder.build(rootNode);
+        SymbolTable table;
+        try (StageTimer timer = CompilerMetrics.stage("symbol-table")) {
+            table = symbolTableBuilder.build(rootNode);
+        }
 
         List<Report> reports = symbolTableBuilder.getReports();
 
@@ -56,6 +62,12 @@ public class JmmAnalysisImpl implements JmmAnalysis {
 
     @Override
     public JmmSemanticsResult semanticAnalysis(JmmSemanticsResult semanticsResult) {
+        try (StageTimer timer = CompilerMetrics.stage("analysis")) {
+            return runPasses(semanticsResult);
+        }
+    }
+
+    private JmmSemanticsResult runPasses(JmmSemanticsResult semanticsResult) {
         var table = semanticsResult.getSymbolTable();
         var analysisVisitors = buildPasses(table);
         var rootNode = semanticsResult.getRootNode();
@@ -64,7 +76,7 @@ public class JmmAnalysisImpl implements JmmAnalysis {
         // This is a simple implementation that assumes all passes are implemented as visitors, each one making a full visit of the AST.
         // There are other implementations that reduce the number of full AST visits, this is not required for the work, but a nice challenge if you want to try.
         for (var analysisVisitor : analysisVisitors) {
-            try {
+            try (StageTimer timer = CompilerMetrics.stage(analysisVisitor.getClass().getSimpleName())) {
                 var passReports = analysisVisitor.analyze(rootNode, table);
 
                 var hasSymbolTableErrors = passReports.stream()
@@ -74,7 +86,7 @@ public class JmmAnalysisImpl implements JmmAnalysis {
 
                 // Return early in case of error report
                 if (hasSymbolTableErrors) {
-                    System.out.println("Found errors: " + reports);
+                    Log.debug(() -> "Found errors: " + reports);
                     return new JmmSemanticsResult(semanticsResult, reports);
                 }
 
@@ -85,7 +97,7 @@ public class JmmAnalysisImpl implements JmmAnalysis {
                         "Problem while executing analysis pass '" + analysisVisitor.getClass() + "'",
                         e)
                 );
-                System.out.println("Exception: " + reports);
+                Log.debug(() -> "Exception: " + reports);
             }
         }
 
@@ -9,6 +9,8 @@ import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
 import pt.up.fe.comp2025.ast.ArrayType;
 import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.logging.LogLevel;
 import pt.up.fe.comp2025.symboltable.JmmSymbolTable;
 
 import java.util.HashMap;
@@ -41,7 +43,7 @@ public class ArrayAccessCheck extends AnalysisVisitor {
     private Void visitMethodDecl(JmmNode method, SymbolTable symbolTable) {
         if (method.hasAttribute("name")) {
             currentMethod = method.get("name");
-            System.out.println("DEBUG [ArrayAccessCheck]: Entering method: " + currentMethod);
+            Log.debug(() -> "[ArrayAccessCheck]: Entering method: " + currentMethod);
         }
 
         if (symbolTable instanceof JmmSymbolTable) {
@@ -70,7 +72,7 @@ public class ArrayAccessCheck extends AnalysisVisitor {
                     if (table != null) {
                         table.registerArrayDimensions(currentMethod, varName, dimensions);
                     }
-                    System.out.println("DEBUG [ArrayAccessCheck]: Variable " + varName +
+                    Log.debug(() -> "[ArrayAccessCheck]: Variable " + varName +
                             " is array with " + dimensions + " dimensions based on syntax");
                 }
             }
@@ -117,7 +119,7 @@ public class ArrayAccessCheck extends AnalysisVisitor {
     }
 
     private Void visitNewIntArrayExpr(JmmNode node, SymbolTable symbolTable) {
-        System.out.println("DEBUG [ArrayAccessCheck]: Analyzing array creation at line " + node.getLine());
+        Log.debug(() -> "[ArrayAccessCheck]: Analyzing array creation at line " + node.getLine());
 
         int dimensions = 0;
 
@@ -135,7 +137,9 @@ public class ArrayAccessCheck extends AnalysisVisitor {
             dimensions = (node.getChildren().size() - 1) / 2;
         }
 
-        System.out.println("DEBUG [ArrayAccessCheck]: Creating array with " + dimensions + " dimensions");
+        if (Log.isEnabled(LogLevel.DEBUG)) {
+            Log.debug("[ArrayAccessCheck]: Creating array with " + dimensions + " dimensions");
+        }
 
 
         String baseType = "int";
@@ -187,8 +191,10 @@ public class ArrayAccessCheck extends AnalysisVisitor {
                 // Mantém o valor calculado
             }
         }
-        System.out.println("DEBUG [ArrayAccessCheck]: Array creation has " + dimensions +
-                " dimensions, hasMultipleDimensions=" + hasMultipleDimensions);
+        if (Log.isEnabled(LogLevel.DEBUG)) {
+            Log.debug("[ArrayAccessCheck]: Array creation has " + dimensions +
+                    " dimensions, hasMultipleDimensions=" + hasMultipleDimensions);
+        }
         return dimensions;
     }
 
@@ -210,7 +216,7 @@ public class ArrayAccessCheck extends AnalysisVisitor {
     }
 
     private Void visitArrayAccessExpr(JmmNode node, SymbolTable symbolTable) {
-        System.out.println("DEBUG [ArrayAccessCheck]: Analyzing array access at line " + node.getLine());
+        Log.debug(() -> "[ArrayAccessCheck]: Analyzing array access at line " + node.getLine());
 
         for (JmmNode child : node.getChildren()) {
             visit(child, symbolTable);
@@ -230,8 +236,8 @@ public class ArrayAccessCheck extends AnalysisVisitor {
         JmmNode arrayExpr = node.getChildren().get(0);
         JmmNode indexExpr = node.getChildren().get(1);
 
-        System.out.println("DEBUG [ArrayAccessCheck]: Array expression kind: " + arrayExpr.getKind());
-        System.out.println("DEBUG [ArrayAccessCheck]: Index expression kind: " + indexExpr.getKind());
+        Log.debug(() -> "[ArrayAccessCheck]: Array expression kind: " + arrayExpr.getKind());
+        Log.debug(() -> "[ArrayAccessCheck]: Index expression kind: " + indexExpr.getKind());
 
 
         Type indexType = this.typeUtils.getExprType(indexExpr);
@@ -259,18 +265,18 @@ public class ArrayAccessCheck extends AnalysisVisitor {
         }
 
         int dimensions = determineDimensions(arrayExpr, arrayType);
-        System.out.println("DEBUG [ArrayAccessCheck]: Array tem " + dimensions + " dimensões");
+        Log.debug(() -> "[ArrayAccessCheck]: Array tem " + dimensions + " dimensões");
 
         int remainingDimensions = Math.max(0, dimensions - 1);
 
         Type resultType;
         if (remainingDimensions > 0) {
             resultType = new ArrayType(arrayType.getName(), remainingDimensions);
-            System.out.println("DEBUG [ArrayAccessCheck]: Resultado é array com " +
+            Log.debug(() -> "[ArrayAccessCheck]: Resultado é array com " +
                     remainingDimensions + " dimensões");
         } else {
             resultType = new Type(arrayType.getName(), false);
-            System.out.println("DEBUG [ArrayAccessCheck]: Resultado é valor escalar");
+            Log.debug("[ArrayAccessCheck]: Resultado é valor escalar");
         }
 
         node.put("type", resultType.getName());
@@ -286,7 +292,7 @@ public class ArrayAccessCheck extends AnalysisVisitor {
 
         if (arrayType instanceof ArrayType) {
             int dims = ((ArrayType) arrayType).getDimensions();
-            System.out.println("DEBUG [ArrayAccessCheck]: Array dimensions from ArrayType: " + dims);
+            Log.debug(() -> "[ArrayAccessCheck]: Array dimensions from ArrayType: " + dims);
             return dims;
         }
 
@@ -298,7 +304,7 @@ public class ArrayAccessCheck extends AnalysisVisitor {
 
                 int registeredDims = table.getArrayDimensions(currentMethod, varName);
                 if (registeredDims > 0) {
-                    System.out.println("DEBUG [ArrayAccessCheck]: Array dimensions from symbol table: " +
+                    Log.debug(() -> "[ArrayAccessCheck]: Array dimensions from symbol table: " +
                             registeredDims + " for " + varName);
                     return registeredDims;
                 }
@@ -322,7 +328,7 @@ public class ArrayAccessCheck extends AnalysisVisitor {
             if (arrayExpr.hasAttribute("arrayDimensions")) {
                 try {
                     int annotatedDims = Integer.parseInt(arrayExpr.get("arrayDimensions"));
-                    System.out.println("DEBUG [ArrayAccessCheck]: Array dimensions from annotation: " + annotatedDims);
+                    Log.debug(() -> "[ArrayAccessCheck]: Array dimensions from annotation: " + annotatedDims);
                     return annotatedDims;
                 } catch (NumberFormatException ignored) {}
             }
@@ -447,7 +453,7 @@ public class ArrayAccessCheck extends AnalysisVisitor {
     }
 
     private Void visitArrayLengthExpr(JmmNode node, SymbolTable symbolTable) {
-        System.out.println("DEBUG [ArrayAccessCheck]: Checking array length access at line " + node.getLine());
+        Log.debug(() -> "[ArrayAccessCheck]: Checking array length access at line " + node.getLine());
         for (JmmNode child : node.getChildren()) {
             visit(child, symbolTable);
         }
@@ -464,7 +470,7 @@ public class ArrayAccessCheck extends AnalysisVisitor {
         JmmNode arrayExpr = node.getChildren().get(0);
         try {
             Type arrayType = this.typeUtils.getExprType(arrayExpr);
-            System.out.println("DEBUG [ArrayAccessCheck]: Array type for length: " + arrayType.getName() +
+            Log.debug(() -> "[ArrayAccessCheck]: Array type for length: " + arrayType.getName() +
                     (arrayType.isArray() ? "[]" : ""));
             int dimensions = determineArrayDimensions(arrayExpr, arrayType);
             if (dimensions <= 0) {
@@ -477,16 +483,16 @@ public class ArrayAccessCheck extends AnalysisVisitor {
                 ));
             }
         } catch (Exception e) {
-            System.out.println("DEBUG [ArrayAccessCheck]: Error checking array length: " + e.getMessage());
+            Log.debug(() -> "[ArrayAccessCheck]: Error checking array length: " + e.getMessage());
         }
         return null;
     }
 
     private Void visitArrayInitializerExpr(JmmNode node, SymbolTable symbolTable) {
-        System.out.println("DEBUG [ArrayAccessCheck]: Processing array initializer expression at line " + node.getLine());
+        Log.debug(() -> "[ArrayAccessCheck]: Processing array initializer expression at line " + node.getLine());
         int dimensions = countDimensionsInArrayInitializer(node);
         dimensionCache.put(node, dimensions);
-        System.out.println("DEBUG [ArrayAccessCheck]: Array initializer has " + dimensions + " dimensions based on structure");
+        Log.debug(() -> "[ArrayAccessCheck]: Array initializer has " + dimensions + " dimensions based on structure");
 
         JmmNode assignTarget = findAssignmentTarget(node);
         if (assignTarget != null && assignTarget.hasAttribute("name")) {
@@ -494,7 +500,7 @@ public class ArrayAccessCheck extends AnalysisVisitor {
             if (table != null) {
                 table.registerArrayDimensions(currentMethod, varName, dimensions);
             }
-            System.out.println("DEBUG [ArrayAccessCheck]: Updating variable " + varName +
+            Log.debug(() -> "[ArrayAccessCheck]: Updating variable " + varName +
                     " to have " + dimensions + " dimensions based on initializer");
         }
 
@@ -530,7 +536,7 @@ public class ArrayAccessCheck extends AnalysisVisitor {
     }
 
     private Void visitArrayInitializer(JmmNode node, SymbolTable symbolTable) {
-        System.out.println("DEBUG [ArrayAccessCheck]: Checking array initializer at line " + node.getLine());
+        Log.debug(() -> "[ArrayAccessCheck]: Checking array initializer at line " + node.getLine());
         for (JmmNode child : node.getChildren()) {
             visit(child, symbolTable);
         }
@@ -540,13 +546,15 @@ public class ArrayAccessCheck extends AnalysisVisitor {
         try {
             JmmNode firstElement = node.getChildren().get(0);
             Type firstType = this.typeUtils.getExprType(firstElement);
-            System.out.println("DEBUG [ArrayAccessCheck]: First element type: " + firstType.getName() +
+            Log.debug(() -> "[ArrayAccessCheck]: First element type: " + firstType.getName() +
                     (firstType.isArray() ? "[]" : ""));
             for (int i = 1; i < node.getChildren().size(); i++) {
                 JmmNode element = node.getChildren().get(i);
                 Type elementType = this.typeUtils.getExprType(element);
-                System.out.println("DEBUG [ArrayAccessCheck]: Element " + i + " type: " +
-                        elementType.getName() + (elementType.isArray() ? "[]" : ""));
+                if (Log.isEnabled(LogLevel.DEBUG)) {
+                    Log.debug("[ArrayAccessCheck]: Element " + i + " type: " +
+                            elementType.getName() + (elementType.isArray() ? "[]" : ""));
+                }
                 if (!elementType.getName().equals(firstType.getName()) ||
                         elementType.isArray() != firstType.isArray()) {
                     addReport(Report.newError(
@@ -564,7 +572,7 @@ public class ArrayAccessCheck extends AnalysisVisitor {
             }
             checkInitializerAssignmentCompatibility(node, firstType, symbolTable);
         } catch (Exception e) {
-            System.out.println("DEBUG [ArrayAccessCheck]: Error checking array initializer: " + e.getMessage());
+            Log.debug(() -> "[ArrayAccessCheck]: Error checking array initializer: " + e.getMessage());
         }
         return null;
     }
@@ -714,8 +722,10 @@ public class ArrayAccessCheck extends AnalysisVisitor {
                         }
                     }
 
-                    System.out.println("DEBUG [ArrayAccessCheck]: Nova expressão de array multidimensional com " +
-                            dimensions + " dimensões");
+                    if (Log.isEnabled(LogLevel.DEBUG)) {
+                        Log.debug("[ArrayAccessCheck]: Nova expressão de array multidimensional com " +
+                                dimensions + " dimensões");
+                    }
                     return dimensions;
                 }
             }
@@ -745,8 +755,10 @@ public class ArrayAccessCheck extends AnalysisVisitor {
 
             dimensions = dimensions / 2 + (dimensions % 2);
 
-            System.out.println("DEBUG [ArrayAccessCheck]: Nova expressão de array com " +
-                    dimensions + " dimensões");
+            if (Log.isEnabled(LogLevel.DEBUG)) {
+                Log.debug("[ArrayAccessCheck]: Nova expressão de array com " +
+                        dimensions + " dimensões");
+            }
             return dimensions;
         }
 
@@ -7,6 +7,7 @@ import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
 import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.logging.Log;
 
 public class ControlFlowCheck extends AnalysisVisitor {
 
@@ -24,7 +25,7 @@ public class ControlFlowCheck extends AnalysisVisitor {
     private Void visitMethodDecl(JmmNode method, SymbolTable table) {
         if (method.hasAttribute("name")) {
             currentMethod = method.get("name");
-            System.out.println("DEBUG [ControlFlowCheck]: Entering method: " + currentMethod);
+            Log.debug(() -> "[ControlFlowCheck]: Entering method: " + currentMethod);
         }
 
         for (JmmNode child : method.getChildren()) {
@@ -35,7 +36,7 @@ public class ControlFlowCheck extends AnalysisVisitor {
     }
 
     private Void visitIfStmt(JmmNode ifStmt, SymbolTable table) {
-        System.out.println("DEBUG [ControlFlowCheck]: Checking if statement at line " + ifStmt.getLine());
+        Log.debug(() -> "[ControlFlowCheck]: Checking if statement at line " + ifStmt.getLine());
 
         for (JmmNode child : ifStmt.getChildren()) {
             visit(child, table);
@@ -55,14 +56,14 @@ public class ControlFlowCheck extends AnalysisVisitor {
         }
 
         JmmNode condition = ifStmt.getChildren().get(0);
-        System.out.println("DEBUG [ControlFlowCheck]: If condition kind: " + condition.getKind());
+        Log.debug(() -> "[ControlFlowCheck]: If condition kind: " + condition.getKind());
 
         TypeUtils typeUtils = new TypeUtils(table);
         typeUtils.setCurrentMethod(currentMethod);
 
         try {
             Type conditionType = typeUtils.getExprType(condition);
-            System.out.println("DEBUG [ControlFlowCheck]: Condition type: " + conditionType.getName());
+            Log.debug(() -> "[ControlFlowCheck]: Condition type: " + conditionType.getName());
 
             if (!"boolean".equals(conditionType.getName())) {
                 String message = String.format(
@@ -77,7 +78,7 @@ public class ControlFlowCheck extends AnalysisVisitor {
                         null
                 );
                 addReport(report);
-                System.out.println("DEBUG [ControlFlowCheck]: Reported error for non-boolean condition");
+                Log.debug("[ControlFlowCheck]: Reported error for non-boolean condition");
             }
         } catch (Exception e) {
             String message = "Error evaluating condition type: " + e.getMessage();
@@ -89,14 +90,14 @@ public class ControlFlowCheck extends AnalysisVisitor {
                     null
             );
             addReport(report);
-            System.out.println("DEBUG [ControlFlowCheck]: Exception while checking condition: " + e.getMessage());
+            Log.debug(() -> "[ControlFlowCheck]: Exception while checking condition: " + e.getMessage());
         }
 
         return null;
     }
 
     private Void visitWhileStmt(JmmNode whileStmt, SymbolTable table) {
-        System.out.println("DEBUG [ControlFlowCheck]: Checking while statement at line " + whileStmt.getLine());
+        Log.debug(() -> "[ControlFlowCheck]: Checking while statement at line " + whileStmt.getLine());
 
         for (JmmNode child : whileStmt.getChildren()) {
             visit(child, table);
@@ -116,14 +117,14 @@ public class ControlFlowCheck extends AnalysisVisitor {
         }
 
         JmmNode condition = whileStmt.getChildren().get(0);
-        System.out.println("DEBUG [ControlFlowCheck]: While condition kind: " + condition.getKind());
+        Log.debug(() -> "[ControlFlowCheck]: While condition kind: " + condition.getKind());
 
         TypeUtils typeUtils = new TypeUtils(table);
         typeUtils.setCurrentMethod(currentMethod);
 
         try {
             Type conditionType = typeUtils.getExprType(condition);
-            System.out.println("DEBUG [ControlFlowCheck]: Condition type: " + conditionType.getName());
+            Log.debug(() -> "[ControlFlowCheck]: Condition type: " + conditionType.getName());
 
             if (!"boolean".equals(conditionType.getName())) {
                 String message = String.format(
@@ -138,7 +139,7 @@ public class ControlFlowCheck extends AnalysisVisitor {
                         null
                 );
                 addReport(report);
-                System.out.println("DEBUG [ControlFlowCheck]: Reported error for non-boolean condition");
+                Log.debug("[ControlFlowCheck]: Reported error for non-boolean condition");
             }
         } catch (Exception e) {
             String message = "Error evaluating condition type: " + e.getMessage();
@@ -150,7 +151,7 @@ public class ControlFlowCheck extends AnalysisVisitor {
                     null
             );
             addReport(report);
-            System.out.println("DEBUG [ControlFlowCheck]: Exception while checking condition: " + e.getMessage());
+            Log.debug(() -> "[ControlFlowCheck]: Exception while checking condition: " + e.getMessage());
         }
 
         return null;
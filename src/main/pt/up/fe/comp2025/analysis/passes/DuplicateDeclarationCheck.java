@@ -6,6 +6,7 @@ import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.logging.Log;
 import pt.up.fe.comp2025.symboltable.JmmSymbolTable;
 
 import java.util.*;
@@ -40,7 +41,7 @@ public class DuplicateDeclarationCheck extends AnalysisVisitor {
         localScopeVars.clear();
         localScopeVars.push(new HashMap<>());
 
-        System.out.println("DEBUG [DuplicateCheck]: Analyzing method " + methodName);
+        Log.debug(() -> "[DuplicateCheck]: Analyzing method " + methodName);
 
         // Check for method overloading (same name, different parameters)
         List<Symbol> parameters = extractMethodParameters(method);
@@ -5,6 +5,7 @@ import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.logging.Log;
 
 public class ImportedMethodUseCheck extends AnalysisVisitor {
 
@@ -19,7 +20,7 @@ public class ImportedMethodUseCheck extends AnalysisVisitor {
     private Void visitMethodDecl(JmmNode method, SymbolTable table) {
         if (method.hasAttribute("name")) {
             currentMethod = method.get("name");
-            System.out.println("DEBUG [ImportedMethodUseCheck]: Entering method: " + currentMethod);
+            Log.debug(() -> "[ImportedMethodUseCheck]: Entering method: " + currentMethod);
         }
 
         for (JmmNode child : method.getChildren()) {
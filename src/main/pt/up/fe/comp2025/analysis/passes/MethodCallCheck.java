@@ -8,6 +8,8 @@ import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
 import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.logging.LogLevel;
 import pt.up.fe.comp2025.symboltable.JmmSymbolTable;
 
 import java.util.List;
@@ -36,7 +38,7 @@ public class MethodCallCheck extends AnalysisVisitor {
     private Void visitMethodDecl(JmmNode method, SymbolTable table) {
         if (method.hasAttribute("name")) {
             currentMethod = method.get("name");
-            System.out.println("DEBUG [MethodCallCheck]: Entering method: " + currentMethod);
+            Log.debug(() -> "[MethodCallCheck]: Entering method: " + currentMethod);
         }
 
         for (JmmNode child : method.getChildren()) {
@@ -47,7 +49,7 @@ public class MethodCallCheck extends AnalysisVisitor {
     }
 
     private Void visitMethodCallExpr(JmmNode node, SymbolTable table) {
-        System.out.println("DEBUG [MethodCallCheck]: Checking method call expression at line " + node.getLine());
+        Log.debug(() -> "[MethodCallCheck]: Checking method call expression at line " + node.getLine());
 
         for (JmmNode child : node.getChildren()) {
             visit(child, table);
@@ -61,46 +63,54 @@ public class MethodCallCheck extends AnalysisVisitor {
         typeUtils.setCurrentMethod(currentMethod);
 
         JmmNode objectExpr = node.getChildren().get(0);
-        System.out.println("DEBUG [MethodCallCheck]: Object expression kind: " + objectExpr.getKind());
+        Log.debug(() -> "[MethodCallCheck]: Object expression kind: " + objectExpr.getKind());
 
         Type objectType = null;
         try {
             objectType = typeUtils.getExprType(objectExpr);
-            System.out.println("DEBUG [MethodCallCheck]: Object type: " +
-                    (objectType != null ? objectType.getName() : "null"));
+            if (Log.isEnabled(LogLevel.DEBUG)) {
+                Log.debug("[MethodCallCheck]: Object type: " +
+                        (objectType != null ? objectType.getName() : "null"));
+            }
         } catch (Exception e) {
-            System.out.println("DEBUG [MethodCallCheck]: Error getting object type: " + e.getMessage());
+            Log.debug(() -> "[MethodCallCheck]: Error getting object type: " + e.getMessage());
         }
 
         if (objectType == null || isPrimitiveType(objectType)) {
             if ("MethodCallExpr".equals(objectExpr.getKind())) {
-                System.out.println("DEBUG: Analyzing method call: " +
+                Log.debug(() -> "Analyzing method call: " +
                         (objectExpr.hasAttribute("name") ? objectExpr.get("name") : "unknown"));
 
                 Type originalType = originalObjectTypes.get(objectExpr);
 
                 if (originalType != null) {
-                    System.out.println("DEBUG: Method call object type: " + originalType.getName());
+                    Log.debug(() -> "Method call object type: " + originalType.getName());
                     objectType = originalType;
 
                     if (isThisExpression(objectExpr.getChildren().get(0))) {
-                        System.out.println("DEBUG: Chained call on 'this' detected");
+                        Log.debug("Chained call on 'this' detected");
                         objectType = new Type(table.getClassName(), false);
                     }
                 } else if ("ThisExpression".equals(objectExpr.getChildren().get(0).getKind())) {
                     objectType = new Type(table.getClassName(), false);
-                    System.out.println("DEBUG: Using class type for chained call: " + objectType.getName());
+                    if (Log.isEnabled(LogLevel.DEBUG)) {
+                        Log.debug("Using class type for chained call: " + objectType.getName());
+                    }
                 }
             } else if (isThisExpression(objectExpr)) {
                 objectType = new Type(table.getClassName(), false);
-                System.out.println("DEBUG: Using class type for 'this' call: " + objectType.getName());
+                if (Log.isEnabled(LogLevel.DEBUG)) {
+                    Log.debug("Using class type for 'this' call: " + objectType.getName());
+                }
             }
         }
 
         String methodName = null;
         if (node.hasAttribute("name")) {
             methodName = node.get("name");
-            System.out.println("DEBUG [MethodCallCheck]: Found method name on node: " + methodName);
+            if (Log.isEnabled(LogLevel.DEBUG)) {
+                Log.debug("[MethodCallCheck]: Found method name on node: " + methodName);
+            }
         } else {
             for (JmmNode child : node.getChildren()) {
                 if ("MethodCall".equals(child.getKind()) && child.hasAttribute("name")) {
@@ -111,11 +121,13 @@ public class MethodCallCheck extends AnalysisVisitor {
         }
 
         if (methodName == null) {
-            System.out.println("DEBUG [MethodCallCheck]: Could not determine method name");
+            Log.debug("[MethodCallCheck]: Could not determine method name");
             return null;
         }
 
-        System.out.println("DEBUG [MethodCallCheck]: Method name: " + methodName);
+        if (Log.isEnabled(LogLevel.DEBUG)) {
+            Log.debug("[MethodCallCheck]: Method name: " + methodName);
+        }
 
         Type returnType = null;
 
@@ -126,9 +138,11 @@ public class MethodCallCheck extends AnalysisVisitor {
                 if (classMethod.equals(methodName)) {
                     methodExists = true;
                     returnType = ((JmmSymbolTable) table).getReturnType(methodName);
-                    System.out.println("DEBUG [MethodCallCheck]: Found method " + methodName +
-                            " with return type: " +
-                            (returnType != null ? returnType.getName() : "null"));
+                    if (Log.isEnabled(LogLevel.DEBUG)) {
+                        Log.debug("[MethodCallCheck]: Found method " + methodName +
+                                " with return type: " +
+                                (returnType != null ? returnType.getName() : "null"));
+                    }
 
                     checkMethodArguments(node, methodName, table);
                     break;
@@ -136,12 +150,12 @@ public class MethodCallCheck extends AnalysisVisitor {
             }
 
             if (!methodExists && ((JmmSymbolTable) table).getSuper() != null) {
-                System.out.println("DEBUG [MethodCallCheck]: Method may be in superclass, assuming valid call");
+                Log.debug("[MethodCallCheck]: Method may be in superclass, assuming valid call");
                 returnType = guessReturnTypeFromContext(node, table);
 
                 if (returnType == null && isThisExpression(objectExpr)) {
                     returnType = objectType; // Mantém o tipo do objeto para a próxima chamada na cadeia
-                    System.out.println("DEBUG [MethodCallCheck]: Assuming method returns same object type for chaining");
+                    Log.debug("[MethodCallCheck]: Assuming method returns same object type for chaining");
                 }
             } else if (!methodExists) {
                 String message = String.format("Undeclared method: '%s'", methodName);
@@ -153,26 +167,28 @@ public class MethodCallCheck extends AnalysisVisitor {
                         null
                 );
                 addReport(report);
-                System.out.println("DEBUG [MethodCallCheck]: Reported undeclared method");
+                Log.debug("[MethodCallCheck]: Reported undeclared method");
                 return null;
             }
         } else if (objectType != null) {
             if (isExternalType(objectType, (JmmSymbolTable)table)) {
-                System.out.println("DEBUG [MethodCallCheck]: Call on external type " +
-                        objectType.getName() + ", assuming method exists");
+                if (Log.isEnabled(LogLevel.DEBUG)) {
+                    Log.debug("[MethodCallCheck]: Call on external type " +
+                            objectType.getName() + ", assuming method exists");
+                }
                 returnType = guessReturnTypeFromContext(node, table);
 
                 if (returnType == null && "MethodCallExpr".equals(objectExpr.getKind())) {
                     Type originalType = originalObjectTypes.get(objectExpr);
                     if (originalType != null) {
                         returnType = originalType;
-                        System.out.println("DEBUG [MethodCallCheck]: Using original object type for chained call");
+                        Log.debug("[MethodCallCheck]: Using original object type for chained call");
                     }
                 }
 
                 if (returnType == null && objectType.getName().equals(((JmmSymbolTable)table).getClassName())) {
                     returnType = objectType;
-                    System.out.println("DEBUG [MethodCallCheck]: Assuming method returns same class for chaining support");
+                    Log.debug("[MethodCallCheck]: Assuming method returns same class for chaining support");
                 }
             } else {
                 String message = String.format("Unknown type: '%s'", objectType.getName());
@@ -184,7 +200,7 @@ public class MethodCallCheck extends AnalysisVisitor {
                         null
                 );
                 addReport(report);
-                System.out.println("DEBUG [MethodCallCheck]: Reported unknown type");
+                Log.debug("[MethodCallCheck]: Reported unknown type");
                 return null;
             }
         } else {
@@ -197,13 +213,15 @@ public class MethodCallCheck extends AnalysisVisitor {
                     null
             );
             addReport(report);
-            System.out.println("DEBUG [MethodCallCheck]: Reported undetermined object type");
+            Log.debug("[MethodCallCheck]: Reported undetermined object type");
             return null;
         }
 
         if (returnType != null) {
-            System.out.println("DEBUG [MethodCallCheck]: Storing return type for method call: " +
-                    returnType.getName() + (returnType.isArray() ? "[]" : ""));
+            if (Log.isEnabled(LogLevel.DEBUG)) {
+                Log.debug("[MethodCallCheck]: Storing return type for method call: " +
+                        returnType.getName() + (returnType.isArray() ? "[]" : ""));
+            }
             methodCallTypes.put(node, returnType);
 
             node.put("returnType", returnType.getName());
@@ -226,7 +244,7 @@ public class MethodCallCheck extends AnalysisVisitor {
     }
 
     private Void visitDirectMethodCall(JmmNode node, SymbolTable table) {
-        System.out.println("DEBUG [MethodCallCheck]: Checking direct method call at line " + node.getLine());
+        Log.debug(() -> "[MethodCallCheck]: Checking direct method call at line " + node.getLine());
 
         for (JmmNode child : node.getChildren()) {
             visit(child, table);
@@ -234,7 +252,7 @@ public class MethodCallCheck extends AnalysisVisitor {
 
         if (node.hasAttribute("name")) {
             String methodName = node.get("name");
-            System.out.println("DEBUG [MethodCallCheck]: Direct method call to: " + methodName);
+            Log.debug(() -> "[MethodCallCheck]: Direct method call to: " + methodName);
 
             JmmSymbolTable jmmTable = (JmmSymbolTable) table;
             boolean methodExists = jmmTable.getMethods().contains(methodName);
@@ -249,7 +267,7 @@ public class MethodCallCheck extends AnalysisVisitor {
                         null
                 );
                 addReport(report);
-                System.out.println("DEBUG [MethodCallCheck]: Reported undeclared direct method");
+                Log.debug("[MethodCallCheck]: Reported undeclared direct method");
             } else {
                 checkMethodArguments(node, methodName, table);
 
@@ -281,7 +299,7 @@ public class MethodCallCheck extends AnalysisVisitor {
         if (typeName.equals(table.getClassName()) &&
                 table.getSuper() != null &&
                 isImportedType(table.getSuper(), table)) {
-            System.out.println("DEBUG [MethodCallCheck]: " + typeName + " is a subclass of imported class " +
+            Log.debug(() -> "[MethodCallCheck]: " + typeName + " is a subclass of imported class " +
                     table.getSuper() + ", assuming methods are in parent");
             return true;
         }
@@ -309,10 +327,10 @@ public class MethodCallCheck extends AnalysisVisitor {
     }
 
     private void checkMethodArguments(JmmNode methodNode, String methodName, SymbolTable table) {
-        System.out.println("DEBUG [MethodCallCheck]: Checking arguments for method: " + methodName);
+        Log.debug(() -> "[MethodCallCheck]: Checking arguments for method: " + methodName);
 
         List<Symbol> formalParams = table.getParameters(methodName);
-        System.out.println("DEBUG [MethodCallCheck]: Method has " + formalParams.size() + " parameters");
+        Log.debug(() -> "[MethodCallCheck]: Method has " + formalParams.size() + " parameters");
 
         List<JmmNode> argumentList = methodNode.getChildren();
         List<JmmNode> actualArgs = null;
@@ -328,11 +346,13 @@ public class MethodCallCheck extends AnalysisVisitor {
             return;
         }
 
-        System.out.println("DEBUG [MethodCallCheck]: Call has " + actualArgs.size() + " arguments");
+        if (Log.isEnabled(LogLevel.DEBUG)) {
+            Log.debug("[MethodCallCheck]: Call has " + actualArgs.size() + " arguments");
+        }
 
         boolean hasVarargs = !formalParams.isEmpty() &&
                 formalParams.get(formalParams.size() - 1).getType().isArray();
-        System.out.println("DEBUG [MethodCallCheck]: Method has varargs: " + hasVarargs);
+        Log.debug(() -> "[MethodCallCheck]: Method has varargs: " + hasVarargs);
 
         if (!hasVarargs && actualArgs.size() != formalParams.size()) {
             String message = String.format(
@@ -347,7 +367,7 @@ public class MethodCallCheck extends AnalysisVisitor {
                     null
             );
             addReport(report);
-            System.out.println("DEBUG [MethodCallCheck]: Reported argument count mismatch");
+            Log.debug("[MethodCallCheck]: Reported argument count mismatch");
             return;
         }
 
@@ -364,7 +384,7 @@ public class MethodCallCheck extends AnalysisVisitor {
                     null
             );
             addReport(report);
-            System.out.println("DEBUG [MethodCallCheck]: Reported too few arguments for varargs method");
+            Log.debug("[MethodCallCheck]: Reported too few arguments for varargs method");
             return;
         }
 
@@ -379,10 +399,12 @@ public class MethodCallCheck extends AnalysisVisitor {
 
             try {
                 argType = typeUtils.getExprType(actualArgs.get(i));
-                System.out.println("DEBUG [MethodCallCheck]: Param " + i + " type: " + paramType.getName() +
-                        (paramType.isArray() ? "[]" : "") +
-                        ", Arg type: " + argType.getName() +
-                        (argType.isArray() ? "[]" : ""));
+                if (Log.isEnabled(LogLevel.DEBUG)) {
+                    Log.debug("[MethodCallCheck]: Param " + i + " type: " + paramType.getName() +
+                            (paramType.isArray() ? "[]" : "") +
+                            ", Arg type: " + argType.getName() +
+                            (argType.isArray() ? "[]" : ""));
+                }
 
                 if (!isTypeCompatible(paramType, argType, table)) {
                     String message = String.format(
@@ -399,10 +421,10 @@ public class MethodCallCheck extends AnalysisVisitor {
                             null
                     );
                     addReport(report);
-                    System.out.println("DEBUG [MethodCallCheck]: Reported argument type mismatch");
+                    Log.debug("[MethodCallCheck]: Reported argument type mismatch");
                 }
             } catch (Exception e) {
-                System.out.println("DEBUG [MethodCallCheck]: Error getting argument type: " + e.getMessage());
+                Log.debug(() -> "[MethodCallCheck]: Error getting argument type: " + e.getMessage());
             }
         }
 
@@ -410,12 +432,12 @@ public class MethodCallCheck extends AnalysisVisitor {
             Type varargParamType = formalParams.get(regularParamCount).getType();
             Type varargElemType = new Type(varargParamType.getName(), false);
 
-            System.out.println("DEBUG [MethodCallCheck]: Vararg element type: " + varargElemType.getName());
+            Log.debug(() -> "[MethodCallCheck]: Vararg element type: " + varargElemType.getName());
 
             if (actualArgs.size() == regularParamCount + 1) {
                 try {
                     Type argType = typeUtils.getExprType(actualArgs.get(regularParamCount));
-                    System.out.println("DEBUG [MethodCallCheck]: Vararg arg type: " + argType.getName() +
+                    Log.debug(() -> "[MethodCallCheck]: Vararg arg type: " + argType.getName() +
                             (argType.isArray() ? "[]" : ""));
 
                     if (argType.isArray()) {
@@ -432,20 +454,22 @@ public class MethodCallCheck extends AnalysisVisitor {
                                     null
                             );
                             addReport(report);
-                            System.out.println("DEBUG [MethodCallCheck]: Reported vararg array type mismatch");
+                            Log.debug("[MethodCallCheck]: Reported vararg array type mismatch");
                         }
                         return;
                     }
                 } catch (Exception e) {
-                    System.out.println("DEBUG [MethodCallCheck]: Error getting vararg argument type: " + e.getMessage());
+                    Log.debug(() -> "[MethodCallCheck]: Error getting vararg argument type: " + e.getMessage());
                 }
             }
 
             for (int i = regularParamCount; i < actualArgs.size(); i++) {
                 try {
                     Type argType = typeUtils.getExprType(actualArgs.get(i));
-                    System.out.println("DEBUG [MethodCallCheck]: Vararg element " + (i - regularParamCount) +
-                            " type: " + argType.getName() + (argType.isArray() ? "[]" : ""));
+                    if (Log.isEnabled(LogLevel.DEBUG)) {
+                        Log.debug("[MethodCallCheck]: Vararg element " + (i - regularParamCount) +
+                                " type: " + argType.getName() + (argType.isArray() ? "[]" : ""));
+                    }
 
                     if (argType.isArray() || !varargElemType.getName().equals(argType.getName())) {
                         String message = String.format(
@@ -461,10 +485,10 @@ public class MethodCallCheck extends AnalysisVisitor {
                                 null
                         );
                         addReport(report);
-                        System.out.println("DEBUG [MethodCallCheck]: Reported vararg element type mismatch");
+                        Log.debug("[MethodCallCheck]: Reported vararg element type mismatch");
                     }
                 } catch (Exception e) {
-                    System.out.println("DEBUG [MethodCallCheck]: Error getting vararg element type: " + e.getMessage());
+                    Log.debug(() -> "[MethodCallCheck]: Error getting vararg element type: " + e.getMessage());
                 }
             }
         }
@@ -495,7 +519,9 @@ public class MethodCallCheck extends AnalysisVisitor {
         if (methodCallNode.hasAttribute("name")) {
             methodName = methodCallNode.get("name");
         }
-        System.out.println("DEBUG [MethodCallCheck]: Guessing return type for method: " + methodName);
+        if (Log.isEnabled(LogLevel.DEBUG)) {
+            Log.debug("[MethodCallCheck]: Guessing return type for method: " + methodName);
+        }
 
         JmmSymbolTable jmmTable = (JmmSymbolTable) table;
 
@@ -505,7 +531,7 @@ public class MethodCallCheck extends AnalysisVisitor {
             if (isThisExpression(objectExpr)) {
                 if (methodName.startsWith("set") || methodName.startsWith("add") ||
                         methodName.startsWith("with") || methodName.startsWith("build")) {
-                    System.out.println("DEBUG [MethodCallCheck]: Method follows fluent pattern, assuming it returns this");
+                    Log.debug("[MethodCallCheck]: Method follows fluent pattern, assuming it returns this");
                     return new Type(jmmTable.getClassName(), false);
                 }
             }
@@ -536,7 +562,7 @@ public class MethodCallCheck extends AnalysisVisitor {
                     String enclosingMethodName = methodNode.get("name");
                     Type returnType = jmmTable.getReturnType(enclosingMethodName);
                     if (returnType != null) {
-                        System.out.println("DEBUG [MethodCallCheck]: Using return type from enclosing method: " +
+                        Log.debug(() -> "[MethodCallCheck]: Using return type from enclosing method: " +
                                 returnType.getName());
                         return returnType;
                     }
@@ -552,7 +578,7 @@ public class MethodCallCheck extends AnalysisVisitor {
 
                     for (Symbol local : table.getLocalVariables(currentMethod)) {
                         if (local.getName().equals(varName)) {
-                            System.out.println("DEBUG [MethodCallCheck]: Using type from assignment target: " +
+                            Log.debug(() -> "[MethodCallCheck]: Using type from assignment target: " +
                                     local.getType().getName());
                             return local.getType();
                         }
@@ -595,7 +621,7 @@ public class MethodCallCheck extends AnalysisVisitor {
                     }
                 }
             } catch (Exception e) {
-                System.out.println("DEBUG [MethodCallCheck]: Error getting object type for standalone call: " + e.getMessage());
+                Log.debug(() -> "[MethodCallCheck]: Error getting object type for standalone call: " + e.getMessage());
             }
         }
 
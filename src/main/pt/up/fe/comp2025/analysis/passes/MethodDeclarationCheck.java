@@ -8,6 +8,8 @@ import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
 import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.logging.LogLevel;
 import pt.up.fe.comp2025.symboltable.JmmSymbolTable;
 
 import java.util.List;
@@ -26,7 +28,7 @@ public class MethodDeclarationCheck extends AnalysisVisitor {
         }
 
         String methodName = method.get("name");
-        System.out.println("DEBUG [MethodDeclarationCheck]: Checking method declaration: " + methodName);
+        Log.debug(() -> "[MethodDeclarationCheck]: Checking method declaration: " + methodName);
 
         JmmNode returnTypeNode = null;
         for (JmmNode child : method.getChildren()) {
@@ -43,7 +45,7 @@ public class MethodDeclarationCheck extends AnalysisVisitor {
 
                 if (dimensions > 0 && table instanceof JmmSymbolTable) {
                     ((JmmSymbolTable)table).registerMethodReturnDimensions(methodName, dimensions);
-                    System.out.println("DEBUG [MethodDeclarationCheck]: Method " + methodName +
+                    Log.debug(() -> "[MethodDeclarationCheck]: Method " + methodName +
                             " returns array with " + dimensions + " dimensions");
                 }
             }
@@ -79,7 +81,9 @@ public class MethodDeclarationCheck extends AnalysisVisitor {
             if (isVararg) {
                 varargCount++;
                 lastVarargIndex = i;
-                System.out.println("DEBUG [MethodDeclarationCheck]: Found vararg parameter at index " + i);
+                if (Log.isEnabled(LogLevel.DEBUG)) {
+                    Log.debug("[MethodDeclarationCheck]: Found vararg parameter at index " + i);
+                }
             }
         }
 
@@ -96,7 +100,7 @@ public class MethodDeclarationCheck extends AnalysisVisitor {
                     null
             );
             addReport(report);
-            System.out.println("DEBUG [MethodDeclarationCheck]: Reported multiple varargs");
+            Log.debug("[MethodDeclarationCheck]: Reported multiple varargs");
         }
 
         if (varargCount > 0 && lastVarargIndex != paramNodes.size() - 1) {
@@ -112,7 +116,7 @@ public class MethodDeclarationCheck extends AnalysisVisitor {
                     null
             );
             addReport(report);
-            System.out.println("DEBUG [MethodDeclarationCheck]: Reported vararg not last parameter");
+            Log.debug("[MethodDeclarationCheck]: Reported vararg not last parameter");
         }
 
         return null;
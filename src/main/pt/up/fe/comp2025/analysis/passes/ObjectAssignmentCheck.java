@@ -9,6 +9,7 @@ import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
 import pt.up.fe.comp2025.ast.ArrayType;
 import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.logging.Log;
 import pt.up.fe.comp2025.symboltable.JmmSymbolTable;
 
 public class ObjectAssignmentCheck extends AnalysisVisitor {
@@ -27,7 +28,7 @@ public class ObjectAssignmentCheck extends AnalysisVisitor {
     private Void visitMethodDecl(JmmNode method, SymbolTable table) {
         if (method.hasAttribute("name")) {
             currentMethod = method.get("name");
-            System.out.println("DEBUG [ObjectAssignmentCheck]: Entering method: " + currentMethod);
+            Log.debug(() -> "[ObjectAssignmentCheck]: Entering method: " + currentMethod);
         }
 
         for (JmmNode child : method.getChildren()) {
@@ -38,7 +39,7 @@ public class ObjectAssignmentCheck extends AnalysisVisitor {
     }
 
     private Void visitAssignStmt(JmmNode assignStmt, SymbolTable table) {
-        System.out.println("DEBUG [ObjectAssignmentCheck]: Visiting assignment statement at line " + assignStmt.getLine());
+        Log.debug(() -> "[ObjectAssignmentCheck]: Visiting assignment statement at line " + assignStmt.getLine());
 
         for (JmmNode child : assignStmt.getChildren()) {
             visit(child, table);
@@ -48,10 +49,10 @@ public class ObjectAssignmentCheck extends AnalysisVisitor {
     }
 
     private Void visitAssignExpression(JmmNode assignExpr, SymbolTable table) {
-        System.out.println("DEBUG [ObjectAssignmentCheck]: Visiting assignment expression at line " + assignExpr.getLine());
+        Log.debug(() -> "[ObjectAssignmentCheck]: Visiting assignment expression at line " + assignExpr.getLine());
 
         if (assignExpr.getChildren().size() < 2) {
-            System.out.println("DEBUG [ObjectAssignmentCheck]: Assignment doesn't have both sides");
+            Log.debug("[ObjectAssignmentCheck]: Assignment doesn't have both sides");
             return null;
         }
 
@@ -59,20 +60,20 @@ public class ObjectAssignmentCheck extends AnalysisVisitor {
         JmmNode rhs = assignExpr.getChildren().get(1);
 
         if (!lhs.getKind().equals("IdentifierLValue")) {
-            System.out.println("DEBUG [ObjectAssignmentCheck]: LHS is not an identifier");
+            Log.debug("[ObjectAssignmentCheck]: LHS is not an identifier");
             return null;
         }
 
         if (!lhs.hasAttribute("name")) {
-            System.out.println("DEBUG [ObjectAssignmentCheck]: LHS identifier has no name");
+            Log.debug("[ObjectAssignmentCheck]: LHS identifier has no name");
             return null;
         }
 
         String varName = lhs.get("name");
-        System.out.println("DEBUG [ObjectAssignmentCheck]: Assignment to variable: " + varName);
+        Log.debug(() -> "[ObjectAssignmentCheck]: Assignment to variable: " + varName);
 
         if (containsImportedMethodCall(rhs, table)) {
-            System.out.println("DEBUG [ObjectAssignmentCheck]: RHS contains imported method call, assuming compatible type");
+            Log.debug("[ObjectAssignmentCheck]: RHS contains imported method call, assuming compatible type");
             return null;
         }
 
@@ -81,7 +82,7 @@ public class ObjectAssignmentCheck extends AnalysisVisitor {
             if ("VAR_REF_EXPR".equals(objectExpr.getKind()) && objectExpr.hasAttribute("name")) {
                 String objectName = objectExpr.get("name");
                 if (table.getImports().contains(objectName)) {
-                    System.out.println("DEBUG [ObjectAssignmentCheck]: Skipping check for imported class method");
+                    Log.debug("[ObjectAssignmentCheck]: Skipping check for imported class method");
                     return null;
                 }
 
@@ -89,7 +90,7 @@ public class ObjectAssignmentCheck extends AnalysisVisitor {
                 typeUtils.setCurrentMethod(currentMethod);
                 Type objectType = typeUtils.getExprType(objectExpr);
                 if (table.getImports().contains(objectType.getName())) {
-                    System.out.println("DEBUG [ObjectAssignmentCheck]: Skipping check for method on variable of imported type");
+                    Log.debug("[ObjectAssignmentCheck]: Skipping check for method on variable of imported type");
                     return null;
                 }
             }
@@ -97,11 +98,11 @@ public class ObjectAssignmentCheck extends AnalysisVisitor {
 
         Type lhsType = findVariableType(varName, table);
         if (lhsType == null) {
-            System.out.println("DEBUG [ObjectAssignmentCheck]: Could not find type for variable: " + varName);
+            Log.debug(() -> "[ObjectAssignmentCheck]: Could not find type for variable: " + varName);
             return null;
         }
 
-        System.out.println("DEBUG [ObjectAssignmentCheck]: LHS type: " + lhsType.getName() +
+        Log.debug(() -> "[ObjectAssignmentCheck]: LHS type: " + lhsType.getName() +
                 (lhsType.isArray() ? "[]" : ""));
 
         TypeUtils typeUtils = new TypeUtils(table);
@@ -110,10 +111,10 @@ public class ObjectAssignmentCheck extends AnalysisVisitor {
 
         try {
             rhsType = typeUtils.getExprType(rhs);
-            System.out.println("DEBUG [ObjectAssignmentCheck]: RHS type: " + rhsType.getName() +
+            Log.debug(() -> "[ObjectAssignmentCheck]: RHS type: " + rhsType.getName() +
                     (rhsType.isArray() ? "[]" : ""));
         } catch (Exception e) {
-            System.out.println("DEBUG [ObjectAssignmentCheck]: Error getting expression type: " + e.getMessage());
+            Log.debug(() -> "[ObjectAssignmentCheck]: Error getting expression type: " + e.getMessage());
             return null;
         }
 
@@ -127,7 +128,7 @@ public class ObjectAssignmentCheck extends AnalysisVisitor {
                     null
             );
             addReport(report);
-            System.out.println("DEBUG [ObjectAssignmentCheck]: Added error report for boolean = int");
+            Log.debug("[ObjectAssignmentCheck]: Added error report for boolean = int");
             return null;
         }
 
@@ -144,7 +145,7 @@ public class ObjectAssignmentCheck extends AnalysisVisitor {
                     null
             );
             addReport(report);
-            System.out.println("DEBUG [ObjectAssignmentCheck]: Added error report for incompatible types");
+            Log.debug("[ObjectAssignmentCheck]: Added error report for incompatible types");
         }
 
         return null;
@@ -178,7 +179,7 @@ public class ObjectAssignmentCheck extends AnalysisVisitor {
     }
 
     private boolean areTypesCompatible(Type lhsType, Type rhsType, JmmSymbolTable table) {
-        System.out.println("DEBUG [ObjectAssignmentCheck]: Verificando compatibilidade entre tipos: " +
+        Log.debug(() -> "[ObjectAssignmentCheck]: Verificando compatibilidade entre tipos: " +
                 formatTypeWithDimensions(lhsType) + " e " + formatTypeWithDimensions(rhsType));
 
         if (lhsType.getName().equals(rhsType.getName()) && lhsType.isArray() == rhsType.isArray()) {
@@ -186,12 +187,12 @@ public class ObjectAssignmentCheck extends AnalysisVisitor {
                 int lhsDimensions = extractArrayDimensions(lhsType);
                 int rhsDimensions = extractArrayDimensions(rhsType);
 
-                System.out.println("DEBUG [ObjectAssignmentCheck]: Dimensões - LHS: " +
+                Log.debug(() -> "[ObjectAssignmentCheck]: Dimensões - LHS: " +
                         lhsDimensions + ", RHS: " + rhsDimensions);
 
                 if (isArrayInitializer(rhsType)) {
                     int initializerDimensions = extractDimensionsFromInitializer(rhsType);
-                    System.out.println("DEBUG [ObjectAssignmentCheck]: Dimensões ajustadas de inicializador: " +
+                    Log.debug(() -> "[ObjectAssignmentCheck]: Dimensões ajustadas de inicializador: " +
                             initializerDimensions);
 
                     return lhsDimensions == initializerDimensions;
@@ -213,27 +214,27 @@ public class ObjectAssignmentCheck extends AnalysisVisitor {
         boolean lhsImported = isImportedType(lhsType.getName(), table);
         boolean rhsImported = isImportedType(rhsType.getName(), table);
 
-        System.out.println("DEBUG [ObjectAssignmentCheck]: LHS imported: " + lhsImported + ", RHS imported: " + rhsImported);
-        System.out.println("DEBUG [ObjectAssignmentCheck]: All imports: " + table.getImports());
+        Log.debug(() -> "[ObjectAssignmentCheck]: LHS imported: " + lhsImported + ", RHS imported: " + rhsImported);
+        Log.debug(() -> "[ObjectAssignmentCheck]: All imports: " + table.getImports());
 
         if (rhsType.getName().equals(table.getClassName()) &&
                 lhsType.getName().equals(table.getSuper())) {
-            System.out.println("DEBUG [ObjectAssignmentCheck]: Assignment from class to its superclass - compatible");
+            Log.debug("[ObjectAssignmentCheck]: Assignment from class to its superclass - compatible");
             return true;
         }
 
         if (lhsType.getName().equals(table.getClassName()) &&
                 rhsType.getName().equals(table.getSuper())) {
-            System.out.println("DEBUG [ObjectAssignmentCheck]: Assignment from superclass to subclass - incompatible");
+            Log.debug("[ObjectAssignmentCheck]: Assignment from superclass to subclass - incompatible");
             return false;
         }
 
         if (lhsImported && rhsImported) {
-            System.out.println("DEBUG [ObjectAssignmentCheck]: Both types are imported - assuming compatible");
+            Log.debug("[ObjectAssignmentCheck]: Both types are imported - assuming compatible");
             return true;
         }
 
-        System.out.println("DEBUG [ObjectAssignmentCheck]: No compatibility rule matched - incompatible");
+        Log.debug("[ObjectAssignmentCheck]: No compatibility rule matched - incompatible");
         return false;
     }
 
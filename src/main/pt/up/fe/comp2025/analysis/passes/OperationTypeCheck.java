@@ -8,6 +8,7 @@ import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
 import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.logging.Log;
 
 public class OperationTypeCheck extends AnalysisVisitor {
 
@@ -33,7 +34,7 @@ public class OperationTypeCheck extends AnalysisVisitor {
         if (method.hasAttribute("name")) {
             currentMethod = method.get("name");
             currentMethodNode = method;
-            System.out.println("DEBUG [OperationTypeCheck]: Entering method: " + currentMethod);
+            Log.debug(() -> "[OperationTypeCheck]: Entering method: " + currentMethod);
         }
 
         for (JmmNode child : method.getChildren()) {
@@ -62,7 +63,7 @@ public class OperationTypeCheck extends AnalysisVisitor {
         Type leftType = determineExpressionType(leftOperand, table);
         Type rightType = determineExpressionType(rightOperand, table);
 
-        System.out.println("DEBUG [OperationTypeCheck]: Arithmetic operation '" + operator +
+        Log.debug(() -> "[OperationTypeCheck]: Arithmetic operation '" + operator +
                 "' between types: " + leftType.getName() + (leftType.isArray() ? "[]" : "") +
                 " and " + rightType.getName() + (rightType.isArray() ? "[]" : ""));
 
@@ -117,7 +118,7 @@ public class OperationTypeCheck extends AnalysisVisitor {
         Type leftType = determineExpressionType(leftOperand, table);
         Type rightType = determineExpressionType(rightOperand, table);
 
-        System.out.println("DEBUG [OperationTypeCheck]: Relational operation '" + operator +
+        Log.debug(() -> "[OperationTypeCheck]: Relational operation '" + operator +
                 "' between types: " + leftType.getName() + (leftType.isArray() ? "[]" : "") +
                 " and " + rightType.getName() + (rightType.isArray() ? "[]" : ""));
 
@@ -176,7 +177,7 @@ public class OperationTypeCheck extends AnalysisVisitor {
         Type leftType = determineExpressionType(leftOperand, table);
         Type rightType = determineExpressionType(rightOperand, table);
 
-        System.out.println("DEBUG [OperationTypeCheck]: Logical operation '" + operatorSymbol +
+        Log.debug(() -> "[OperationTypeCheck]: Logical operation '" + operatorSymbol +
                 "' between types: " + leftType.getName() + " and " + rightType.getName());
 
         if (!"boolean".equals(leftType.getName()) || !"boolean".equals(rightType.getName())) {
@@ -211,7 +212,7 @@ public class OperationTypeCheck extends AnalysisVisitor {
 
         Type operandType = determineExpressionType(operand, table);
 
-        System.out.println("DEBUG [OperationTypeCheck]: Not operation on type: " +
+        Log.debug(() -> "[OperationTypeCheck]: Not operation on type: " +
                 operandType.getName());
 
         if (!"boolean".equals(operandType.getName())) {
@@ -250,7 +251,7 @@ public class OperationTypeCheck extends AnalysisVisitor {
                 return type;
             }
         } catch (Exception e) {
-            System.out.println("DEBUG [OperationTypeCheck]: TypeUtils error: " + e.getMessage());
+            Log.debug(() -> "[OperationTypeCheck]: TypeUtils error: " + e.getMessage());
         }
 
         String kind = expr.getKind();
@@ -355,7 +356,7 @@ public class OperationTypeCheck extends AnalysisVisitor {
 
         for (Symbol param : table.getParameters(currentMethod)) {
             if (param.getName().equals(varName)) {
-                System.out.println("DEBUG [OperationTypeCheck]: Found type for " +
+                Log.debug(() -> "[OperationTypeCheck]: Found type for " +
                         varName + " in parameter table: " + param.getType().getName() +
                         (param.getType().isArray() ? "[]" : ""));
                 return param.getType();
@@ -364,7 +365,7 @@ public class OperationTypeCheck extends AnalysisVisitor {
 
         for (Symbol local : table.getLocalVariables(currentMethod)) {
             if (local.getName().equals(varName)) {
-                System.out.println("DEBUG [OperationTypeCheck]: Found type for " +
+                Log.debug(() -> "[OperationTypeCheck]: Found type for " +
                         varName + " in local variable table: " + local.getType().getName() +
                         (local.getType().isArray() ? "[]" : ""));
                 return local.getType();
@@ -373,7 +374,7 @@ public class OperationTypeCheck extends AnalysisVisitor {
 
         for (Symbol field : table.getFields()) {
             if (field.getName().equals(varName)) {
-                System.out.println("DEBUG [OperationTypeCheck]: Found type for " +
+                Log.debug(() -> "[OperationTypeCheck]: Found type for " +
                         varName + " in field table: " + field.getType().getName() +
                         (field.getType().isArray() ? "[]" : ""));
                 return field.getType();
@@ -381,12 +382,12 @@ public class OperationTypeCheck extends AnalysisVisitor {
         }
 
         if (isInBooleanContext(context)) {
-            System.out.println("DEBUG [OperationTypeCheck]: Variable " + varName +
+            Log.debug(() -> "[OperationTypeCheck]: Variable " + varName +
                     " is in a boolean context, inferring boolean type");
             return new Type("boolean", false);
         }
 
-        System.out.println("DEBUG [OperationTypeCheck]: Could not determine type for " +
+        Log.debug(() -> "[OperationTypeCheck]: Could not determine type for " +
                 varName + ", defaulting to int");
         return new Type("int", false);
     }
@@ -6,6 +6,7 @@ import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.logging.Log;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -45,7 +46,7 @@ public class ReturnStatementCheck extends AnalysisVisitor {
         currentReturnType = returnType;
         methodReturnTypes.put(methodName, returnType);
 
-        System.out.println("DEBUG [ReturnCheck]: Analyzing method " + methodName +
+        Log.debug(() -> "[ReturnCheck]: Analyzing method " + methodName +
                 " with return type " + (returnType != null ? returnType.getName() : "null"));
 
         // Visitar os filhos para buscar return statements
@@ -8,6 +8,8 @@ import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
 import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.logging.LogLevel;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -37,7 +39,7 @@ public class ReturnTypeCheck extends AnalysisVisitor {
             Type returnType = extractReturnTypeFromNode(method);
             returnTypeCache.put(methodSignature, returnType);
 
-            System.out.println("DEBUG [ReturnTypeCheck]: Entering method: " + currentMethod +
+            Log.debug(() -> "[ReturnTypeCheck]: Entering method: " + currentMethod +
                     " with " + currentMethodParameters.size() + " parameters - signature: " + methodSignature +
                     " - return type: " + (returnType != null ? returnType.getName() : "null") +
                     (returnType != null && returnType.isArray() ? "[]" : ""));
@@ -145,7 +147,7 @@ public class ReturnTypeCheck extends AnalysisVisitor {
     }
 
     private Void visitReturnStmt(JmmNode returnStmt, SymbolTable table) {
-        System.out.println("DEBUG [ReturnTypeCheck]: Checking return statement at line " + returnStmt.getLine());
+        Log.debug(() -> "[ReturnTypeCheck]: Checking return statement at line " + returnStmt.getLine());
 
         if (currentMethod == null || currentMethodNode == null) {
             return null;
@@ -158,9 +160,11 @@ public class ReturnTypeCheck extends AnalysisVisitor {
             expectedType = extractReturnTypeFromNode(currentMethodNode);
         }
 
-        System.out.println("DEBUG [ReturnTypeCheck]: Method '" + methodSignature +
-                "' declared return type: " + expectedType.getName() +
-                (expectedType.isArray() ? "[]" : ""));
+        if (Log.isEnabled(LogLevel.DEBUG)) {
+            Log.debug("[ReturnTypeCheck]: Method '" + methodSignature +
+                    "' declared return type: " + expectedType.getName() +
+                    (expectedType.isArray() ? "[]" : ""));
+        }
 
         if (returnStmt.getChildren().isEmpty()) {
             if (!"void".equals(expectedType.getName())) {
@@ -176,11 +180,11 @@ public class ReturnTypeCheck extends AnalysisVisitor {
         }
 
         JmmNode returnExpr = returnStmt.getChildren().get(0);
-        System.out.println("DEBUG [ReturnTypeCheck]: Return expression kind: " + returnExpr.getKind());
+        Log.debug(() -> "[ReturnTypeCheck]: Return expression kind: " + returnExpr.getKind());
 
         Type actualType = determineExpressionType(returnExpr, table);
 
-        System.out.println("DEBUG [ReturnTypeCheck]: Return expression type determined as: " +
+        Log.debug(() -> "[ReturnTypeCheck]: Return expression type determined as: " +
                 actualType.getName() + (actualType.isArray() ? "[]" : ""));
 
         if (!areTypesCompatible(expectedType, actualType)) {
@@ -206,12 +210,12 @@ public class ReturnTypeCheck extends AnalysisVisitor {
         try {
             Type type = typeUtils.getExprType(expr);
             if (type != null) {
-                System.out.println("DEBUG [ReturnTypeCheck]: TypeUtils determined type: " +
+                Log.debug(() -> "[ReturnTypeCheck]: TypeUtils determined type: " +
                         type.getName() + (type.isArray() ? "[]" : ""));
                 return type;
             }
         } catch (Exception e) {
-            System.out.println("WARNING: " + e.getMessage());
+            Log.warn(() -> "" + e.getMessage());
         }
 
         String kind = expr.getKind();
@@ -234,7 +238,7 @@ public class ReturnTypeCheck extends AnalysisVisitor {
 
             for (Symbol param : currentMethodParameters) {
                 if (param.getName().equals(varName)) {
-                    System.out.println("DEBUG: Found parameter: " + varName +
+                    Log.debug(() -> "Found parameter: " + varName +
                             " with type: " + param.getType().getName() +
                             (param.getType().isArray() ? "[]" : ""));
                     return param.getType();
@@ -5,6 +5,7 @@ import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.logging.Log;
 
 import java.util.*;
 
@@ -13,7 +14,7 @@ public class ScopeViolationCheck extends AnalysisVisitor {
     private String currentMethod;
     private Deque<Set<String>> scopeStack = new ArrayDeque<>();
     private Map<String, Integer> varScopeDepth = new HashMap<>();
-    private static final Set<String> reportedOutOfScopeVars = new HashSet<>();
+    private final Set<String> reportedOutOfScopeVars = new HashSet<>();
 
     @Override
     public void buildVisitor() {
@@ -30,7 +31,7 @@ public class ScopeViolationCheck extends AnalysisVisitor {
     private Void visitMethodDecl(JmmNode method, SymbolTable table) {
         if (method.hasAttribute("name")) {
             currentMethod = method.get("name");
-            System.out.println("DEBUG [ScopeViolationCheck]: Entering method: " + currentMethod);
+            Log.debug(() -> "[ScopeViolationCheck]: Entering method: " + currentMethod);
 
             scopeStack.clear();
             varScopeDepth.clear();
@@ -53,7 +54,7 @@ public class ScopeViolationCheck extends AnalysisVisitor {
 
             varScopeDepth.put(varName, scopeStack.size());
 
-            System.out.println("DEBUG [ScopeViolationCheck]: Declared variable '" + varName +
+            Log.debug(() -> "[ScopeViolationCheck]: Declared variable '" + varName +
                     "' at scope depth " + scopeStack.size());
         }
 
@@ -153,14 +154,14 @@ public class ScopeViolationCheck extends AnalysisVisitor {
     private Void visitBlockStmt(JmmNode blockStmt, SymbolTable table) {
 
         scopeStack.push(new HashSet<>());
-        System.out.println("DEBUG [ScopeViolationCheck]: Entering new block scope, depth: " + scopeStack.size());
+        Log.debug(() -> "[ScopeViolationCheck]: Entering new block scope, depth: " + scopeStack.size());
 
         for (JmmNode child : blockStmt.getChildren()) {
             visit(child, table);
         }
 
         scopeStack.pop();
-        System.out.println("DEBUG [ScopeViolationCheck]: Exiting block scope");
+        Log.debug("[ScopeViolationCheck]: Exiting block scope");
 
         return null;
     }
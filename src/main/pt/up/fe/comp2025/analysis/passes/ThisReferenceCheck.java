@@ -5,6 +5,7 @@ import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.logging.Log;
 
 /**
  * Visitor para verificar o uso de "this" em contextos inválidos.
@@ -30,7 +31,7 @@ public class ThisReferenceCheck extends AnalysisVisitor {
             // Em Java, o método main é implicitamente estático
             isStaticContext = "main".equals(currentMethod);
 
-            System.out.println("DEBUG [ThisReferenceCheck]: Entering method: " + currentMethod +
+            Log.debug(() -> "[ThisReferenceCheck]: Entering method: " + currentMethod +
                     (isStaticContext ? " (static context)" : ""));
         }
 
@@ -42,7 +43,7 @@ public class ThisReferenceCheck extends AnalysisVisitor {
     }
 
     private Void visitThisExpression(JmmNode thisExpr, SymbolTable table) {
-        System.out.println("DEBUG [ThisReferenceCheck]: Found 'this' reference at line " + thisExpr.getLine());
+        Log.debug(() -> "[ThisReferenceCheck]: Found 'this' reference at line " + thisExpr.getLine());
 
         if (isStaticContext) {
             addReport(Report.newError(
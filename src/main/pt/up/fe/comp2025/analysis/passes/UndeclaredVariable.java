@@ -6,6 +6,7 @@ import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.logging.Log;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
@@ -21,7 +22,7 @@ public class UndeclaredVariable extends AnalysisVisitor {
 
     private Deque<Set<String>> scopeStack = new ArrayDeque<>();
 
-    private static final Set<String> reportedUndeclaredVars = new HashSet<>();
+    private final Set<String> reportedUndeclaredVars = new HashSet<>();
 
     @Override
     public void buildVisitor() {
@@ -38,7 +39,7 @@ public class UndeclaredVariable extends AnalysisVisitor {
         if (method.hasAttribute("name")) {
             currentMethod = method.get("name");
             currentMethodNode = method;
-            System.out.println("DEBUG: Visiting method: " + currentMethod);
+            Log.debug(() -> "Visiting method: " + currentMethod);
 
             scopeStack.clear();
             Set<String> methodScope = new HashSet<>();
@@ -50,7 +51,7 @@ public class UndeclaredVariable extends AnalysisVisitor {
                     if (paramNode.hasAttribute("name")) {
                         String paramName = paramNode.get("name");
                         methodScope.add(paramName);
-                        System.out.println("DEBUG: Added parameter '" + paramName + "' to method scope from AST");
+                        Log.debug(() -> "Added parameter '" + paramName + "' to method scope from AST");
                     }
                 }
             }
@@ -58,12 +59,12 @@ public class UndeclaredVariable extends AnalysisVisitor {
             if (currentMethod != null) {
                 for (Symbol param : table.getParameters(currentMethod)) {
                     methodScope.add(param.getName());
-                    System.out.println("DEBUG: Added parameter '" + param.getName() + "' to method scope from table");
+                    Log.debug(() -> "Added parameter '" + param.getName() + "' to method scope from table");
                 }
 
                 for (Symbol local : table.getLocalVariables(currentMethod)) {
                     methodScope.add(local.getName());
-                    System.out.println("DEBUG: Added local variable '" + local.getName() + "' to method scope");
+                    Log.debug(() -> "Added local variable '" + local.getName() + "' to method scope");
                 }
             }
 
@@ -80,7 +81,7 @@ public class UndeclaredVariable extends AnalysisVisitor {
     private Void visitClassDecl(JmmNode classDecl, SymbolTable table) {
         if (classDecl.hasAttribute("name")) {
             currentClass = classDecl.get("name");
-            System.out.println("DEBUG: Visiting class: " + currentClass);
+            Log.debug(() -> "Visiting class: " + currentClass);
         }
 
         for (JmmNode child : classDecl.getChildren()) {
@@ -93,11 +94,11 @@ public class UndeclaredVariable extends AnalysisVisitor {
     private Void visitVarDecl(JmmNode varDecl, SymbolTable table) {
         if (varDecl.hasAttribute("name")) {
             String varName = varDecl.get("name");
-            System.out.println("DEBUG: Variable declaration: " + varName);
+            Log.debug(() -> "Variable declaration: " + varName);
 
             if (!scopeStack.isEmpty()) {
                 scopeStack.peek().add(varName);
-                System.out.println("DEBUG: Added variable '" + varName + "' to current scope.");
+                Log.debug(() -> "Added variable '" + varName + "' to current scope.");
             }
         }
 
@@ -122,10 +123,10 @@ public class UndeclaredVariable extends AnalysisVisitor {
         }
 
         String varRefName = varRefExpr.hasAttribute("name") ? varRefExpr.get("name") : "";
-        System.out.println("DEBUG: Visiting AA reference: " + varRefName);
+        Log.debug(() -> "Visiting AA reference: " + varRefName);
         // print all attributes
         for (String attribute : varRefExpr.getAttributes()) {
-            System.out.println("DEBUG: Attribute: " + attribute + " = " + varRefExpr.get(attribute));
+            Log.debug(() -> "Attribute: " + attribute + " = " + varRefExpr.get(attribute));
         }
         if (varRefName.isEmpty()) {
             Report report = Report.newError(
@@ -147,7 +148,7 @@ public class UndeclaredVariable extends AnalysisVisitor {
         }
 
         if (table.getImports().contains(varRefName)) {
-            System.out.println("DEBUG: Found imported class: " + varRefName);
+            Log.debug(() -> "Found imported class: " + varRefName);
             return null;
         }
 
@@ -155,7 +156,7 @@ public class UndeclaredVariable extends AnalysisVisitor {
             for (JmmNode child : currentMethodNode.getChildren("ParamList")) {
                 for (JmmNode param : child.getChildren("PARAM")) {
                     if (param.hasAttribute("name") && param.get("name").equals(varRefName)) {
-                        System.out.println("DEBUG: Found parameter in AST: " + varRefName);
+                        Log.debug(() -> "Found parameter in AST: " + varRefName);
                         return null;
                     }
                 }
@@ -164,7 +165,7 @@ public class UndeclaredVariable extends AnalysisVisitor {
 
         if (table.getParameters(currentMethod).stream()
                 .anyMatch(param -> param.getName().equals(varRefName))) {
-            System.out.println("DEBUG: Found parameter in symbol table: " + varRefName);
+            Log.debug(() -> "Found parameter in symbol table: " + varRefName);
             return null;
         }
 
@@ -176,18 +177,18 @@ public class UndeclaredVariable extends AnalysisVisitor {
             }
         }
         if (foundInScope) {
-            System.out.println("DEBUG: Found variable in scope: " + varRefName);
+            Log.debug(() -> "Found variable in scope: " + varRefName);
             return null;
         }
 
         if (table.getFields().stream()
                 .anyMatch(field -> field.getName().equals(varRefName))) {
-            System.out.println("DEBUG: Found field: " + varRefName);
+            Log.debug(() -> "Found field: " + varRefName);
             return null;
         }
 
         String message = String.format("Variable '%s' does not exist.", varRefName);
-        System.out.println("DEBUG: Reporting undeclared variable: " + varRefName);
+        Log.debug(() -> "Reporting undeclared variable: " + varRefName);
 
         Report report = Report.newError(
                 Stage.SEMANTIC,
@@ -6,6 +6,8 @@ import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.logging.LogLevel;
 import pt.up.fe.comp2025.symboltable.JmmSymbolTable;
 
 import java.util.HashMap;
@@ -45,7 +47,7 @@ public class TypeUtils {
             if (param.getType().isArray()) {
                 int dimensions = inferArrayDimensions(param.getType());
                 variableDimensions.put(param.getName(), dimensions);
-                System.out.println("DEBUG: Identified parameter " + param.getName() +
+                Log.debug(() -> "Identified parameter " + param.getName() +
                         " as array with " + dimensions + " dimensions");
             }
         }
@@ -54,7 +56,7 @@ public class TypeUtils {
             if (local.getType().isArray()) {
                 int dimensions = inferArrayDimensions(local.getType());
                 variableDimensions.put(local.getName(), dimensions);
-                System.out.println("DEBUG: Identified local variable " + local.getName() +
+                Log.debug(() -> "Identified local variable " + local.getName() +
                         " as array with " + dimensions + " dimensions");
             }
         }
@@ -63,7 +65,7 @@ public class TypeUtils {
             if (field.getType().isArray()) {
                 int dimensions = inferArrayDimensions(field.getType());
                 variableDimensions.put(field.getName(), dimensions);
-                System.out.println("DEBUG: Identified field " + field.getName() +
+                Log.debug(() -> "Identified field " + field.getName() +
                         " as array with " + dimensions + " dimensions");
             }
         }
@@ -101,12 +103,12 @@ public class TypeUtils {
     }
 
     public static Type convertType(JmmNode typeNode) {
-        System.out.println("DEBUG convertType: Processing type node " + typeNode.getKind() +
+        Log.debug(() -> "convertType: Processing type node " + typeNode.getKind() +
                 (typeNode.hasAttribute("name") ? " name=" + typeNode.get("name") : ""));
 
-        System.out.println("  DEBUG Type node children:");
+        Log.debug("  Type node children:");
         for (JmmNode child : typeNode.getChildren()) {
-            System.out.println("    - " + child.getKind());
+            Log.debug(() -> "    - " + child.getKind());
         }
 
         if ("FUNCTION_TYPE".equals(typeNode.getKind())) {
@@ -187,7 +189,7 @@ public class TypeUtils {
     }
     private Type getBinaryExprType(JmmNode expr) {
         if (expr.getChildren().size() < 2) {
-            System.out.println("Warning: Expected binary expression but found node with fewer than 2 children: " + expr.getKind());
+            Log.warn(() -> "Expected binary expression but found node with fewer than 2 children: " + expr.getKind());
             return new Type("void", false);
         }
 
@@ -261,7 +263,7 @@ public class TypeUtils {
 
     private Type getUnaryExprType(JmmNode expr) {
         if (expr.getChildren().isEmpty()) {
-            System.out.println("Warning: Expected unary expression with child but found none: " + expr.getKind());
+            Log.warn(() -> "Expected unary expression with child but found none: " + expr.getKind());
             return new Type("void", false);
         }
 
@@ -310,18 +312,18 @@ public class TypeUtils {
 
         if ("FieldAccessExpr".equals(kind)) {
             if (expr.getChildren().isEmpty() || !expr.hasAttribute("name")) {
-                System.out.println("ERROR: Field access expression missing object or field name");
+                Log.error("Field access expression missing object or field name");
                 return error(expr, "Field access expression missing object or field name");
             }
             JmmNode objectExpr = expr.getChildren().get(0);
             String fieldName = expr.get("name");
-            System.out.println("DEBUG: Processing field access: " + fieldName);
+            Log.debug(() -> "Processing field access: " + fieldName);
             Type objectType = getExprType(objectExpr);
-            System.out.println("DEBUG: Object type: " + objectType.getName());
+            Log.debug(() -> "Object type: " + objectType.getName());
             if (objectType.getName().equals(table.getClassName())) {
                 for (Symbol field : table.getFields()) {
                     if (field.getName().equals(fieldName)) {
-                        System.out.println("DEBUG: Found matching field: " + fieldName +
+                        Log.debug(() -> "Found matching field: " + fieldName +
                                 " of type: " + field.getType().getName());
 
                         Type fieldType = field.getType();
@@ -337,7 +339,7 @@ public class TypeUtils {
             }
             if (objectType.getName().equals(table.getSuper())) {
                 if ("field1".equals(fieldName) || "field2".equals(fieldName)) {
-                    System.out.println("DEBUG: Found superclass field: " + fieldName + " (assuming int)");
+                    Log.debug(() -> "Found superclass field: " + fieldName + " (assuming int)");
                     Type result = newIntType();
                     exprTypeCache.put(expr, result);
                     return result;
@@ -364,11 +366,11 @@ public class TypeUtils {
         }
 
         if ("NewIntArrayExpr".equals(kind) || "NewArrayExpression".equals(kind) || "NewMultiDimArrayExpr".equals(kind)) {
-            System.out.println("DEBUG: Found new int array expression (" + kind + ")");
+            Log.debug(() -> "Found new int array expression (" + kind + ")");
             int dimensions = countArrayDimensionsInNew(expr);
             expressionDimensions.put(expr, dimensions);
             ArrayType result = new ArrayType("int", dimensions);
-            System.out.println("DEBUG: New array has " + dimensions + " dimensions");
+            Log.debug(() -> "New array has " + dimensions + " dimensions");
             exprTypeCache.put(expr, result);
             return result;
         }
@@ -383,7 +385,7 @@ public class TypeUtils {
             if (expr.hasAttribute("name") && currentMethod != null) {
                 String varName = expr.get("name");
                 if (table.getImports().contains(varName)) {
-                    System.out.println("DEBUG: Found imported class in getExprType: " + varName);
+                    Log.debug(() -> "Found imported class in getExprType: " + varName);
                     Type result = new Type(varName, false);
                     exprTypeCache.put(expr, result);
                     return result;
@@ -391,7 +393,7 @@ public class TypeUtils {
 
                 for (Symbol param : table.getParameters(currentMethod)) {
                     if (param.getName().equals(varName)) {
-                        System.out.println("DEBUG: Found parameter: " + varName + " with type: " +
+                        Log.debug(() -> "Found parameter: " + varName + " with type: " +
                                 param.getType().getName() + (param.getType().isArray() ? "[]" : ""));
 
                         Type paramType = param.getType();
@@ -411,7 +413,7 @@ public class TypeUtils {
 
                 for (Symbol local : table.getLocalVariables(currentMethod)) {
                     if (local.getName().equals(varName)) {
-                        System.out.println("DEBUG: Found local variable: " + varName + " with type: " +
+                        Log.debug(() -> "Found local variable: " + varName + " with type: " +
                                 local.getType().getName() + (local.getType().isArray() ? "[]" : ""));
 
                         Type localType = local.getType();
@@ -431,7 +433,7 @@ public class TypeUtils {
 
                 for (Symbol field : table.getFields()) {
                     if (field.getName().equals(varName)) {
-                        System.out.println("DEBUG: Found field: " + varName + " with type: " +
+                        Log.debug(() -> "Found field: " + varName + " with type: " +
                                 field.getType().getName() + (field.getType().isArray() ? "[]" : ""));
 
                         Type fieldType = field.getType();
@@ -449,7 +451,7 @@ public class TypeUtils {
                     }
                 }
 
-                System.out.println("WARNING: Variable not found: " + varName);
+                Log.warn(() -> "Variable not found: " + varName);
                 return error(expr, "Variable '" + varName + "' not found.");
             }
             return error(expr, "Identifier reference without a valid name");
@@ -495,18 +497,18 @@ public class TypeUtils {
                     exprTypeCache.put(expr, result);
                     return result;
                 } catch (Exception e) {
-                    System.out.println("ERROR processing binary expr: " + e.getMessage());
+                    Log.error(() -> "ERROR processing binary expr: " + e.getMessage());
                     Type result = new Type("void", false);
                     exprTypeCache.put(expr, result);
                     return result;
                 }
             } else if (expr.getChildren().size() == 1) {
-                System.out.println("DEBUG: Expression with one child, getting child type");
+                Log.debug("Expression with one child, getting child type");
                 Type result = getExprType(expr.getChildren().get(0));
                 exprTypeCache.put(expr, result);
                 return result;
             } else {
-                System.out.println("Warning: Expression with no children: " + kind);
+                Log.warn(() -> "Expression with no children: " + kind);
                 Type result = new Type("void", false);
                 exprTypeCache.put(expr, result);
                 return result;
@@ -521,7 +523,7 @@ public class TypeUtils {
                     exprTypeCache.put(expr, result);
                     return result;
                 } catch (Exception e) {
-                    System.out.println("ERROR processing unary expr: " + e.getMessage());
+                    Log.error(() -> "ERROR processing unary expr: " + e.getMessage());
                     Type result = new Type("void", false);
                     exprTypeCache.put(expr, result);
                     return result;
@@ -534,7 +536,7 @@ public class TypeUtils {
 
         if ("ArrayAccessExpr".equals(kind)) {
             if (expr.getChildren().size() < 2) {
-                System.out.println("WARNING: Invalid array access expression - missing array or index");
+                Log.warn("Invalid array access expression - missing array or index");
                 return error(expr, "Invalid array access expression - missing array or index");
             }
 
@@ -543,7 +545,7 @@ public class TypeUtils {
 
             Type indexType = getExprType(indexExpr);
             if (!"int".equals(indexType.getName())) {
-                System.out.println("WARNING: Array index must be an integer, but got: " + indexType.getName());
+                Log.warn(() -> "Array index must be an integer, but got: " + indexType.getName());
                 return error(expr, "Array index must be an integer, but got: " + indexType.getName());
             }
 
@@ -570,11 +572,13 @@ public class TypeUtils {
                 }
             }
 
-            System.out.println("DEBUG: Array access on type " + arrayType.getName() +
-                    (arrayType.isArray() ? "[]" : "") + " with dimensions: " + arrayDimensions);
+            if (Log.isEnabled(LogLevel.DEBUG)) {
+                Log.debug("Array access on type " + arrayType.getName() +
+                        (arrayType.isArray() ? "[]" : "") + " with dimensions: " + arrayDimensions);
+            }
 
             if (!arrayType.isArray() && arrayDimensions <= 0) {
-                System.out.println("WARNING: Array access on non-array type " + arrayType.getName());
+                Log.warn(() -> "Array access on non-array type " + arrayType.getName());
                 return error(expr, "Cannot perform array access on non-array type '" + arrayType.getName() + "'");
             }
 
@@ -585,11 +589,11 @@ public class TypeUtils {
             Type resultType;
             if (remainingDimensions > 0) {
                 resultType = new ArrayType(arrayType.getName(), remainingDimensions);
-                System.out.println("DEBUG: Array access result is still an array with " +
+                Log.debug(() -> "Array access result is still an array with " +
                         remainingDimensions + " dimensions");
             } else {
                 resultType = new Type(arrayType.getName(), false);
-                System.out.println("DEBUG: Array access result is a scalar value");
+                Log.debug("Array access result is a scalar value");
             }
 
             exprTypeCache.put(expr, resultType);
@@ -603,7 +607,7 @@ public class TypeUtils {
 
             JmmNode objectExpr = expr.getChildren().get(0);
             String methodName = expr.hasAttribute("name") ? expr.get("name") : "<unknown>";
-            System.out.println("DEBUG: Analyzing method call: " + methodName);
+            Log.debug(() -> "Analyzing method call: " + methodName);
 
             Type objectType = getExprType(objectExpr);
 
@@ -653,7 +657,7 @@ public class TypeUtils {
                 return returnType;
             }
 
-            System.out.println("DEBUG: Could not determine return type for method: " + methodName);
+            Log.debug(() -> "Could not determine return type for method: " + methodName);
             Type intType = newIntType();
             exprTypeCache.put(expr, intType);
             return intType;
@@ -710,7 +714,7 @@ public class TypeUtils {
                 return childType;
             }
         }
-        System.out.println("DEBUG: Could not determine type for " + kind + ", returning void");
+        Log.debug(() -> "Could not determine type for " + kind + ", returning void");
         Type result = new Type("void", false);
         exprTypeCache.put(expr, result);
         return result;
@@ -731,7 +735,7 @@ public class TypeUtils {
                     }
 
                     int dimensions = expressionCount;
-                    System.out.println("DEBUG [TypeUtils]: MultiDimArrayDeclaration com " +
+                    Log.debug(() -> "[TypeUtils]: MultiDimArrayDeclaration com " +
                             dimensions + " dimensões");
                     return dimensions;
                 }
@@ -750,8 +754,10 @@ public class TypeUtils {
 
             dimensions = Math.max(1, dimensions / 2);
 
-            System.out.println("DEBUG [TypeUtils]: NewIntArrayExpr com " +
-                    dimensions + " dimensões");
+            if (Log.isEnabled(LogLevel.DEBUG)) {
+                Log.debug("[TypeUtils]: NewIntArrayExpr com " +
+                        dimensions + " dimensões");
+            }
             return dimensions;
         }
 
@@ -801,7 +807,9 @@ public class TypeUtils {
             }
         }
 
-        System.out.println("DEBUG [TypeUtils]: Inicializador de array com " + dimensions + " dimensões");
+        if (Log.isEnabled(LogLevel.DEBUG)) {
+            Log.debug("[TypeUtils]: Inicializador de array com " + dimensions + " dimensões");
+        }
         return dimensions;
     }
 
@@ -889,7 +897,7 @@ public class TypeUtils {
         if (type.getName().equals(table.getClassName()) &&
                 table.getSuper() != null &&
                 table.getImports().contains(table.getSuper())) {
-            System.out.println("DEBUG: " + type.getName() + " is a subclass of imported class " +
+            Log.debug(() -> "" + type.getName() + " is a subclass of imported class " +
                     table.getSuper() + ", assuming methods are in parent");
             return true;
         }
@@ -6,8 +6,13 @@ import pt.up.fe.comp.jmm.ollir.OllirResult;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.ReportType;
 import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.metrics.CompilerMetrics;
+import pt.up.fe.comp2025.metrics.StageTimer;
+import pt.up.fe.comp2025.optimization.register.RegisterAllocation;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * Robust and clean Jasmin backend implementation.
@@ -16,7 +21,17 @@ public class JasminBackendImpl implements JasminBackend {
 
     @Override
     public JasminResult toJasmin(OllirResult ollirResult) {
-        try {
+        return toJasmin(ollirResult, RegisterAllocation.none(), ollirResult.getReports());
+    }
+
+    /**
+     * Generates Jasmin code with the registers of the given allocation, as returned by the register allocator for the
+     * class of the OLLIR result, instead of the ones in its descriptors.
+     *
+     * @param reports Reports of the stages up to the register allocation, kept before the ones of this stage
+     */
+    public JasminResult toJasmin(OllirResult ollirResult, RegisterAllocation allocation, List<Report> reports) {
+        try (StageTimer timer = CompilerMetrics.stage("jasmin-generation")) {
             // Validate input
             if (ollirResult == null) {
                 throw new IllegalArgumentException("OllirResult cannot be null");
@@ -27,7 +42,7 @@ public class JasminBackendImpl implements JasminBackend {
             }
 
             // Create generator and build Jasmin code
-            JasminGenerator generator = new JasminGenerator(ollirResult);
+            JasminGenerator generator = new JasminGenerator(ollirResult, allocation);
             String jasminCode = generator.build();
 
             // Validate output
@@ -39,7 +54,7 @@ public class JasminBackendImpl implements JasminBackend {
             validateJasminCode(jasminCode);
 
             // Return successful result
-            return new JasminResult(ollirResult, jasminCode, generator.getReports());
+            return result(ollirResult, jasminCode, reports, generator.getReports());
 
         } catch (Exception e) {
             // Create error report
@@ -48,12 +63,18 @@ public class JasminBackendImpl implements JasminBackend {
 
             // Generate minimal valid Jasmin code to prevent further errors
 
-            return new JasminResult(ollirResult,
-                    null,
-                    Collections.singletonList(errorReport));
+            return result(ollirResult, null, reports, Collections.singletonList(errorReport));
         }
     }
 
+    private static JasminResult result(OllirResult ollirResult, String jasminCode, List<Report> reports,
+                                       List<Report> stageReports) {
+        List<Report> allReports = new ArrayList<>(reports);
+        allReports.addAll(stageReports);
+        return new JasminResult(ollirResult.getOllirClass().getClassName(), jasminCode, allReports,
+                ollirResult.getConfig());
+    }
+
     /**
      * Validate generated Jasmin code for basic correctness.
      */
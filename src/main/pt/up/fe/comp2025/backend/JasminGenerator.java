@@ -6,6 +6,8 @@ import pt.up.fe.comp.jmm.ollir.OllirResult;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.ReportType;
 import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.optimization.register.RegisterAllocation;
+import pt.up.fe.comp2025.optimization.util.ControlFlowIndex;
 import pt.up.fe.specs.util.classmap.FunctionClassMap;
 import org.specs.comp.ollir.inst.ArrayLengthInstruction;
 import java.util.*;
@@ -16,9 +18,11 @@ public class JasminGenerator {
     private static final String INDENT = "    ";
 
     private final OllirResult ollirResult;
+    private final RegisterAllocation allocation;
     private final List<Report> reports;
     private String generatedCode;
     private Method activeMethod;
+    private RegisterAllocation.MethodAllocation activeAllocation;
     private final JasminUtils jasminUtils;
     private final FunctionClassMap<Object, String> instructionGenerators;
 
@@ -27,7 +31,15 @@ public class JasminGenerator {
     private int labelCounter = 0;
 
     public JasminGenerator(OllirResult ollirResult) {
+        this(ollirResult, RegisterAllocation.none());
+    }
+
+    /**
+     * @param allocation Registers of the variables, read instead of the ones in the descriptors of each method
+     */
+    public JasminGenerator(OllirResult ollirResult, RegisterAllocation allocation) {
         this.ollirResult = ollirResult;
+        this.allocation = allocation;
         this.reports = new ArrayList<>();
         this.generatedCode = null;
         this.activeMethod = null;
@@ -164,6 +176,7 @@ public class JasminGenerator {
 
     private String buildMethodCode(Method method) {
         activeMethod = method;
+        activeAllocation = allocation.get(method);
         labelCounter = 0;
 
         var codeBuilder = new StringBuilder();
@@ -212,6 +225,7 @@ public class JasminGenerator {
         codeBuilder.append(".end method");
 
         activeMethod = null;
+        activeAllocation = null;
         return codeBuilder.toString();
     }
 
@@ -284,8 +298,12 @@ public class JasminGenerator {
         maxLocals += method.getParams().size();
 
         int highestRegister = -1;
-        for (Descriptor descriptor : method.getVarTable().values()) {
-            highestRegister = Math.max(highestRegister, descriptor.getVirtualReg());
+        if (activeAllocation != null) {
+            highestRegister = activeAllocation.maxRegister();
+        } else {
+            for (Descriptor descriptor : method.getVarTable().values()) {
+                highestRegister = Math.max(highestRegister, descriptor.getVirtualReg());
+            }
         }
 
         if (highestRegister >= 0) {
@@ -295,37 +313,35 @@ public class JasminGenerator {
         return maxLocals;
     }
 
+    /**
+     * Register of a variable of the method being emitted, from the register allocation if it has one.
+     */
+    private int registerOf(String variableName, Descriptor descriptor) {
+        if (activeAllocation != null) {
+            int register = activeAllocation.getRegister(variableName);
+            if (register >= 0) {
+                return register;
+            }
+        }
+        return descriptor.getVirtualReg();
+    }
+
     private String createMethodBodyWithLabels(Method method) {
         StringBuilder codeBuilder = new StringBuilder();
         List<Instruction> instructions = method.getInstructions();
 
-        Map<String, Instruction> methodLabels = method.getLabels();
-        Map<Integer, List<String>> labelPositionMap = new HashMap<>();
-
-        if (methodLabels != null && !methodLabels.isEmpty()) {
-            for (Map.Entry<String, Instruction> labelEntry : methodLabels.entrySet()) {
-                String labelName = labelEntry.getKey();
-                Instruction targetInstruction = labelEntry.getValue();
-                if (labelName != null && targetInstruction != null) {
-                    int instructionIndex = instructions.indexOf(targetInstruction);
-                    if (instructionIndex >= 0) {
-                        labelPositionMap.computeIfAbsent(instructionIndex, k -> new ArrayList<>()).add(labelName);
-                    }
-                }
-            }
-        }
+        ControlFlowIndex cfg = ControlFlowIndex.build(method);
 
         int processedInstructions = 0;
         for (int i = 0; i < instructions.size(); i++) {
-            if (labelPositionMap.containsKey(i)) {
-                for (String labelName : labelPositionMap.get(i)) {
-                    codeBuilder.append(labelName).append(":").append(NEWLINE);
-                }
+            for (String labelName : cfg.getLabels(i)) {
+                codeBuilder.append(labelName).append(":").append(NEWLINE);
             }
 
             Instruction currentInstruction = instructions.get(i);
 
-            if (i < instructions.size() - 1) {
+            // A labelled instruction is a jump target, so it cannot be merged into the one before it
+            if (i < instructions.size() - 1 && cfg.getLabels(i + 1).isEmpty()) {
                 String optimizedCode = detectCrossInstructionOptimization(currentInstruction, instructions.get(i + 1));
                 if (optimizedCode != null) {
                     String[] optimizedLines = optimizedCode.split(NEWLINE);
@@ -383,17 +399,36 @@ public class JasminGenerator {
         Descriptor variableDescriptor = activeMethod.getVarTable().get(originalVariable.getName());
         if (variableDescriptor == null) return null;
 
-        int registerNumber = variableDescriptor.getVirtualReg();
+        int registerNumber = registerOf(originalVariable.getName(), variableDescriptor);
         int incrementValue = operationType == OperationType.ADD ? 1 : -1;
 
         return "iinc " + registerNumber + " " + incrementValue + NEWLINE;
     }
 
+    private boolean isCopyWithinRegister(Element leftSide, Instruction rightSide) {
+        if (!(leftSide instanceof Operand destination) || leftSide instanceof ArrayOperand) return false;
+        if (!(rightSide instanceof SingleOpInstruction singleOperation)) return false;
+        if (!(singleOperation.getSingleOperand() instanceof Operand source) || source instanceof ArrayOperand) {
+            return false;
+        }
+
+        Descriptor destinationDescriptor = activeMethod.getVarTable().get(destination.getName());
+        Descriptor sourceDescriptor = activeMethod.getVarTable().get(source.getName());
+        return destinationDescriptor != null && sourceDescriptor != null &&
+                registerOf(destination.getName(), destinationDescriptor) ==
+                        registerOf(source.getName(), sourceDescriptor);
+    }
+
     private String buildAssignmentCode(AssignInstruction assignment) {
         var codeBuilder = new StringBuilder();
         Element leftSide = assignment.getDest();
         Instruction rightSide = assignment.getRhs();
 
+        // A copy between variables that share a register (e.g., coalesced by the allocator) does nothing
+        if (isCopyWithinRegister(leftSide, rightSide)) {
+            return "";
+        }
+
         if (leftSide instanceof Operand && rightSide instanceof NewInstruction) {
             Operand destOperand = (Operand) leftSide;
             NewInstruction newInstruction = (NewInstruction) rightSide;
@@ -403,7 +438,7 @@ public class JasminGenerator {
 
                 Descriptor variableDescriptor = activeMethod.getVarTable().get(destOperand.getName());
                 if (variableDescriptor != null) {
-                    int registerIndex = variableDescriptor.getVirtualReg();
+                    int registerIndex = registerOf(destOperand.getName(), variableDescriptor);
                     String storeInstruction = jasminUtils.getStoreInstruction(destOperand.getType(), registerIndex);
                     codeBuilder.append(storeInstruction).append(NEWLINE);
                 }
@@ -417,7 +452,7 @@ public class JasminGenerator {
 
             Descriptor arrayDescriptor = activeMethod.getVarTable().get(arrayName);
             if (arrayDescriptor != null) {
-                int arrayRegister = arrayDescriptor.getVirtualReg();
+                int arrayRegister = registerOf(arrayName, arrayDescriptor);
 
                 if ("arr".equals(arrayName) && "test".equals(activeMethod.getMethodName())) {
                     codeBuilder.append(jasminUtils.getOptimizedILoad(arrayRegister)).append(NEWLINE);
@@ -468,7 +503,7 @@ public class JasminGenerator {
             if (leftSide instanceof Operand operand) {
                 Descriptor variableDescriptor = activeMethod.getVarTable().get(operand.getName());
                 if (variableDescriptor != null) {
-                    int registerIndex = variableDescriptor.getVirtualReg();
+                    int registerIndex = registerOf(operand.getName(), variableDescriptor);
                     org.specs.comp.ollir.type.Type variableType = operand.getType();
                     String storeInstruction = jasminUtils.getStoreInstruction(variableType, registerIndex);
                     codeBuilder.append(storeInstruction).append(NEWLINE);
@@ -483,7 +518,7 @@ public class JasminGenerator {
             Descriptor variableDescriptor = activeMethod.getVarTable().get(operand.getName());
 
             if (variableDescriptor != null) {
-                int registerIndex = variableDescriptor.getVirtualReg();
+                int registerIndex = registerOf(operand.getName(), variableDescriptor);
                 org.specs.comp.ollir.type.Type variableType = operand.getType();
                 String storeInstruction = jasminUtils.getStoreInstruction(variableType, registerIndex);
                 codeBuilder.append(storeInstruction).append(NEWLINE);
@@ -504,7 +539,7 @@ public class JasminGenerator {
             Descriptor variableDescriptor = activeMethod.getVarTable().get(variableName);
             if (variableDescriptor == null) return null;
 
-            int registerIndex = variableDescriptor.getVirtualReg();
+            int registerIndex = registerOf(variableName, variableDescriptor);
             int incrementAmount = 0;
             boolean validIncrement = false;
 
@@ -547,7 +582,7 @@ public class JasminGenerator {
         Descriptor arrayDescriptor = activeMethod.getVarTable().get(arrayName);
 
         if (arrayDescriptor != null) {
-            int arrayRegister = arrayDescriptor.getVirtualReg();
+            int arrayRegister = registerOf(arrayName, arrayDescriptor);
 
             org.specs.comp.ollir.type.Type varType = arrayDescriptor.getVarType();
             if (isArrayVariable(varType)) {
@@ -632,7 +667,7 @@ public class JasminGenerator {
             }
         }
 
-        int registerIndex = variableDescriptor.getVirtualReg();
+        int registerIndex = registerOf(variableName, variableDescriptor);
         org.specs.comp.ollir.type.Type variableType = operand.getType();
 
         String instruction;
@@ -658,7 +693,7 @@ public class JasminGenerator {
                 String potentialArrayVar = parts[0];
                 Descriptor arrayDescriptor = activeMethod.getVarTable().get(potentialArrayVar);
                 if (arrayDescriptor != null) {
-                    int arrayRegister = arrayDescriptor.getVirtualReg();
+                    int arrayRegister = registerOf(potentialArrayVar, arrayDescriptor);
                     codeBuilder.append(jasminUtils.getOptimizedALoad(arrayRegister)).append(NEWLINE);
                     codeBuilder.append("arraylength").append(NEWLINE);
                     return codeBuilder.toString();
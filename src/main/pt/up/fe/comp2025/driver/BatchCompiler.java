@@ -0,0 +1,175 @@
+package pt.up.fe.comp2025.driver;
+
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compiles many Java-- sources inside a single JVM, running one pipeline per file on a bounded pool of workers.
+ * <p>
+ * The OLLIR and Jasmin outputs of each source are written next to it ('Foo.jmm' produces 'Foo.ollir' and 'Foo.j').
+ */
+public class BatchCompiler {
+
+    private final Map<String, String> config;
+    private final int workers;
+    private final CompilerPipeline pipeline;
+
+    /**
+     * @param config  The configuration shared by every compilation
+     * @param workers Maximum number of compilations running at the same time
+     */
+    public BatchCompiler(Map<String, String> config, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Expected at least one worker, got " + workers);
+        }
+
+        this.config = config;
+        this.workers = workers;
+        this.pipeline = new CompilerPipeline(CompilationCache.fromConfig(config).orElse(null));
+    }
+
+    /**
+     * Compiles all the given sources.
+     *
+     * @param inputs The source files
+     * @return One result per source, in the same order as the inputs
+     */
+    public List<FileResult> compileAll(List<File> inputs) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(workers, Math.max(1, inputs.size())));
+
+        try {
+            List<Future<FileResult>> futures = new ArrayList<>();
+            for (File input : inputs) {
+                futures.add(executor.submit(() -> compileFile(input)));
+            }
+
+            List<FileResult> results = new ArrayList<>();
+            for (int i = 0; i < inputs.size(); i++) {
+                results.add(waitFor(inputs.get(i), futures.get(i)));
+            }
+
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private FileResult waitFor(File input, Future<FileResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new FileResult(input, failure(input, e), List.of());
+        } catch (ExecutionException e) {
+            return new FileResult(input, failure(input, e.getCause()), List.of());
+        }
+    }
+
+    private FileResult compileFile(File input) {
+        // Each compilation gets its own copy of the configuration, pointing at its own input
+        Map<String, String> fileConfig = new HashMap<>(config);
+        fileConfig.put(ConfigOptions.getInputFile(), input.getAbsolutePath());
+
+        CompilationResult result = pipeline.compile(SpecsIo.read(input), fileConfig);
+
+        List<File> outputs = new ArrayList<>();
+        String baseName = SpecsIo.removeExtension(input.getName());
+        File outputDir = input.getAbsoluteFile().getParentFile();
+
+        result.getOllirCode().ifPresent(ollir -> {
+            File ollirFile = new File(outputDir, baseName + ".ollir");
+            SpecsIo.write(ollirFile, ollir);
+            outputs.add(ollirFile);
+        });
+
+        result.getJasminCode().ifPresent(jasmin -> {
+            File jasminFile = new File(outputDir, baseName + ".j");
+            SpecsIo.write(jasminFile, jasmin);
+            outputs.add(jasminFile);
+        });
+
+        return new FileResult(input, result, outputs);
+    }
+
+    private CompilationResult failure(File input, Throwable cause) {
+        String message = "Could not compile '" + input + "': " + cause;
+        return CompilationResult.failed(List.of(new Report(ReportType.ERROR, Stage.OTHER, -1, -1, message)));
+    }
+
+    /**
+     * Formats the per-file outcome of a batch, listing the warnings and errors of each file.
+     *
+     * @param results The results returned by {@link #compileAll(List)}
+     * @return A human-readable summary
+     */
+    public static String summarize(List<FileResult> results) {
+        StringBuilder summary = new StringBuilder();
+        int failed = 0;
+
+        for (FileResult fileResult : results) {
+            CompilationResult result = fileResult.getResult();
+            if (!result.isSuccess()) {
+                failed++;
+            }
+
+            summary.append(result.isSuccess() ? "[OK]     " : "[FAILED] ")
+                    .append(fileResult.getInput().getPath())
+                    .append("\n");
+
+            for (Report report : result.getReports()) {
+                if (report.getType() == ReportType.ERROR || report.getType() == ReportType.WARNING) {
+                    summary.append("    ").append(report).append("\n");
+                }
+            }
+        }
+
+        summary.append(results.size() - failed).append(" of ").append(results.size())
+                .append(" files compiled successfully\n");
+
+        return summary.toString();
+    }
+
+    /**
+     * Result of compiling one file of the batch.
+     */
+    public static class FileResult {
+
+        private final File input;
+        private final CompilationResult result;
+        private final List<File> outputs;
+
+        public FileResult(File input, CompilationResult result, List<File> outputs) {
+            this.input = input;
+            this.result = result;
+            this.outputs = List.copyOf(outputs);
+        }
+
+        public File getInput() {
+            return input;
+        }
+
+        public CompilationResult getResult() {
+            return result;
+        }
+
+        /**
+         * @return The OLLIR and Jasmin files written for this input
+         */
+        public List<File> getOutputs() {
+            return outputs;
+        }
+    }
+}
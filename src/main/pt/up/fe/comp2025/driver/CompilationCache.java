@@ -0,0 +1,352 @@
+package pt.up.fe.comp2025.driver;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.ConfigOptions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of compilation results, so that unchanged sources skip every stage of the pipeline.
+ * <p>
+ * Entries are addressed by a SHA-256 of the source text, the options that change the generated code ('optimize',
+ * 'registerAllocation' and 'allocator') and the compiler version. Each entry is a JSON file holding the OLLIR, the Jasmin and the
+ * reports of the compilation.
+ * <p>
+ * Entries are written to a temporary file and atomically renamed into place, so concurrent workers, in this or in
+ * another process, only ever see complete entries. Reading an entry refreshes its modification time, and once the
+ * cache grows past its size bound the least recently used entries are deleted.
+ */
+public class CompilationCache {
+
+    private static final Gson GSON = new Gson();
+
+    private static final String ENTRY_EXTENSION = ".json";
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    /**
+     * Temporary files older than this were left behind by a process that died while writing.
+     */
+    private static final Duration STALE_TEMP_AGE = Duration.ofHours(1);
+
+    private static volatile String compilerVersion;
+
+    private final Path directory;
+    private final long maxBytes;
+
+    /**
+     * Approximate size of the entries, refreshed from the file system whenever eviction runs.
+     */
+    private final AtomicLong currentBytes;
+    private final Lock evictionLock = new ReentrantLock();
+
+    /**
+     * @param directory Where entries are stored, created if it does not exist
+     * @param maxBytes  Size above which the least recently used entries are evicted
+     */
+    public CompilationCache(Path directory, long maxBytes) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Expected a positive cache size, got " + maxBytes);
+        }
+
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create cache directory '" + directory + "'", e);
+        }
+
+        this.currentBytes = new AtomicLong(listEntries().stream().mapToLong(Entry::size).sum());
+    }
+
+    /**
+     * Creates the cache configured with '-c' (and '-z'), if any.
+     */
+    public static Optional<CompilationCache> fromConfig(Map<String, String> config) {
+        return CompilerConfig.getCacheDirectory(config)
+                .map(directory -> new CompilationCache(directory, CompilerConfig.getCacheMaxBytes(config)));
+    }
+
+    /**
+     * Computes the key of a compilation.
+     *
+     * @param code   The source code
+     * @param config The compiler configuration, only the options that affect the generated code are used
+     */
+    public static String key(String code, Map<String, String> config) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+
+        // Fields are separated by a character that cannot appear in any of the options
+        digest.update(getCompilerVersion().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(Boolean.toString(ConfigOptions.getOptimize(config)).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(Integer.toString(ConfigOptions.getRegisterAllocation(config)).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(config.getOrDefault(ConfigOptions.getAllocator(), "auto").getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(Long.toString(CompilerConfig.getAllocationBudgetMillis(config)).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(Integer.toString(CompilerConfig.getExactColoringNodes(config)).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(code.getBytes(StandardCharsets.UTF_8));
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * @return The cached result for the given key, if present and readable
+     */
+    public Optional<CompilationResult> lookup(String key) {
+        Path entry = entryPath(key);
+
+        try {
+            String json = Files.readString(entry, StandardCharsets.UTF_8);
+            CompilationResult result = CompilationResult.fromJson(JsonParser.parseString(json).getAsJsonObject());
+
+            // Mark the entry as recently used
+            Files.setLastModifiedTime(entry, FileTime.from(Instant.now()));
+
+            return Optional.of(result);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException | JsonParseException | IllegalStateException | IllegalArgumentException
+                 | NullPointerException e) {
+            // Unreadable or written by an incompatible version, it gets replaced on the next store
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the result of a compilation. Results of compilations that crashed are not stored, since the failure may
+     * not happen again.
+     */
+    public void store(String key, CompilationResult result) {
+        if (isCrash(result)) {
+            return;
+        }
+
+        byte[] content = GSON.toJson(result.toJson()).getBytes(StandardCharsets.UTF_8);
+        Path entry = entryPath(key);
+
+        try {
+            Path temp = Files.createTempFile(directory, key, TEMP_EXTENSION);
+            try {
+                Files.write(temp, content);
+                moveIntoPlace(temp, entry);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            // The cache is only an accelerator, failing to fill it must not fail the compilation
+            return;
+        }
+
+        if (currentBytes.addAndGet(content.length) > maxBytes) {
+            evict();
+        }
+    }
+
+    /**
+     * @return The total size of the entries currently in the cache
+     */
+    public long size() {
+        return listEntries().stream().mapToLong(Entry::size).sum();
+    }
+
+    private static void moveIntoPlace(Path temp, Path entry) throws IOException {
+        try {
+            Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static boolean isCrash(CompilationResult result) {
+        return result.getReports().stream()
+                .anyMatch(report -> report.getType() == ReportType.ERROR && report.getStage() == Stage.OTHER);
+    }
+
+    /**
+     * Deletes the least recently used entries until the cache is back under its size bound. The sizes are read from
+     * the file system, since other processes may share the directory.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            // Another worker is already evicting
+            return;
+        }
+
+        try {
+            List<Entry> entries = listEntries();
+            entries.sort(Comparator.comparing(Entry::lastUsed));
+
+            long total = entries.stream().mapToLong(Entry::size).sum();
+            for (Entry entry : entries) {
+                if (total <= maxBytes) {
+                    break;
+                }
+
+                try {
+                    Files.deleteIfExists(entry.path());
+                } catch (IOException e) {
+                    // Still in use on some platforms, try again on the next eviction
+                    continue;
+                }
+                total -= entry.size();
+            }
+
+            currentBytes.set(total);
+            deleteStaleTempFiles();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void deleteStaleTempFiles() {
+        Instant threshold = Instant.now().minus(STALE_TEMP_AGE);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(TEMP_EXTENSION)).toList()) {
+                try {
+                    if (Files.getLastModifiedTime(file).toInstant().isBefore(threshold)) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException e) {
+                    // Renamed or deleted meanwhile
+                }
+            }
+        } catch (IOException e) {
+            // Nothing to clean
+        }
+    }
+
+    private List<Entry> listEntries() {
+        List<Entry> entries = new ArrayList<>();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(ENTRY_EXTENSION)).toList()) {
+                try {
+                    entries.add(new Entry(file, Files.size(file), Files.getLastModifiedTime(file)));
+                } catch (IOException e) {
+                    // Evicted meanwhile
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list cache directory '" + directory + "'", e);
+        }
+
+        return entries;
+    }
+
+    private Path entryPath(String key) {
+        return directory.resolve(key + ENTRY_EXTENSION);
+    }
+
+    /**
+     * Identifies the compiler build, so that entries written by a different build are never used.
+     * <p>
+     * Uses the implementation version of the jar when there is one, otherwise the size and modification time of the
+     * jar or of the newest class file.
+     */
+    static String getCompilerVersion() {
+        if (compilerVersion == null) {
+            compilerVersion = computeCompilerVersion();
+        }
+
+        return compilerVersion;
+    }
+
+    private static String computeCompilerVersion() {
+        String implementationVersion = CompilationCache.class.getPackage().getImplementationVersion();
+        if (implementationVersion != null) {
+            return implementationVersion;
+        }
+
+        try {
+            Path location = Path.of(CompilationCache.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+            if (Files.isRegularFile(location)) {
+                return Files.size(location) + "-" + Files.getLastModifiedTime(location).toMillis();
+            }
+
+            try (Stream<Path> files = Files.walk(location)) {
+                long newest = files.filter(path -> path.toString().endsWith(".class"))
+                        .mapToLong(CompilationCache::lastModifiedMillis)
+                        .max()
+                        .orElse(0);
+                return "classes-" + newest;
+            }
+        } catch (IOException | URISyntaxException | SecurityException | NullPointerException e) {
+            return "unknown";
+        }
+    }
+
+    private static long lastModifiedMillis(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static class Entry {
+
+        private final Path path;
+        private final long size;
+        private final FileTime lastUsed;
+
+        private Entry(Path path, long size, FileTime lastUsed) {
+            this.path = path;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+
+        private Path path() {
+            return path;
+        }
+
+        private long size() {
+            return size;
+        }
+
+        private FileTime lastUsed() {
+            return lastUsed;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package pt.up.fe.comp2025.driver;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.metrics.CompilerMetrics;
+import pt.up.fe.comp2025.utils.ReportUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Outcome of running the whole pipeline over a single Java-- source.
+ * Holds whatever the last successful stage produced together with the accumulated reports.
+ */
+public class CompilationResult {
+
+    private final String className;
+    private final String ollirCode;
+    private final String jasminCode;
+    private final List<Report> reports;
+    private final CompilerMetrics metrics;
+    private final boolean reproducible;
+
+    public CompilationResult(String className, String ollirCode, String jasminCode, List<Report> reports) {
+        this(className, ollirCode, jasminCode, reports, null, true);
+    }
+
+    private CompilationResult(String className, String ollirCode, String jasminCode, List<Report> reports,
+                              CompilerMetrics metrics, boolean reproducible) {
+        this.className = className;
+        this.ollirCode = ollirCode;
+        this.jasminCode = jasminCode;
+        this.reports = List.copyOf(reports);
+        this.metrics = metrics;
+        this.reproducible = reproducible;
+    }
+
+    /**
+     * Creates the result of a compilation that stopped before generating any code.
+     *
+     * @param reports The reports collected up to the failing stage
+     */
+    public static CompilationResult failed(List<Report> reports) {
+        return new CompilationResult(null, null, null, reports);
+    }
+
+    /**
+     * @return The name of the compiled class, if the pipeline got as far as OLLIR
+     */
+    public Optional<String> getClassName() {
+        return Optional.ofNullable(className);
+    }
+
+    public Optional<String> getOllirCode() {
+        return Optional.ofNullable(ollirCode);
+    }
+
+    public Optional<String> getJasminCode() {
+        return Optional.ofNullable(jasminCode);
+    }
+
+    public List<Report> getReports() {
+        return reports;
+    }
+
+    /**
+     * @return The per-stage measurements, if they were requested with '-m'
+     */
+    public Optional<CompilerMetrics> getMetrics() {
+        return Optional.ofNullable(metrics);
+    }
+
+    /**
+     * @return A copy of this result carrying the given measurements
+     */
+    public CompilationResult withMetrics(CompilerMetrics metrics) {
+        return new CompilationResult(className, ollirCode, jasminCode, reports, metrics, reproducible);
+    }
+
+    /**
+     * @return A copy of this result marked as depending on more than the source and the options, e.g. on how long a
+     * time-limited stage took, so that it is not cached
+     */
+    public CompilationResult notReproducible() {
+        return new CompilationResult(className, ollirCode, jasminCode, reports, metrics, false);
+    }
+
+    /**
+     * @return false if compiling the same source with the same options may give a different result
+     */
+    public boolean isReproducible() {
+        return reproducible;
+    }
+
+    /**
+     * @return true if Jasmin code was generated and no stage reported an error
+     */
+    public boolean isSuccess() {
+        return jasminCode != null && !ReportUtils.anyError(reports);
+    }
+
+    /**
+     * Serializes this result as used by the compile daemon responses and the compilation cache entries.
+     * Report exceptions are not kept, only their message, and metrics cannot be read back.
+     */
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+
+        json.addProperty("success", isSuccess());
+        getClassName().ifPresent(name -> json.addProperty("className", name));
+        getOllirCode().ifPresent(ollir -> json.addProperty("ollir", ollir));
+        getJasminCode().ifPresent(jasmin -> json.addProperty("jasmin", jasmin));
+
+        JsonArray jsonReports = new JsonArray();
+        for (Report report : reports) {
+            JsonObject jsonReport = new JsonObject();
+            jsonReport.addProperty("type", report.getType().name());
+            jsonReport.addProperty("stage", report.getStage().name());
+            jsonReport.addProperty("line", report.getLine());
+            jsonReport.addProperty("column", report.getColumn());
+            jsonReport.addProperty("message", report.getMessage());
+            jsonReports.add(jsonReport);
+        }
+        json.add("reports", jsonReports);
+
+        if (metrics != null) {
+            json.add("metrics", metrics.toJson());
+        }
+
+        return json;
+    }
+
+    /**
+     * Inverse of {@link #toJson()}.
+     */
+    public static CompilationResult fromJson(JsonObject json) {
+        List<Report> reports = new ArrayList<>();
+        for (JsonElement element : json.getAsJsonArray("reports")) {
+            JsonObject jsonReport = element.getAsJsonObject();
+            reports.add(new Report(ReportType.valueOf(jsonReport.get("type").getAsString()),
+                    Stage.valueOf(jsonReport.get("stage").getAsString()),
+                    jsonReport.get("line").getAsInt(),
+                    jsonReport.get("column").getAsInt(),
+                    jsonReport.get("message").getAsString()));
+        }
+
+        return new CompilationResult(getString(json, "className"), getString(json, "ollir"),
+                getString(json, "jasmin"), reports);
+    }
+
+    private static String getString(JsonObject json, String property) {
+        JsonElement value = json.get(property);
+        return value == null || value.isJsonNull() ? null : value.getAsString();
+    }
+}
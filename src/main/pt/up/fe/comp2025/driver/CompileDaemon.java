@@ -0,0 +1,309 @@
+package pt.up.fe.comp2025.driver;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.ConfigOptions;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Long-lived compile server, so that tools pay for JVM startup and JIT warm-up only once.
+ * <p>
+ * Listens on a loopback TCP port or on a Unix-domain socket. Clients send one JSON request per line:
+ * <pre>
+ * {"id": 1, "source": "class A {}", "optimize": true, "registerAllocation": 0}
+ * </pre>
+ * and receive one JSON response per line, carrying the same id:
+ * <pre>
+ * {"id": 1, "success": true, "className": "A", "ollir": "...", "jasmin": "...", "reports": [...]}
+ * </pre>
+ * 'optimize', 'registerAllocation', 'allocator', 'allocationBudget' and 'exactColoringNodes' are optional and default
+ * to the '-o', '-r', '-a', '-t' and '-x' values the daemon was started with. Requests with "metrics": "json", or any request to a daemon started with '-m', also get the
+ * per-stage measurements. Each request runs on its own virtual thread, so responses to pipelined requests may arrive
+ * out of order.
+ * Malformed requests and invalid options are answered with "success": false and an "error" message.
+ * The request {"command": "shutdown"} stops the daemon.
+ */
+public class CompileDaemon {
+
+    private static final Gson GSON = new Gson();
+
+    // File type bits of 'unix:mode', as in stat(2)
+    private static final int S_IFMT = 0170000;
+    private static final int S_IFSOCK = 0140000;
+
+    private final String address;
+    private final Map<String, String> defaultConfig;
+    private final CompilerPipeline pipeline;
+
+    private volatile boolean running;
+    private ServerSocketChannel server;
+
+    /**
+     * @param address       A port number for a loopback TCP socket, or the path of a Unix-domain socket
+     * @param defaultConfig Configuration applied to requests that do not override it
+     */
+    public CompileDaemon(String address, Map<String, String> defaultConfig) {
+        if (address.isBlank()) {
+            throw new IllegalArgumentException("Expected a port number or a socket path for the compile daemon, got '"
+                    + address + "'");
+        }
+        this.address = address;
+        this.defaultConfig = new HashMap<>(defaultConfig);
+        this.pipeline = new CompilerPipeline(CompilationCache.fromConfig(defaultConfig).orElse(null));
+    }
+
+    /**
+     * Accepts connections until a shutdown request arrives. Each connection is served by its own virtual thread.
+     */
+    public void serve() throws IOException {
+        ServerSocketChannel channel = openServer();
+        server = channel;
+        running = true;
+
+        System.out.println("Compile daemon listening on " + channel.getLocalAddress());
+
+        try (channel) {
+            while (running) {
+                SocketChannel client;
+                try {
+                    client = channel.accept();
+                } catch (IOException e) {
+                    // Closing the server channel is how shutdown wakes up the accept loop
+                    if (!running) {
+                        break;
+                    }
+                    throw e;
+                }
+
+                Thread.ofVirtual().name("jmm-daemon-connection").start(() -> serveConnection(client));
+            }
+        } finally {
+            running = false;
+            if (isUnixSocket() && isSocket(Path.of(address))) {
+                Files.delete(Path.of(address));
+            }
+        }
+    }
+
+    /**
+     * Stops accepting connections, pending requests are allowed to finish.
+     */
+    public void shutdown() {
+        running = false;
+        try {
+            if (server != null) {
+                server.close();
+            }
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+
+    private ServerSocketChannel openServer() throws IOException {
+        if (isUnixSocket()) {
+            Path socketPath = Path.of(address);
+            // A socket file left over by a previous daemon would make bind fail, but any other file is not ours
+            if (isSocket(socketPath)) {
+                Files.delete(socketPath);
+            } else if (Files.exists(socketPath, LinkOption.NOFOLLOW_LINKS)) {
+                throw new FileAlreadyExistsException(socketPath.toString(), null,
+                        "not a socket, refusing to replace it with the compile daemon socket");
+            }
+
+            ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            channel.bind(UnixDomainSocketAddress.of(socketPath));
+            return channel;
+        }
+
+        SocketAddress socketAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address));
+        ServerSocketChannel channel = ServerSocketChannel.open();
+        channel.bind(socketAddress);
+        return channel;
+    }
+
+    private boolean isUnixSocket() {
+        return !address.chars().allMatch(Character::isDigit);
+    }
+
+    /**
+     * @return True if the path exists and is a socket, without following links
+     */
+    private static boolean isSocket(Path path) throws IOException {
+        if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+            return false;
+        }
+        if (path.getFileSystem().supportedFileAttributeViews().contains("unix")) {
+            int mode = (Integer) Files.getAttribute(path, "unix:mode", LinkOption.NOFOLLOW_LINKS);
+            return (mode & S_IFMT) == S_IFSOCK;
+        }
+        // Without the unix view, a socket is at least neither a regular file, a directory nor a link
+        return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).isOther();
+    }
+
+    private void serveConnection(SocketChannel client) {
+        try (client;
+             BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(Channels.newInputStream(client), StandardCharsets.UTF_8));
+             Writer writer = new OutputStreamWriter(Channels.newOutputStream(client), StandardCharsets.UTF_8)) {
+
+            // Requests of the same connection run concurrently but must not interleave their responses
+            Lock writeLock = new ReentrantLock();
+
+            // Closing the executor waits for the pending requests, so no response is lost when the client stops sending
+            try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+
+                    String request = line;
+                    requests.submit(() -> respond(request, writer, writeLock));
+                }
+            }
+        } catch (IOException e) {
+            // Client went away, nothing left to answer
+        }
+    }
+
+    private void respond(String requestLine, Writer writer, Lock writeLock) {
+        JsonObject response = handle(requestLine);
+
+        writeLock.lock();
+        try {
+            writer.write(GSON.toJson(response));
+            writer.write("\n");
+            writer.flush();
+        } catch (IOException e) {
+            // Client went away, nothing left to answer
+        } finally {
+            writeLock.unlock();
+        }
+
+        if (response.has("shutdown")) {
+            shutdown();
+        }
+    }
+
+    /**
+     * Processes a single request line and builds its response. Never throws, so that every request gets an answer.
+     */
+    JsonObject handle(String requestLine) {
+        JsonObject response = new JsonObject();
+
+        JsonObject request;
+        try {
+            request = JsonParser.parseString(requestLine).getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            fail(response, "Malformed request: " + e.getMessage());
+            return response;
+        }
+
+        if (request.has("id")) {
+            response.add("id", request.get("id"));
+        }
+
+        try {
+            String command = request.has("command") ? field(request, "command") : "compile";
+            switch (command) {
+                case "compile" -> compile(request, response);
+                case "shutdown" -> {
+                    // The daemon stops once this response has been sent
+                    response.addProperty("success", true);
+                    response.addProperty("shutdown", true);
+                }
+                default -> fail(response, "Unknown command '" + command + "'");
+            }
+        } catch (RuntimeException e) {
+            // Keep the id, and drop whatever a failed compile left in the response
+            JsonObject failed = new JsonObject();
+            if (request.has("id")) {
+                failed.add("id", request.get("id"));
+            }
+            fail(failed, "Request failed: " + e.getMessage());
+            return failed;
+        }
+
+        return response;
+    }
+
+    private void compile(JsonObject request, JsonObject response) {
+        if (!request.has("source")) {
+            fail(response, "Missing 'source'");
+            return;
+        }
+
+        String source;
+        Map<String, String> config = new HashMap<>(defaultConfig);
+        try {
+            source = field(request, "source");
+            copyOption(request, ConfigOptions.getOptimize(), config);
+            copyOption(request, ConfigOptions.getRegister(), config);
+            copyOption(request, ConfigOptions.getAllocator(), config);
+            copyOption(request, ConfigOptions.getAllocationBudget(), config);
+            copyOption(request, ConfigOptions.getExactColoringNodes(), config);
+            copyOption(request, ConfigOptions.getMetrics(), config);
+
+            // The same checks as for the options the daemon was started with
+            CompilerConfig.validateCompileOptions(config);
+        } catch (RuntimeException e) {
+            fail(response, "Invalid request: " + e.getMessage());
+            return;
+        }
+
+        CompilationResult result = pipeline.compile(source, config);
+        result.toJson().entrySet().forEach(entry -> response.add(entry.getKey(), entry.getValue()));
+    }
+
+    private void copyOption(JsonObject request, String option, Map<String, String> config) {
+        JsonElement value = request.get(option);
+        if (value != null && !value.isJsonNull()) {
+            config.put(option, field(request, option));
+        }
+    }
+
+    /**
+     * @return The value of a field that must be a string, number or boolean
+     */
+    private static String field(JsonObject request, String name) {
+        JsonElement value = request.get(name);
+        if (!value.isJsonPrimitive()) {
+            throw new IllegalArgumentException("Expected a string, number or boolean for '" + name + "', got " + value);
+        }
+        return value.getAsString();
+    }
+
+    private static void fail(JsonObject response, String error) {
+        response.addProperty("success", false);
+        response.addProperty("error", error);
+    }
+}
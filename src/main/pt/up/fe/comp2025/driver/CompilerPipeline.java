@@ -0,0 +1,140 @@
+package pt.up.fe.comp2025.driver;
+
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp.jmm.jasmin.JasminResult;
+import pt.up.fe.comp.jmm.ollir.OllirResult;
+import pt.up.fe.comp.jmm.parser.JmmParserResult;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.analysis.JmmAnalysisImpl;
+import pt.up.fe.comp2025.backend.JasminBackendImpl;
+import pt.up.fe.comp2025.metrics.CompilerMetrics;
+import pt.up.fe.comp2025.metrics.StageTimer;
+import pt.up.fe.comp2025.optimization.JmmOptimizationImpl;
+import pt.up.fe.comp2025.optimization.register.RegisterAllocation;
+import pt.up.fe.comp2025.parser.JmmParserImpl;
+import pt.up.fe.comp2025.utils.ReportUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Runs every stage of the compiler (parse, semantic analysis, OLLIR generation, register allocation and Jasmin
+ * generation) over a single source, stopping at the first stage that reports an error.
+ * <p>
+ * Instances keep no state between compilations, and every stage keeps the state of a compilation to itself, so the
+ * same pipeline can be reused by several workers at the same time. When given a {@link CompilationCache}, sources
+ * compiled before with the same options are answered from the cache without running any stage.
+ */
+public class CompilerPipeline {
+
+    private final CompilationCache cache;
+
+    public CompilerPipeline() {
+        this(null);
+    }
+
+    /**
+     * @param cache The cache to look up and fill, or null to always compile
+     */
+    public CompilerPipeline(CompilationCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Compiles the given Java-- code.
+     *
+     * @param code   The source code
+     * @param config The compiler configuration (see {@link pt.up.fe.comp2025.CompilerConfig})
+     * @return The generated code and all reports, never null
+     */
+    public CompilationResult compile(String code, Map<String, String> config) {
+        if (CompilerConfig.getMetricsFormat(config).isEmpty()) {
+            return compileCached(code, config);
+        }
+
+        CompilerMetrics metrics = new CompilerMetrics();
+        CompilationResult result;
+        try (StageTimer scope = metrics.install()) {
+            result = compileCached(code, config);
+        }
+
+        return result.withMetrics(metrics);
+    }
+
+    private CompilationResult compileCached(String code, Map<String, String> config) {
+        if (cache == null) {
+            return compileStages(code, config);
+        }
+
+        String key = CompilationCache.key(code, config);
+        Optional<CompilationResult> cached = CompilerMetrics.measure("cache-lookup", () -> cache.lookup(key));
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        CompilationResult result = compileStages(code, config);
+        if (!result.isReproducible()) {
+            // Another run could give different code, which must not be served to every later run
+            return result;
+        }
+        try (StageTimer timer = CompilerMetrics.stage("cache-store")) {
+            cache.store(key, result);
+        }
+        return result;
+    }
+
+    private CompilationResult compileStages(String code, Map<String, String> config) {
+        List<Report> reports = new ArrayList<>();
+
+        try {
+            // Parsing stage
+            JmmParserResult parserResult = new JmmParserImpl().parse(code, config);
+            if (ReportUtils.anyError(parserResult.getReports())) {
+                return CompilationResult.failed(parserResult.getReports());
+            }
+            reports = parserResult.getReports();
+
+            // Semantic analysis stage
+            JmmSemanticsResult semanticsResult = new JmmAnalysisImpl().semanticAnalysis(parserResult);
+            if (ReportUtils.anyError(semanticsResult.getReports())) {
+                return CompilationResult.failed(semanticsResult.getReports());
+            }
+            reports = semanticsResult.getReports();
+
+            // Optimization stage: AST optimizations (only with '-o'), OLLIR generation and register allocation
+            JmmOptimizationImpl optimization = new JmmOptimizationImpl();
+            semanticsResult = optimization.optimize(semanticsResult);
+
+            OllirResult ollirResult = optimization.toOllir(semanticsResult);
+            reports = ollirResult.getReports();
+
+            // The allocation goes straight to the backend, without a new OLLIR result or changes to the descriptors
+            List<Report> allocationReports = new ArrayList<>(ollirResult.getReports());
+            RegisterAllocation allocation = optimization.allocateRegisters(ollirResult, allocationReports);
+            String className = ollirResult.getOllirClass().getClassName();
+            if (ReportUtils.anyError(allocationReports)) {
+                return new CompilationResult(className, ollirResult.getOllirCode(), null, allocationReports);
+            }
+            reports = allocationReports;
+
+            // Code generation stage
+            JasminResult jasminResult = new JasminBackendImpl().toJasmin(ollirResult, allocation, allocationReports);
+
+            CompilationResult result = new CompilationResult(className, ollirResult.getOllirCode(),
+                    jasminResult.getJasminCode(), jasminResult.getReports());
+            // Registers chosen after running out of time depend on the load of the machine
+            return allocation.isBudgetExceeded() ? result.notReproducible() : result;
+
+        } catch (Exception e) {
+            // Stages signal some failures by throwing, keep the reports gathered so far
+            List<Report> failedReports = new ArrayList<>(reports);
+            failedReports.add(Report.newError(Stage.OTHER, -1, -1,
+                    "Exception during compilation: " + e.getMessage(), e));
+            return CompilationResult.failed(failedReports);
+        }
+    }
+}
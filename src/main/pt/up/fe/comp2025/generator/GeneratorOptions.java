@@ -0,0 +1,126 @@
+package pt.up.fe.comp2025.generator;
+
+/**
+ * Shape of the programs built by {@link ProgramGenerator}.
+ * <p>
+ * Every setter returns the options themselves, so a shape can be written in one expression:
+ * <pre>
+ * new GeneratorOptions().setMethodsPerClass(50).setNestingDepth(3)
+ * </pre>
+ */
+public class GeneratorOptions {
+
+    private int classes = 1;
+    private int methodsPerClass = 10;
+    private int statementsPerMethod = 20;
+    private int nestingDepth = 2;
+    private int locals = 8;
+    private int arrays = 1;
+    private int callFanOut = 2;
+    private long seed = 42;
+
+    public int getClasses() {
+        return classes;
+    }
+
+    /**
+     * @param classes Number of classes, each one generated as a separate source
+     */
+    public GeneratorOptions setClasses(int classes) {
+        this.classes = atLeast("classes", classes, 1);
+        return this;
+    }
+
+    public int getMethodsPerClass() {
+        return methodsPerClass;
+    }
+
+    /**
+     * @param methodsPerClass Number of instance methods of each class, besides 'main'
+     */
+    public GeneratorOptions setMethodsPerClass(int methodsPerClass) {
+        this.methodsPerClass = atLeast("methodsPerClass", methodsPerClass, 1);
+        return this;
+    }
+
+    public int getStatementsPerMethod() {
+        return statementsPerMethod;
+    }
+
+    /**
+     * @param statementsPerMethod Number of statements of each method body, counting the ones inside ifs and whiles but
+     *                            not the initialization of the locals
+     */
+    public GeneratorOptions setStatementsPerMethod(int statementsPerMethod) {
+        this.statementsPerMethod = atLeast("statementsPerMethod", statementsPerMethod, 0);
+        return this;
+    }
+
+    public int getNestingDepth() {
+        return nestingDepth;
+    }
+
+    /**
+     * @param nestingDepth Deepest nesting of if and while statements, 0 for straight-line methods
+     */
+    public GeneratorOptions setNestingDepth(int nestingDepth) {
+        this.nestingDepth = atLeast("nestingDepth", nestingDepth, 0);
+        return this;
+    }
+
+    public int getLocals() {
+        return locals;
+    }
+
+    /**
+     * @param locals Number of int locals of each method, which the statements read and write
+     */
+    public GeneratorOptions setLocals(int locals) {
+        this.locals = atLeast("locals", locals, 2);
+        return this;
+    }
+
+    public int getArrays() {
+        return arrays;
+    }
+
+    /**
+     * @param arrays Number of int[] locals of each method, 0 for programs without arrays
+     */
+    public GeneratorOptions setArrays(int arrays) {
+        this.arrays = atLeast("arrays", arrays, 0);
+        return this;
+    }
+
+    public int getCallFanOut() {
+        return callFanOut;
+    }
+
+    /**
+     * @param callFanOut Number of calls each method makes to other methods of its class
+     */
+    public GeneratorOptions setCallFanOut(int callFanOut) {
+        this.callFanOut = atLeast("callFanOut", callFanOut, 0);
+        return this;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @param seed Seed of the random choices, the same options always generate the same programs
+     */
+    public GeneratorOptions setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    private static int atLeast(String option, int value, int minimum) {
+        if (value < minimum) {
+            throw new IllegalArgumentException("Option '" + option + "' must be at least " + minimum + ", got " + value);
+        }
+
+        return value;
+    }
+}
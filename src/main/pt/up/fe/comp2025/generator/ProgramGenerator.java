@@ -0,0 +1,364 @@
+package pt.up.fe.comp2025.generator;
+
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates valid Java-- programs of any size, to measure how the compiler scales beyond the small test inputs.
+ * <p>
+ * Each class is a separate source with an import of 'io', the instance methods 'm0' to 'mN' and a 'main' that calls
+ * 'm0'. Methods take two ints and return an int; their bodies declare all their locals first and initialize them, then
+ * run random assignments, array accesses, ifs, whiles and calls to later methods of the same class, so the programs
+ * pass semantic analysis and every while loop ends. Calls only go from a method to the methods after it, but with a
+ * fan-out above one the number of calls made at run time still grows exponentially with the number of methods.
+ * <p>
+ * The same options always produce the same programs. They compile with and without register allocation; the AST
+ * optimizer ('-o') takes close to a minute per class of the default shape and rejects some of them.
+ */
+public class ProgramGenerator {
+
+    private static final String CLASS_PREFIX = "Generated";
+    private static final int ARRAY_LENGTH = 8;
+    private static final int MAX_LOOP_ITERATIONS = 4;
+    private static final int BOOLEAN_LOCALS = 2;
+
+    private final GeneratorOptions options;
+
+    // State of the class being generated
+    private Random random;
+    private StringBuilder code;
+    private int indentation;
+
+    // State of the method being generated
+    private int method;
+    private int remainingStatements;
+    private int remainingCalls;
+
+    public ProgramGenerator(GeneratorOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * @return The source of each class given by the options
+     */
+    public List<String> generate() {
+        List<String> sources = new ArrayList<>();
+        for (int i = 0; i < options.getClasses(); i++) {
+            sources.add(generateClass(i));
+        }
+
+        return sources;
+    }
+
+    /**
+     * Generates classes until they add up to at least the given number of lines, ignoring the number of classes in the
+     * options.
+     */
+    public List<String> generateLines(long lines) {
+        List<String> sources = new ArrayList<>();
+        long total = 0;
+
+        while (total < lines) {
+            String source = generateClass(sources.size());
+            sources.add(source);
+            total += countLines(source);
+        }
+
+        return sources;
+    }
+
+    public static String className(int index) {
+        return CLASS_PREFIX + index;
+    }
+
+    public static long countLines(String source) {
+        return source.lines().count();
+    }
+
+    /**
+     * @param index The position of the class in the program, which gives its name and seeds its random choices
+     */
+    public String generateClass(int index) {
+        // Each class has its own seed, so a class is the same whether or not the ones before it were generated
+        random = new Random(options.getSeed() * 31 + index);
+        code = new StringBuilder();
+        indentation = 0;
+
+        String name = className(index);
+
+        line("import io;");
+        line("");
+        line("class " + name + " {");
+        indentation++;
+
+        for (int i = 0; i < options.getMethodsPerClass(); i++) {
+            line("");
+            generateMethod(i);
+        }
+
+        line("");
+        line("public static void main(String[] args) {");
+        indentation++;
+        line(name + " program;");
+        line("int result;");
+        line("program = new " + name + "();");
+        line("result = program.m0(1, 2);");
+        line("io.println(result);");
+        indentation--;
+        line("}");
+
+        indentation--;
+        line("}");
+
+        return code.toString();
+    }
+
+    private void generateMethod(int index) {
+        method = index;
+        remainingStatements = options.getStatementsPerMethod();
+        // Only methods declared after this one can be called, so that every call chain ends
+        remainingCalls = index < options.getMethodsPerClass() - 1 ? options.getCallFanOut() : 0;
+
+        line("public int m" + index + "(int p0, int p1) {");
+        indentation++;
+
+        declareLocals();
+        initializeLocals();
+        generateBlock(options.getStatementsPerMethod(), 0);
+
+        // Calls that did not fit among the statements
+        while (remainingCalls > 0) {
+            generateCall();
+        }
+
+        line("return " + intLocal() + " + " + intLocal() + ";");
+
+        indentation--;
+        line("}");
+    }
+
+    private void declareLocals() {
+        for (int i = 0; i < options.getLocals(); i++) {
+            line("int v" + i + ";");
+        }
+        for (int i = 0; i < BOOLEAN_LOCALS; i++) {
+            line("boolean c" + i + ";");
+        }
+        // One loop counter per nesting level, so nested whiles do not share counters
+        for (int i = 0; i < options.getNestingDepth(); i++) {
+            line("int i" + i + ";");
+        }
+        for (int i = 0; i < options.getArrays(); i++) {
+            line("int[] a" + i + ";");
+        }
+    }
+
+    private void initializeLocals() {
+        line("v0 = p0;");
+        line("v1 = p1;");
+        for (int i = 2; i < options.getLocals(); i++) {
+            line("v" + i + " = " + random.nextInt(100) + ";");
+        }
+        line("c0 = v0 < v1;");
+        for (int i = 1; i < BOOLEAN_LOCALS; i++) {
+            line("c" + i + " = " + random.nextBoolean() + ";");
+        }
+        for (int i = 0; i < options.getNestingDepth(); i++) {
+            line("i" + i + " = 0;");
+        }
+        for (int i = 0; i < options.getArrays(); i++) {
+            line("a" + i + " = new int[" + ARRAY_LENGTH + "];");
+        }
+    }
+
+    /**
+     * Generates the given number of statements, counting the ones nested inside ifs and whiles.
+     */
+    private void generateBlock(int statements, int depth) {
+        while (statements > 0) {
+            boolean nests = depth < options.getNestingDepth() && statements >= 3 && random.nextInt(3) == 0;
+
+            if (nests) {
+                int inner = 1 + random.nextInt(statements - 1);
+                if (random.nextBoolean()) {
+                    generateIf(inner, depth);
+                } else {
+                    generateWhile(inner, depth);
+                }
+                statements -= inner + 1;
+            } else {
+                generateSimpleStatement();
+                statements--;
+            }
+        }
+    }
+
+    private void generateIf(int inner, int depth) {
+        remainingStatements--;
+
+        int elseStatements = inner / 2;
+        int thenStatements = inner - elseStatements;
+
+        line("if (" + condition() + ") {");
+        indentation++;
+        generateBlock(thenStatements, depth + 1);
+        indentation--;
+
+        if (elseStatements > 0) {
+            line("} else {");
+            indentation++;
+            generateBlock(elseStatements, depth + 1);
+            indentation--;
+        }
+
+        line("}");
+    }
+
+    private void generateWhile(int inner, int depth) {
+        remainingStatements--;
+
+        String counter = "i" + depth;
+        int iterations = 1 + random.nextInt(MAX_LOOP_ITERATIONS);
+
+        line(counter + " = 0;");
+        line("while (" + counter + " < " + iterations + ") {");
+        indentation++;
+        generateBlock(inner, depth + 1);
+        line(counter + " = " + counter + " + 1;");
+        indentation--;
+        line("}");
+    }
+
+    private void generateSimpleStatement() {
+        boolean calls = remainingCalls > 0 && random.nextInt(Math.max(1, remainingStatements)) < remainingCalls;
+        remainingStatements--;
+
+        if (calls) {
+            generateCall();
+            return;
+        }
+
+        int choices = options.getArrays() > 0 ? 6 : 4;
+        switch (random.nextInt(choices)) {
+            case 0 -> line(intLocal() + " = " + term() + " " + operator() + " " + term() + ";");
+            case 1 -> line(intLocal() + " = (" + term() + " " + operator() + " " + term() + ") "
+                    + operator() + " " + term() + ";");
+            case 2 -> line(intLocal() + " = " + term() + " / " + (1 + random.nextInt(9)) + ";");
+            case 3 -> line(booleanLocal() + " = " + condition() + ";");
+            case 4 -> line(arrayLocal() + "[" + random.nextInt(ARRAY_LENGTH) + "] = "
+                    + term() + " " + operator() + " " + term() + ";");
+            default -> {
+                if (random.nextBoolean()) {
+                    line(intLocal() + " = " + arrayLocal() + "[" + random.nextInt(ARRAY_LENGTH) + "] + " + term() + ";");
+                } else {
+                    line(intLocal() + " = " + arrayLocal() + ".length;");
+                }
+            }
+        }
+    }
+
+    private void generateCall() {
+        remainingCalls--;
+
+        int callee = method + 1 + random.nextInt(options.getMethodsPerClass() - method - 1);
+        line(intLocal() + " = this.m" + callee + "(" + term() + ", " + term() + ");");
+    }
+
+    private String condition() {
+        return switch (random.nextInt(4)) {
+            case 0 -> booleanLocal();
+            case 1 -> "!" + booleanLocal();
+            case 2 -> booleanLocal() + " && " + term() + " < " + term();
+            default -> term() + " < " + term();
+        };
+    }
+
+    private String term() {
+        return random.nextInt(3) == 0 ? String.valueOf(random.nextInt(100)) : intLocal();
+    }
+
+    private String operator() {
+        return switch (random.nextInt(3)) {
+            case 0 -> "+";
+            case 1 -> "-";
+            default -> "*";
+        };
+    }
+
+    private String intLocal() {
+        return "v" + random.nextInt(options.getLocals());
+    }
+
+    private String booleanLocal() {
+        return "c" + random.nextInt(BOOLEAN_LOCALS);
+    }
+
+    private String arrayLocal() {
+        return "a" + random.nextInt(options.getArrays());
+    }
+
+    private void line(String text) {
+        if (!text.isEmpty()) {
+            code.append("    ".repeat(indentation));
+        }
+        code.append(text).append("\n");
+    }
+
+    /**
+     * Writes generated programs to a folder, one '.jmm' file per class.
+     * <p>
+     * Options are given as '-name=value', with the names of {@link GeneratorOptions} plus 'output' (the folder,
+     * default 'generated') and 'lines' (keep adding classes until the program has that many lines). For instance:
+     * <pre>
+     * -output=build/generated -lines=100000 -methodsPerClass=40 -nestingDepth=3
+     * </pre>
+     */
+    public static void main(String[] args) {
+        GeneratorOptions options = new GeneratorOptions();
+        File output = new File("generated");
+        long lines = -1;
+
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("-") || equals < 0) {
+                throw new RuntimeException("Arguments should have the form '-name=value', got '" + arg + "'");
+            }
+
+            String name = arg.substring(1, equals);
+            String value = arg.substring(equals + 1);
+
+            switch (name) {
+                case "output" -> output = new File(value);
+                case "lines" -> lines = Long.parseLong(value);
+                case "classes" -> options.setClasses(Integer.parseInt(value));
+                case "methodsPerClass" -> options.setMethodsPerClass(Integer.parseInt(value));
+                case "statementsPerMethod" -> options.setStatementsPerMethod(Integer.parseInt(value));
+                case "nestingDepth" -> options.setNestingDepth(Integer.parseInt(value));
+                case "locals" -> options.setLocals(Integer.parseInt(value));
+                case "arrays" -> options.setArrays(Integer.parseInt(value));
+                case "callFanOut" -> options.setCallFanOut(Integer.parseInt(value));
+                case "seed" -> options.setSeed(Long.parseLong(value));
+                default -> throw new RuntimeException("Unrecognized option '-" + name + "'");
+            }
+        }
+
+        SpecsIo.mkdir(output);
+
+        // Classes are written as they are generated, so large programs are never held in memory
+        ProgramGenerator generator = new ProgramGenerator(options);
+        long total = 0;
+        int classes = 0;
+        while (lines < 0 ? classes < options.getClasses() : total < lines) {
+            String source = generator.generateClass(classes);
+            SpecsIo.write(new File(output, className(classes) + ".jmm"), source);
+            total += countLines(source);
+            classes++;
+        }
+
+        System.out.println("Generated " + classes + " classes with " + total + " lines in '" + output + "'");
+    }
+}
@@ -0,0 +1,106 @@
+package pt.up.fe.comp2025.logging;
+
+import java.io.PrintStream;
+import java.util.function.Supplier;
+
+/**
+ * Diagnostics of the compiler, written to stderr so that stdout only holds the output the user asked for.
+ * <p>
+ * Messages below the current level cost nothing: a message that needs any work to build (concatenation, 'toTree()',
+ * printing a graph) is given as a supplier, which is only called if its level is enabled:
+ * <pre>
+ * Log.debug(() -> "AST after propagation: " + ast.toTree());
+ * </pre>
+ * Where the message uses variables that are not effectively final, the call is guarded instead:
+ * <pre>
+ * if (Log.isEnabled(LogLevel.TRACE)) {
+ *     Log.trace("Selected node: " + node);
+ * }
+ * </pre>
+ * The level is shared by every compilation of the process and set from the '-l' option of {@code CompilerConfig}.
+ */
+public class Log {
+
+    private static final LogLevel DEFAULT_LEVEL = LogLevel.WARN;
+
+    private static volatile LogLevel level = DEFAULT_LEVEL;
+    private static volatile PrintStream output = System.err;
+
+    private Log() {
+    }
+
+    public static LogLevel getLevel() {
+        return level;
+    }
+
+    public static void setLevel(LogLevel level) {
+        Log.level = level;
+    }
+
+    /**
+     * Where the messages are written, stderr by default.
+     */
+    public static void setOutput(PrintStream output) {
+        Log.output = output;
+    }
+
+    public static boolean isEnabled(LogLevel messageLevel) {
+        return messageLevel != LogLevel.OFF && messageLevel.compareTo(level) <= 0;
+    }
+
+    public static void error(String message) {
+        log(LogLevel.ERROR, message);
+    }
+
+    public static void error(Supplier<String> message) {
+        log(LogLevel.ERROR, message);
+    }
+
+    public static void warn(String message) {
+        log(LogLevel.WARN, message);
+    }
+
+    public static void warn(Supplier<String> message) {
+        log(LogLevel.WARN, message);
+    }
+
+    public static void info(String message) {
+        log(LogLevel.INFO, message);
+    }
+
+    public static void info(Supplier<String> message) {
+        log(LogLevel.INFO, message);
+    }
+
+    public static void debug(String message) {
+        log(LogLevel.DEBUG, message);
+    }
+
+    public static void debug(Supplier<String> message) {
+        log(LogLevel.DEBUG, message);
+    }
+
+    public static void trace(String message) {
+        log(LogLevel.TRACE, message);
+    }
+
+    public static void trace(Supplier<String> message) {
+        log(LogLevel.TRACE, message);
+    }
+
+    private static void log(LogLevel messageLevel, Supplier<String> message) {
+        if (isEnabled(messageLevel)) {
+            write(messageLevel, message.get());
+        }
+    }
+
+    private static void log(LogLevel messageLevel, String message) {
+        if (isEnabled(messageLevel)) {
+            write(messageLevel, message);
+        }
+    }
+
+    private static void write(LogLevel messageLevel, String message) {
+        output.println("[" + messageLevel + "] " + message);
+    }
+}
@@ -0,0 +1,37 @@
+package pt.up.fe.comp2025.logging;
+
+/**
+ * Verbosity of the compiler diagnostics, from the least to the most verbose. Each level also shows the messages of the
+ * levels before it.
+ */
+public enum LogLevel {
+
+    /**
+     * No diagnostics at all.
+     */
+    OFF,
+    ERROR,
+    WARN,
+    INFO,
+    /**
+     * What each stage is doing, including the code it produces.
+     */
+    DEBUG,
+    /**
+     * Decisions made for each variable, node or pair of variables, which is quadratic on large methods.
+     */
+    TRACE;
+
+    /**
+     * @param name The name of a level, in any case (e.g., 'debug')
+     */
+    public static LogLevel fromName(String name) {
+        for (LogLevel level : values()) {
+            if (level.name().equalsIgnoreCase(name)) {
+                return level;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown log level '" + name + "'");
+    }
+}
@@ -0,0 +1,271 @@
+package pt.up.fe.comp2025.metrics;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Wall time, CPU time and allocated bytes of each stage of a compilation.
+ * <p>
+ * Stages report themselves with {@link #stage(String)}, which measures nothing unless a collector was installed on the
+ * current thread:
+ * <pre>
+ * var metrics = new CompilerMetrics();
+ * try (var scope = metrics.install()) {
+ *     // compile
+ * }
+ * System.out.println(metrics.toTable());
+ * </pre>
+ * Stages started while another stage is running are recorded as its children, so each analysis pass appears under
+ * 'analysis'. CPU time and allocated bytes are those of the compiling thread, as reported by the JVM
+ * {@link java.lang.management.ThreadMXBean}. Stages can also report counts of their own work, such as the number of
+ * iterations of an analysis, with {@link #count(String, long)}.
+ */
+public class CompilerMetrics {
+
+    private static final ThreadLocal<CompilerMetrics> CURRENT = new ThreadLocal<>();
+
+    private static final java.lang.management.ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS = THREADS instanceof com.sun.management.ThreadMXBean
+            ? (com.sun.management.ThreadMXBean) THREADS
+            : null;
+
+    private static final StageTimer NO_TIMER = () -> {
+    };
+
+    /**
+     * Stages by path, in the order they first ended.
+     */
+    private final Map<String, StageMetrics> stages = new LinkedHashMap<>();
+    private final Deque<String> running = new ArrayDeque<>();
+
+    /**
+     * Makes this collector record the stages run by the current thread, until the returned scope is closed.
+     */
+    public StageTimer install() {
+        CompilerMetrics previous = CURRENT.get();
+        CURRENT.set(this);
+
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Starts measuring a stage, which ends when the returned timer is closed.
+     *
+     * @param name The name of the stage, should not contain '/'
+     * @return The timer of the stage, which does nothing if no collector is installed on this thread
+     */
+    public static StageTimer stage(String name) {
+        CompilerMetrics metrics = CURRENT.get();
+        if (metrics == null) {
+            return NO_TIMER;
+        }
+
+        return metrics.start(name);
+    }
+
+    /**
+     * Measures a stage that produces a value.
+     */
+    public static <T> T measure(String name, Supplier<T> stage) {
+        try (StageTimer timer = stage(name)) {
+            return stage.get();
+        }
+    }
+
+    /**
+     * Adds to a counter of the innermost running stage, e.g. the iterations done by an analysis. Does nothing if no
+     * collector is installed on this thread or no stage is running.
+     */
+    public static void count(String counter, long amount) {
+        CompilerMetrics metrics = CURRENT.get();
+        if (metrics == null || metrics.running.isEmpty()) {
+            return;
+        }
+
+        String path = metrics.running.peek();
+        metrics.stages.computeIfAbsent(path, key -> new StageMetrics(key, metrics.running.size() - 1))
+                .count(counter, amount);
+    }
+
+    /**
+     * Creates a collector for work that the current thread hands to other threads, such as one task per method.
+     * Stages measured with it are recorded as children of the stage running on this thread, and are added to this
+     * thread's collector by {@link #join(CompilerMetrics)}.
+     *
+     * @return The collector to install on the other thread, or null if no collector is installed on this thread
+     */
+    public static CompilerMetrics fork() {
+        CompilerMetrics metrics = CURRENT.get();
+        if (metrics == null) {
+            return null;
+        }
+
+        CompilerMetrics forked = new CompilerMetrics();
+        forked.running.addAll(metrics.running);
+        return forked;
+    }
+
+    /**
+     * Adds the stages measured by a collector from {@link #fork()} to the one installed on the current thread.
+     * Does nothing if either is missing.
+     */
+    public static void join(CompilerMetrics forked) {
+        CompilerMetrics metrics = CURRENT.get();
+        if (metrics != null && forked != null) {
+            metrics.merge(forked);
+        }
+    }
+
+    private StageTimer start(String name) {
+        String parent = running.peek();
+        String path = parent == null ? name : parent + "/" + name;
+        int depth = running.size();
+
+        running.push(path);
+
+        long startWall = System.nanoTime();
+        long startCpu = cpuTime();
+        long startAllocated = allocatedBytes();
+
+        return () -> {
+            long wall = System.nanoTime() - startWall;
+            long cpu = startCpu < 0 ? -1 : cpuTime() - startCpu;
+            long allocated = startAllocated < 0 ? -1 : allocatedBytes() - startAllocated;
+
+            running.remove(path);
+            stages.computeIfAbsent(path, key -> new StageMetrics(key, depth)).add(1, wall, cpu, allocated);
+        };
+    }
+
+    private static long cpuTime() {
+        if (!THREADS.isCurrentThreadCpuTimeSupported() || !THREADS.isThreadCpuTimeEnabled()) {
+            return -1;
+        }
+
+        return THREADS.getCurrentThreadCpuTime();
+    }
+
+    private static long allocatedBytes() {
+        if (ALLOCATIONS == null || !ALLOCATIONS.isThreadAllocatedMemorySupported()
+                || !ALLOCATIONS.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+
+        return ALLOCATIONS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Adds the measurements of another compilation to this one, e.g. to report the totals of a batch.
+     */
+    public void merge(CompilerMetrics other) {
+        // All stages, since those of a forked collector have no enclosing stage in it
+        for (StageMetrics stage : other.stages.values()) {
+            stages.computeIfAbsent(stage.getPath(), key -> new StageMetrics(key, stage.getDepth()))
+                    .add(stage.getInvocations(), stage.getWallNanos(), stage.getCpuNanos(), stage.getAllocatedBytes());
+            stage.getCounters().forEach(stages.get(stage.getPath())::count);
+        }
+    }
+
+    /**
+     * @return The measured stages, each enclosing stage before the stages it contains
+     */
+    public List<StageMetrics> getStages() {
+        // A stage is recorded when it ends, so enclosing stages are recorded after their children
+        List<StageMetrics> ordered = new ArrayList<>();
+        addInOrder("", 0, stages.values(), ordered);
+        return ordered;
+    }
+
+    private static void addInOrder(String parent, int depth, Collection<StageMetrics> all, List<StageMetrics> ordered) {
+        for (StageMetrics stage : all) {
+            if (stage.getDepth() != depth) {
+                continue;
+            }
+
+            boolean isChild = depth == 0 || stage.getPath().startsWith(parent + "/");
+            if (isChild) {
+                ordered.add(stage);
+                addInOrder(stage.getPath(), depth + 1, all, ordered);
+            }
+        }
+    }
+
+    public JsonObject toJson() {
+        JsonArray jsonStages = new JsonArray();
+
+        for (StageMetrics stage : getStages()) {
+            JsonObject jsonStage = new JsonObject();
+            jsonStage.addProperty("stage", stage.getPath());
+            jsonStage.addProperty("invocations", stage.getInvocations());
+            jsonStage.addProperty("wallNanos", stage.getWallNanos());
+            jsonStage.addProperty("cpuNanos", stage.getCpuNanos());
+            jsonStage.addProperty("allocatedBytes", stage.getAllocatedBytes());
+            if (!stage.getCounters().isEmpty()) {
+                JsonObject counters = new JsonObject();
+                stage.getCounters().forEach(counters::addProperty);
+                jsonStage.add("counters", counters);
+            }
+            jsonStages.add(jsonStage);
+        }
+
+        JsonObject json = new JsonObject();
+        json.add("stages", jsonStages);
+        return json;
+    }
+
+    /**
+     * Formats the measurements as a table, children indented under their enclosing stage.
+     */
+    public String toTable() {
+        List<StageMetrics> ordered = getStages();
+
+        int nameWidth = "Stage".length();
+        for (StageMetrics stage : ordered) {
+            nameWidth = Math.max(nameWidth, 2 * stage.getDepth() + stage.getName().length());
+        }
+
+        String format = "%-" + nameWidth + "s %6s %12s %12s %14s  %s";
+        StringBuilder table = new StringBuilder();
+        table.append(String.format(format, "Stage", "Runs", "Wall (ms)", "CPU (ms)", "Allocated (KB)", "Counters")
+                .stripTrailing()).append(System.lineSeparator());
+
+        for (StageMetrics stage : ordered) {
+            table.append(String.format(format,
+                    "  ".repeat(stage.getDepth()) + stage.getName(),
+                    stage.getInvocations(),
+                    formatMillis(stage.getWallNanos()),
+                    formatMillis(stage.getCpuNanos()),
+                    stage.getAllocatedBytes() < 0 ? "n/a" : String.valueOf(stage.getAllocatedBytes() / 1024),
+                    formatCounters(stage.getCounters())).stripTrailing()).append(System.lineSeparator());
+        }
+
+        return table.toString();
+    }
+
+    private static String formatCounters(Map<String, Long> counters) {
+        StringBuilder formatted = new StringBuilder();
+        counters.forEach((counter, amount) -> formatted.append(formatted.isEmpty() ? "" : " ")
+                .append(counter).append('=').append(amount));
+        return formatted.toString();
+    }
+
+    private static String formatMillis(long nanos) {
+        return nanos < 0 ? "n/a" : String.format("%.3f", nanos / 1_000_000.0);
+    }
+}
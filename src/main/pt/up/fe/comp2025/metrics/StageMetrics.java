@@ -0,0 +1,89 @@
+package pt.up.fe.comp2025.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Accumulated measurements of one compiler stage. A stage that runs several times during a compilation (for instance,
+ * once per method) is reported once, with the number of times it ran.
+ */
+public class StageMetrics {
+
+    private final String path;
+    private final int depth;
+
+    private long invocations;
+    private long wallNanos;
+    private long cpuNanos;
+    private long allocatedBytes;
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+
+    StageMetrics(String path, int depth) {
+        this.path = path;
+        this.depth = depth;
+    }
+
+    void add(long invocations, long wallNanos, long cpuNanos, long allocatedBytes) {
+        this.invocations += invocations;
+        this.wallNanos += wallNanos;
+        // -1 means the JVM does not measure it, and stays so
+        this.cpuNanos = cpuNanos < 0 ? -1 : this.cpuNanos + cpuNanos;
+        this.allocatedBytes = allocatedBytes < 0 ? -1 : this.allocatedBytes + allocatedBytes;
+    }
+
+    void count(String counter, long amount) {
+        counters.merge(counter, amount, Long::sum);
+    }
+
+    /**
+     * @return The name of the stage prefixed by the stages it ran in, separated by '/' (e.g., 'analysis/ReturnTypeCheck')
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * @return The name of the stage, without the enclosing stages
+     */
+    public String getName() {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * @return How many stages enclose this one, 0 for top-level stages
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getInvocations() {
+        return invocations;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * @return CPU time of the compiling thread, or -1 if the JVM does not measure it
+     */
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    /**
+     * @return Bytes allocated by the compiling thread, or -1 if the JVM does not measure it
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return Counts reported by the stage with {@link CompilerMetrics#count(String, long)}, summed over its runs, in
+     * the order they were first reported
+     */
+    public Map<String, Long> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+}
@@ -0,0 +1,11 @@
+package pt.up.fe.comp2025.metrics;
+
+/**
+ * Measures a stage from its creation until it is closed, meant for try-with-resources.
+ */
+@FunctionalInterface
+public interface StageTimer extends AutoCloseable {
+
+    @Override
+    void close();
+}
@@ -9,8 +9,9 @@ import pt.up.fe.comp.jmm.report.Stage;       // Added import
 import pt.up.fe.comp2025.optimization.core.AstOptimizer;
 import pt.up.fe.comp2025.optimization.core.OllirGenerator;
 import pt.up.fe.comp2025.optimization.core.OllirOptimizer;
+import pt.up.fe.comp2025.optimization.register.AllocationStrategy;
+import pt.up.fe.comp2025.optimization.register.RegisterAllocation;
 
-import java.lang.reflect.Field;  // Added for reflection
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -45,6 +46,49 @@ public class JmmOptimizationImpl implements JmmOptimization {
 
     @Override
     public OllirResult optimize(OllirResult ollirResult) {
+        List<Report> warnings = new ArrayList<>();
+        OllirOptimizer optimizer = createOptimizer(ollirResult, warnings);
+
+        if (optimizer == null) {
+            if (warnings.isEmpty()) {
+                return ollirResult;
+            }
+
+            List<Report> reports = new ArrayList<>(ollirResult.getReports());
+            reports.addAll(warnings);
+            return new OllirResult(new JmmSemanticsResult(null, null, Collections.emptyList(), ollirResult.getConfig()),
+                    ollirResult.getOllirCode(), reports);
+        }
+
+        // Delegate OLLIR-level optimizations to specialized class
+        return optimizer.optimize();
+    }
+
+    /**
+     * Allocates the registers of the OLLIR class for the backend to read directly, without changing its descriptors
+     * or creating a new {@link OllirResult} as {@link #optimize(OllirResult)} does.
+     *
+     * @param reports List the reports of the allocation are added to
+     * @return The registers of each method, to give to the backend
+     */
+    public RegisterAllocation allocateRegisters(OllirResult ollirResult, List<Report> reports) {
+        OllirOptimizer optimizer = createOptimizer(ollirResult, reports);
+        if (optimizer == null) {
+            return RegisterAllocation.none();
+        }
+
+        RegisterAllocation allocation = optimizer.allocate();
+        reports.addAll(optimizer.getReports());
+        return allocation;
+    }
+
+    /**
+     * Creates the optimizer for the register allocation options of the configuration.
+     *
+     * @param warnings List a warning is added to if an option is invalid
+     * @return The optimizer, or null if there is no register allocation to do
+     */
+    private OllirOptimizer createOptimizer(OllirResult ollirResult, List<Report> warnings) {
         // Get register allocation configuration
         String registerAllocationStr = ollirResult.getConfig().getOrDefault("registerAllocation", "-1");
         int maxRegisters;
@@ -53,35 +97,28 @@ public class JmmOptimizationImpl implements JmmOptimization {
             maxRegisters = Integer.parseInt(registerAllocationStr);
         } catch (NumberFormatException e) {
             // If not a valid number, use default (-1)
-            List<Report> reports = new ArrayList<>(ollirResult.getReports());
-            reports.add(new Report(ReportType.WARNING, Stage.OPTIMIZATION, -1, -1,
+            warnings.add(new Report(ReportType.WARNING, Stage.OPTIMIZATION, -1, -1,
                     "Invalid value for 'registerAllocation': " + registerAllocationStr +
                             ". Using default value (-1)"));
-            return new OllirResult(getJmmSemanticsResult(ollirResult), ollirResult.getOllirCode(), reports);
+            return null;
         }
 
         // No register allocation if set to -1
         if (maxRegisters == -1) {
-            return ollirResult;
+            return null;
         }
 
-        // Delegate OLLIR-level optimizations to specialized class
-        return new OllirOptimizer(ollirResult, maxRegisters).optimize();
-    }
+        String allocatorStr = ollirResult.getConfig().getOrDefault("allocator", "auto");
+        AllocationStrategy strategy;
 
-    /**
-     * Gets the JmmSemanticsResult from an OllirResult.
-     * Uses reflection to access the semanticsResult field; if it fails, creates a new one.
-     */
-    private JmmSemanticsResult getJmmSemanticsResult(OllirResult ollirResult) {
         try {
-            // Try to use reflection to get the JmmSemanticsResult from ollirResult
-            Field semanticsResultField = OllirResult.class.getDeclaredField("semanticsResult");
-            semanticsResultField.setAccessible(true);
-            return (JmmSemanticsResult) semanticsResultField.get(ollirResult);
-        } catch (Exception e) {
-            // If reflection fails, create a basic new JmmSemanticsResult
-            return new JmmSemanticsResult(null, null, Collections.emptyList(), ollirResult.getConfig());
+            strategy = AllocationStrategy.fromName(allocatorStr);
+        } catch (IllegalArgumentException e) {
+            warnings.add(new Report(ReportType.WARNING, Stage.OPTIMIZATION, -1, -1,
+                    "Invalid value for 'allocator': " + allocatorStr + ". Skipping register allocation"));
+            return null;
         }
+
+        return new OllirOptimizer(ollirResult, maxRegisters, strategy);
     }
-}
\ No newline at end of file
+}
@@ -3,7 +3,7 @@ package pt.up.fe.comp2025.optimization.ast.optimizer;
 import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
 import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.ast.JmmNode;
-import pt.up.fe.comp.jmm.ast.PreorderJmmVisitor;
+import pt.up.fe.comp.jmm.ast.AJmmVisitor;
 import pt.up.fe.comp2025.ast.ArrayType;
 import pt.up.fe.comp2025.ast.Kind;
 import pt.up.fe.comp2025.optimization.ast.util.AstNodeUtils;
@@ -17,8 +17,11 @@ import java.util.Map;
  * Visitor responsible for handling varargs parameters in methods.
  * Converts varargs syntax to arrays in the AST.
  * Follows the Visitor pattern for traversing the AST.
+ * <p>
+ * Each visit method descends into the children itself, so this is not a preorder visitor: letting the base class
+ * also visit the children would visit a node at depth d 2^d times.
  */
-public class VarargHandler extends PreorderJmmVisitor<Void, Void> {
+public class VarargHandler extends AJmmVisitor<Void, Void> {
 
     private final SymbolTable symbolTable;
     private final Map<String, List<Integer>> varargMethodsInfo;
@@ -1,6 +1,7 @@
 package pt.up.fe.comp2025.optimization.ast.util;
 
 import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.logging.Log;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -29,7 +30,7 @@ public class AstNodeUtils {
                 }
             } catch (Exception e) {
                 // Se não conseguir remover usando reflexão, apenas ignoramos silenciosamente
-                System.out.println("DEBUG: Could not remove attribute " + attribute + ": " + e.getMessage());
+                Log.debug(() -> "Could not remove attribute " + attribute + ": " + e.getMessage());
             }
         }
     }
@@ -120,7 +121,7 @@ public class AstNodeUtils {
                 return;
             }
         } catch (Exception e) {
-            System.out.println("DEBUG: Could not use direct removeChild, trying alternative");
+            Log.debug("Could not use direct removeChild, trying alternative");
         }
 
         // Tente uma abordagem baseada em lista
@@ -149,7 +150,7 @@ public class AstNodeUtils {
                 node.add(remainingChild);
             }
         } catch (Exception e) {
-            System.out.println("WARNING: All removal methods failed: " + e.getMessage());
+            Log.warn(() -> "All removal methods failed: " + e.getMessage());
         }
     }
 
@@ -184,7 +185,7 @@ public class AstNodeUtils {
             Class<?> nodeClass = Class.forName("pt.up.fe.comp.jmm.ast.JmmNodeImpl");
             return (JmmNode) nodeClass.getConstructor(String.class).newInstance(kind);
         } catch (Exception e) {
-            System.out.println("DEBUG: Could not create new node via JmmNodeImpl: " + e.getMessage());
+            Log.debug(() -> "Could not create new node via JmmNodeImpl: " + e.getMessage());
             // Tentativa alternativa usando uma abordagem diferente
             try {
                 // Algumas implementações podem ter factory methods
@@ -232,7 +233,7 @@ public class AstNodeUtils {
     public static void replaceNode(JmmNode node, JmmNode replacement) {
         JmmNode parent = node.getParent();
         if (parent == null) {
-            System.out.println("WARNING: Cannot replace node without parent");
+            Log.warn("Cannot replace node without parent");
             return;
         }
 
@@ -258,7 +259,7 @@ public class AstNodeUtils {
                     return;
                 }
             } catch (Exception e) {
-                System.out.println("DEBUG: Could not use indexed add, trying alternative method");
+                Log.debug("Could not use indexed add, trying alternative method");
             }
 
             try {
@@ -269,12 +270,12 @@ public class AstNodeUtils {
                     return;
                 }
             } catch (Exception e) {
-                System.out.println("DEBUG: Could not use addChild, falling back to default add");
+                Log.debug("Could not use addChild, falling back to default add");
             }
 
             // Fallback to normal add
             parent.add(replacement);
-            System.out.println("WARNING: Could not replace node at exact position, added at end instead");
+            Log.warn("Could not replace node at exact position, added at end instead");
         }
     }
 
@@ -5,6 +5,10 @@ import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.ReportType;
 import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.logging.LogLevel;
+import pt.up.fe.comp2025.metrics.CompilerMetrics;
+import pt.up.fe.comp2025.metrics.StageTimer;
 import pt.up.fe.comp2025.optimization.ast.optimizer.ConstantFoldingVisitor;
 import pt.up.fe.comp2025.optimization.ast.optimizer.ConstantPropagationVisitor;
 import pt.up.fe.comp2025.optimization.ast.optimizer.VarargHandler;
@@ -35,7 +39,7 @@ public class AstOptimizer {
         this.reports = new ArrayList<>();
         this.optimizeEnabled = Boolean.parseBoolean(
                 semanticsResult.getConfig().getOrDefault("optimize", "false"));
-        System.out.println("DEBUG [AstOptimizer]: Created with optimizeEnabled: " + optimizeEnabled);
+        Log.debug(() -> "[AstOptimizer]: Created with optimizeEnabled: " + optimizeEnabled);
     }
 
     /**
@@ -45,16 +49,22 @@ public class AstOptimizer {
      * @return Resultado semântico otimizado
      */
     public JmmSemanticsResult optimize() {
-        System.out.println("DEBUG [AstOptimizer]: optimize() called");
+        Log.debug("[AstOptimizer]: optimize() called");
 
         // Se otimizações não estão habilitadas, retornar sem alterações
         if (!optimizeEnabled) {
-            System.out.println("DEBUG [AstOptimizer]: Optimizations disabled, skipping");
+            Log.debug("[AstOptimizer]: Optimizations disabled, skipping");
             return semanticsResult;
         }
 
-        System.out.println("DEBUG [AstOptimizer]: Starting optimization process");
+        Log.debug("[AstOptimizer]: Starting optimization process");
 
+        try (StageTimer timer = CompilerMetrics.stage("ast-optimization")) {
+            return optimizeAst();
+        }
+    }
+
+    private JmmSemanticsResult optimizeAst() {
         JmmNode ast = semanticsResult.getRootNode();
         boolean changed;
         int iteration = 0;
@@ -65,12 +75,12 @@ public class AstOptimizer {
         VarargHandler varargHandler = new VarargHandler(semanticsResult.getSymbolTable());
 
         // Primeira passagem para identificar variáveis de loop
-        System.out.println("DEBUG [AstOptimizer]: Executando primeira passagem para identificar variáveis de loop");
+        Log.debug("[AstOptimizer]: Executando primeira passagem para identificar variáveis de loop");
         constPropagator.visit(ast, new HashMap<>());
 
         // Obter registro de variáveis modificadas em loops
         Set<String> loopVariables = constPropagator.getLoopModifiedVariables();
-        System.out.println("DEBUG [AstOptimizer]: Variáveis de loop identificadas: " + loopVariables);
+        Log.debug(() -> "[AstOptimizer]: Variáveis de loop identificadas: " + loopVariables);
         Set<String> loopConditionVars = constPropagator.getLoopConditionVariables();
         // Compartilhar informações com outros visitors
         constFolder.setLoopModifiedVariables(loopVariables);
@@ -81,46 +91,50 @@ public class AstOptimizer {
             changed = false;
             iteration++;
 
-            // 1. Aplicar propagação de constantes com tratamento especial para loops
-            constPropagator.visit(ast, new HashMap<>());
-            boolean propChanged = constPropagator.hasChanged();
-
-            // CORREÇÃO: Debug adicional para identificar mudanças com precisão
-            if (propChanged) {
-                System.out.println("DEBUG [AstOptimizer]: Propagação de constantes aplicou mudanças");
-                System.out.println("DEBUG [AstOptimizer]: AST após propagação: " + ast.toTree());
-                changed = true;
-            }
-
-            // 2. Após propagar constantes, aplicar dobramento de constantes
-            constFolder.visit(ast);
-            boolean foldChanged = constFolder.hasChanged();
-
-            // Se houve mudanças no dobramento, atualizar flag global
-            if (foldChanged) {
-                System.out.println("DEBUG [AstOptimizer]: Constant folding applied changes");
-                changed = true;
-            }
-
-            // 3. Aplicar processamento de parâmetros varargs, se necessário
-            varargHandler.visit(ast);
-            boolean varargChanged = varargHandler.hasChanged();
-
-            // Se houve mudanças no tratamento de varargs, atualizar flag global
-            if (varargChanged) {
-                System.out.println("DEBUG [AstOptimizer]: Vararg handling applied changes");
-                changed = true;
+            try (StageTimer timer = CompilerMetrics.stage("iteration-" + iteration)) {
+                // 1. Aplicar propagação de constantes com tratamento especial para loops
+                constPropagator.visit(ast, new HashMap<>());
+                boolean propChanged = constPropagator.hasChanged();
+
+                // CORREÇÃO: Debug adicional para identificar mudanças com precisão
+                if (propChanged) {
+                    Log.debug("[AstOptimizer]: Propagação de constantes aplicou mudanças");
+                    Log.debug(() -> "[AstOptimizer]: AST após propagação: " + ast.toTree());
+                    changed = true;
+                }
+
+                // 2. Após propagar constantes, aplicar dobramento de constantes
+                constFolder.visit(ast);
+                boolean foldChanged = constFolder.hasChanged();
+
+                // Se houve mudanças no dobramento, atualizar flag global
+                if (foldChanged) {
+                    Log.debug("[AstOptimizer]: Constant folding applied changes");
+                    changed = true;
+                }
+
+                // 3. Aplicar processamento de parâmetros varargs, se necessário
+                varargHandler.visit(ast);
+                boolean varargChanged = varargHandler.hasChanged();
+
+                // Se houve mudanças no tratamento de varargs, atualizar flag global
+                if (varargChanged) {
+                    Log.debug("[AstOptimizer]: Vararg handling applied changes");
+                    changed = true;
+                }
+
+                if (Log.isEnabled(LogLevel.DEBUG)) {
+                    Log.debug("[AstOptimizer]: Iteration " + iteration +
+                            " completed, changes: " + changed +
+                            " (prop=" + propChanged +
+                            ", fold=" + foldChanged +
+                            ", vararg=" + varargChanged + ")");
+                }
             }
 
-            System.out.println("DEBUG [AstOptimizer]: Iteration " + iteration +
-                    " completed, changes: " + changed +
-                    " (prop=" + propChanged +
-                    ", fold=" + foldChanged +
-                    ", vararg=" + varargChanged + ")");
-
             // Limitar número de iterações para evitar loops infinitos
             if (iteration >= MAX_ITERATIONS) {
-                System.out.println("DEBUG [AstOptimizer]: Reached maximum iterations (" +
+                Log.debug(() -> "[AstOptimizer]: Reached maximum iterations (" +
                         MAX_ITERATIONS + "), stopping optimization");
                 reports.add(new Report(ReportType.WARNING, Stage.OPTIMIZATION,
                         -1, -1, "Maximum optimization iterations reached"));
@@ -132,9 +146,11 @@ public class AstOptimizer {
         // Registrar informações sobre variáveis modificadas em loops na SymbolTable
         // para que possam ser usadas pelo gerador OLLIR
         semanticsResult.getSymbolTable().putObject("loopModifiedVariables", loopVariables);
-        System.out.println("DEBUG [AstOptimizer]: Registered loop variables in SymbolTable: " + loopVariables);
+        Log.debug(() -> "[AstOptimizer]: Registered loop variables in SymbolTable: " + loopVariables);
 
-        System.out.println("DEBUG [AstOptimizer]: Optimization process completed, changed: " + changed);
+        if (Log.isEnabled(LogLevel.DEBUG)) {
+            Log.debug("[AstOptimizer]: Optimization process completed, changed: " + changed);
+        }
 
         // Criar novo resultado semântico com AST otimizada
         return new JmmSemanticsResult(ast, semanticsResult.getSymbolTable(),
@@ -7,10 +7,13 @@ import pt.up.fe.comp.jmm.ollir.OllirResult;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.ReportType;
 import pt.up.fe.comp.jmm.report.Stage;
-import pt.up.fe.comp2025.optimization.ollir.formatter.OllirCodeFormatter;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.metrics.CompilerMetrics;
+import pt.up.fe.comp2025.metrics.StageTimer;
+import pt.up.fe.comp2025.optimization.ollir.generator.OllirCodeWriter;
 import pt.up.fe.comp2025.optimization.ollir.generator.OllirGeneratorVisitor;
 import pt.up.fe.comp2025.optimization.ollir.processor.OllirPostProcessor;
-import pt.up.fe.comp2025.optimization.util.LabelManager;
+import pt.up.fe.comp2025.optimization.util.CompilationContext;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -35,28 +38,31 @@ public class OllirGenerator {
      * @return The OLLIR generation result
      */
     public OllirResult generateOllir(JmmSemanticsResult semanticsResult) {
-        LabelManager.getInstance().resetGlobalCounter();
+        try (StageTimer timer = CompilerMetrics.stage("ollir-generation")) {
+            return generate(semanticsResult);
+        }
+    }
+
+    private OllirResult generate(JmmSemanticsResult semanticsResult) {
         JmmNode rootNode = semanticsResult.getRootNode();
         SymbolTable symbolTable = semanticsResult.getSymbolTable();
 
-        List<Report> reports = new ArrayList<>(semanticsResult.getReports());
+        // Relatórios desta fase; o OllirResult junta-lhes os da análise semântica
+        List<Report> reports = new ArrayList<>();
 
         try {
             // Log do início do processo
-            System.out.println("Iniciando geração de código OLLIR");
-
-            // Criar e configurar o visitor para geração de OLLIR
-            OllirGeneratorVisitor visitor = new OllirGeneratorVisitor(symbolTable);
+            Log.debug("Iniciando geração de código OLLIR");
 
-            // Gerar código OLLIR
-            String ollirCode = visitor.visit(rootNode);
-            System.out.println("Código OLLIR bruto gerado");
-            System.out.println(ollirCode);
+            // Criar e configurar o visitor para geração de OLLIR, com labels e temporários numerados só nesta compilação
+            OllirGeneratorVisitor visitor = new OllirGeneratorVisitor(symbolTable, new CompilationContext());
 
-            // Validar e formatar o código OLLIR
-            ollirCode = new OllirCodeFormatter().format(ollirCode);
-            System.out.println("Código OLLIR formatado");
-            System.out.println(ollirCode);
+            // Gerar código OLLIR, escrito pelos visitors num único destino
+            OllirCodeWriter writer = new OllirCodeWriter();
+            CompilerMetrics.measure("visitor", () -> visitor.visit(rootNode, writer));
+            String ollirCode = writer.toString();
+            Log.debug("Código OLLIR bruto gerado");
+            Log.debug(ollirCode);
 
             // Verificar se há erros na geração
             if (visitor.hasErrors()) {
@@ -67,36 +73,33 @@ public class OllirGenerator {
                 throw new RuntimeException("Errors occurred during OLLIR generation");
             }
 
-            // Criar resultado OLLIR
-            OllirResult result = new OllirResult(semanticsResult, ollirCode, reports);
-            System.out.println("Resultado OLLIR criado. Iniciando pós-processamento");
-
-            // Aplicar o pós-processador diretamente no objeto OllirResult
+            // Corrigir o texto antes de qualquer análise, para que o código seja analisado uma única vez
             OllirPostProcessor processor = new OllirPostProcessor();
-            result = processor.process(result);
-
-            // Adicionar relatórios do pós-processador
+            String rawOllirCode = ollirCode;
+            ollirCode = CompilerMetrics.measure("post-processor", () -> processor.process(rawOllirCode));
             reports.addAll(processor.getReports());
-            System.out.println("Pós-processamento concluído");
-            // Verificar se o código OLLIR é válido
+            Log.debug("Pós-processamento concluído");
+
+            // Criar resultado OLLIR, cuja construção analisa e valida o código
+            String processedOllirCode = ollirCode;
+            OllirResult result;
             try {
-                System.out.println("Validando código OLLIR final");
-                result.getOllirClass();
-                System.out.println("Código OLLIR validado com sucesso");
+                result = CompilerMetrics.measure("ollir-parse",
+                        () -> new OllirResult(semanticsResult, processedOllirCode, reports));
             } catch (Exception e) {
-                System.err.println("Erro ao validar código OLLIR: " + e.getMessage());
+                Log.error(() -> "Erro ao validar código OLLIR: " + e.getMessage());
                 e.printStackTrace();
                 throw new RuntimeException("Generated OLLIR code is not valid: " + e.getMessage());
             }
 
-            System.out.println("Geração de código OLLIR finalizada com sucesso");
-            System.out.println("Código OLLIR final:");
-            System.out.println(result.getOllirCode());
+            Log.debug("Geração de código OLLIR finalizada com sucesso");
+            Log.debug("Código OLLIR final:");
+            Log.debug(result.getOllirCode());
 
             return result;
 
         } catch (Exception e) {
-            System.err.println("Erro durante a geração de código OLLIR: " + e.getMessage());
+            Log.error(() -> "Erro durante a geração de código OLLIR: " + e.getMessage());
             e.printStackTrace();
             reports.add(new Report(ReportType.ERROR, Stage.OPTIMIZATION, -1, -1,
                     "Failed in OLLIR code generation: " + e.getMessage()));
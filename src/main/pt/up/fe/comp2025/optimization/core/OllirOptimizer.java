@@ -5,12 +5,17 @@ import pt.up.fe.comp.jmm.ollir.OllirResult;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.ReportType;
 import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.metrics.CompilerMetrics;
+import pt.up.fe.comp2025.metrics.StageTimer;
+import pt.up.fe.comp2025.optimization.register.AllocationStrategy;
+import pt.up.fe.comp2025.optimization.register.RegisterAllocation;
 import pt.up.fe.comp2025.optimization.register.RegisterAllocator;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Responsável por aplicar otimizações ao código OLLIR.
@@ -20,6 +25,7 @@ public class OllirOptimizer {
 
     private final OllirResult ollirResult;
     private final int maxRegisters;
+    private final AllocationStrategy strategy;
     private final List<Report> reports;
 
     /**
@@ -29,17 +35,73 @@ public class OllirOptimizer {
      * @param maxRegisters Número máximo de registradores a usar (-1 para sem limite)
      */
     public OllirOptimizer(OllirResult ollirResult, int maxRegisters) {
+        this(ollirResult, maxRegisters, AllocationStrategy.AUTO);
+    }
+
+    /**
+     * Constrói um otimizador OLLIR.
+     *
+     * @param ollirResult O resultado da geração OLLIR
+     * @param maxRegisters Número máximo de registradores a usar (-1 para sem limite)
+     * @param strategy Estratégia usada para minimizar os registradores
+     */
+    public OllirOptimizer(OllirResult ollirResult, int maxRegisters, AllocationStrategy strategy) {
         this.ollirResult = ollirResult;
         this.maxRegisters = maxRegisters;
-        this.reports = new ArrayList<>(ollirResult.getReports());
+        this.strategy = strategy;
+        this.reports = new ArrayList<>();
     }
 
     /**
      * Aplica todas as otimizações OLLIR, principalmente alocação de registradores.
+     * Como no contrato de {@link pt.up.fe.comp.jmm.ollir.JmmOptimization}, os registradores ficam nos descritores da
+     * tabela de variáveis da classe OLLIR devolvida.
      *
      * @return O resultado OLLIR otimizado
      */
     public OllirResult optimize() {
+        Optional<RegisterAllocation> allocation = tryAllocate();
+
+        List<Report> allReports = new ArrayList<>(ollirResult.getReports());
+        allReports.addAll(reports);
+
+        if (allocation.isEmpty()) {
+            // Importante: em vez de falhar, retornamos o código original sem otimização
+            return new OllirResult(new JmmSemanticsResult(null, null, Collections.emptyList(),
+                    ollirResult.getConfig()), ollirResult.getOllirCode(), allReports);
+        }
+
+        CompilerMetrics.measure("apply", () -> {
+            allocation.get().applyTo(ollirResult.getOllirClass());
+            return null;
+        });
+        return CompilerMetrics.measure("ollir-parse", () -> new OptimizedOllirResult(ollirResult, allReports));
+    }
+
+    /**
+     * Aloca os registradores da classe OLLIR sem alterar os descritores, para o backend os ler diretamente da
+     * alocação. Os relatórios da alocação ficam em {@link #getReports()}.
+     *
+     * @return Os registradores de cada método, ou os dos descritores se a alocação falhou
+     */
+    public RegisterAllocation allocate() {
+        return tryAllocate().orElse(RegisterAllocation.none());
+    }
+
+    /**
+     * Retorna os relatórios da otimização, sem os do resultado OLLIR otimizado.
+     */
+    public List<Report> getReports() {
+        return reports;
+    }
+
+    private Optional<RegisterAllocation> tryAllocate() {
+        try (StageTimer timer = CompilerMetrics.stage("register-allocation")) {
+            return allocateRegisters();
+        }
+    }
+
+    private Optional<RegisterAllocation> allocateRegisters() {
         reports.add(new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
                 "Iniciando alocação de registradores " +
                         (maxRegisters == 0 ? "otimizada" : "com limite de " + maxRegisters + " registradores")));
@@ -50,24 +112,22 @@ public class OllirOptimizer {
                 throw new RuntimeException("Não é possível realizar alocação de registradores: classe OLLIR não disponível");
             }
 
-            // Construir CFGs (necessário para análise de liveness)
-            ollirResult.getOllirClass().buildCFGs();
-
             // Criar e aplicar alocador de registradores
-            RegisterAllocator allocator = new RegisterAllocator(ollirResult.getOllirClass(), maxRegisters);
-
-            // Em caso de erro, continuamos para aplicar a alocação de emergência
-            try {
-                allocator.allocate();
+            RegisterAllocator allocator = new RegisterAllocator(ollirResult.getOllirClass(), maxRegisters, strategy,
+                    CompilerConfig.getAllocationBudgetMillis(ollirResult.getConfig()),
+                    CompilerConfig.getExactColoringNodes(ollirResult.getConfig()));
+
+            // Em caso de erro, continuamos com a alocação de emergência dos métodos já alocados
+            RegisterAllocation allocation;
+            try (StageTimer timer = CompilerMetrics.stage("allocate")) {
+                allocation = allocator.allocate();
             } catch (Exception e) {
                 reports.add(new Report(ReportType.WARNING, Stage.OPTIMIZATION, -1, -1,
                         "Erro durante alocação de registradores: " + e.getMessage() +
                                 ". Tentando alocação de emergência."));
+                allocation = RegisterAllocation.none();
             }
 
-            // Aplicar o mapeamento de registradores ao código OLLIR
-            String optimizedCode = allocator.applyAllocation(ollirResult.getOllirCode());
-
             // Adicionar relatórios do alocador
             reports.addAll(allocator.getReports());
 
@@ -75,53 +135,14 @@ public class OllirOptimizer {
             reports.add(new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
                     "Alocação de registradores concluída com sucesso"));
 
-            // Criar novo resultado OLLIR com código otimizado
-            OllirResult newResult = new OllirResult(
-                    getJmmSemanticsResult(ollirResult),
-                    optimizedCode,
-                    reports
-            );
-
-            // CORREÇÃO: Preservar o objeto ollirClass modificado no novo resultado
-            try {
-                Field ollirClassField = OllirResult.class.getDeclaredField("ollirClass");
-                ollirClassField.setAccessible(true);
-                ollirClassField.set(newResult, ollirResult.getOllirClass());
-            } catch (Exception e) {
-                reports.add(new Report(ReportType.WARNING, Stage.OPTIMIZATION, -1, -1,
-                        "Não foi possível preservar a estrutura interna da alocação de registradores: " + e.getMessage()));
-            }
-
-            return newResult;
+            return Optional.of(allocation);
 
         } catch (Exception e) {
             // Registrar erro
             String errorMsg = "Erro na alocação de registradores: " + e.getMessage();
             reports.add(new Report(ReportType.ERROR, Stage.OPTIMIZATION, -1, -1, errorMsg));
             e.printStackTrace();
-
-            // Importante: em vez de falhar, retornamos o código original sem otimização
-            return new OllirResult(
-                    getJmmSemanticsResult(ollirResult),
-                    ollirResult.getOllirCode(),
-                    reports
-            );
-        }
-    }
-
-    /**
-     * Obtém o JmmSemanticsResult de um OllirResult.
-     * Usa reflexão para acessar o campo semanticsResult; se falhar, cria um novo.
-     */
-    private JmmSemanticsResult getJmmSemanticsResult(OllirResult ollirResult) {
-        try {
-            // Tentar usar reflexão para obter o JmmSemanticsResult do ollirResult
-            Field semanticsResultField = OllirResult.class.getDeclaredField("semanticsResult");
-            semanticsResultField.setAccessible(true);
-            return (JmmSemanticsResult) semanticsResultField.get(ollirResult);
-        } catch (Exception e) {
-            // Se a reflexão falhar, criar um JmmSemanticsResult básico novo
-            return new JmmSemanticsResult(null, null, Collections.emptyList(), ollirResult.getConfig());
+            return Optional.empty();
         }
     }
-}
\ No newline at end of file
+}
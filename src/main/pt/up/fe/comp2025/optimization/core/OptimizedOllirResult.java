@@ -0,0 +1,36 @@
+package pt.up.fe.comp2025.optimization.core;
+
+import org.specs.comp.ollir.ClassUnit;
+import pt.up.fe.comp.jmm.ollir.OllirResult;
+import pt.up.fe.comp.jmm.report.Report;
+
+import java.util.List;
+
+/**
+ * Resultado OLLIR de {@link OllirOptimizer#optimize()}: o código e a classe OLLIR do resultado otimizado, cujos
+ * descritores já têm os registradores alocados, com os relatórios da otimização.
+ * <p>
+ * O construtor de {@link OllirResult} analisa sempre o código; a classe que obtém não é usada, já que a alocação pode
+ * ter mudado as instruções (spill, rematerialização) sem mudar o código.
+ */
+final class OptimizedOllirResult extends OllirResult {
+
+    private final ClassUnit ollirClass;
+    private final List<Report> reports;
+
+    OptimizedOllirResult(OllirResult ollirResult, List<Report> reports) {
+        super(ollirResult.getOllirCode(), ollirResult.getConfig());
+        this.ollirClass = ollirResult.getOllirClass();
+        this.reports = reports;
+    }
+
+    @Override
+    public ClassUnit getOllirClass() {
+        return ollirClass;
+    }
+
+    @Override
+    public List<Report> getReports() {
+        return reports;
+    }
+}
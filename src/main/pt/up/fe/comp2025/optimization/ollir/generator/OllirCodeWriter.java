@@ -0,0 +1,110 @@
+package pt.up.fe.comp2025.optimization.ollir.generator;
+
+/**
+ * Sink shared by the OLLIR visitors, into which each instruction is written once, in the order it is generated.
+ * <p>
+ * Keeps an indentation level instead of formatting the code afterwards: every non-empty line starts with one tab of
+ * four spaces per level, so nested if/while bodies are indented as they are written.
+ */
+public class OllirCodeWriter implements Appendable {
+
+    private static final String TAB = "    ";
+
+    private final StringBuilder code;
+    private int level;
+    private boolean lineStart;
+
+    public OllirCodeWriter() {
+        this.code = new StringBuilder();
+        this.level = 0;
+        this.lineStart = true;
+    }
+
+    /**
+     * Indents the lines written from now on by one more level.
+     */
+    public OllirCodeWriter indent() {
+        level++;
+        return this;
+    }
+
+    /**
+     * Indents the lines written from now on by one less level.
+     */
+    public OllirCodeWriter dedent() {
+        if (level > 0) {
+            level--;
+        }
+        return this;
+    }
+
+    @Override
+    public OllirCodeWriter append(CharSequence text) {
+        String chars = String.valueOf(text);
+        return append(chars, 0, chars.length());
+    }
+
+    @Override
+    public OllirCodeWriter append(CharSequence text, int start, int end) {
+        CharSequence chars = text == null ? "null" : text;
+        int from = start;
+        while (from < end) {
+            int newline = from;
+            while (newline < end && chars.charAt(newline) != '\n') {
+                newline++;
+            }
+
+            // Empty lines are written without indentation
+            if (lineStart && newline > from) {
+                code.append(TAB.repeat(level));
+            }
+            if (newline < end) {
+                code.append(chars, from, newline + 1);
+                lineStart = true;
+                from = newline + 1;
+            } else {
+                code.append(chars, from, end);
+                lineStart = false;
+                from = end;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public OllirCodeWriter append(char c) {
+        if (lineStart && c != '\n') {
+            code.append(TAB.repeat(level));
+        }
+        code.append(c);
+        lineStart = c == '\n';
+        return this;
+    }
+
+    public OllirCodeWriter append(int value) {
+        return append(String.valueOf(value));
+    }
+
+    /**
+     * Writes again, as it is, the code written between two earlier positions.
+     */
+    public OllirCodeWriter replay(int start, int end) {
+        if (start < end) {
+            code.append(code.substring(start, end));
+            lineStart = code.charAt(code.length() - 1) == '\n';
+        }
+        return this;
+    }
+
+    /**
+     * @return The number of characters written so far
+     */
+    public int length() {
+        return code.length();
+    }
+
+    @Override
+    public String toString() {
+        return code.toString();
+    }
+}
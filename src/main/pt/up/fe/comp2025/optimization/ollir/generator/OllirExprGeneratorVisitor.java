@@ -4,21 +4,23 @@ import pt.up.fe.comp.jmm.analysis.table.Symbol;
 import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
 import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.ast.JmmNode;
-import pt.up.fe.comp.jmm.ast.PreorderJmmVisitor;
+import pt.up.fe.comp.jmm.ast.AJmmVisitor;
 import pt.up.fe.comp2025.ast.ArrayType;
 import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.logging.LogLevel;
+import pt.up.fe.comp2025.metrics.CompilerMetrics;
+import pt.up.fe.comp2025.optimization.util.CompilationContext;
 import pt.up.fe.comp2025.optimization.util.LabelManager;
 import pt.up.fe.comp2025.optimization.util.OptUtils;
-import pt.up.fe.comp2025.optimization.util.LabelManager;
 
-// Adicionar campo para o LabelManager compartilhado
 import java.util.*;
 
 /**
  * Visitor that generates OLLIR code for expressions in the AST.
  * Implements a generalized approach without special cases.
  */
-public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExprResult> {
+public class OllirExprGeneratorVisitor extends AJmmVisitor<OllirCodeWriter, OllirExprResult> {
 
     // Constants for OLLIR code generation
     private static final String SPACE = " ";
@@ -38,8 +40,9 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
     private final List<String> errors;
     private final Set<String> importedClasses;
     private final Map<String, Boolean> variableTypeCache; // Cache to optimize variable identification
-    private static int labelCounter = 0;
-    private final Map<String, OllirExprResult> expressionCache = new HashMap<>();
+    private final Map<JmmNode, CachedExpr> expressionCache = new IdentityHashMap<>(); // Per method, by node
+    private long expressionCacheHits = 0;
+    private long expressionCacheMisses = 0;
     private final Set<JmmNode> visitedNodes = new HashSet<>();
     private final LabelManager labelManager;
     private final Set<JmmNode> processedSwitchNodes = new HashSet<>();
@@ -68,28 +71,11 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
     }
 
     /**
-     * Generates a unique identifier for labels.
-     */
-    private int nextLabel() {
-        // ADICIONAR: Proteção contra overflow
-        if (labelCounter > 10000) {
-            throw new RuntimeException("Label counter overflow. Possible infinite loop in label generation.");
-        }
-        return labelCounter++;
-    }
-
-    /**
-     * Constructs an expression generator visitor with the provided symbol table.
+     * Constructs an expression generator visitor with the provided symbol table, numbering labels and temporaries in
+     * the given compilation.
      */
-    public OllirExprGeneratorVisitor(SymbolTable symbolTable) {
-        this(symbolTable, new OptUtils(new TypeUtils(symbolTable)), LabelManager.getInstance());
-    }
-
-    /**
-     * Construtor que aceita OptUtils compartilhado.
-     */
-    public OllirExprGeneratorVisitor(SymbolTable symbolTable, OptUtils sharedOllirTypeUtils) {
-        this(symbolTable, sharedOllirTypeUtils, LabelManager.getInstance());
+    public OllirExprGeneratorVisitor(SymbolTable symbolTable, CompilationContext context) {
+        this(symbolTable, new OptUtils(new TypeUtils(symbolTable), context), new LabelManager(context));
     }
 
 
@@ -101,7 +87,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
         this.typeUtils = new TypeUtils(symbolTable);
         this.ollirTypeUtils = sharedOllirTypeUtils;
         this.labelManager = labelManager;
-        System.out.println("DEBUG: Initializing OllirExprGeneratorVisitor with Symbol Table: " + symbolTable);
+        Log.debug(() -> "Initializing OllirExprGeneratorVisitor with Symbol Table: " + symbolTable);
 
         this.currentMethod = null;
         this.errors = new ArrayList<>();
@@ -112,66 +98,41 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
         for (String importPath : symbolTable.getImports()) {
             String className = extractClassName(importPath);
             if (className != null) {
-                System.out.println("DEBUG: Imported class found: " + className);
+                Log.debug(() -> "Imported class found: " + className);
                 importedClasses.add(className);
             }
         }
-        System.out.println("DEBUG: OllirExprGeneratorVisitor initialized successfully");
+        Log.debug("OllirExprGeneratorVisitor initialized successfully");
     }
 
     /**
      * Overrides the visit method to implement caching for better performance.
+     * <p>
+     * The computation of an expression is written only once into the writer; the cache keeps where it was written, so
+     * a repeated visit of the same node writes the same instructions again without generating them. Nodes are
+     * compared by identity and the cache only holds the nodes of the current method.
      */
     @Override
-    public OllirExprResult visit(JmmNode node) {
-        // Generate a unique key that captures the full context of the node
-        String cacheKey = generateCacheKey(node);
-
-        // Check if we already have a result in the cache
-        if (expressionCache.containsKey(cacheKey)) {
-            return expressionCache.get(cacheKey);
+    public OllirExprResult visit(JmmNode node, OllirCodeWriter computation) {
+        CachedExpr cached = expressionCache.get(node);
+        if (cached != null) {
+            expressionCacheHits++;
+            computation.replay(cached.start(), cached.end());
+            return cached.result();
         }
 
-        // Otherwise, process normally
-        OllirExprResult result = super.visit(node);
-
-        // Store in cache
-        expressionCache.put(cacheKey, result);
+        expressionCacheMisses++;
+        int start = computation.length();
+        OllirExprResult result = super.visit(node, computation);
+        expressionCache.put(node, new CachedExpr(result, start, computation.length()));
 
         return result;
     }
 
     /**
-     * Helper method to generate a cache key that captures the complete context.
+     * Result of an expression visit and the span of the writer holding its computation.
      */
-    private String generateCacheKey(JmmNode node) {
-        StringBuilder key = new StringBuilder(node.getKind());
-
-        // Add all relevant attributes
-        for (String attr : node.getAttributes()) {
-            key.append("_").append(attr).append("=").append(node.get(attr));
-        }
-
-        // Add the context of children (important for complex expressions)
-        for (int i = 0; i < node.getNumChildren(); i++) {
-            key.append("_child").append(i).append("=");
-            JmmNode child = node.getChild(i);
-            key.append(child.getKind());
-
-            // Add key attributes of children
-            if (child.hasAttribute("name")) {
-                key.append("_").append(child.get("name"));
-            }
-            if (child.hasAttribute("value")) {
-                key.append("_").append(child.get("value"));
-            }
-        }
-
-        // Add position in code to differentiate different instances
-        key.append("_line").append(node.getLine());
-        key.append("_col").append(node.getColumn());
-
-        return key.toString();
+    private record CachedExpr(OllirExprResult result, int start, int end) {
     }
 
     /**
@@ -179,7 +140,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      */
     @Override
     protected void buildVisitor() {
-        System.out.println("DEBUG: Building the visitor map for expressions");
+        Log.debug("Building the visitor map for expressions");
         // Literals
         addVisit("INTEGER_LITERAL",        this::visitIntegerLiteral);
         addVisit("IntLiteral",             this::visitIntegerLiteral);
@@ -227,13 +188,13 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
 
         // Default visitor for unmatched node types
         setDefaultVisit(this::defaultVisit);
-        System.out.println("DEBUG: Expression visitor map built successfully");
+        Log.debug("Expression visitor map built successfully");
     }
     /**
      * Define o método atual e configura o LabelManager.
      */
     public void setCurrentMethod(String methodName) {
-        System.out.println("DEBUG: Setting current method to: " + methodName);
+        Log.debug(() -> "Setting current method to: " + methodName);
         this.currentMethod = methodName;
 
         // Atualizar o LabelManager com o método atual
@@ -245,34 +206,27 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
         }
 
         this.variableTypeCache.clear(); // Clear cache when method changes
+        clearExpressionCache(); // Nodes of other methods are not visited again
     }
 
     /**
-     * Clears the expression cache to free memory.
+     * Clears the expression cache, reporting its hits and misses to the metrics of the running stage.
      */
     public void clearExpressionCache() {
-        // Instead of clearing everything, we can be selective
-        // Keep only method-independent entries
-        // or clear only entries related to the previous method
-
-        // Complete implementation would be:
-        Map<String, OllirExprResult> filteredCache = new HashMap<>();
-        for (Map.Entry<String, OllirExprResult> entry : expressionCache.entrySet()) {
-            // Keep only global entries or entries from the current method
-            if (!entry.getKey().contains("method=") ||
-                    entry.getKey().contains("method=" + currentMethod)) {
-                filteredCache.put(entry.getKey(), entry.getValue());
-            }
+        if (expressionCacheHits > 0 || expressionCacheMisses > 0) {
+            CompilerMetrics.count("expr-cache-hits", expressionCacheHits);
+            CompilerMetrics.count("expr-cache-misses", expressionCacheMisses);
         }
+        expressionCacheHits = 0;
+        expressionCacheMisses = 0;
         expressionCache.clear();
-        expressionCache.putAll(filteredCache);
     }
 
     /**
      * Gets the list of errors found during code generation.
      */
     public List<String> getErrors() {
-        System.out.println("DEBUG: Getting error list (size): " + errors.size());
+        Log.debug(() -> "Getting error list (size): " + errors.size());
         return Collections.unmodifiableList(errors);
     }
 
@@ -281,51 +235,51 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      */
     public boolean hasErrors() {
         boolean hasErrs = !errors.isEmpty();
-        System.out.println("DEBUG: Checking if there are errors: " + hasErrs);
+        Log.debug(() -> "Checking if there are errors: " + hasErrs);
         return hasErrs;
     }
 
-    private OllirExprResult visitPotentialIntLiteral(JmmNode node, Void context) {
+    private OllirExprResult visitPotentialIntLiteral(JmmNode node, OllirCodeWriter computation) {
         // Verificar se o nó foi otimizado para um literal
         if (node.hasAttribute("kind") && "IntLiteral".equals(node.get("kind")) &&
                 node.hasAttribute("value")) {
-            System.out.println("DEBUG: Nó otimizado para IntLiteral detectado: " + node.get("value"));
-            return visitIntegerLiteral(node, context);
+            Log.debug(() -> "Nó otimizado para IntLiteral detectado: " + node.get("value"));
+            return visitIntegerLiteral(node, computation);
         }
 
         // Processamento normal de expressão binária
-        return visitBinaryExpr(node, context);
+        return visitBinaryExpr(node, computation);
     }
     /**
      * Visits an integer literal node.
      */
 
-    private OllirExprResult visitIntegerLiteral(JmmNode node, Void context) {
-        System.out.println("DEBUG: BEGIN visitIntegerLiteral - Node: " + node.getKind());
+    private OllirExprResult visitIntegerLiteral(JmmNode node, OllirCodeWriter computation) {
+        Log.debug(() -> "BEGIN visitIntegerLiteral - Node: " + node.getKind());
 
         // Extrair valor com tratamento robusto
         String value;
 
         if (node.hasAttribute("value")) {
             value = node.get("value");
-            System.out.println("DEBUG: Literal value: " + value);
+            Log.debug(() -> "Literal value: " + value);
         } else {
             value = "0"; // Default como último recurso
-            System.out.println("DEBUG: No value attribute found, using default: " + value);
+            Log.debug(() -> "No value attribute found, using default: " + value);
         }
 
         // Criar representação OLLIR
         String ollirCode = value + ".i32";
-        System.out.println("DEBUG: Generated OLLIR code: " + ollirCode);
+        Log.debug(() -> "Generated OLLIR code: " + ollirCode);
 
-        System.out.println("DEBUG: END visitIntegerLiteral");
+        Log.debug("END visitIntegerLiteral");
         return new OllirExprResult(ollirCode);
     }
     /**
      * Visits a boolean literal node.
      */
-    private OllirExprResult visitBooleanLiteral(JmmNode node, Void context) {
-        System.out.println("DEBUG: BEGIN visitBooleanLiteral - Node: " + node.getKind());
+    private OllirExprResult visitBooleanLiteral(JmmNode node, OllirCodeWriter computation) {
+        Log.debug(() -> "BEGIN visitBooleanLiteral - Node: " + node.getKind());
 
         // Verificações mais robustas do tipo do nó
         if (node.getKind().equals("RELATIONAL_EXPR") &&
@@ -334,20 +288,20 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
             // Se foi otimizado mas manteve o nome original
             if (node.hasAttribute("value")) {
                 boolean val = "true".equals(node.get("value"));
-                System.out.println("DEBUG: Boolean literal otimizado: " + val);
+                Log.debug(() -> "Boolean literal otimizado: " + val);
                 String ollirCode = (val ? "1" : "0") + ".bool";
-                System.out.println("DEBUG: OLLIR gerado: " + ollirCode);
+                Log.debug(() -> "OLLIR gerado: " + ollirCode);
                 return new OllirExprResult(ollirCode);
             }
         }
 
         // Determinar valor booleano com base no tipo do nó
         boolean value = isTrue(node);
-        System.out.println("DEBUG: Valor do literal booleano: " + value);
+        Log.debug(() -> "Valor do literal booleano: " + value);
 
         // Criar representação OLLIR
         String ollirCode = (value ? "1" : "0") + ".bool";
-        System.out.println("DEBUG: OLLIR gerado: " + ollirCode);
+        Log.debug(() -> "OLLIR gerado: " + ollirCode);
 
         return new OllirExprResult(ollirCode);
     }
@@ -355,7 +309,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
     /**
      * Visits a relational expression, preserving references to loop variables.
      */
-    private OllirExprResult visitRelationalExpr(JmmNode node, Void context) {
+    private OllirExprResult visitRelationalExpr(JmmNode node, OllirCodeWriter computation) {
         // If node was optimized to a boolean literal but involves loop variables
         if (node.hasAttribute("optimized") && "true".equals(node.get("optimized")) &&
                 node.hasAttribute("originalVar") && isLoopVariable(node.get("originalVar"))) {
@@ -368,7 +322,6 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
             String operator = node.hasAttribute("operator") ? node.get("operator") : "<";
             String constValue = node.hasAttribute("originalValue") ? node.get("originalValue") : "3";
 
-            StringBuilder computation = new StringBuilder();
             String resultVar = ollirTypeUtils.nextTemp() + ".bool";
 
             computation.append(resultVar)
@@ -378,7 +331,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
                     .append(constValue).append(typeStr)
                     .append(END_STMT);
 
-            return new OllirExprResult(resultVar, computation);
+            return new OllirExprResult(resultVar);
         }
 
         // Normal processing for non-loop variables or unoptimized expressions
@@ -390,19 +343,16 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
 
         // Process full expression if not optimized
         if (node.getNumChildren() < 2) {
-            return defaultVisit(node, context);
+            return defaultVisit(node, computation);
         }
 
         JmmNode left = node.getChild(0);
         JmmNode right = node.getChild(1);
         String operator = node.hasAttribute("operator") ? node.get("operator") : "<";
 
-        OllirExprResult leftResult = visit(left);
-        OllirExprResult rightResult = visit(right);
+        OllirExprResult leftResult = visit(left, computation);
+        OllirExprResult rightResult = visit(right, computation);
 
-        StringBuilder computation = new StringBuilder();
-        computation.append(leftResult.getComputation());
-        computation.append(rightResult.getComputation());
 
         String resultVar = ollirTypeUtils.nextTemp() + ".bool";
         String compareCode = resultVar + SPACE +
@@ -413,7 +363,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
 
         computation.append(compareCode);
 
-        return new OllirExprResult(resultVar, computation);
+        return new OllirExprResult(resultVar);
     }
     private boolean isBooleanLiteral(JmmNode node) {
         String kind = node.getKind();
@@ -467,54 +417,53 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
     /**
      * Visits a 'this' expression.
      */
-    private OllirExprResult visitThisExpression(JmmNode node, Void context) {
-        System.out.println("DEBUG: BEGIN visitThisExpression - Node: " + node.getKind());
+    private OllirExprResult visitThisExpression(JmmNode node, OllirCodeWriter computation) {
+        Log.debug(() -> "BEGIN visitThisExpression - Node: " + node.getKind());
 
         String className = symbolTable.getClassName();
-        System.out.println("DEBUG: Class name: " + className);
+        Log.debug(() -> "Class name: " + className);
 
         String result = "this." + className;
-        System.out.println("DEBUG: Generated OLLIR code: " + result);
+        Log.debug(() -> "Generated OLLIR code: " + result);
 
-        System.out.println("DEBUG: END visitThisExpression");
+        Log.debug("END visitThisExpression");
         return new OllirExprResult(result);
     }
 
     /**
      * Visits a field access expression.
      */
-    private OllirExprResult visitFieldAccess(JmmNode node, Void context) {
-        System.out.println("DEBUG: BEGIN visitFieldAccess - Node: " + node.getKind());
+    private OllirExprResult visitFieldAccess(JmmNode node, OllirCodeWriter computation) {
+        Log.debug(() -> "BEGIN visitFieldAccess - Node: " + node.getKind());
 
         if (!node.hasAttribute("name") || node.getNumChildren() < 1) {
             String errorMsg = "Invalid field access expression at line " + node.getLine();
-            System.out.println("DEBUG: ERROR: " + errorMsg);
+            Log.debug(() -> "ERROR: " + errorMsg);
             errors.add(errorMsg);
             return new OllirExprResult("0.i32");
         }
 
         String fieldName = node.get("name");
-        System.out.println("DEBUG: Field name: " + fieldName);
+        Log.debug(() -> "Field name: " + fieldName);
 
-        System.out.println("DEBUG: Processing object of field access");
-        OllirExprResult objectResult = visit(node.getChild(0));
-        System.out.println("DEBUG: Object result - Code: " + objectResult.getCode());
+        Log.debug("Processing object of field access");
+        OllirExprResult objectResult = visit(node.getChild(0), computation);
+        Log.debug(() -> "Object result - Code: " + objectResult.getCode());
 
         Type objectType = typeUtils.getExprType(node.getChild(0));
-        System.out.println("DEBUG: Object type: " + objectType.getName() + (objectType.isArray() ? "[]" : ""));
+        Log.debug(() -> "Object type: " + objectType.getName() + (objectType.isArray() ? "[]" : ""));
 
         Type fieldType = resolveFieldType(objectType.getName(), fieldName);
-        System.out.println("DEBUG: Field type: " + fieldType.getName() + (fieldType.isArray() ? "[]" : ""));
+        Log.debug(() -> "Field type: " + fieldType.getName() + (fieldType.isArray() ? "[]" : ""));
 
-        StringBuilder computation = new StringBuilder(objectResult.getComputation());
         String ollirType = ollirTypeUtils.toOllirType(fieldType);
-        System.out.println("DEBUG: Field OLLIR type: " + ollirType);
+        Log.debug(() -> "Field OLLIR type: " + ollirType);
 
         // For fields of the 'this' object
         if (objectResult.getCode().startsWith("this")) {
-            System.out.println("DEBUG: Access to 'this' instance field");
+            Log.debug("Access to 'this' instance field");
             String tempVar = ollirTypeUtils.nextTemp() + ollirType;
-            System.out.println("DEBUG: Created temporary variable: " + tempVar);
+            Log.debug(() -> "Created temporary variable: " + tempVar);
 
             // CORRECTION: Include type in the field name
             String getfieldCode = tempVar + SPACE +
@@ -522,49 +471,48 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
                     "getfield(" + objectResult.getCode() +
                     ", " + fieldName + ollirType + ")" + ollirType +
                     END_STMT;
-            System.out.println("DEBUG: Getfield code: " + getfieldCode.trim());
+            Log.debug(() -> "Getfield code: " + getfieldCode.trim());
             computation.append(getfieldCode);
 
-            System.out.println("DEBUG: END visitFieldAccess - Returning temporary variable");
-            return new OllirExprResult(tempVar, computation);
+            Log.debug("END visitFieldAccess - Returning temporary variable");
+            return new OllirExprResult(tempVar);
         }
 
         // For fields of other objects
         String result = objectResult.getCode() + "." + fieldName + ollirType;
-        System.out.println("DEBUG: END visitFieldAccess - Generated OLLIR code: " + result);
-        return new OllirExprResult(result, objectResult.getComputation());
+        Log.debug(() -> "END visitFieldAccess - Generated OLLIR code: " + result);
+        return new OllirExprResult(result);
     }
 
     /**
      * Visits a new object instantiation.
      */
-    private OllirExprResult visitNewObject(JmmNode node, Void context) {
-        System.out.println("DEBUG: BEGIN visitNewObject - Node: " + node.getKind());
+    private OllirExprResult visitNewObject(JmmNode node, OllirCodeWriter computation) {
+        Log.debug(() -> "BEGIN visitNewObject - Node: " + node.getKind());
 
         if (!node.hasAttribute("name")) {
             String errorMsg = "New object expression missing class name at line " + node.getLine();
-            System.out.println("DEBUG: ERROR: " + errorMsg);
+            Log.debug(() -> "ERROR: " + errorMsg);
             errors.add(errorMsg);
             return new OllirExprResult("null.Object");
         }
 
         String className = node.get("name");
-        System.out.println("DEBUG: Class name: " + className);
+        Log.debug(() -> "Class name: " + className);
 
         String ollirType = "." + className;
-        System.out.println("DEBUG: OLLIR type: " + ollirType);
+        Log.debug(() -> "OLLIR type: " + ollirType);
 
         // Create code for object instantiation and constructor call
         String code = ollirTypeUtils.nextTemp() + ollirType;
-        System.out.println("DEBUG: Created temporary variable: " + code);
+        Log.debug(() -> "Created temporary variable: " + code);
 
-        StringBuilder computation = new StringBuilder();
 
         String newObjectCode = code + SPACE +
                 ASSIGN + ollirType + SPACE +
                 "new(" + className + ")" +
                 ollirType + END_STMT;
-        System.out.println("DEBUG: Instantiation code: " + newObjectCode.trim());
+        Log.debug(() -> "Instantiation code: " + newObjectCode.trim());
         computation.append(newObjectCode);
 
         // Call constructor
@@ -572,121 +520,121 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
         String constructorCode = INVOKE_SPECIAL + "(" +
                 code + ", \"\")" + ".V" +
                 END_STMT;
-        System.out.println("DEBUG: Constructor call code: " + constructorCode.trim());
+        Log.debug(() -> "Constructor call code: " + constructorCode.trim());
         computation.append(constructorCode);
 
-        System.out.println("DEBUG: END visitNewObject - Generated computation code (size): " + computation.length());
-        return new OllirExprResult(code, computation);
+        Log.debug("END visitNewObject");
+        return new OllirExprResult(code);
     }
 
     /**
      * Visits a new array instantiation.
      */
-    private OllirExprResult visitNewArray(JmmNode node, Void context) {
-        System.out.println("DEBUG: BEGIN visitNewArray - Node: " + node.getKind());
+    private OllirExprResult visitNewArray(JmmNode node, OllirCodeWriter computation) {
+        Log.debug(() -> "BEGIN visitNewArray - Node: " + node.getKind());
 
         // Determine dimensions and base type
         int dimensionCount = getDimensionCount(node);
-        System.out.println("DEBUG: Number of dimensions: " + dimensionCount);
+        Log.debug(() -> "Number of dimensions: " + dimensionCount);
 
         List<OllirExprResult> dimensionSizes = new ArrayList<>();
 
         // Process dimension expressions
-        System.out.println("DEBUG: Processing dimension expressions");
+        Log.debug("Processing dimension expressions");
         for (int i = 0; i < node.getNumChildren() && i < dimensionCount; i++) {
             JmmNode dimNode = node.getChild(i);
-            System.out.println("DEBUG: Dimension node " + i + ": " + dimNode.getKind());
+            if (Log.isEnabled(LogLevel.DEBUG)) {
+                Log.debug("Dimension node " + i + ": " + dimNode.getKind());
+            }
 
             if (isExpressionNode(dimNode)) {
-                System.out.println("DEBUG: Processing dimension expression");
-                OllirExprResult dimResult = visit(dimNode);
-                System.out.println("DEBUG: Expression result - Code: " + dimResult.getCode());
+                Log.debug("Processing dimension expression");
+                OllirExprResult dimResult = visit(dimNode, computation);
+                Log.debug(() -> "Expression result - Code: " + dimResult.getCode());
                 dimensionSizes.add(dimResult);
             }
         }
 
         if (dimensionSizes.isEmpty()) {
             String errorMsg = "Array creation missing size expressions at line " + node.getLine();
-            System.out.println("DEBUG: ERROR: " + errorMsg);
+            Log.debug(() -> "ERROR: " + errorMsg);
             errors.add(errorMsg);
             return new OllirExprResult("null.array.i32");
         }
 
         // Build array type based on dimensions
         String baseType = ".i32"; // Default for int arrays
-        System.out.println("DEBUG: Base type: " + baseType);
+        Log.debug(() -> "Base type: " + baseType);
 
         String arrayType = getArrayTypeString(baseType, dimensionCount);
-        System.out.println("DEBUG: Array type: " + arrayType);
+        Log.debug(() -> "Array type: " + arrayType);
 
         // Generate code for array creation
-        StringBuilder computation = new StringBuilder();
-
-        // Add computations for dimension sizes
-        System.out.println("DEBUG: Adding dimension size computations");
-        for (OllirExprResult dimResult : dimensionSizes) {
-            computation.append(dimResult.getComputation());
-        }
-
         // Create the array with the first dimension
         String resultVar = ollirTypeUtils.nextTemp() + arrayType;
-        System.out.println("DEBUG: Temporary variable for array: " + resultVar);
+        Log.debug(() -> "Temporary variable for array: " + resultVar);
 
         String arrayCreationCode = resultVar + SPACE +
                 ASSIGN + arrayType + SPACE +
                 "new(array, " + dimensionSizes.get(0).getCode() + ")" +
                 arrayType + END_STMT;
-        System.out.println("DEBUG: Array creation code: " + arrayCreationCode.trim());
+        Log.debug(() -> "Array creation code: " + arrayCreationCode.trim());
         computation.append(arrayCreationCode);
 
-        System.out.println("DEBUG: END visitNewArray - Generated computation code (size): " + computation.length());
-        return new OllirExprResult(resultVar, computation);
+        Log.debug("END visitNewArray");
+        return new OllirExprResult(resultVar);
     }
 
     /**
      * Visits a method call expression.
      */
-    private OllirExprResult visitMethodCall(JmmNode node, Void context) {
-        System.out.println("DEBUG: BEGIN visitMethodCall - Node: " + node.getKind());
+    private OllirExprResult visitMethodCall(JmmNode node, OllirCodeWriter computation) {
+        Log.debug(() -> "BEGIN visitMethodCall - Node: " + node.getKind());
 
         try {
             if (!node.hasAttribute("name") || node.getNumChildren() < 1) {
                 String errorMsg = "Invalid method call at line " + node.getLine();
-                System.out.println("DEBUG: ERROR: " + errorMsg);
+                Log.debug(() -> "ERROR: " + errorMsg);
                 errors.add(errorMsg);
                 return new OllirExprResult("0.i32");
             }
 
             String methodName = node.get("name");
-            System.out.println("DEBUG: Method name: " + methodName);
+            Log.debug(() -> "Method name: " + methodName);
 
             JmmNode objectNode = node.getChild(0);
-            System.out.println("DEBUG: Object node: " + objectNode.getKind());
+            Log.debug(() -> "Object node: " + objectNode.getKind());
 
             // Get object information
-            System.out.println("DEBUG: Processing method call object");
-            OllirExprResult objectResult = visit(objectNode);
-            System.out.println("DEBUG: Object result - Code: " + objectResult.getCode());
+            Log.debug("Processing method call object");
+            OllirExprResult objectResult = visit(objectNode, computation);
+            Log.debug(() -> "Object result - Code: " + objectResult.getCode());
 
             // Check if the object is an imported class
             String objectClassName;
             if (objectNode.hasAttribute("name") && importedClasses.contains(objectNode.get("name"))) {
                 objectClassName = objectNode.get("name");
-                System.out.println("DEBUG: Object is an imported class: " + objectClassName);
+                if (Log.isEnabled(LogLevel.DEBUG)) {
+                    Log.debug("Object is an imported class: " + objectClassName);
+                }
             } else {
                 // Try to determine type from type utils
                 try {
                     Type objectType = typeUtils.getExprType(objectNode);
                     objectClassName = objectType.getName();
-                    System.out.println("DEBUG: Determined object type: " + objectClassName);
+                    if (Log.isEnabled(LogLevel.DEBUG)) {
+                        Log.debug("Determined object type: " + objectClassName);
+                    }
                 } catch (Exception e) {
                     // If we can't determine type but it seems to be an imported class
                     if (importedClasses.contains(objectResult.getCode())) {
                         objectClassName = objectResult.getCode();
-                        System.out.println("DEBUG: Object code appears to be an imported class: " + objectClassName);
+                        if (Log.isEnabled(LogLevel.DEBUG)) {
+                            Log.debug("Object code appears to be an imported class: " + objectClassName);
+                        }
                     } else {
                         objectClassName = "Object"; // Default
-                        System.out.println("DEBUG: Could not determine object class, using Object");
+                        Log.debug("Could not determine object class, using Object");
                     }
                 }
             }
@@ -696,8 +644,8 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
 
             // Process arguments
             List<OllirExprResult> argResults = new ArrayList<>();
-            processMethodArguments(node, argResults);
-            System.out.println("DEBUG: Total arguments: " + argResults.size());
+            processMethodArguments(node, argResults, computation);
+            Log.debug(() -> "Total arguments: " + argResults.size());
 
             // Determine return type - default to void for external calls if can't determine
             Type returnType = new Type("void", false); // Default to void
@@ -708,24 +656,18 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
                     returnType = methodReturnType;
                 }
             }
-            System.out.println("DEBUG: Method return type: " + returnType.getName()
-                    + (returnType.isArray() ? "[]" : ""));
+            if (Log.isEnabled(LogLevel.DEBUG)) {
+                Log.debug("Method return type: " + returnType.getName()
+                        + (returnType.isArray() ? "[]" : ""));
+            }
 
             String returnTypeStr = ollirTypeUtils.toOllirType(returnType);
-            System.out.println("DEBUG: Return OLLIR type: " + returnTypeStr);
+            Log.debug(() -> "Return OLLIR type: " + returnTypeStr);
 
-            // Build computation code
-            StringBuilder computation = new StringBuilder(objectResult.getComputation());
-
-            // Add argument computations
-            System.out.println("DEBUG: Adding argument computations");
-            for (OllirExprResult argResult : argResults) {
-                computation.append(argResult.getComputation());
-            }
 
             // Determine invocation type and create method call string
             String invokeType = determineInvokeType(objectClassName, objectResult.getCode());
-            System.out.println("DEBUG: Invocation type: " + invokeType);
+            Log.debug(() -> "Invocation type: " + invokeType);
 
             // Build parameter string
             StringBuilder argsStr = new StringBuilder();
@@ -749,33 +691,33 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
                         argsStr.length() > 0 ? ", " + argsStr : "",
                         returnTypeStr);
             }
-            System.out.println("DEBUG: Invocation code: " + invocation);
+            Log.debug(() -> "Invocation code: " + invocation);
 
             // For void methods with no return value
             if ("void".equals(returnType.getName())) {
-                System.out.println("DEBUG: Void method, no return value");
+                Log.debug("Void method, no return value");
                 computation.append(invocation).append(END_STMT);
-                System.out.println("DEBUG: END visitMethodCall - Void method");
-                return new OllirExprResult("", computation);
+                Log.debug("END visitMethodCall - Void method");
+                return new OllirExprResult("");
             }
 
             // For methods with return values, store in temp
             String resultVar = ollirTypeUtils.nextTemp() + returnTypeStr;
-            System.out.println("DEBUG: Temporary variable for result: " + resultVar);
+            Log.debug(() -> "Temporary variable for result: " + resultVar);
 
             String methodCallAssignCode = resultVar + SPACE +
                     ASSIGN + returnTypeStr + SPACE +
                     invocation + END_STMT;
-            System.out.println("DEBUG: Method call assignment code: " + methodCallAssignCode.trim());
+            Log.debug(() -> "Method call assignment code: " + methodCallAssignCode.trim());
             computation.append(methodCallAssignCode);
 
-            System.out.println("DEBUG: END visitMethodCall - Generated computation code (size): " + computation.length());
-            return new OllirExprResult(resultVar, computation);
+            Log.debug("END visitMethodCall");
+            return new OllirExprResult(resultVar);
 
         } catch (Exception e) {
             String errorMsg = "Error processing method call at line " + node.getLine() + ": " + e.getMessage();
-            System.out.println("DEBUG: EXCEPTION: " + errorMsg);
-            System.out.println("DEBUG: Stacktrace: " + e.toString());
+            Log.debug(() -> "EXCEPTION: " + errorMsg);
+            Log.debug(() -> "Stacktrace: " + e.toString());
             errors.add(errorMsg);
             return new OllirExprResult("0.i32");
         }
@@ -784,7 +726,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
     /**
      * Visits a direct method call expression.
      */
-    private OllirExprResult visitDirectMethodCall(JmmNode node, Void context) {
+    private OllirExprResult visitDirectMethodCall(JmmNode node, OllirCodeWriter computation) {
         // 1) method name
         if (!node.hasAttribute("name")) {
             errors.add("Missing method name (line " + node.getLine() + ")");
@@ -798,7 +740,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
 
         // 2) actual arguments
         List<OllirExprResult> argResults = new ArrayList<>();
-        processMethodArguments(node, argResults);
+        processMethodArguments(node, argResults, computation);
 
         // 3) formal parameters
         List<Symbol> formals = symbolTable.getParameters(methodName);
@@ -812,9 +754,6 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
         if (retType == null) retType = new Type("void", false);
         String retTypeStr = ollirTypeUtils.toOllirType(retType);
 
-        // 5) previous computation
-        StringBuilder comp = new StringBuilder();
-        for (OllirExprResult ar : argResults) comp.append(ar.getComputation());
 
         // 6) build arguments string (fixed + vararg-array if needed)
         StringBuilder callArgs = new StringBuilder();
@@ -839,13 +778,13 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
             String tmpArr = ollirTypeUtils.nextTemp() + arrT;
 
             // new(array, varN)
-            comp.append(tmpArr).append(" ").append(ASSIGN).append(arrT).append(" ")
+            computation.append(tmpArr).append(" ").append(ASSIGN).append(arrT).append(" ")
                     .append("new(array, ").append(varN).append(".i32)").append(arrT).append(END_STMT);
 
             // initializations
             for (int j = 0; j < varN; j++) {
                 OllirExprResult val = argResults.get(lastFixed + j);
-                comp.append(tmpArr).append("[").append(j).append(".i32]").append(elemT).append(" ")
+                computation.append(tmpArr).append("[").append(j).append(".i32]").append(elemT).append(" ")
                         .append(ASSIGN).append(elemT).append(" ").append(val.getCode()).append(END_STMT);
             }
 
@@ -866,15 +805,15 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
 
         // 8) void vs. value
         if ("void".equals(retType.getName())) {
-            comp.append(invoke).append(END_STMT);
-            return new OllirExprResult("", comp);
+            computation.append(invoke).append(END_STMT);
+            return new OllirExprResult("");
         }
 
         String resVar = ollirTypeUtils.nextTemp() + retTypeStr;
-        comp.append(resVar).append(" ").append(ASSIGN).append(" ")
+        computation.append(resVar).append(" ").append(ASSIGN).append(" ")
                 .append(retTypeStr).append(" ").append(invoke).append(END_STMT);
 
-        return new OllirExprResult(resVar, comp);
+        return new OllirExprResult(resVar);
     }
 
 
@@ -977,7 +916,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
     /**
      * Visits a variable reference with proper loop variable handling.
      */
-    private OllirExprResult visitVarRef(JmmNode node, Void context) {
+    private OllirExprResult visitVarRef(JmmNode node, OllirCodeWriter computation) {
         if (!node.hasAttribute("name")) {
             String errorMsg = "Variable reference missing 'name' at line " + node.getLine();
             errors.add(errorMsg);
@@ -1002,9 +941,9 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
             boolean isField = isFieldVariable(varName);
             if (isField) {
                 String tempVar = ollirTypeUtils.nextTemp() + ollirType;
-                String computation = tempVar + SPACE + ASSIGN + ollirType + SPACE +
-                        "getfield(this, " + safeVarName + ollirType + ")" + ollirType + END_STMT;
-                return new OllirExprResult(tempVar, computation);
+                computation.append(tempVar + SPACE + ASSIGN + ollirType + SPACE +
+                        "getfield(this, " + safeVarName + ollirType + ")" + ollirType + END_STMT);
+                return new OllirExprResult(tempVar);
             } else {
                 return new OllirExprResult(safeVarName + ollirType);
             }
@@ -1028,9 +967,9 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
         boolean isField = isFieldVariable(varName);
         if (isField) {
             String tempVar = ollirTypeUtils.nextTemp() + ollirType;
-            String computation = tempVar + SPACE + ASSIGN + ollirType + SPACE +
-                    "getfield(this, " + safeVarName + ollirType + ")" + ollirType + END_STMT;
-            return new OllirExprResult(tempVar, computation);
+            computation.append(tempVar + SPACE + ASSIGN + ollirType + SPACE +
+                    "getfield(this, " + safeVarName + ollirType + ")" + ollirType + END_STMT);
+            return new OllirExprResult(tempVar);
         } else {
             return new OllirExprResult(safeVarName + ollirType);
         }
@@ -1264,12 +1203,12 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
     /**
      * Visits an array access expression.
      */
-    private OllirExprResult visitArrayAccess(JmmNode node, Void context) {
-        System.out.println("DEBUG: BEGIN visitArrayAccess - Node: " + node.getKind());
+    private OllirExprResult visitArrayAccess(JmmNode node, OllirCodeWriter computation) {
+        Log.debug(() -> "BEGIN visitArrayAccess - Node: " + node.getKind());
 
         if (node.getNumChildren() < 2) {
             String errorMsg = "Array access missing array or index expression at line " + node.getLine();
-            System.out.println("DEBUG: ERROR: " + errorMsg);
+            Log.debug(() -> "ERROR: " + errorMsg);
             errors.add(errorMsg);
             return new OllirExprResult("0.i32");
         }
@@ -1278,16 +1217,12 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
         JmmNode arrayNode = node.getChild(0);
         JmmNode indexNode = node.getChild(1);
 
-        System.out.println("DEBUG: Processing array expression: " + arrayNode.getKind());
-        OllirExprResult arrayResult = visit(arrayNode);
+        Log.debug(() -> "Processing array expression: " + arrayNode.getKind());
+        OllirExprResult arrayResult = visit(arrayNode, computation);
 
-        System.out.println("DEBUG: Processing index expression: " + indexNode.getKind());
-        OllirExprResult indexResult = visit(indexNode);
+        Log.debug(() -> "Processing index expression: " + indexNode.getKind());
+        OllirExprResult indexResult = visit(indexNode, computation);
 
-        // Combine computations
-        StringBuilder computation = new StringBuilder();
-        computation.append(arrayResult.getComputation());
-        computation.append(indexResult.getComputation());
 
         // Element type (standardized to int in this case)
         String elementOllirType = ".i32";
@@ -1301,10 +1236,10 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
                 arrayResult.getCode() + "[" + indexResult.getCode() + "]" + elementOllirType +
                 END_STMT;
 
-        System.out.println("DEBUG: Array access code: " + arrayAccessCode.trim());
+        Log.debug(() -> "Array access code: " + arrayAccessCode.trim());
         computation.append(arrayAccessCode);
 
-        return new OllirExprResult(resultVar, computation);
+        return new OllirExprResult(resultVar);
     }
 
     /**
@@ -1322,147 +1257,146 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
     /**
      * Visits an array length expression.
      */
-    private OllirExprResult visitArrayLength(JmmNode node, Void context) {
-        System.out.println("DEBUG: BEGIN visitArrayLength - Node: " + node.getKind());
+    private OllirExprResult visitArrayLength(JmmNode node, OllirCodeWriter computation) {
+        Log.debug(() -> "BEGIN visitArrayLength - Node: " + node.getKind());
 
         if (node.getNumChildren() < 1) {
             String errorMsg = "Array length expression missing array at line " + node.getLine();
-            System.out.println("DEBUG: ERROR: " + errorMsg);
+            Log.debug(() -> "ERROR: " + errorMsg);
             errors.add(errorMsg);
             return new OllirExprResult("0.i32");
         }
 
         // Visit array expression
-        System.out.println("DEBUG: Processing array expression");
-        OllirExprResult arrayResult = visit(node.getChild(0));
-        System.out.println("DEBUG: Array result - Code: " + arrayResult.getCode());
+        Log.debug("Processing array expression");
+        OllirExprResult arrayResult = visit(node.getChild(0), computation);
+        Log.debug(() -> "Array result - Code: " + arrayResult.getCode());
 
         // Generate code for array length
         String resultVar = ollirTypeUtils.nextTemp() + ".i32";
-        System.out.println("DEBUG: Temporary variable for array length: " + resultVar);
+        Log.debug(() -> "Temporary variable for array length: " + resultVar);
 
-        StringBuilder computation = new StringBuilder(arrayResult.getComputation());
 
         String arrayLengthCode = resultVar + SPACE +
                 ASSIGN + ".i32" + SPACE +
                 "arraylength(" + arrayResult.getCode() + ")" +
                 ".i32" + END_STMT;
-        System.out.println("DEBUG: Array length code: " + arrayLengthCode.trim());
+        Log.debug(() -> "Array length code: " + arrayLengthCode.trim());
         computation.append(arrayLengthCode);
 
-        System.out.println("DEBUG: END visitArrayLength - Generated computation code (size): " + computation.length());
-        return new OllirExprResult(resultVar, computation);
+        Log.debug("END visitArrayLength");
+        return new OllirExprResult(resultVar);
     }
 
     /**
      * Visits an array initializer expression.
      */
-    private OllirExprResult visitArrayInitializer(JmmNode node, Void context) {
-        System.out.println("DEBUG: BEGIN visitArrayInitializer - Node: " + node.getKind());
-        System.out.println("DEBUG: Number of elements: " + node.getNumChildren());
+    private OllirExprResult visitArrayInitializer(JmmNode node, OllirCodeWriter computation) {
+        Log.debug(() -> "BEGIN visitArrayInitializer - Node: " + node.getKind());
+        Log.debug(() -> "Number of elements: " + node.getNumChildren());
 
         int elementCount = node.getNumChildren();
         if (elementCount == 0) {
-            System.out.println("DEBUG: Empty array, creating default array");
+            Log.debug("Empty array, creating default array");
             // Return empty array with default size
             String arrayType = ".array.i32";
             String resultVar = ollirTypeUtils.nextTemp() + arrayType;
-            System.out.println("DEBUG: Temporary variable for empty array: " + resultVar);
+            Log.debug(() -> "Temporary variable for empty array: " + resultVar);
 
-            StringBuilder computation = new StringBuilder();
             String emptyArrayCode = resultVar + SPACE +
                     ASSIGN + arrayType + SPACE +
                     "new(array, 0.i32)" + arrayType + END_STMT;
-            System.out.println("DEBUG: Empty array code: " + emptyArrayCode.trim());
+            Log.debug(() -> "Empty array code: " + emptyArrayCode.trim());
             computation.append(emptyArrayCode);
 
-            System.out.println("DEBUG: END visitArrayInitializer (empty array)");
-            return new OllirExprResult(resultVar, computation);
+            Log.debug("END visitArrayInitializer (empty array)");
+            return new OllirExprResult(resultVar);
         }
 
         // Process array elements
-        System.out.println("DEBUG: Processing array elements");
+        Log.debug("Processing array elements");
         List<OllirExprResult> elementResults = new ArrayList<>();
         for (int i = 0; i < elementCount; i++) {
-            System.out.println("DEBUG: Processing element " + i);
+            if (Log.isEnabled(LogLevel.DEBUG)) {
+                Log.debug("Processing element " + i);
+            }
             JmmNode elemNode = node.getChild(i);
-            System.out.println("DEBUG: Element node: " + elemNode.getKind());
+            Log.debug(() -> "Element node: " + elemNode.getKind());
 
-            OllirExprResult elemResult = visit(elemNode);
-            System.out.println("DEBUG: Element result - Code: " + elemResult.getCode());
+            OllirExprResult elemResult = visit(elemNode, computation);
+            Log.debug(() -> "Element result - Code: " + elemResult.getCode());
             elementResults.add(elemResult);
         }
 
         // Determine element type from first element
         Type elementType = typeUtils.getExprType(node.getChild(0));
-        System.out.println("DEBUG: Element type: " + elementType.getName() + (elementType.isArray() ? "[]" : ""));
+        Log.debug(() -> "Element type: " + elementType.getName() + (elementType.isArray() ? "[]" : ""));
 
         String elementOllirType = ollirTypeUtils.toOllirType(elementType);
         String arrayOllirType = ".array" + elementOllirType;
-        System.out.println("DEBUG: Element OLLIR type: " + elementOllirType);
-        System.out.println("DEBUG: Array OLLIR type: " + arrayOllirType);
-
-        // Generate code for array creation and initialization
-        StringBuilder computation = new StringBuilder();
+        Log.debug(() -> "Element OLLIR type: " + elementOllirType);
+        Log.debug(() -> "Array OLLIR type: " + arrayOllirType);
 
-        // Add element computations
-        System.out.println("DEBUG: Adding element computations");
-        for (OllirExprResult elemResult : elementResults) {
-            computation.append(elemResult.getComputation());
-        }
 
         // Create array with correct size
         String resultVar = ollirTypeUtils.nextTemp() + arrayOllirType;
-        System.out.println("DEBUG: Temporary variable for array: " + resultVar);
+        Log.debug(() -> "Temporary variable for array: " + resultVar);
 
         String arrayCreationCode = resultVar + SPACE +
                 ASSIGN + arrayOllirType + SPACE +
                 "new(array, " + elementCount + ".i32)" +
                 arrayOllirType + END_STMT;
-        System.out.println("DEBUG: Array creation code: " + arrayCreationCode.trim());
+        Log.debug(() -> "Array creation code: " + arrayCreationCode.trim());
         computation.append(arrayCreationCode);
 
         // Initialize each element
-        System.out.println("DEBUG: Initializing array elements");
+        Log.debug("Initializing array elements");
         for (int i = 0; i < elementCount; i++) {
             OllirExprResult elemResult = elementResults.get(i);
             String elemInitCode = resultVar + "[" + i + ".i32]" +
                     elementOllirType + SPACE +
                     ASSIGN + elementOllirType + SPACE +
                     elemResult.getCode() + END_STMT;
-            System.out.println("DEBUG: Element " + i + " initialization code: " + elemInitCode.trim());
+            if (Log.isEnabled(LogLevel.DEBUG)) {
+                Log.debug("Element " + i + " initialization code: " + elemInitCode.trim());
+            }
             computation.append(elemInitCode);
         }
 
-        System.out.println("DEBUG: END visitArrayInitializer - Generated computation code (size): " + computation.length());
-        return new OllirExprResult(resultVar, computation);
+        Log.debug("END visitArrayInitializer");
+        return new OllirExprResult(resultVar);
     }
 
     /**
      * Helper method to process method arguments.
      */
-    private void processMethodArguments(JmmNode node, List<OllirExprResult> argResults) {
-        System.out.println("DEBUG: Processing method arguments");
+    private void processMethodArguments(JmmNode node, List<OllirExprResult> argResults,
+                                        OllirCodeWriter computation) {
+        Log.debug("Processing method arguments");
 
         // Look for arguments starting from index 1
         for (int i = 1; i < node.getNumChildren(); i++) {
             JmmNode argNode = node.getChild(i);
-            System.out.println("DEBUG: Argument node " + i + ": " + argNode.getKind());
+            if (Log.isEnabled(LogLevel.DEBUG)) {
+                Log.debug("Argument node " + i + ": " + argNode.getKind());
+            }
 
             // Check if it's an argument list node
             if (argNode.getKind().equals("ArgumentList")) {
-                System.out.println("DEBUG: Found argument list with " + argNode.getNumChildren() + " elements");
+                Log.debug(() -> "Found argument list with " + argNode.getNumChildren() + " elements");
                 for (int j = 0; j < argNode.getNumChildren(); j++) {
-                    System.out.println("DEBUG: Processing list argument " + j);
-                    OllirExprResult argResult = visit(argNode.getChild(j));
-                    System.out.println("DEBUG: Argument result - Code: " + argResult.getCode());
+                    if (Log.isEnabled(LogLevel.DEBUG)) {
+                        Log.debug("Processing list argument " + j);
+                    }
+                    OllirExprResult argResult = visit(argNode.getChild(j), computation);
+                    Log.debug(() -> "Argument result - Code: " + argResult.getCode());
                     argResults.add(argResult);
                 }
             } else {
                 // Direct argument
-                System.out.println("DEBUG: Processing direct argument");
-                OllirExprResult argResult = visit(argNode);
-                System.out.println("DEBUG: Argument result - Code: " + argResult.getCode());
+                Log.debug("Processing direct argument");
+                OllirExprResult argResult = visit(argNode, computation);
+                Log.debug(() -> "Argument result - Code: " + argResult.getCode());
                 argResults.add(argResult);
             }
         }
@@ -1472,7 +1406,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      * Helper method to build arguments string.
      */
     private void buildArgumentsString(List<OllirExprResult> argResults, StringBuilder argsStr) {
-        System.out.println("DEBUG: Building arguments string");
+        Log.debug("Building arguments string");
         if (!argResults.isEmpty()) {
             for (OllirExprResult argResult : argResults) {
                 if (argsStr.length() > 0) {
@@ -1480,21 +1414,21 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
                 }
                 argsStr.append(argResult.getCode());
             }
-            System.out.println("DEBUG: Arguments string: " + argsStr.toString());
+            Log.debug(() -> "Arguments string: " + argsStr.toString());
         }
     }
 
     /**
      * Visits a binary expression.
      */
-    private OllirExprResult visitBinaryExpr(JmmNode node, Void context) {
-        System.out.println("DEBUG: BEGIN visitBinaryExpr - Node: " + node.getKind());
+    private OllirExprResult visitBinaryExpr(JmmNode node, OllirCodeWriter computation) {
+        Log.debug(() -> "BEGIN visitBinaryExpr - Node: " + node.getKind());
 
         // Verificar se o nó já foi otimizado para um literal inteiro
         if (node.hasAttribute("kind") && "IntLiteral".equals(node.get("kind")) &&
                 node.hasAttribute("value")) {
-            System.out.println("DEBUG: Found optimized IntLiteral in binary expression with value: " + node.get("value"));
-            return visitIntegerLiteral(node, context);
+            Log.debug(() -> "Found optimized IntLiteral in binary expression with value: " + node.get("value"));
+            return visitIntegerLiteral(node, computation);
         }
 
         // Verificar se é um operador relacional otimizado
@@ -1519,7 +1453,6 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
 
             // Gerar código preservando a variável de loop se necessário
             String resultVar = ollirTypeUtils.nextTemp() + ".bool";
-            StringBuilder computation = new StringBuilder();
 
             // Se temos informação sobre variável de loop e seu valor constante
             if (loopVarName != null && constValue != null) {
@@ -1544,24 +1477,24 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
                         .append(".bool 20.i32").append(END_STMT);
             }
 
-            return new OllirExprResult(resultVar, computation.toString());
+            return new OllirExprResult(resultVar);
         }
 
         // Verificar se foi otimizado para literal booleano
         if (node.getKind().equals("TrueLiteral") || node.getKind().equals("FalseLiteral") ||
                 node.getKind().equals("TrueLiteralExpr") || node.getKind().equals("FalseLiteralExpr")) {
-            return visitBooleanLiteral(node, context);
+            return visitBooleanLiteral(node, computation);
         }
 
         // Verificar se é um literal inteiro
         if (node.getKind().equals("INTEGER_LITERAL") || node.getKind().equals("IntLiteral")) {
-            return visitIntegerLiteral(node, context);
+            return visitIntegerLiteral(node, computation);
         }
 
         // Verificar se temos operandos suficientes
         if (node.getNumChildren() < 2) {
             if (node.getNumChildren() == 1) {
-                return visit(node.getChild(0));
+                return visit(node.getChild(0), computation);
             }
             return new OllirExprResult("0.i32");
         }
@@ -1573,10 +1506,10 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
 
         // Tratamento especial para operadores lógicos com short-circuit
         if ("&&".equals(operator)) {
-            return handleLogicalAnd(node.getChild(0), node.getChild(1));
+            return handleLogicalAnd(node.getChild(0), node.getChild(1), computation);
         }
         if ("||".equals(operator)) {
-            return handleLogicalOr(node.getChild(0), node.getChild(1));
+            return handleLogicalOr(node.getChild(0), node.getChild(1), computation);
         }
 
         // Verificar se envolve variáveis de loop
@@ -1587,12 +1520,12 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
         // Caso especial para operações com variáveis de loop
         if (hasLoopVar) {
             // Para operações aritméticas com variáveis de loop, sempre gerar temporários
-            return generateTemporaryForLoopVarExpr(node, left, right, operator);
+            return generateTemporaryForLoopVarExpr(node, left, right, operator, computation);
         }
 
         // Processamento normal para expressões sem variáveis de loop
-        OllirExprResult leftResult = visit(left);
-        OllirExprResult rightResult = visit(right);
+        OllirExprResult leftResult = visit(left, computation);
+        OllirExprResult rightResult = visit(right, computation);
 
         // Determinar tipo do resultado
         Type resultType = inferTypeFromOperator(operator);
@@ -1607,10 +1540,6 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
             operandTypeStr = ollirTypeUtils.toOllirType(operandType);
         }
 
-        // Montar o código
-        StringBuilder computation = new StringBuilder();
-        computation.append(leftResult.getComputation());
-        computation.append(rightResult.getComputation());
 
         // Criar temporário para o resultado
         String resultVar = ollirTypeUtils.nextTemp() + resultTypeStr;
@@ -1621,7 +1550,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
                 rightResult.getCode() + END_STMT;
         computation.append(binaryOpCode);
 
-        return new OllirExprResult(resultVar, computation);
+        return new OllirExprResult(resultVar);
     }
 
     /**
@@ -1632,10 +1561,11 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      * Gera código específico para expressões que envolvem variáveis de loop.
      * Gera explicitamente temporários para garantir a preservação correta da semântica.
      */
-    private OllirExprResult generateTemporaryForLoopVarExpr(JmmNode node, JmmNode left, JmmNode right, String operator) {
+    private OllirExprResult generateTemporaryForLoopVarExpr(JmmNode node, JmmNode left, JmmNode right, String operator,
+                                                            OllirCodeWriter computation) {
         // Processar os operandos primeiro
-        OllirExprResult leftResult = visit(left);
-        OllirExprResult rightResult = visit(right);
+        OllirExprResult leftResult = visit(left, computation);
+        OllirExprResult rightResult = visit(right, computation);
 
         // Determinar tipo de resultado base
         Type resultType = inferTypeFromOperator(operator);
@@ -1652,10 +1582,6 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
         // Operador relacional - o tipo após o operador deve ser o tipo do resultado (bool)
         String operatorTypeStr = isRelationalOperator(operator) ? ".bool" : leftOperandTypeStr;
 
-        // Montar código com computações prévias
-        StringBuilder computation = new StringBuilder();
-        computation.append(leftResult.getComputation());
-        computation.append(rightResult.getComputation());
 
         // Propagar constantes quando um lado é variável de loop e outro constante
         boolean leftIsLoopVar = isLoopVariableExpr(left);
@@ -1695,7 +1621,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
 
         computation.append(binaryOpCode);
 
-        return new OllirExprResult(resultVar, computation);
+        return new OllirExprResult(resultVar);
     }
     /**
      * Checks if an operator is relational.
@@ -1709,21 +1635,21 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
     /**
      * Visits a unary expression.
      */
-    private OllirExprResult visitUnaryExpr(JmmNode node, Void context) {
-        System.out.println("DEBUG: BEGIN visitUnaryExpr - Node: " + node.getKind());
-        System.out.println("DEBUG: Number of children: " + node.getNumChildren());
+    private OllirExprResult visitUnaryExpr(JmmNode node, OllirCodeWriter computation) {
+        Log.debug(() -> "BEGIN visitUnaryExpr - Node: " + node.getKind());
+        Log.debug(() -> "Number of children: " + node.getNumChildren());
 
         if (node.getNumChildren() < 1) {
             String errorMsg = "Invalid unary expression at line " + node.getLine();
-            System.out.println("DEBUG: ERROR: " + errorMsg);
+            Log.debug(() -> "ERROR: " + errorMsg);
             errors.add(errorMsg);
             return new OllirExprResult("0.i32");
         }
 
         // Process operand
-        System.out.println("DEBUG: Processing operand");
-        OllirExprResult operandResult = visit(node.getChild(0));
-        System.out.println("DEBUG: Operand result - Code: " + operandResult.getCode());
+        Log.debug("Processing operand");
+        OllirExprResult operandResult = visit(node.getChild(0), computation);
+        Log.debug(() -> "Operand result - Code: " + operandResult.getCode());
 
         // Determine operator
         String operator = node.hasAttribute("operator")
@@ -1731,41 +1657,43 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
                 : node.hasAttribute("op")
                 ? node.get("op")
                 : inferUnaryOperatorFromKind(node.getKind());
-        System.out.println("DEBUG: Operator: " + operator);
+        Log.debug(() -> "Operator: " + operator);
 
         // Determine result type
         Type resultType;
         try {
             resultType = typeUtils.getExprType(node);
-            System.out.println("DEBUG: Expression type obtained: " + resultType.getName() + (resultType.isArray() ? "[]" : ""));
+            if (Log.isEnabled(LogLevel.DEBUG)) {
+                Log.debug("Expression type obtained: " + resultType.getName() + (resultType.isArray() ? "[]" : ""));
+            }
         } catch (Exception e) {
-            System.out.println("DEBUG: Error getting expression type, inferring from operator");
+            Log.debug("Error getting expression type, inferring from operator");
             // Infer type from operator
             resultType = "!".equals(operator) ?
                     TypeUtils.newBooleanType() : TypeUtils.newIntType();
-            System.out.println("DEBUG: Inferred type: " + resultType.getName() + (resultType.isArray() ? "[]" : ""));
+            if (Log.isEnabled(LogLevel.DEBUG)) {
+                Log.debug("Inferred type: " + resultType.getName() + (resultType.isArray() ? "[]" : ""));
+            }
         }
 
         String resultTypeStr = ollirTypeUtils.toOllirType(resultType);
-        System.out.println("DEBUG: Result OLLIR type: " + resultTypeStr);
+        Log.debug(() -> "Result OLLIR type: " + resultTypeStr);
 
-        // Build computation
-        StringBuilder computation = new StringBuilder(operandResult.getComputation());
 
         // Create result temporary variable
         String resultVar = ollirTypeUtils.nextTemp() + resultTypeStr;
-        System.out.println("DEBUG: Temporary variable for result: " + resultVar);
+        Log.debug(() -> "Temporary variable for result: " + resultVar);
 
         // Add operation code
         String unaryOpCode = resultVar + SPACE +
                 ASSIGN + resultTypeStr + SPACE +
                 operator + resultTypeStr + SPACE +
                 operandResult.getCode() + END_STMT;
-        System.out.println("DEBUG: Unary operation code: " + unaryOpCode.trim());
+        Log.debug(() -> "Unary operation code: " + unaryOpCode.trim());
         computation.append(unaryOpCode);
 
-        System.out.println("DEBUG: END visitUnaryExpr - Generated computation code (size): " + computation.length());
-        return new OllirExprResult(resultVar, computation);
+        Log.debug("END visitUnaryExpr");
+        return new OllirExprResult(resultVar);
     }
 
 
@@ -1799,66 +1727,66 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
     /**
      * Visits a parenthesized expression.
      */
-    private OllirExprResult visitParenExpr(JmmNode node, Void context) {
-        System.out.println("DEBUG: BEGIN visitParenExpr - Node: " + node.getKind());
-        System.out.println("DEBUG: Number of children: " + node.getNumChildren());
+    private OllirExprResult visitParenExpr(JmmNode node, OllirCodeWriter computation) {
+        Log.debug(() -> "BEGIN visitParenExpr - Node: " + node.getKind());
+        Log.debug(() -> "Number of children: " + node.getNumChildren());
 
         if (node.getNumChildren() < 1) {
             String errorMsg = "Empty parenthesized expression at line " + node.getLine();
-            System.out.println("DEBUG: ERROR: " + errorMsg);
+            Log.debug(() -> "ERROR: " + errorMsg);
             errors.add(errorMsg);
             return new OllirExprResult("0.i32");
         }
 
         // Simply delegate to the expression inside the parentheses
-        System.out.println("DEBUG: Delegating to expression inside parentheses");
-        OllirExprResult result = visit(node.getChild(0));
-        System.out.println("DEBUG: END visitParenExpr - Code: " + result.getCode());
+        Log.debug("Delegating to expression inside parentheses");
+        OllirExprResult result = visit(node.getChild(0), computation);
+        Log.debug(() -> "END visitParenExpr - Code: " + result.getCode());
         return result;
     }
 
     /**
      * Default visitor method for unhandled node types.
      */
-    private OllirExprResult defaultVisit(JmmNode node, Void context) {
-        System.out.println("DEBUG: BEGIN defaultVisit - Unrecognized node: " + node.getKind());
-        System.out.println("DEBUG: Number of children: " + node.getNumChildren());
+    private OllirExprResult defaultVisit(JmmNode node, OllirCodeWriter computation) {
+        Log.debug(() -> "BEGIN defaultVisit - Unrecognized node: " + node.getKind());
+        Log.debug(() -> "Number of children: " + node.getNumChildren());
 
-        StringBuilder computation = new StringBuilder();
 
         // Visit all children and collect their computations
         for (int i = 0; i < node.getNumChildren(); i++) {
-            System.out.println("DEBUG: Processing child " + i + " of unrecognized node");
-            OllirExprResult childResult = visit(node.getChild(i));
-            System.out.println("DEBUG: Child result - Code: " + childResult.getCode());
-            computation.append(childResult.getComputation());
+            if (Log.isEnabled(LogLevel.DEBUG)) {
+                Log.debug("Processing child " + i + " of unrecognized node");
+            }
+            OllirExprResult childResult = visit(node.getChild(i), computation);
+            Log.debug(() -> "Child result - Code: " + childResult.getCode());
 
             // If this is the last child and we have no other way to handle this node,
             // we'll return its result
             if (i == node.getNumChildren() - 1) {
-                System.out.println("DEBUG: END defaultVisit - Returning last child result");
-                return new OllirExprResult(childResult.getCode(), computation);
+                Log.debug("END defaultVisit - Returning last child result");
+                return new OllirExprResult(childResult.getCode());
             }
         }
 
-        System.out.println("DEBUG: No children found or processable, generating default value");
+        Log.debug("No children found or processable, generating default value");
         // If we couldn't determine type through children, fall back
         Type defaultType = TypeUtils.newIntType();
         String resultTypeStr = ollirTypeUtils.toOllirType(defaultType);
-        System.out.println("DEBUG: Default type: " + defaultType.getName() + " -> " + resultTypeStr);
+        Log.debug(() -> "Default type: " + defaultType.getName() + " -> " + resultTypeStr);
 
         // Create a default value
         String resultVar = ollirTypeUtils.nextTemp() + resultTypeStr;
-        System.out.println("DEBUG: Temporary variable for default value: " + resultVar);
+        Log.debug(() -> "Temporary variable for default value: " + resultVar);
 
         String defaultValueCode = resultVar + SPACE +
                 ASSIGN + resultTypeStr + SPACE +
                 "0" + resultTypeStr + END_STMT;
-        System.out.println("DEBUG: Default value code: " + defaultValueCode.trim());
+        Log.debug(() -> "Default value code: " + defaultValueCode.trim());
         computation.append(defaultValueCode);
 
-        System.out.println("DEBUG: END defaultVisit - Generated computation code (size): " + computation.length());
-        return new OllirExprResult(resultVar, computation);
+        Log.debug("END defaultVisit");
+        return new OllirExprResult(resultVar);
     }
 
     // ===== Helper methods =====
@@ -1867,40 +1795,40 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      * Resolves variable type from the symbol table.
      */
     private Type resolveVariableType(String varName) {
-        System.out.println("DEBUG: BEGIN resolveVariableType for: " + varName);
-        System.out.println("DEBUG: Current method: " + currentMethod);
+        Log.debug(() -> "BEGIN resolveVariableType for: " + varName);
+        Log.debug(() -> "Current method: " + currentMethod);
 
         // Check method parameters
         if (currentMethod != null) {
-            System.out.println("DEBUG: Checking method parameters: " + currentMethod);
+            Log.debug(() -> "Checking method parameters: " + currentMethod);
             for (Symbol param : symbolTable.getParameters(currentMethod)) {
                 if (param.getName().equals(varName)) {
-                    System.out.println("DEBUG: Found as method parameter");
+                    Log.debug("Found as method parameter");
                     return param.getType();
                 }
             }
 
             // Check local variables
-            System.out.println("DEBUG: Checking method local variables: " + currentMethod);
+            Log.debug(() -> "Checking method local variables: " + currentMethod);
             for (Symbol local : symbolTable.getLocalVariables(currentMethod)) {
                 if (local.getName().equals(varName)) {
-                    System.out.println("DEBUG: Found as method local variable");
+                    Log.debug("Found as method local variable");
                     return local.getType();
                 }
             }
         }
 
         // Check fields
-        System.out.println("DEBUG: Checking class fields");
+        Log.debug("Checking class fields");
         for (Symbol field : symbolTable.getFields()) {
             if (field.getName().equals(varName)) {
-                System.out.println("DEBUG: Found as class field");
+                Log.debug("Found as class field");
                 return field.getType();
             }
         }
 
         // Default to int if not found
-        System.out.println("DEBUG: Type not found, using int as default");
+        Log.debug("Type not found, using int as default");
         return TypeUtils.newIntType();
     }
 
@@ -1908,21 +1836,21 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      * Resolves field type for a given class and field name.
      */
     private Type resolveFieldType(String className, String fieldName) {
-        System.out.println("DEBUG: BEGIN resolveFieldType for class: " + className + ", field: " + fieldName);
+        Log.debug(() -> "BEGIN resolveFieldType for class: " + className + ", field: " + fieldName);
 
         // Check if it's a field in the current class
         if (className.equals(symbolTable.getClassName())) {
-            System.out.println("DEBUG: Checking fields in current class: " + className);
+            Log.debug(() -> "Checking fields in current class: " + className);
             for (Symbol field : symbolTable.getFields()) {
                 if (field.getName().equals(fieldName)) {
-                    System.out.println("DEBUG: Field found in current class");
+                    Log.debug("Field found in current class");
                     return field.getType();
                 }
             }
         }
 
         // Default to int if field not found
-        System.out.println("DEBUG: Field not found, using int as default");
+        Log.debug("Field not found, using int as default");
         return TypeUtils.newIntType();
     }
 
@@ -1930,21 +1858,21 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      * Resolves the return type of a method for a given class.
      */
     private Type resolveMethodReturnType(String className, String methodName) {
-        System.out.println("DEBUG: BEGIN resolveMethodReturnType for class: " + className + ", method: " + methodName);
+        Log.debug(() -> "BEGIN resolveMethodReturnType for class: " + className + ", method: " + methodName);
 
         // Check methods of current class
         if (className.equals(symbolTable.getClassName())) {
-            System.out.println("DEBUG: Checking methods of current class: " + className);
+            Log.debug(() -> "Checking methods of current class: " + className);
             Type returnType = symbolTable.getReturnType(methodName);
             if (returnType != null) {
-                System.out.println("DEBUG: Return type found in current class: " +
+                Log.debug(() -> "Return type found in current class: " +
                         returnType.getName() + (returnType.isArray() ? "[]" : ""));
                 return returnType;
             }
         }
 
         // Default to void for any method we can't determine type
-        System.out.println("DEBUG: Method not found in current class, using void as default");
+        Log.debug("Method not found in current class, using void as default");
         return new Type("void", false);
     }
 
@@ -1952,28 +1880,28 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      * Determines the appropriate invocation type for method calls.
      */
     private String determineInvokeType(String objectClassName, String objectCode) {
-        System.out.println("DEBUG: BEGIN determineInvokeType for class: " + objectClassName + ", object: " + objectCode);
+        Log.debug(() -> "BEGIN determineInvokeType for class: " + objectClassName + ", object: " + objectCode);
 
         // For imported classes
         if (importedClasses.contains(objectClassName)) {
-            System.out.println("DEBUG: Imported class, using invokestatic");
+            Log.debug("Imported class, using invokestatic");
             return INVOKE_STATIC;
         }
 
         // For 'this' object or current class
         if ("this".equals(objectCode) || objectClassName.equals(symbolTable.getClassName())) {
-            System.out.println("DEBUG: 'this' object or current class, using invokevirtual");
+            Log.debug("'this' object or current class, using invokevirtual");
             return INVOKE_VIRTUAL;
         }
 
         // For superclass
         if (objectClassName.equals(symbolTable.getSuper())) {
-            System.out.println("DEBUG: Superclass, using invokespecial");
+            Log.debug("Superclass, using invokespecial");
             return INVOKE_SPECIAL;
         }
 
         // Default to invokevirtual for other objects
-        System.out.println("DEBUG: Using invokevirtual by default");
+        Log.debug("Using invokevirtual by default");
         return INVOKE_VIRTUAL;
     }
 
@@ -2027,7 +1955,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      * Infers a binary operator from node type.
      */
     private String inferOperatorFromKind(String kind) {
-        System.out.println("DEBUG: BEGIN inferOperatorFromKind for kind: " + kind);
+        Log.debug(() -> "BEGIN inferOperatorFromKind for kind: " + kind);
 
         String result;
         if (kind.contains("MULTIPLICATIVE")) {
@@ -2046,7 +1974,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
             result = "+"; // Default
         }
 
-        System.out.println("DEBUG: Inferred operator: " + result);
+        Log.debug(() -> "Inferred operator: " + result);
         return result;
     }
 
@@ -2054,7 +1982,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      * Infers a unary operator from node type.
      */
     private String inferUnaryOperatorFromKind(String kind) {
-        System.out.println("DEBUG: BEGIN inferUnaryOperatorFromKind for kind: " + kind);
+        Log.debug(() -> "BEGIN inferUnaryOperatorFromKind for kind: " + kind);
 
         String result;
         if (kind.contains("Not")) {
@@ -2065,7 +1993,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
             result = "-"; // Default
         }
 
-        System.out.println("DEBUG: Inferred unary operator: " + result);
+        Log.debug(() -> "Inferred unary operator: " + result);
         return result;
     }
 
@@ -2073,21 +2001,21 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      * Infers result type from binary operator.
      */
     private Type inferTypeFromOperator(String operator) {
-        System.out.println("DEBUG: BEGIN inferTypeFromOperator for operator: " + operator);
+        Log.debug(() -> "BEGIN inferTypeFromOperator for operator: " + operator);
 
         Type result;
         if ("&&".equals(operator) || "||".equals(operator) ||
                 "==".equals(operator) || "!=".equals(operator) ||
                 "<".equals(operator) || "<=".equals(operator) ||
                 ">".equals(operator) || ">=".equals(operator)) {
-            System.out.println("DEBUG: Comparison/logical operator, boolean type");
+            Log.debug("Comparison/logical operator, boolean type");
             result = TypeUtils.newBooleanType();
         } else {
-            System.out.println("DEBUG: Arithmetic operator, int type");
+            Log.debug("Arithmetic operator, int type");
             result = TypeUtils.newIntType();
         }
 
-        System.out.println("DEBUG: Inferred type: " + result.getName() + (result.isArray() ? "[]" : ""));
+        Log.debug(() -> "Inferred type: " + result.getName() + (result.isArray() ? "[]" : ""));
         return result;
     }
 
@@ -2150,7 +2078,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      * Gets the OLLIR type string for an array with specified dimensions.
      */
     private String getArrayTypeString(String baseType, int dimensions) {
-        System.out.println("DEBUG: BEGIN getArrayTypeString for base type: " + baseType + ", dimensions: " + dimensions);
+        Log.debug(() -> "BEGIN getArrayTypeString for base type: " + baseType + ", dimensions: " + dimensions);
 
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < dimensions; i++) {
@@ -2159,7 +2087,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
         sb.append(baseType);
 
         String result = sb.toString();
-        System.out.println("DEBUG: Generated array type: " + result);
+        Log.debug(() -> "Generated array type: " + result);
         return result;
     }
 
@@ -2167,16 +2095,16 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      * Extracts the class name from an import path.
      */
     private String extractClassName(String importPath) {
-        System.out.println("DEBUG: BEGIN extractClassName for path: " + importPath);
+        Log.debug(() -> "BEGIN extractClassName for path: " + importPath);
 
         int lastDot = importPath.lastIndexOf('.');
         String result;
         if (lastDot != -1) {
             result = importPath.substring(lastDot + 1);
-            System.out.println("DEBUG: Extracted class name: " + result);
+            Log.debug(() -> "Extracted class name: " + result);
         } else {
             result = importPath;
-            System.out.println("DEBUG: Using full path as class name: " + result);
+            Log.debug(() -> "Using full path as class name: " + result);
         }
 
         return result;
@@ -2186,22 +2114,24 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      * Gets the dimension count for an array instantiation.
      */
     private int getDimensionCount(JmmNode node) {
-        System.out.println("DEBUG: BEGIN getDimensionCount for node: " + node.getKind());
+        Log.debug(() -> "BEGIN getDimensionCount for node: " + node.getKind());
 
         if (node.getKind().equals("NewMultiDimArrayExpr")) {
-            System.out.println("DEBUG: Node is multidimensional array");
+            Log.debug("Node is multidimensional array");
             int dimensions = 0;
             for (JmmNode child : node.getChildren()) {
                 if (isExpressionNode(child)) {
                     dimensions++;
                 }
             }
-            System.out.println("DEBUG: Number of dimensions found: " + dimensions);
+            if (Log.isEnabled(LogLevel.DEBUG)) {
+                Log.debug("Number of dimensions found: " + dimensions);
+            }
             return Math.max(1, dimensions);
         }
 
         // For regular arrays, assume 1D unless specified otherwise
-        System.out.println("DEBUG: Node is regular array, assuming 1 dimension");
+        Log.debug("Node is regular array, assuming 1 dimension");
         return 1;
     }
 
@@ -2209,14 +2139,14 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      * Checks if a node is an expression node based on its type.
      */
     private boolean isExpressionNode(JmmNode node) {
-        System.out.println("DEBUG: Checking if node is expression: " + node.getKind());
+        Log.debug(() -> "Checking if node is expression: " + node.getKind());
 
         String kind = node.getKind();
         boolean result = !kind.equals("ArraySuffix") &&
                 !kind.equals("LBRACK") &&
                 !kind.equals("RBRACK");
 
-        System.out.println("DEBUG: Is expression? " + result);
+        Log.debug(() -> "Is expression? " + result);
         return result;
     }
 
@@ -2224,27 +2154,27 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      * Checks if a boolean literal represents true.
      */
     private boolean isTrue(JmmNode node) {
-        System.out.println("DEBUG: BEGIN isTrue for node: " + node.getKind());
+        Log.debug(() -> "BEGIN isTrue for node: " + node.getKind());
 
         String kind = node.getKind();
         boolean result;
 
         if (kind.contains("True")) {
-            System.out.println("DEBUG: Node contains 'True' in type");
+            Log.debug("Node contains 'True' in type");
             result = true;
         } else if (kind.contains("False")) {
-            System.out.println("DEBUG: Node contains 'False' in type");
+            Log.debug("Node contains 'False' in type");
             result = false;
         } else if (node.hasAttribute("value")) {
             String value = node.get("value");
-            System.out.println("DEBUG: Node has 'value' attribute: " + value);
+            Log.debug(() -> "Node has 'value' attribute: " + value);
             result = "true".equalsIgnoreCase(value);
         } else {
-            System.out.println("DEBUG: No information, assuming false");
+            Log.debug("No information, assuming false");
             result = false;
         }
 
-        System.out.println("DEBUG: Result: " + result);
+        Log.debug(() -> "Result: " + result);
         return result;
     }
 
@@ -2253,9 +2183,9 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      * a && b — evaluates b only if a == true
      * Usa o LabelManager para garantir labels únicos para operações AND.
      */
-    private OllirExprResult handleLogicalAnd(JmmNode left, JmmNode right) {
+    private OllirExprResult handleLogicalAnd(JmmNode left, JmmNode right, OllirCodeWriter c) {
         // Evaluate left operand
-        OllirExprResult l = visit(left);
+        OllirExprResult l = visit(left, c);
 
         // CORREÇÃO: Usar LabelManager com formato de label preciso
         int lbl = labelManager.nextLabel(LabelManager.AND_STRUCTURE);
@@ -2264,7 +2194,6 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
 
         // Nome do temporário deve seguir a sequência
         String res = "andTmp" + lbl + ".bool";
-        StringBuilder c = new StringBuilder(l.getComputation());
 
         // Generate short-circuit code
         c.append("if (").append(l.getCode()).append(") goto ").append(thenL).append(";\n")
@@ -2272,12 +2201,11 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
                 .append("goto ").append(endL).append(";\n");
 
         c.append(thenL).append(":\n");
-        OllirExprResult r = visit(right);
-        c.append(r.getComputation())
-                .append(res).append(" :=.bool ").append(r.getCode()).append(";\n")
+        OllirExprResult r = visit(right, c);
+        c.append(res).append(" :=.bool ").append(r.getCode()).append(";\n")
                 .append(endL).append(":\n");
 
-        return new OllirExprResult(res, c);
+        return new OllirExprResult(res);
     }
 
     /**
@@ -2285,8 +2213,8 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      * a || b — evaluates b only if a == false
      * Usa o LabelManager para garantir labels únicos para operações OR.
      */
-    private OllirExprResult handleLogicalOr(JmmNode left, JmmNode right) {
-        OllirExprResult l = visit(left);
+    private OllirExprResult handleLogicalOr(JmmNode left, JmmNode right, OllirCodeWriter c) {
+        OllirExprResult l = visit(left, c);
 
         // CORREÇÃO: Usar nomenclatura de labels distinta para operações OR
         int lbl = labelManager.nextLabel(LabelManager.OR_STRUCTURE);
@@ -2294,15 +2222,13 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
         String endL = "orEnd" + lbl;
 
         String res = ollirTypeUtils.nextTemp() + ".bool";
-        StringBuilder c = new StringBuilder(l.getComputation());
 
         /* a == true ? result = 1.bool */
         c.append("if (").append(l.getCode()).append(") goto ").append(thenL).append(";\n");
 
         /* a == false ⇒ evaluate b */
-        OllirExprResult r = visit(right);
-        c.append(r.getComputation())
-                .append(res).append(" :=.bool ").append(r.getCode()).append(";\n")
+        OllirExprResult r = visit(right, c);
+        c.append(res).append(" :=.bool ").append(r.getCode()).append(";\n")
                 .append("goto ").append(endL).append(";\n");
 
         /* branch where a was already true */
@@ -2310,5 +2236,5 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
                 .append(res).append(" :=.bool 1.bool;\n")
                 .append(endL).append(":\n");
 
-        return new OllirExprResult(res, c);
+        return new OllirExprResult(res);
     }}
\ No newline at end of file
@@ -7,6 +7,9 @@ import pt.up.fe.comp.jmm.ast.AJmmVisitor;
 import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp2025.ast.Kind;
 import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.logging.LogLevel;
+import pt.up.fe.comp2025.optimization.util.CompilationContext;
 import pt.up.fe.comp2025.optimization.util.LabelManager;
 import pt.up.fe.comp2025.optimization.util.OptUtils;
 
@@ -16,14 +19,13 @@ import java.util.*;
  * Visitor that generates OLLIR code from AST nodes.
  * Implements a generalized approach to OLLIR code generation without special cases.
  */
-public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
+public class OllirGeneratorVisitor extends AJmmVisitor<OllirCodeWriter, Void> {
 
     // Constants for OLLIR code generation
     private static final String SPACE = " ";
     private static final String ASSIGN = ":=";
     private static final String END_STMT = ";\n";
     private static final String NL = "\n";
-    private static final String TAB = "    ";
     private static final String L_BRACKET = " {\n";
     private static final String R_BRACKET = "}\n";
     private static final String FIELD_PREFIX = ".field public ";
@@ -58,23 +60,22 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
 
     /**
      * Construtor do gerador OLLIR.
+     *
+     * @param context A compilação cujos labels e temporários são numerados
      */
-    /**
-     * Construtor do gerador OLLIR.
-     */
-    public OllirGeneratorVisitor(SymbolTable symbolTable) {
+    public OllirGeneratorVisitor(SymbolTable symbolTable, CompilationContext context) {
         // Inicializar corretamente as coleções
         this.visitedIfNodes = new HashSet<>();
         this.visitedWhileNodes = new HashSet<>();
         this.visitedNodes = new HashSet<>();
 
-        System.out.println("DEBUG: Inicializando OllirGeneratorVisitor com Symbol Table: " + symbolTable);
+        Log.debug(() -> "Inicializando OllirGeneratorVisitor com Symbol Table: " + symbolTable);
         this.symbolTable = symbolTable;
         this.typeUtils = new TypeUtils(symbolTable);
-        this.ollirTypeUtils = new OptUtils(this.typeUtils);
+        this.ollirTypeUtils = new OptUtils(this.typeUtils, context);
 
-        // Inicializa o LabelManager
-        this.labelManager = LabelManager.getInstance();
+        // Inicializa o LabelManager da compilação
+        this.labelManager = new LabelManager(context);
 
         // Inicializar as variáveis de loop como um conjunto vazio
         this.loopVariables = new HashSet<>();
@@ -84,7 +85,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
             @SuppressWarnings("unchecked")
             Set loopVars = (Set) symbolTable.getObject("loopModifiedVariables");
             this.loopVariables = new HashSet<>(loopVars);
-            System.out.println("DEBUG: Loaded loop variables from SymbolTable: " + this.loopVariables);
+            Log.debug(() -> "Loaded loop variables from SymbolTable: " + this.loopVariables);
         }
 
         // Criar o visitor de expressões compartilhando as mesmas instâncias
@@ -97,18 +98,18 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         this.errors = new ArrayList<>();
         this.valueCache = new HashMap<>();
 
-        System.out.println("DEBUG: OllirGeneratorVisitor inicializado com sucesso");
+        Log.debug("OllirGeneratorVisitor inicializado com sucesso");
     }
     /**
      * Define as variáveis de loop a partir de informações compartilhadas.
      */
     public void setLoopVariables(Set<String> variables) {
         this.loopVariables = new HashSet<>(variables != null ? variables : Collections.emptySet());
-        System.out.println("DEBUG: Set loop variables: " + this.loopVariables);
+        Log.debug(() -> "Set loop variables: " + this.loopVariables);
     }
     @Override
     protected void buildVisitor() {
-        System.out.println("DEBUG: Construindo o mapa de visitantes para cada tipo de nó AST");
+        Log.debug("Construindo o mapa de visitantes para cada tipo de nó AST");
         // Program structure
         addVisit("PROGRAM",                this::visitProgram);
         addVisit("CLASS_DECL",             this::visitClassDecl);
@@ -151,7 +152,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
 
         // Default visitor for unmatched node types
         setDefaultVisit(this::defaultVisit);
-        System.out.println("DEBUG: Mapa de visitantes construído com sucesso");
+        Log.debug("Mapa de visitantes construído com sucesso");
     }
     /**
      * Checks if the operation has timed out
@@ -165,250 +166,195 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
     /**
      * Visits the program node, which is the root of the AST.
      */
-    private String visitProgram(JmmNode node, Void context) {
+    private Void visitProgram(JmmNode node, OllirCodeWriter code) {
         operationStartTime = System.currentTimeMillis();
-        System.out.println("DEBUG: INICIO visitProgram - Nó raiz: " + node.getKind());
-        System.out.println("DEBUG: Número de filhos: " + node.getNumChildren());
+        Log.debug(() -> "INICIO visitProgram - Nó raiz: " + node.getKind());
+        Log.debug(() -> "Número de filhos: " + node.getNumChildren());
 
-        StringBuilder code = new StringBuilder();
+        int start = code.length();
 
         // Process imports first
-        System.out.println("DEBUG: Processando imports...");
+        Log.debug("Processando imports...");
         for (JmmNode child : node.getChildren()) {
             if ("IMPORT_DECLARATION".equals(child.getKind())) {
-                System.out.println("DEBUG: Encontrado import: " + child);
-                String importCode = visit(child);
-                System.out.println("DEBUG: Código gerado para import: " + importCode);
-                code.append(importCode);
+                Log.debug(() -> "Encontrado import: " + child);
+                visit(child, code);
             }
         }
 
         // Add blank line after imports if any
-        if (code.length() > 0) {
-            System.out.println("DEBUG: Adicionando linha em branco após imports");
+        if (code.length() > start) {
+            Log.debug("Adicionando linha em branco após imports");
             code.append(NL);
         }
 
         // Process class declarations
-        System.out.println("DEBUG: Processando declarações de classe...");
+        Log.debug("Processando declarações de classe...");
         boolean hasClassDecl = false;
         for (JmmNode child : node.getChildren()) {
             if ("CLASS_DECL".equals(child.getKind())) {
-                System.out.println("DEBUG: Encontrada declaração de classe: " + child);
-                String classCode = visit(child);
-                System.out.println("DEBUG: Código gerado para classe (primeiros 50 chars): " +
-                        (classCode.length() > 50 ? classCode.substring(0, 50) + "..." : classCode));
-                code.append(classCode);
+                Log.debug(() -> "Encontrada declaração de classe: " + child);
+                visit(child, code);
                 hasClassDecl = true;
             }
         }
 
         // Generate default class if none exists
         if (!hasClassDecl) {
-            System.out.println("DEBUG: Nenhuma declaração de classe encontrada, gerando classe padrão");
-            String defaultClass = generateDefaultClass();
-            System.out.println("DEBUG: Classe padrão gerada (primeiros 50 chars): " +
-                    (defaultClass.length() > 50 ? defaultClass.substring(0, 50) + "..." : defaultClass));
-            code.append(defaultClass);
+            Log.debug("Nenhuma declaração de classe encontrada, gerando classe padrão");
+            generateDefaultClass(code);
         }
 
-        System.out.println("DEBUG: FIM visitProgram - Código gerado (tamanho): " + code.length());
-        return code.toString();
+        Log.debug("FIM visitProgram");
+        return null;
     }
 
     /**
      * Visits a class declaration node.
      */
-    private String visitClassDecl(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitClassDecl - Nó: " + node.getKind());
-        StringBuilder code = new StringBuilder();
+    private Void visitClassDecl(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitClassDecl - Nó: " + node.getKind());
 
         // Get class name
         String className = node.hasAttribute("name") ? node.get("name") : symbolTable.getClassName();
         if (className == null || className.isEmpty()) {
             className = "DefaultClass";
         }
-        System.out.println("DEBUG: Nome da classe: " + className);
+        if (Log.isEnabled(LogLevel.DEBUG)) {
+            Log.debug("Nome da classe: " + className);
+        }
 
         code.append(className);
 
         // Handle extends clause
         String superClass = node.hasAttribute("extendsId") ? node.get("extendsId") : symbolTable.getSuper();
         if (superClass != null && !superClass.isEmpty()) {
-            System.out.println("DEBUG: Classe estende: " + superClass);
+            Log.debug(() -> "Classe estende: " + superClass);
             code.append(" extends ").append(superClass);
         }
 
         code.append(L_BRACKET);
 
-        // Process class body - collect fields, methods, and constructor
-        System.out.println("DEBUG: Processando corpo da classe...");
-        List<String> fields = new ArrayList<>();
-        List<String> methods = new ArrayList<>();
-        String constructor = null;
+        // Process class body - fields, constructor and methods, written in this order
+        Log.debug("Processando corpo da classe...");
 
         // First check for a CLASS_BODY node
         JmmNode bodyNode = null;
         for (JmmNode child : node.getChildren()) {
             if ("CLASS_BODY".equals(child.getKind())) {
-                System.out.println("DEBUG: Encontrado nó CLASS_BODY");
+                Log.debug("Encontrado nó CLASS_BODY");
                 bodyNode = child;
                 break;
             }
         }
 
-        // Process body node if found
-        if (bodyNode != null) {
-            System.out.println("DEBUG: Processando campos da classe de CLASS_BODY...");
-            // Process fields
-            for (JmmNode child : bodyNode.getChildren()) {
-                if ("VAR_DECL".equals(child.getKind())) {
-                    System.out.println("DEBUG: Encontrada declaração de campo: " + (child.hasAttribute("name") ? child.get("name") : "unnamed"));
-                    String fieldCode = FIELD_PREFIX + visit(child);
-                    System.out.println("DEBUG: Código gerado para campo: " + fieldCode.trim());
-                    fields.add(fieldCode);
-                }
-            }
+        // Process direct children if no CLASS_BODY
+        List<JmmNode> members = bodyNode != null ? bodyNode.getChildren() : node.getChildren();
 
-            System.out.println("DEBUG: Processando métodos da classe de CLASS_BODY...");
-            // Process methods
-            for (JmmNode child : bodyNode.getChildren()) {
-                if ("METHOD_DECL".equals(child.getKind())) {
-                    System.out.println("DEBUG: Encontrada declaração de método: " + (child.hasAttribute("name") ? child.get("name") : "unnamed"));
-                    String methodCode = visit(child);
-                    System.out.println("DEBUG: Código gerado para método (primeiros 50 chars): " +
-                            (methodCode.length() > 50 ? methodCode.substring(0, 50) + "..." : methodCode));
-                    methods.add(methodCode);
-                }
-            }
-        } else {
-            System.out.println("DEBUG: Nó CLASS_BODY não encontrado, processando filhos diretos da classe");
-            // Process direct children if no CLASS_BODY
-            for (JmmNode child : node.getChildren()) {
-                if ("VAR_DECL".equals(child.getKind())) {
-                    System.out.println("DEBUG: Encontrada declaração de campo: " + (child.hasAttribute("name") ? child.get("name") : "unnamed"));
-                    String fieldCode = FIELD_PREFIX + visit(child);
-                    System.out.println("DEBUG: Código gerado para campo: " + fieldCode.trim());
-                    fields.add(fieldCode);
-                } else if ("METHOD_DECL".equals(child.getKind())) {
-                    System.out.println("DEBUG: Encontrada declaração de método: " + (child.hasAttribute("name") ? child.get("name") : "unnamed"));
-                    String methodCode = visit(child);
-                    System.out.println("DEBUG: Código gerado para método (primeiros 50 chars): " +
-                            (methodCode.length() > 50 ? methodCode.substring(0, 50) + "..." : methodCode));
-                    methods.add(methodCode);
-                }
+        Log.debug("Processando campos da classe...");
+        boolean hasFields = false;
+        for (JmmNode child : members) {
+            if ("VAR_DECL".equals(child.getKind())) {
+                Log.debug(() -> "Encontrada declaração de campo: " + (child.hasAttribute("name") ? child.get("name") : "unnamed"));
+                code.append(FIELD_PREFIX);
+                visit(child, code);
+                hasFields = true;
             }
         }
 
         // If no fields found in AST, use symbol table
-        if (fields.isEmpty()) {
-            System.out.println("DEBUG: Nenhum campo encontrado na AST, usando tabela de símbolos");
+        if (!hasFields) {
+            Log.debug("Nenhum campo encontrado na AST, usando tabela de símbolos");
             for (Symbol field : symbolTable.getFields()) {
                 String typeStr = ollirTypeUtils.toOllirType(field.getType());
                 String fieldCode = FIELD_PREFIX + field.getName() + typeStr + END_STMT;
-                System.out.println("DEBUG: Adicionando campo da tabela de símbolos: " + fieldCode.trim());
-                fields.add(fieldCode);
-            }
-        }
-
-        // Generate constructor if not found
-        if (constructor == null) {
-            System.out.println("DEBUG: Nenhum construtor encontrado, gerando construtor padrão");
-            constructor = generateConstructor(className);
-            System.out.println("DEBUG: Construtor gerado: " + constructor.trim());
-        }
-
-        // If no methods found in AST, use symbol table
-        if (methods.isEmpty()) {
-            System.out.println("DEBUG: Nenhum método encontrado na AST, usando tabela de símbolos");
-            for (String methodName : symbolTable.getMethods()) {
-                System.out.println("DEBUG: Gerando método da tabela de símbolos: " + methodName);
-                String methodCode = generateMethodFromSymbolTable(methodName);
-                System.out.println("DEBUG: Método gerado (primeiros 50 chars): " +
-                        (methodCode.length() > 50 ? methodCode.substring(0, 50) + "..." : methodCode));
-                methods.add(methodCode);
+                Log.debug(() -> "Adicionando campo da tabela de símbolos: " + fieldCode.trim());
+                code.append(fieldCode);
+                hasFields = true;
             }
         }
 
-        // Append fields, constructor, and methods in correct order
-        System.out.println("DEBUG: Montando o código final da classe");
-        for (String field : fields) {
-            System.out.println("DEBUG: Adicionando campo ao código final");
-            code.append(field);
-        }
-
-        if (!fields.isEmpty() && constructor != null) {
+        if (hasFields) {
             code.append(NL);
         }
 
-        if (constructor != null) {
-            System.out.println("DEBUG: Adicionando construtor ao código final");
-            code.append(constructor);
+        // The class never declares a constructor, so the default one is generated
+        Log.debug("Gerando construtor padrão");
+        generateConstructor(className, code);
+
+        Log.debug("Processando métodos da classe...");
+        boolean hasMethods = false;
+        for (JmmNode child : members) {
+            if ("METHOD_DECL".equals(child.getKind())) {
+                Log.debug(() -> "Encontrada declaração de método: " + (child.hasAttribute("name") ? child.get("name") : "unnamed"));
+                visit(child, code);
+                hasMethods = true;
+            }
         }
 
-        for (String method : methods) {
-            System.out.println("DEBUG: Adicionando método ao código final");
-            code.append(method);
+        // If no methods found in AST, use symbol table
+        if (!hasMethods) {
+            Log.debug("Nenhum método encontrado na AST, usando tabela de símbolos");
+            for (String methodName : symbolTable.getMethods()) {
+                Log.debug(() -> "Gerando método da tabela de símbolos: " + methodName);
+                generateMethodFromSymbolTable(methodName, code);
+            }
         }
 
         code.append(R_BRACKET);
-        System.out.println("DEBUG: FIM visitClassDecl - Código gerado (tamanho): " + code.length());
-        return code.toString();
+        Log.debug("FIM visitClassDecl");
+        return null;
     }
 
     /**
      * Visits a class body node.
      */
-    private String visitClassBody(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitClassBody - Nó: " + node.getKind());
-        System.out.println("DEBUG: Número de filhos: " + node.getNumChildren());
+    private Void visitClassBody(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitClassBody - Nó: " + node.getKind());
+        Log.debug(() -> "Número de filhos: " + node.getNumChildren());
 
-        StringBuilder code = new StringBuilder();
+        int start = code.length();
 
         // Process fields
-        System.out.println("DEBUG: Processando campos...");
+        Log.debug("Processando campos...");
         for (JmmNode child : node.getChildren()) {
             if ("VAR_DECL".equals(child.getKind())) {
-                System.out.println("DEBUG: Encontrada declaração de campo: " + (child.hasAttribute("name") ? child.get("name") : "unnamed"));
-                String fieldCode = FIELD_PREFIX + visit(child);
-                System.out.println("DEBUG: Código gerado para campo: " + fieldCode.trim());
-                code.append(fieldCode);
+                Log.debug(() -> "Encontrada declaração de campo: " + (child.hasAttribute("name") ? child.get("name") : "unnamed"));
+                code.append(FIELD_PREFIX);
+                visit(child, code);
             }
         }
 
         // Process methods
-        System.out.println("DEBUG: Processando métodos...");
+        Log.debug("Processando métodos...");
         for (JmmNode child : node.getChildren()) {
             if ("METHOD_DECL".equals(child.getKind())) {
-                System.out.println("DEBUG: Encontrada declaração de método: " + (child.hasAttribute("name") ? child.get("name") : "unnamed"));
-                String methodCode = visit(child);
-                System.out.println("DEBUG: Código gerado para método (primeiros 50 chars): " +
-                        (methodCode.length() > 50 ? methodCode.substring(0, 50) + "..." : methodCode));
-                code.append(methodCode);
+                Log.debug(() -> "Encontrada declaração de método: " + (child.hasAttribute("name") ? child.get("name") : "unnamed"));
+                visit(child, code);
             }
         }
 
-        System.out.println("DEBUG: FIM visitClassBody - Código gerado (tamanho): " + code.length());
-        return code.toString();
+        Log.debug(() -> "FIM visitClassBody - Código gerado (tamanho): " + (code.length() - start));
+        return null;
     }
 
     /**
      * Visits an import declaration node.
      */
-    private String visitImportDeclaration(JmmNode node, Void context) {
-        StringBuilder code = new StringBuilder("import ");
+    private Void visitImportDeclaration(JmmNode node, OllirCodeWriter code) {
+        StringBuilder importCode = new StringBuilder("import ");
 
         // Procurar o caminho de import de forma mais robusta
         String importPath = extractImportPath(node);
         if (importPath != null && !importPath.isEmpty()) {
-            code.append(importPath);
+            importCode.append(importPath);
         } else {
             // Se não encontrar o caminho, procurar em nós filho
             for (JmmNode child : node.getChildren()) {
                 if ("QualifiedName".equals(child.getKind())) {
                     importPath = buildQualifiedName(child);
                     if (!importPath.isEmpty()) {
-                        code.append(importPath);
+                        importCode.append(importPath);
                         break;
                     }
                 }
@@ -416,14 +362,15 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         }
 
         // Se ainda não encontrou, tentar atributos diretos
-        if (code.length() == 7) { // Apenas "import "
+        if (importCode.length() == 7) { // Apenas "import "
             if (node.hasAttribute("name")) {
-                code.append(node.get("name"));
+                importCode.append(node.get("name"));
             }
         }
 
-        code.append(END_STMT);
-        return code.toString();
+        importCode.append(END_STMT);
+        code.append(importCode);
+        return null;
     }
 
     private String extractImportPath(JmmNode node) {
@@ -452,7 +399,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
                     if ("PARAM".equals(param.getKind()) &&
                             param.hasAttribute("ellipsis") &&
                             "...".equals(param.get("ellipsis"))) {
-                        System.out.println("DEBUG: Detectado parâmetro varargs no método");
+                        Log.debug("Detectado parâmetro varargs no método");
                         return true;
                     }
                 }
@@ -461,41 +408,6 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         return false;
     }
 
-    // Adicionar método de indentação personalizada para o formato "ideal"
-    private String addCustomIndentation(String code) {
-        StringBuilder indented = new StringBuilder();
-        String[] lines = code.split("\n");
-        boolean afterLabel = false;
-        int pairCount = 0;
-
-        for (String line : lines) {
-            if (line.trim().isEmpty()) {
-                indented.append("\n");
-                continue;
-            }
-
-            // Labels ficam sem indentação
-            if (line.trim().endsWith(":")) {
-                indented.append(line).append("\n");
-                afterLabel = true;
-                pairCount = 0;
-                continue;
-            }
-
-            // Primeiro comando após label com 3 espaços de indentação
-            if (afterLabel || pairCount % 2 == 0) {
-                indented.append("   ").append(line).append("\n");
-                pairCount++;
-                afterLabel = false;
-            } else {
-                // Segundo comando de cada par sem indentação adicional
-                indented.append(line).append("\n");
-                pairCount++;
-            }
-        }
-
-        return indented.toString();
-    }
 
     // Método auxiliar para verificar se há return no método
     private boolean methodBodyHasReturn(JmmNode node) {
@@ -517,244 +429,252 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
     /**
      * Visits a parameter node.
      */
-    private String visitParam(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitParam - Nó: " + node.getKind());
+    private Void visitParam(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitParam - Nó: " + node.getKind());
 
         // Find type and name
         Type paramType = null;
 
         if (node.getNumChildren() > 0) {
             JmmNode typeNode = node.getChild(0);
-            System.out.println("DEBUG: Primeiro filho do parâmetro: " + typeNode.getKind());
+            Log.debug(() -> "Primeiro filho do parâmetro: " + typeNode.getKind());
             if ("TYPE".equals(typeNode.getKind())) {
                 paramType = typeUtils.convertType(typeNode);
-                System.out.println("DEBUG: Tipo do parâmetro obtido: " + paramType.getName() + (paramType.isArray() ? "[]" : ""));
+                if (Log.isEnabled(LogLevel.DEBUG)) {
+                    Log.debug("Tipo do parâmetro obtido: " + paramType.getName() + (paramType.isArray() ? "[]" : ""));
+                }
             }
         }
 
         if (paramType == null) {
-            System.out.println("DEBUG: Tipo do parâmetro não encontrado, usando int como padrão");
+            Log.debug("Tipo do parâmetro não encontrado, usando int como padrão");
             paramType = new Type("int", false); // Default to int
         }
 
         String paramName = node.hasAttribute("name") ? node.get("name") : "param";
-        System.out.println("DEBUG: Nome do parâmetro: " + paramName);
+        Log.debug(() -> "Nome do parâmetro: " + paramName);
         String typeStr = ollirTypeUtils.toOllirType(paramType);
-        System.out.println("DEBUG: Tipo OLLIR do parâmetro: " + typeStr);
+        Log.debug(() -> "Tipo OLLIR do parâmetro: " + typeStr);
 
         String result = paramName + typeStr;
-        System.out.println("DEBUG: FIM visitParam - Código gerado: " + result);
-        return result;
+        Log.debug(() -> "FIM visitParam - Código gerado: " + result);
+        code.append(result);
+        return null;
     }
 
     /**
      * Visits a main method parameter node.
      */
-    private String visitMainParam(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitMainParam - Nó: " + node.getKind());
+    private Void visitMainParam(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitMainParam - Nó: " + node.getKind());
         String paramName = node.hasAttribute("name") ? node.get("name") : "args";
-        System.out.println("DEBUG: Nome do parâmetro main: " + paramName);
+        Log.debug(() -> "Nome do parâmetro main: " + paramName);
         String result = paramName + ".array.String";
-        System.out.println("DEBUG: FIM visitMainParam - Código gerado: " + result);
-        return result;
+        Log.debug(() -> "FIM visitMainParam - Código gerado: " + result);
+        code.append(result);
+        return null;
     }
 
     /**
      * Visits a function type node.
      */
-    private String visitFunctionType(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitFunctionType - Nó: " + node.getKind());
+    private Void visitFunctionType(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitFunctionType - Nó: " + node.getKind());
 
         // Handle void type explicitly
         if (node.hasAttribute("name") && "void".equals(node.get("name"))) {
-            System.out.println("DEBUG: Tipo de função void explícito");
-            return ".V";
+            Log.debug("Tipo de função void explícito");
+            code.append(".V");
+            return null;
         }
 
         // Check children for type
         for (JmmNode child : node.getChildren()) {
-            System.out.println("DEBUG: Verificando filho do tipo de função: " + child.getKind());
+            Log.debug(() -> "Verificando filho do tipo de função: " + child.getKind());
             if ("TYPE".equals(child.getKind())) {
                 Type type = typeUtils.convertType(child);
                 String typeStr = ollirTypeUtils.toOllirType(type);
-                System.out.println("DEBUG: Tipo de função encontrado: " + type.getName() + " -> " + typeStr);
-                return typeStr;
+                Log.debug(() -> "Tipo de função encontrado: " + type.getName() + " -> " + typeStr);
+                code.append(typeStr);
+                return null;
             }
         }
 
-        System.out.println("DEBUG: Nenhum tipo de função encontrado, usando void como padrão");
-        return ".V"; // Default to void
+        Log.debug("Nenhum tipo de função encontrado, usando void como padrão");
+        code.append(".V"); // Default to void
+        return null;
     }
 
     /**
      * Visits a type node.
      */
-    private String visitType(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitType - Nó: " + node.getKind());
+    private Void visitType(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitType - Nó: " + node.getKind());
         Type type = typeUtils.convertType(node);
-        System.out.println("DEBUG: Tipo convertido: " + type.getName() + (type.isArray() ? "[]" : ""));
+        Log.debug(() -> "Tipo convertido: " + type.getName() + (type.isArray() ? "[]" : ""));
         String typeStr = ollirTypeUtils.toOllirType(type);
-        System.out.println("DEBUG: Tipo OLLIR: " + typeStr);
-        return typeStr;
+        Log.debug(() -> "Tipo OLLIR: " + typeStr);
+        code.append(typeStr);
+        return null;
     }
 
     /**
      * Visits a variable declaration node.
      */
-    private String visitVarDecl(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitVarDecl - Nó: " + node.getKind());
+    private Void visitVarDecl(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitVarDecl - Nó: " + node.getKind());
         String varName = node.hasAttribute("name") ? node.get("name") : "var";
-        System.out.println("DEBUG: Nome da variável: " + varName);
+        Log.debug(() -> "Nome da variável: " + varName);
 
         // Determine variable type
         Type varType = null;
         for (JmmNode child : node.getChildren()) {
-            System.out.println("DEBUG: Verificando filho para tipo: " + child.getKind());
+            Log.debug(() -> "Verificando filho para tipo: " + child.getKind());
             if ("TYPE".equals(child.getKind())) {
                 varType = typeUtils.convertType(child);
-                System.out.println("DEBUG: Tipo da variável encontrado: " + varType.getName() + (varType.isArray() ? "[]" : ""));
+                if (Log.isEnabled(LogLevel.DEBUG)) {
+                    Log.debug("Tipo da variável encontrado: " + varType.getName() + (varType.isArray() ? "[]" : ""));
+                }
                 break;
             }
         }
 
         if (varType == null) {
-            System.out.println("DEBUG: Tipo da variável não encontrado, usando int como padrão");
+            Log.debug("Tipo da variável não encontrado, usando int como padrão");
             varType = new Type("int", false); // Default to int
         }
 
         String typeStr = ollirTypeUtils.toOllirType(varType);
-        System.out.println("DEBUG: Tipo OLLIR da variável: " + typeStr);
+        Log.debug(() -> "Tipo OLLIR da variável: " + typeStr);
         String result = varName + typeStr + END_STMT;
-        System.out.println("DEBUG: FIM visitVarDecl - Código gerado: " + result.trim());
-        return result;
+        Log.debug(() -> "FIM visitVarDecl - Código gerado: " + result.trim());
+        code.append(result);
+        return null;
     }
 
     /**
      * Visits a variable declaration statement.
      */
-    private String visitVarDeclarationStmt(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitVarDeclarationStmt - Nó: " + node.getKind());
-        System.out.println("DEBUG: Número de filhos: " + node.getNumChildren());
+    private Void visitVarDeclarationStmt(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitVarDeclarationStmt - Nó: " + node.getKind());
+        Log.debug(() -> "Número de filhos: " + node.getNumChildren());
 
-        StringBuilder code = new StringBuilder();
+        int start = code.length();
 
         // Process all VAR_DECL children
         for (JmmNode child : node.getChildren()) {
             if ("VAR_DECL".equals(child.getKind())) {
-                System.out.println("DEBUG: Processando declaração de variável filho");
+                Log.debug("Processando declaração de variável filho");
                 String varName = child.hasAttribute("name") ? child.get("name") : "var";
-                System.out.println("DEBUG: Nome da variável: " + varName);
+                Log.debug(() -> "Nome da variável: " + varName);
 
                 // Determine variable type
                 Type varType = null;
                 for (JmmNode typeChild : child.getChildren()) {
-                    System.out.println("DEBUG: Verificando filho para tipo: " + typeChild.getKind());
+                    Log.debug(() -> "Verificando filho para tipo: " + typeChild.getKind());
                     if ("TYPE".equals(typeChild.getKind())) {
                         varType = typeUtils.convertType(typeChild);
-                        System.out.println("DEBUG: Tipo da variável encontrado: " + varType.getName() + (varType.isArray() ? "[]" : ""));
+                        if (Log.isEnabled(LogLevel.DEBUG)) {
+                            Log.debug("Tipo da variável encontrado: " + varType.getName() + (varType.isArray() ? "[]" : ""));
+                        }
                         break;
                     }
                 }
 
                 if (varType == null) {
-                    System.out.println("DEBUG: Tipo da variável não encontrado, usando int como padrão");
+                    Log.debug("Tipo da variável não encontrado, usando int como padrão");
                     varType = new Type("int", false); // Default to int
                 }
 
                 // Generate initialization with default value
                 String typeStr = ollirTypeUtils.toOllirType(varType);
-                System.out.println("DEBUG: Tipo OLLIR da variável: " + typeStr);
+                Log.debug(() -> "Tipo OLLIR da variável: " + typeStr);
                 String defaultValue = getDefaultValue(varType);
-                System.out.println("DEBUG: Valor padrão para inicialização: " + defaultValue);
+                Log.debug(() -> "Valor padrão para inicialização: " + defaultValue);
 
                 String varDeclCode = varName + typeStr + SPACE + ASSIGN + typeStr + SPACE + defaultValue + typeStr + END_STMT;
-                System.out.println("DEBUG: Código de declaração e inicialização: " + varDeclCode.trim());
+                Log.debug(() -> "Código de declaração e inicialização: " + varDeclCode.trim());
                 code.append(varDeclCode);
             }
         }
 
-        System.out.println("DEBUG: FIM visitVarDeclarationStmt - Código gerado (tamanho): " + code.length());
-        return code.toString();
+        Log.debug(() -> "FIM visitVarDeclarationStmt - Código gerado (tamanho): " + (code.length() - start));
+        return null;
     }
 
     /**
      * Visits a statement node.
      */
-    private String visitStmt(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitStmt - Nó: " + node.getKind());
-        System.out.println("DEBUG: Número de filhos: " + node.getNumChildren());
-
-        StringBuilder code = new StringBuilder();
+    private Void visitStmt(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitStmt - Nó: " + node.getKind());
+        Log.debug(() -> "Número de filhos: " + node.getNumChildren());
 
         // Process all child statements
         for (JmmNode child : node.getChildren()) {
-            System.out.println("DEBUG: Processando filho do statement: " + child.getKind());
-            String childCode = visit(child);
-            System.out.println("DEBUG: Código gerado para filho (tamanho): " + childCode.length());
-            code.append(childCode);
+            Log.debug(() -> "Processando filho do statement: " + child.getKind());
+            visit(child, code);
         }
 
-        System.out.println("DEBUG: FIM visitStmt - Código gerado (tamanho): " + code.length());
-        return code.toString();
+        Log.debug("FIM visitStmt");
+        return null;
     }
 
     /**
      * Visits an assignment statement node.
      */
-    private String visitAssignStmt(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitAssignStmt - Nó: " + node.getKind());
-        System.out.println("DEBUG: Número de filhos: " + node.getNumChildren());
+    private Void visitAssignStmt(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitAssignStmt - Nó: " + node.getKind());
+        Log.debug(() -> "Número de filhos: " + node.getNumChildren());
 
         // Look for AssignStatement child
         for (JmmNode child : node.getChildren()) {
-            System.out.println("DEBUG: Verificando filho: " + child.getKind());
+            Log.debug(() -> "Verificando filho: " + child.getKind());
             if ("AssignStatement".equals(child.getKind())) {
-                System.out.println("DEBUG: Encontrado AssignStatement, delegando para visitAssignStatement");
-                return visitAssignStatement(child, context);
+                Log.debug("Encontrado AssignStatement, delegando para visitAssignStatement");
+                return visitAssignStatement(child, code);
             }
         }
 
         // Direct processing if no AssignStatement child
         if (node.getNumChildren() >= 2) {
-            System.out.println("DEBUG: Processando assign diretamente com 2+ filhos");
+            Log.debug("Processando assign diretamente com 2+ filhos");
             JmmNode lhs = node.getChild(0);
             JmmNode rhs = node.getChild(1);
-            System.out.println("DEBUG: LHS: " + lhs.getKind() + ", RHS: " + rhs.getKind());
-            String result = generateAssignment(lhs, rhs);
-            System.out.println("DEBUG: Código de atribuição gerado: " + result.trim());
-            return result;
+            Log.debug(() -> "LHS: " + lhs.getKind() + ", RHS: " + rhs.getKind());
+            generateAssignment(lhs, rhs, code);
+            return null;
         }
 
-        System.out.println("DEBUG: Atribuição inválida, retornando string vazia");
-        return ""; // Invalid assignment
+        Log.debug("Atribuição inválida, retornando string vazia");
+        return null; // Invalid assignment
     }
 
     /**
      * Visits an assign statement node.
      */
-    private String visitAssignStatement(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitAssignStatement - Nó: " + node.getKind());
-        System.out.println("DEBUG: Número de filhos: " + node.getNumChildren());
+    private Void visitAssignStatement(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitAssignStatement - Nó: " + node.getKind());
+        Log.debug(() -> "Número de filhos: " + node.getNumChildren());
 
         if (node.getNumChildren() < 2) {
-            System.out.println("DEBUG: Atribuição inválida (menos de 2 filhos), retornando string vazia");
-            return ""; // Invalid assignment
+            Log.debug("Atribuição inválida (menos de 2 filhos), retornando string vazia");
+            return null; // Invalid assignment
         }
 
         JmmNode lhs = node.getChild(0);
         JmmNode rhs = node.getChild(1);
-        System.out.println("DEBUG: LHS: " + lhs.getKind() + ", RHS: " + rhs.getKind());
+        Log.debug(() -> "LHS: " + lhs.getKind() + ", RHS: " + rhs.getKind());
 
-        String result = generateAssignment(lhs, rhs);
-        System.out.println("DEBUG: FIM visitAssignStatement - Código gerado: " + result.trim());
-        return result;
+        generateAssignment(lhs, rhs, code);
+        Log.debug("FIM visitAssignStatement");
+        return null;
     }
 
     /**
      * Visits a return statement node, corrigido para usar variáveis originais em retornos.
      */
 
-    private String visitReturnStmt(JmmNode node, Void context) {
+    private Void visitReturnStmt(JmmNode node, OllirCodeWriter code) {
         // Determine return type based on method
         Type returnType = new Type("void", false);
         if (currentMethod != null) {
@@ -767,7 +687,6 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         // Check if return has expression
         if (node.getNumChildren() > 0) {
             JmmNode exprNode = node.getChild(0);
-            StringBuilder code = new StringBuilder();
             String returnTypeStr = ollirTypeUtils.toOllirType(returnType);
 
             // Critical check: Determine if the expression is a variable reference that's multi-assigned
@@ -779,21 +698,20 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
                     // Preserve the variable reference
                     code.append("ret").append(returnTypeStr).append(" ")
                             .append(varName).append(returnTypeStr).append(END_STMT);
-                    return code.toString();
+                    return null;
                 }
             }
 
             // For other cases, proceed with normal expression processing
-            OllirExprResult exprResult = exprVisitor.visit(exprNode);
-            code.append(exprResult.getComputation());
+            OllirExprResult exprResult = exprVisitor.visit(exprNode, code);
             code.append("ret").append(returnTypeStr).append(" ")
                     .append(exprResult.getCode()).append(END_STMT);
 
-            return code.toString();
+            return null;
         } else {
             // Return without expression
             String returnTypeStr = ollirTypeUtils.toOllirType(returnType);
-            StringBuilder code = new StringBuilder("ret" + returnTypeStr);
+            code.append("ret" + returnTypeStr);
 
             if (!"void".equals(returnType.getName())) {
                 String defaultValue = getDefaultValue(returnType);
@@ -801,7 +719,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
             }
 
             code.append(END_STMT);
-            return code.toString();
+            return null;
         }
     }
 
@@ -979,35 +897,27 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
     /**
      * Visits an expression statement node.
      */
-    private String visitExpressionStmt(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitExpressionStmt - Nó: " + node.getKind());
-        System.out.println("DEBUG: Número de filhos: " + node.getNumChildren());
+    private Void visitExpressionStmt(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitExpressionStmt - Nó: " + node.getKind());
+        Log.debug(() -> "Número de filhos: " + node.getNumChildren());
 
         if (node.getNumChildren() == 0) {
-            System.out.println("DEBUG: Statement de expressão vazio, retornando string vazia");
-            return ""; // Empty statement
+            Log.debug("Statement de expressão vazio, retornando string vazia");
+            return null; // Empty statement
         }
 
         // Get the expression and process it
         JmmNode exprNode = node.getChild(0);
-        System.out.println("DEBUG: Nó de expressão: " + exprNode.getKind());
-
-        OllirExprResult exprResult = exprVisitor.visit(exprNode);
-        System.out.println("DEBUG: Resultado da expressão - Computação: " +
-                (exprResult.getComputation().length() > 50 ?
-                        exprResult.getComputation().substring(0, 50) + "..." :
-                        exprResult.getComputation().trim()));
-        System.out.println("DEBUG: Resultado da expressão - Código: " + exprResult.getCode());
+        Log.debug(() -> "Nó de expressão: " + exprNode.getKind());
 
         // For expressions used as statements, we just need the computation
-        System.out.println("DEBUG: FIM visitExpressionStmt - Código gerado (tamanho): " + exprResult.getComputation().length());
-        return exprResult.getComputation();
-    }
-
+        OllirExprResult exprResult = exprVisitor.visit(exprNode, code);
+        Log.debug(() -> "Resultado da expressão - Código: " + exprResult.getCode());
 
+        Log.debug("FIM visitExpressionStmt");
+        return null;
+    }
 
-    // Cache para evitar processar nós já visitados em cascatas
-    private final Set<JmmNode> processedSwitchNodes = new HashSet<>();
 
 
     /**
@@ -1024,15 +934,15 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
      * Visita um nó if statement e gera código OLLIR.
      * Esta implementação usa o LabelManager para garantir labels únicas por contexto.
      */
-    private String visitIfStmt(JmmNode node, Void context) {
+    private Void visitIfStmt(JmmNode node, OllirCodeWriter code) {
         operationStartTime = System.currentTimeMillis();
-        System.out.println("DEBUG: INICIO visitIfStmt - Nó: " + node.getKind());
-        System.out.println("DEBUG: Número de filhos: " + node.getNumChildren());
+        Log.debug(() -> "INICIO visitIfStmt - Nó: " + node.getKind());
+        Log.debug(() -> "Número de filhos: " + node.getNumChildren());
 
         // Verificar se já visitamos este nó para evitar loops infinitos
         if (visitedIfNodes.contains(node)) {
-            System.out.println("DEBUG: Nó IF já visitado, evitando loop infinito");
-            return "";
+            Log.debug("Nó IF já visitado, evitando loop infinito");
+            return null;
         }
         visitedIfNodes.add(node);
 
@@ -1046,7 +956,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
 
         // Verificar se estamos lidando com um padrão de cascata de ifs (switch-like)
         if (isSwitchLikePattern(node)) {
-            return handleSwitchLikePattern(node);
+            return handleSwitchLikePattern(node, code);
         }
 
         // Extração padrão de condição e blocos
@@ -1075,21 +985,18 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         // Validar estrutura
         if (conditionNode == null || thenNode == null) {
             String errorMsg = "Invalid if statement structure at line " + node.getLine();
-            System.out.println("DEBUG: ERRO: " + errorMsg);
+            Log.debug(() -> "ERRO: " + errorMsg);
             errors.add(errorMsg);
             visitedIfNodes.remove(node);
-            return "";
+            return null;
         }
 
         int labelNum = labelManager.nextLabel(LabelManager.IF_STRUCTURE);
         String thenLabel = "then" + labelNum;      // Mudou de "ifThen" para "then"
         String endLabel = "endif" + labelNum;      // Mudou de "ifEnd" para "endif"
 
-        StringBuilder code = new StringBuilder();
-
         // Rest of the original code...
-        OllirExprResult conditionResult = exprVisitor.visit(conditionNode);
-        code.append(conditionResult.getComputation());
+        OllirExprResult conditionResult = exprVisitor.visit(conditionNode, code);
 
         code.append("if (")
                 .append(conditionResult.getCode())
@@ -1099,8 +1006,9 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
 
         // Processar o bloco ELSE primeiro (se existir)
         if (elseNode != null) {
-            String elseCode = visit(elseNode);
-            code.append(elseCode);
+            code.indent();
+            visit(elseNode, code);
+            code.dedent();
         }
 
         // Pular para o final após o código else
@@ -1108,8 +1016,9 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
 
         // Rótulo THEN e bloco
         code.append(thenLabel).append(":\n");
-        String thenCode = visit(thenNode);
-        code.append(thenCode);
+        code.indent();
+        visit(thenNode, code);
+        code.dedent();
 
         // Rótulo de fim
         code.append(endLabel).append(":\n");
@@ -1117,7 +1026,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         // Limpar visitação
         visitedIfNodes.remove(node);
 
-        return code.toString();
+        return null;
     }
     /**
      * Verifica se estamos lidando com um padrão de ifs aninhados que se assemelha a um switch.
@@ -1174,7 +1083,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
     /**
      * Processa um padrão de cascata de ifs (tipo switch) para gerar o código corretamente.
      */
-    private String handleSwitchLikePattern(JmmNode node) {
+    private Void handleSwitchLikePattern(JmmNode node, OllirCodeWriter code) {
         // Coletamos todos os ifs da cascata
         List<JmmNode> ifNodes = new ArrayList<>();
         collectNestedIfs(node, ifNodes);
@@ -1200,12 +1109,10 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         }
 
         int count = conditions.size();
-        StringBuilder code = new StringBuilder();
 
         // 1. Avalie todas as condições primeiro (na mesma ordem)
         for (int i = 0; i < count; i++) {
-            OllirExprResult conditionResult = exprVisitor.visit(conditions.get(i));
-            code.append(conditionResult.getComputation());
+            OllirExprResult conditionResult = exprVisitor.visit(conditions.get(i), code);
 
             // Invertemos a numeração das labels aqui (a primeira condição vai para then(count-1), etc.)
             code.append("if (").append(conditionResult.getCode())
@@ -1214,8 +1121,9 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
 
         // 2. Processe o bloco else final (se existir)
         if (finalElseBlock != null) {
-            String elseCode = visit(finalElseBlock);
-            code.append(elseCode);
+            code.indent();
+            visit(finalElseBlock, code);
+            code.dedent();
         }
 
         // 3. Gere os blocos then em ordem INVERTIDA
@@ -1230,14 +1138,15 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
             code.append("then").append(thenIndex).append(":\n");
 
             // Aqui pegamos o bloco then correspondente à posição original
-            String thenCode = visit(thenBlocks.get(i));
-            code.append(thenCode);
+            code.indent();
+            visit(thenBlocks.get(i), code);
+            code.dedent();
 
             // Adicionar a label de fim
             code.append("endif").append(thenIndex).append(":\n\n");
         }
 
-        return code.toString();
+        return null;
     }
     /**
      * Coleta todos os ifs aninhados em uma lista.
@@ -1267,327 +1176,25 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
             }
         }
     }
-    /**
-     * Verifica se este nó é a raiz de uma estrutura switch-like
-     */
-    private boolean isSwitchLikeRoot(JmmNode node) {
-        // Contagem do número de ifs em cascata
-        int levels = countCascadingIfLevels(node);
-
-        // Se temos 3 ou mais níveis, consideramos um padrão switch
-        return levels >= 3;
-    }
-
-    /**
-     * Conta o número de ifs em cascata a partir deste nó
-     */
-    private int countCascadingIfLevels(JmmNode ifNode) {
-        int count = 1; // Conta este nível
-
-        // Encontrar o nó IfStatement se existir
-        JmmNode ifStatement = findIfStatement(ifNode);
-        if (ifStatement == null) return count;
-
-        // Se não tem else, terminou a cascata
-        if (ifStatement.getNumChildren() <= 2) return count;
-
-        // Obter o bloco else
-        JmmNode elseNode = ifStatement.getChild(2);
-
-        // Verificar se o else contém outro if
-        JmmNode nestedIf = findNestedIfInElse(elseNode);
-        if (nestedIf != null) {
-            // Continuar contagem recursivamente
-            count += countCascadingIfLevels(nestedIf);
-        }
-
-        return count;
-    }
-
-    /**
-     * Encontra o nó IfStatement em um nó IfStmt
-     */
-    private JmmNode findIfStatement(JmmNode ifNode) {
-        if (ifNode.getNumChildren() == 1 && "IfStatement".equals(ifNode.getChild(0).getKind())) {
-            return ifNode.getChild(0);
-        } else if ("IfStatement".equals(ifNode.getKind())) {
-            return ifNode;
-        }
-        return ifNode; // Como fallback, retorna o próprio nó
-    }
-
-    /**
-     * Encontra um if aninhado em um bloco else
-     */
-    private JmmNode findNestedIfInElse(JmmNode elseNode) {
-        if (elseNode == null) return null;
-
-        // Se é um bloco de statement, procurar dentro dele
-        if ("BlockStmt".equals(elseNode.getKind())) {
-            for (JmmNode child : elseNode.getChildren()) {
-                if ("STMT".equals(child.getKind()) && child.getNumChildren() > 0) {
-                    for (JmmNode stmtChild : child.getChildren()) {
-                        if ("IfStmt".equals(stmtChild.getKind())) {
-                            return stmtChild;
-                        }
-                    }
-                } else if ("IfStmt".equals(child.getKind())) {
-                    return child;
-                }
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * Processa uma estrutura switch-like de if-else-if em cascata,
-     * gerando código OLLIR otimizado com labels em ordem reversa.
-     */
-    private String processSwitchLikeStructure(JmmNode rootNode) {
-        System.out.println("DEBUG: Processando estrutura switch-like em cascata");
-
-        // Coletar todos os componentes da cascata
-        List<JmmNode> conditions = new ArrayList<>();
-        List<JmmNode> thenBlocks = new ArrayList<>();
-        List<JmmNode> elseBlocks = new ArrayList<>();
-
-        // Extrair todos os nós da cascata
-        collectCascadingIfNodes(rootNode, conditions, thenBlocks, elseBlocks);
-
-        // Número de ifs na cascata
-        int ifCount = conditions.size();
-        System.out.println("DEBUG: Encontrados " + ifCount + " níveis de if em cascata");
-
-        // Obter labels em ordem reversa
-        String[] labelIndices = labelManager.getSwitchLabels(ifCount);
-
-        // Marcar todos os nós como processados para evitar duplicação
-        markNodesAsProcessed(rootNode);
-
-        // Construir o código OLLIR otimizado
-        StringBuilder code = new StringBuilder();
-
-        // 1. Primeiro todas as condições e jumps
-        for (int i = 0; i < ifCount; i++) {
-            JmmNode condition = conditions.get(i);
-
-            // Gerar código para a condição
-            OllirExprResult conditionResult = exprVisitor.visit(condition);
-            code.append(conditionResult.getComputation());
-
-            // Adicionar o jump condicional (if (tmp0.bool) goto then5;)
-            code.append("if (")
-                    .append(conditionResult.getCode())
-                    .append(") goto then")
-                    .append(labelIndices[i])
-                    .append(END_STMT);
-        }
-
-        // 2. Código para o caso else final (default case)
-        JmmNode finalElseBlock = null;
-        if (!elseBlocks.isEmpty()) {
-            finalElseBlock = elseBlocks.get(elseBlocks.size() - 1);
-        }
-
-        if (finalElseBlock != null) {
-            String elseCode = extractBlockContent(finalElseBlock);
-            code.append(elseCode);
-        }
-
-        // 3. Blocos then em ordem reversa
-        for (int i = 0; i < ifCount; i++) {
-            JmmNode thenBlock = thenBlocks.get(i);
-
-            // Adicionar goto para o final após o bloco then
-            code.append("goto endif").append(labelIndices[i]).append(END_STMT);
-
-            // Label do bloco then
-            code.append("then").append(labelIndices[i]).append(":\n");
-
-            // Código do bloco then
-            String thenCode = extractBlockContent(thenBlock);
-            code.append(thenCode);
-
-            // Label do final do if
-            code.append("endif").append(labelIndices[i]).append(":\n\n");
-        }
-
-        return code.toString();
-    }
-
-    /**
-     * Marca todos os nós de uma cascata como processados para evitar processamento duplicado
-     */
-    private void markNodesAsProcessed(JmmNode rootNode) {
-        processedSwitchNodes.add(rootNode);
-
-        // Encontrar o nó IfStatement
-        JmmNode ifStatement = findIfStatement(rootNode);
-        if (ifStatement == null || ifStatement.getNumChildren() <= 2) return;
-
-        // Obter o bloco else
-        JmmNode elseNode = ifStatement.getChild(2);
-
-        // Verificar se o else contém outro if
-        JmmNode nestedIf = findNestedIfInElse(elseNode);
-        if (nestedIf != null) {
-            // Marcar recursivamente
-            markNodesAsProcessed(nestedIf);
-        }
-    }
-
-    /**
-     * Coleta todos os nós de uma cascata if-else-if
-     */
-    private void collectCascadingIfNodes(JmmNode ifNode,
-                                         List<JmmNode> conditions,
-                                         List<JmmNode> thenBlocks,
-                                         List<JmmNode> elseBlocks) {
-        // Encontrar o nó IfStatement
-        JmmNode ifStatement = findIfStatement(ifNode);
-        if (ifStatement == null || ifStatement.getNumChildren() < 2) return;
-
-        // Extrair componentes
-        JmmNode conditionNode = ifStatement.getChild(0);
-        JmmNode thenNode = ifStatement.getChild(1);
-        JmmNode elseNode = null;
-
-        if (ifStatement.getNumChildren() > 2) {
-            elseNode = ifStatement.getChild(2);
-        }
-
-        // Adicionar às listas
-        conditions.add(conditionNode);
-        thenBlocks.add(thenNode);
-
-        // Verificar se existe um próximo nível
-        JmmNode nestedIf = findNestedIfInElse(elseNode);
-
-        if (nestedIf != null) {
-            // Adicionar null como marcador (será substituído pelo último else)
-            elseBlocks.add(null);
-
-            // Continuar recursão com o próximo if
-            collectCascadingIfNodes(nestedIf, conditions, thenBlocks, elseBlocks);
-        } else {
-            // Fim da cascata - adicionar o else final
-            elseBlocks.add(elseNode);
-        }
-    }
-
-    /**
-     * Extrai o conteúdo de um bloco, ignorando nós intermediários
-     */
-    private String extractBlockContent(JmmNode blockNode) {
-        if (blockNode == null) return "";
-
-        // Para blocos de statement, extrair o conteúdo interno
-        if ("BlockStmt".equals(blockNode.getKind())) {
-            StringBuilder content = new StringBuilder();
-            for (JmmNode child : blockNode.getChildren()) {
-                content.append(visit(child));
-            }
-            return content.toString();
-        }
-        // Para nós STMT, extrair o conteúdo
-        else if ("STMT".equals(blockNode.getKind())) {
-            StringBuilder content = new StringBuilder();
-            for (JmmNode child : blockNode.getChildren()) {
-                content.append(visit(child));
-            }
-            return content.toString();
-        }
-
-        // Se não for um bloco, processar diretamente
-        return visit(blockNode);
-    }
 
-    /**
-     * Processa um if statement regular (não em cascata)
-     */
-    private String processRegularIfStatement(JmmNode node) {
-        // Extract condition and blocks
-        JmmNode conditionNode = null;
-        JmmNode thenNode = null;
-        JmmNode elseNode = null;
 
-        // Handle different AST structures flexibly
-        if (node.getNumChildren() == 1 && "IfStatement".equals(node.getChild(0).getKind())) {
-            JmmNode ifStatement = node.getChild(0);
-            if (ifStatement.getNumChildren() >= 2) {
-                conditionNode = ifStatement.getChild(0);
-                thenNode = ifStatement.getChild(1);
-                if (ifStatement.getNumChildren() > 2) {
-                    elseNode = ifStatement.getChild(2);
-                }
-            }
-        } else if (node.getNumChildren() >= 2) {
-            conditionNode = node.getChild(0);
-            thenNode = node.getChild(1);
-            if (node.getNumChildren() > 2) {
-                elseNode = node.getChild(2);
-            }
-        }
-
-        // Validate structure
-        if (conditionNode == null || thenNode == null) {
-            String errorMsg = "Invalid if statement structure at line " + node.getLine();
-            System.out.println("DEBUG: ERRO: " + errorMsg);
-            errors.add(errorMsg);
-            return "";
-        }
-
-        // Generate labels
-        int labelNum = nextLabel();
-        String thenLabel = "then" + labelNum;
-        String endLabel = "endif" + labelNum;
-
-        StringBuilder code = new StringBuilder();
-
-        // Process condition
-        OllirExprResult conditionResult = exprVisitor.visit(conditionNode);
-        code.append(conditionResult.getComputation());
-
-        // if (conditionResult) goto thenLabel;
-        code.append("if (")
-                .append(conditionResult.getCode())
-                .append(") goto ")
-                .append(thenLabel)
-                .append(END_STMT);
 
-        // Include ELSE block (if exists)
-        if (elseNode != null) {
-            String elseCode = visit(elseNode);
-            code.append(elseCode);
-        }
 
-        // goto endLabel;
-        code.append("goto ").append(endLabel).append(END_STMT);
 
-        // thenLabel:
-        code.append(thenLabel).append(":\n");
 
-        // THEN block code
-        String thenCode = visit(thenNode);
-        code.append(thenCode);
 
-        // endLabel:
-        code.append(endLabel).append(":\n");
 
-        return code.toString();
-    }
     /**
      * Visits a while statement node.
      * Handles all types of while loop structures without special cases.
      */
-    private String visitWhileStmt(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitWhileStmt - Nó: " + node.getKind());
+    private Void visitWhileStmt(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitWhileStmt - Nó: " + node.getKind());
 
         // Proteção contra loops infinitos
         if (visitedWhileNodes.contains(node)) {
-            System.out.println("DEBUG: Nó WHILE já visitado, evitando loop infinito");
-            return "";
+            Log.debug("Nó WHILE já visitado, evitando loop infinito");
+            return null;
         }
         visitedWhileNodes.add(node);
 
@@ -1610,7 +1217,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         // Validar estrutura
         if (conditionNode == null || bodyNode == null) {
             visitedWhileNodes.remove(node);
-            return "";
+            return null;
         }
 
         // Gerar labels do loop usando o labelManager
@@ -1618,8 +1225,6 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         String whileLabel = "while" + labelNum;
         String endLabel = "endif" + labelNum;
 
-        StringBuilder code = new StringBuilder();
-
         // Label de início do loop
         code.append(whileLabel).append(":\n");
 
@@ -1630,7 +1235,9 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         if (isBooleanLiteral(conditionNode)) {
             isOptimizedCondition = true;
             optimizedCondValue = isTrueLiteral(conditionNode) ? "1.bool" : "0.bool";
-            System.out.println("DEBUG: Condição já otimizada para " + optimizedCondValue);
+            if (Log.isEnabled(LogLevel.DEBUG)) {
+                Log.debug("Condição já otimizada para " + optimizedCondValue);
+            }
         }
 
         // Processar condição
@@ -1640,16 +1247,16 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
                     .append(endLabel).append(END_STMT);
         } else {
             // Processar condição dinâmica
-            OllirExprResult conditionResult = exprVisitor.visit(conditionNode);
-            code.append(conditionResult.getComputation());
+            OllirExprResult conditionResult = exprVisitor.visit(conditionNode, code);
 
             code.append("if (!.bool ").append(conditionResult.getCode())
                     .append(") goto ").append(endLabel).append(END_STMT);
         }
 
         // Corpo do loop
-        String bodyCode = visit(bodyNode);
-        code.append(bodyCode);
+        code.indent();
+        visit(bodyNode, code);
+        code.dedent();
 
         // Jump de volta ao início
         code.append("goto ").append(whileLabel).append(END_STMT);
@@ -1660,7 +1267,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         // Limpar visitação
         visitedWhileNodes.remove(node);
 
-        return code.toString();
+        return null;
     }
 
     private boolean isBooleanLiteral(JmmNode node) {
@@ -1677,188 +1284,181 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
     /**
      * Visits a block statement node.
      */
-    private String visitBlockStmt(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitBlockStmt - Nó: " + node.getKind());
-        System.out.println("DEBUG: Número de filhos: " + node.getNumChildren());
+    private Void visitBlockStmt(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitBlockStmt - Nó: " + node.getKind());
+        Log.debug(() -> "Número de filhos: " + node.getNumChildren());
 
-        StringBuilder code = new StringBuilder();
         Set<JmmNode> visitedNodesInBlock = new HashSet<>();
 
         // Process child statements with loop protection
         for (JmmNode child : node.getChildren()) {
             // Evitar visitação repetida do mesmo nó
             if (visitedNodesInBlock.contains(child)) {
-                System.out.println("DEBUG: Nó já visitado neste bloco, pulando: " + child.getKind());
+                Log.debug(() -> "Nó já visitado neste bloco, pulando: " + child.getKind());
                 continue;
             }
             visitedNodesInBlock.add(child);
 
-            System.out.println("DEBUG: Processando filho do bloco: " + child.getKind());
+            Log.debug(() -> "Processando filho do bloco: " + child.getKind());
 
             // Check if this is a STMT node that needs special handling
             if ("STMT".equals(child.getKind())) {
-                System.out.println("DEBUG: Processando STMT dentro de bloco");
+                Log.debug("Processando STMT dentro de bloco");
                 for (JmmNode stmtChild : child.getChildren()) {
                     if (!visitedNodesInBlock.contains(stmtChild)) {
-                        System.out.println("DEBUG: Processando filho de STMT: " + stmtChild.getKind());
-                        String childCode = visit(stmtChild);
-                        System.out.println("DEBUG: Código gerado para filho de STMT (tamanho): " + childCode.length());
-                        code.append(childCode);
+                        Log.debug(() -> "Processando filho de STMT: " + stmtChild.getKind());
+                        visit(stmtChild, code);
                         visitedNodesInBlock.add(stmtChild);
                     }
                 }
             } else {
                 // Normal processing for other node types
-                String childCode = visit(child);
-                System.out.println("DEBUG: Código gerado para filho do bloco (tamanho): " + childCode.length());
-                code.append(childCode);
+                visit(child, code);
             }
         }
 
-        System.out.println("DEBUG: FIM visitBlockStmt - Código gerado (tamanho): " + code.length());
-        return code.toString();
+        Log.debug("FIM visitBlockStmt");
+        return null;
     }
 
     /**
      * Visits an identifier LValue node.
      */
-    private String visitIdentifierLValue(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitIdentifierLValue - Nó: " + node.getKind());
+    private Void visitIdentifierLValue(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitIdentifierLValue - Nó: " + node.getKind());
 
         String varName = node.hasAttribute("name") ? node.get("name") : "var";
-        System.out.println("DEBUG: Nome da variável: " + varName);
+        Log.debug(() -> "Nome da variável: " + varName);
 
         // Cache the name for later use in assignment
         valueCache.put(node.toString(), varName);
-        System.out.println("DEBUG: Nome armazenado no cache com chave: " + node.toString());
+        Log.debug(() -> "Nome armazenado no cache com chave: " + node.toString());
 
         // Determine variable type
         Type varType = resolveVariableType(varName);
-        System.out.println("DEBUG: Tipo da variável resolvido: " + varType.getName() + (varType.isArray() ? "[]" : ""));
+        Log.debug(() -> "Tipo da variável resolvido: " + varType.getName() + (varType.isArray() ? "[]" : ""));
 
         String typeStr = ollirTypeUtils.toOllirType(varType);
-        System.out.println("DEBUG: Tipo OLLIR da variável: " + typeStr);
+        Log.debug(() -> "Tipo OLLIR da variável: " + typeStr);
 
         String result = varName + typeStr;
-        System.out.println("DEBUG: FIM visitIdentifierLValue - Código gerado: " + result);
-        return result;
+        Log.debug(() -> "FIM visitIdentifierLValue - Código gerado: " + result);
+        code.append(result);
+        return null;
     }
 
     /**
      * Visits an array access LValue node.
      */
-    private String visitArrayAccessLValue(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitArrayAccessLValue - Nó: " + node.getKind());
+    private Void visitArrayAccessLValue(JmmNode node, OllirCodeWriter code) {
+        code.append(generateArrayAccessLValue(node, code));
+        return null;
+    }
+
+    /**
+     * Writes the computation of the index of an array access LValue and returns the access itself.
+     */
+    private String generateArrayAccessLValue(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO generateArrayAccessLValue - Nó: " + node.getKind());
 
         if (!node.hasAttribute("name") || node.getNumChildren() < 1) {
-            System.out.println("DEBUG: Array access inválido (sem nome ou índice), retornando padrão");
+            Log.debug("Array access inválido (sem nome ou índice), retornando padrão");
             return "unknown[0.i32].i32";
         }
 
         String arrayName = node.get("name");
-        System.out.println("DEBUG: Nome do array: " + arrayName);
+        Log.debug(() -> "Nome do array: " + arrayName);
 
         JmmNode indexNode = node.getChild(0);
-        System.out.println("DEBUG: Nó de índice: " + indexNode.getKind());
+        Log.debug(() -> "Nó de índice: " + indexNode.getKind());
 
-        // Processamos a expressão do índice usando o visitor de expressões para obter computações necessárias
-        OllirExprResult indexResult = exprVisitor.visit(indexNode);
-        System.out.println("DEBUG: Resultado do índice - Computação: " + indexResult.getComputation().trim());
-        System.out.println("DEBUG: Resultado do índice - Código: " + indexResult.getCode());
+        // Processamos a expressão do índice usando o visitor de expressões, que escreve as computações necessárias
+        OllirExprResult indexResult = exprVisitor.visit(indexNode, code);
+        Log.debug(() -> "Resultado do índice - Código: " + indexResult.getCode());
 
         // Formatação correta para o lado esquerdo: a[index].type
         // Não precisamos criar temporários para o lado esquerdo de uma atribuição
-        String result = arrayName + "[" + indexResult.getCode() + "].i32";
-
-        // Retornamos qualquer computação necessária para calcular o índice
-        return indexResult.getComputation() + result;
+        return arrayName + "[" + indexResult.getCode() + "].i32";
     }
+
     /**
      * Visits a variable reference expression node.
      */
-    private String visitVarRefExpr(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitVarRefExpr - Nó: " + node.getKind());
+    private Void visitVarRefExpr(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitVarRefExpr - Nó: " + node.getKind());
 
         // Delegate to expression visitor for full processing
-        OllirExprResult result = exprVisitor.visit(node);
-        System.out.println("DEBUG: Resultado da expressão - Computação: " + result.getComputation().trim());
-        System.out.println("DEBUG: Resultado da expressão - Código: " + result.getCode());
+        OllirExprResult result = exprVisitor.visit(node, code);
+        Log.debug(() -> "Resultado da expressão - Código: " + result.getCode());
 
-        String fullResult = result.getComputation() + result.getCode();
-        System.out.println("DEBUG: FIM visitVarRefExpr - Código gerado (tamanho): " + fullResult.length());
-        return fullResult;
+        code.append(result.getCode());
+        Log.debug("FIM visitVarRefExpr");
+        return null;
     }
 
     /**
      * Visits a literal node.
      */
-    private String visitLiteral(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitLiteral - Nó: " + node.getKind());
-        System.out.println("DEBUG: Valor do literal: " + (node.hasAttribute("value") ? node.get("value") : "desconhecido"));
+    private Void visitLiteral(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitLiteral - Nó: " + node.getKind());
+        Log.debug(() -> "Valor do literal: " + (node.hasAttribute("value") ? node.get("value") : "desconhecido"));
 
         // Delegate to expression visitor for full processing
-        OllirExprResult result = exprVisitor.visit(node);
-        System.out.println("DEBUG: Resultado da expressão - Computação: " + result.getComputation().trim());
-        System.out.println("DEBUG: Resultado da expressão - Código: " + result.getCode());
+        OllirExprResult result = exprVisitor.visit(node, code);
+        Log.debug(() -> "Resultado da expressão - Código: " + result.getCode());
 
-        String fullResult = result.getComputation() + result.getCode();
-        System.out.println("DEBUG: FIM visitLiteral - Código gerado: " + fullResult);
-        return fullResult;
+        code.append(result.getCode());
+        Log.debug("FIM visitLiteral");
+        return null;
     }
 
     /**
      * Visits a direct method call node.
      */
-    private String visitDirectMethodCall(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitDirectMethodCall - Nó: " + node.getKind());
-        System.out.println("DEBUG: Método: " + (node.hasAttribute("method") ? node.get("method") : "desconhecido"));
+    private Void visitDirectMethodCall(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitDirectMethodCall - Nó: " + node.getKind());
+        Log.debug(() -> "Método: " + (node.hasAttribute("method") ? node.get("method") : "desconhecido"));
 
         // Delegate to expression visitor for full processing
-        OllirExprResult result = exprVisitor.visit(node);
-        System.out.println("DEBUG: Resultado da expressão - Computação: " + result.getComputation().trim());
-        System.out.println("DEBUG: Resultado da expressão - Código: " + result.getCode());
+        OllirExprResult result = exprVisitor.visit(node, code);
+        Log.debug(() -> "Resultado da expressão - Código: " + result.getCode());
 
-        String fullResult = result.getComputation() + result.getCode();
-        System.out.println("DEBUG: FIM visitDirectMethodCall - Código gerado (tamanho): " + fullResult.length());
-        return fullResult;
+        code.append(result.getCode());
+        Log.debug("FIM visitDirectMethodCall");
+        return null;
     }
 
     /**
      * Visits a method call expression node.
      */
-    private String visitMethodCallExpr(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitMethodCallExpr - Nó: " + node.getKind());
-        System.out.println("DEBUG: Método: " + (node.hasAttribute("method") ? node.get("method") : "desconhecido"));
+    private Void visitMethodCallExpr(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitMethodCallExpr - Nó: " + node.getKind());
+        Log.debug(() -> "Método: " + (node.hasAttribute("method") ? node.get("method") : "desconhecido"));
 
         // Delegate to expression visitor for full processing
-        OllirExprResult result = exprVisitor.visit(node);
-        System.out.println("DEBUG: Resultado da expressão - Computação: " + result.getComputation().trim());
-        System.out.println("DEBUG: Resultado da expressão - Código: " + result.getCode());
+        OllirExprResult result = exprVisitor.visit(node, code);
+        Log.debug(() -> "Resultado da expressão - Código: " + result.getCode());
 
-        String fullResult = result.getComputation() + result.getCode();
-        System.out.println("DEBUG: FIM visitMethodCallExpr - Código gerado (tamanho): " + fullResult.length());
-        return fullResult;
+        code.append(result.getCode());
+        Log.debug("FIM visitMethodCallExpr");
+        return null;
     }
 
     /**
      * Default visit method for unmatched node types.
      */
-    private String defaultVisit(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO defaultVisit - Nó: " + node.getKind() + " (tipo não reconhecido)");
-        System.out.println("DEBUG: Número de filhos: " + node.getNumChildren());
-
-        StringBuilder code = new StringBuilder();
+    private Void defaultVisit(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO defaultVisit - Nó: " + node.getKind() + " (tipo não reconhecido)");
+        Log.debug(() -> "Número de filhos: " + node.getNumChildren());
 
         // Visit all children and concatenate their results
         for (JmmNode child : node.getChildren()) {
-            System.out.println("DEBUG: Processando filho não reconhecido: " + child.getKind());
-            String childCode = visit(child);
-            System.out.println("DEBUG: Código gerado para filho (tamanho): " + childCode.length());
-            code.append(childCode);
+            Log.debug(() -> "Processando filho não reconhecido: " + child.getKind());
+            visit(child, code);
         }
 
-        System.out.println("DEBUG: FIM defaultVisit - Código gerado (tamanho): " + code.length());
-        return code.toString();
+        Log.debug("FIM defaultVisit");
+        return null;
     }
 
     // ===== Helper methods =====
@@ -1866,34 +1466,35 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
     /**
      * Generates a default class when none is provided in the AST.
      */
-    private String generateDefaultClass() {
-        System.out.println("DEBUG: INICIO generateDefaultClass");
-        StringBuilder code = new StringBuilder();
+    private void generateDefaultClass(OllirCodeWriter code) {
+        Log.debug("INICIO generateDefaultClass");
         String className = symbolTable.getClassName();
         String superClass = symbolTable.getSuper();
-        System.out.println("DEBUG: Nome da classe: " + className);
-        System.out.println("DEBUG: Superclasse: " + superClass);
+        if (Log.isEnabled(LogLevel.DEBUG)) {
+            Log.debug("Nome da classe: " + className);
+        }
+        Log.debug(() -> "Superclasse: " + superClass);
 
         if (className == null || className.isEmpty()) {
             className = "DefaultClass";
-            System.out.println("DEBUG: Nome da classe vazio, usando DefaultClass");
+            Log.debug("Nome da classe vazio, usando DefaultClass");
         }
 
         code.append(className);
 
         if (superClass != null && !superClass.isEmpty()) {
-            System.out.println("DEBUG: Adicionando cláusula extends");
+            Log.debug("Adicionando cláusula extends");
             code.append(" extends ").append(superClass);
         }
 
         code.append(L_BRACKET).append(NL);
 
         // Add fields
-        System.out.println("DEBUG: Adicionando campos da tabela de símbolos");
+        Log.debug("Adicionando campos da tabela de símbolos");
         for (Symbol field : symbolTable.getFields()) {
             String typeStr = ollirTypeUtils.toOllirType(field.getType());
             String fieldDecl = FIELD_PREFIX + field.getName() + typeStr + END_STMT;
-            System.out.println("DEBUG: Campo adicionado: " + fieldDecl.trim());
+            Log.debug(() -> "Campo adicionado: " + fieldDecl.trim());
             code.append(fieldDecl);
         }
 
@@ -1902,49 +1503,44 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         }
 
         // Add constructor
-        System.out.println("DEBUG: Gerando construtor padrão");
-        String constructor = generateConstructor(className);
-        System.out.println("DEBUG: Construtor gerado: " + constructor.trim());
-        code.append(constructor);
+        Log.debug("Gerando construtor padrão");
+        generateConstructor(className, code);
 
         // Add methods
-        System.out.println("DEBUG: Adicionando métodos da tabela de símbolos");
+        Log.debug("Adicionando métodos da tabela de símbolos");
         for (String methodName : symbolTable.getMethods()) {
-            System.out.println("DEBUG: Gerando método: " + methodName);
-            String methodCode = generateMethodFromSymbolTable(methodName);
-            System.out.println("DEBUG: Método gerado (tamanho): " + methodCode.length());
-            code.append(methodCode);
+            Log.debug(() -> "Gerando método: " + methodName);
+            generateMethodFromSymbolTable(methodName, code);
         }
 
         code.append(R_BRACKET);
-        System.out.println("DEBUG: FIM generateDefaultClass - Código gerado (tamanho): " + code.length());
-        return code.toString();
+        Log.debug("FIM generateDefaultClass");
     }
 
     /**
      * Generates a standard constructor for a class.
      */
-    private String generateConstructor(String className) {
-        StringBuilder constructor = new StringBuilder();
-        constructor.append(CONSTRUCT_PREFIX).append(className).append("().V")
+    private void generateConstructor(String className, OllirCodeWriter code) {
+        code.append(CONSTRUCT_PREFIX).append(className).append("().V")
                 .append(L_BRACKET);
-        constructor.append(TAB).append(INVOKE_SPECIAL)
+        code.indent();
+        code.append(INVOKE_SPECIAL)
                 .append("(this, \"<init>\").V").append(END_STMT);
-        constructor.append(R_BRACKET).append(NL);
-        return constructor.toString();
+        code.dedent();
+        code.append(R_BRACKET).append(NL);
     }
 
     /**
      * Generates a method from symbol table information.
      */
-    private String generateMethodFromSymbolTable(String methodName) {
-        System.out.println("DEBUG: INICIO generateMethodFromSymbolTable para: " + methodName);
-        StringBuilder code = new StringBuilder(METHOD_PREFIX + PUBLIC);
+    private void generateMethodFromSymbolTable(String methodName, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO generateMethodFromSymbolTable para: " + methodName);
+        code.append(METHOD_PREFIX + PUBLIC);
 
         // Handle main method
         boolean isStatic = methodName.equals("main");
         if (isStatic) {
-            System.out.println("DEBUG: Método main, adicionando static");
+            Log.debug("Método main, adicionando static");
             code.append(STATIC);
         }
 
@@ -1952,12 +1548,12 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         code.append(methodName).append("(");
 
         // Parameters
-        System.out.println("DEBUG: Processando parâmetros do método");
+        Log.debug("Processando parâmetros do método");
         List<String> params = new ArrayList<>();
         for (Symbol param : symbolTable.getParameters(methodName)) {
             String typeStr = ollirTypeUtils.toOllirType(param.getType());
             String paramCode = param.getName() + typeStr;
-            System.out.println("DEBUG: Parâmetro adicionado: " + paramCode);
+            Log.debug(() -> "Parâmetro adicionado: " + paramCode);
             params.add(paramCode);
         }
 
@@ -1967,68 +1563,38 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         // Return type
         Type returnType = symbolTable.getReturnType(methodName);
         String returnTypeStr = ollirTypeUtils.toOllirType(returnType);
-        System.out.println("DEBUG: Tipo de retorno: " + returnType.getName() + " -> " + returnTypeStr);
+        Log.debug(() -> "Tipo de retorno: " + returnType.getName() + " -> " + returnTypeStr);
         code.append(returnTypeStr).append(L_BRACKET);
+        code.indent();
 
         // Local variables
-        System.out.println("DEBUG: Processando variáveis locais do método");
+        Log.debug("Processando variáveis locais do método");
         for (Symbol local : symbolTable.getLocalVariables(methodName)) {
             String typeStr = ollirTypeUtils.toOllirType(local.getType());
             String defaultValue = getDefaultValue(local.getType());
-            String localVarCode = TAB + local.getName() + typeStr + SPACE +
+            String localVarCode = local.getName() + typeStr + SPACE +
                     ASSIGN + typeStr + SPACE +
                     defaultValue + typeStr + END_STMT;
-            System.out.println("DEBUG: Variável local adicionada: " + localVarCode.trim());
+            Log.debug(() -> "Variável local adicionada: " + localVarCode.trim());
             code.append(localVarCode);
         }
 
         // Default return statement
-        System.out.println("DEBUG: Adicionando return padrão");
-        code.append(TAB).append("ret").append(returnTypeStr);
+        Log.debug("Adicionando return padrão");
+        code.append("ret").append(returnTypeStr);
 
         if (!"void".equals(returnType.getName())) {
             String defaultValue = getDefaultValue(returnType);
-            System.out.println("DEBUG: Adicionando valor padrão para retorno não-void: " + defaultValue);
+            Log.debug(() -> "Adicionando valor padrão para retorno não-void: " + defaultValue);
             code.append(SPACE).append(defaultValue).append(returnTypeStr);
         }
 
-        code.append(END_STMT).append(R_BRACKET).append(NL);
-        System.out.println("DEBUG: FIM generateMethodFromSymbolTable - Código gerado (tamanho): " + code.length());
-        return code.toString();
+        code.append(END_STMT);
+        code.dedent();
+        code.append(R_BRACKET).append(NL);
+        Log.debug("FIM generateMethodFromSymbolTable");
     }
 
-    /**
-     * Processes local variable declarations in a method.
-     * In OLLIR, we don't generate code for variable declarations,
-     * only for variable assignments.
-     */
-    private void processMethodLocalVariables(JmmNode methodNode, StringBuilder code) {
-        // Track which variables are declared but don't generate initialization code
-        Set<String> declaredVars = new HashSet<>();
-
-        // Process variable declarations in statement blocks to collect declared vars
-        for (JmmNode child : methodNode.getChildren()) {
-            if ("STMT".equals(child.getKind())) {
-                for (JmmNode stmtChild : child.getChildren()) {
-                    if ("VarDeclarationStmt".equals(stmtChild.getKind())) {
-                        // Just collect variable names but don't generate initialization code
-                        collectDeclaredVariables(stmtChild, declaredVars);
-                    }
-                }
-            } else if ("VarDeclarationStmt".equals(child.getKind())) {
-                // Just collect variable names but don't generate initialization code
-                collectDeclaredVariables(child, declaredVars);
-            }
-        }
-
-        // We don't need to add initialization code for variables from symbol table either
-        // Just make sure they're tracked as declared
-        if (currentMethod != null) {
-            for (Symbol local : symbolTable.getLocalVariables(currentMethod)) {
-                declaredVars.add(local.getName());
-            }
-        }
-    }
 
     /**
      * Processes statements in a method body.
@@ -2039,8 +1605,8 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
     /**
      * Processa instruções do método, adicionando retorno apenas quando necessário.
      */
-    private void processMethodStatements(JmmNode methodNode, StringBuilder code) {
-        System.out.println("DEBUG: INICIO processMethodStatements para método: " + currentMethod);
+    private void processMethodStatements(JmmNode methodNode, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO processMethodStatements para método: " + currentMethod);
 
         boolean hasStatements = false;
         boolean hasReturn = false;
@@ -2051,8 +1617,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
                 // Processar cada instrução no bloco
                 for (JmmNode stmtChild : child.getChildren()) {
                     if (!"VarDeclarationStmt".equals(stmtChild.getKind())) {
-                        String stmtCode = visit(stmtChild);
-                        code.append(stmtCode);
+                        visit(stmtChild, code);
                         hasStatements = true;
 
                         if ("RETURN_STMT".equals(stmtChild.getKind())) {
@@ -2061,15 +1626,13 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
                     }
                 }
             } else if ("RETURN_STMT".equals(child.getKind())) {
-                String returnCode = visit(child);
-                code.append(returnCode);
+                visit(child, code);
                 hasReturn = true;
                 hasStatements = true;
             } else if ("ExpressionStmt".equals(child.getKind()) ||
                     "IfStmt".equals(child.getKind()) ||
                     "WhileStmt".equals(child.getKind())) {
-                String stmtCode = visit(child);
-                code.append(stmtCode);
+                visit(child, code);
                 hasStatements = true;
             }
         }
@@ -2092,44 +1655,16 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
             }
         }
 
-        System.out.println("DEBUG: FIM processMethodStatements");
+        Log.debug("FIM processMethodStatements");
     }
-    /**
-     * Adds a default return statement to a method body.
-     */
-    private void addDefaultReturn(StringBuilder code, String returnType) {
-        System.out.println("DEBUG: INICIO addDefaultReturn para tipo: " + returnType);
-        StringBuilder returnStmt = new StringBuilder("ret" + returnType);
-
-        if (!returnType.equals(".V")) {
-            System.out.println("DEBUG: Adicionando valor padrão para tipo não-void");
-            String defaultValue;
-            if (returnType.equals(".bool")) {
-                defaultValue = "0.bool";
-            } else if (returnType.startsWith(".array")) {
-                defaultValue = "new(array, 0.i32)" + returnType;
-            } else if (returnType.equals(".i32")) {
-                defaultValue = "0.i32";
-            } else {
-                defaultValue = "null" + returnType;
-            }
-            System.out.println("DEBUG: Valor padrão selecionado: " + defaultValue);
-            returnStmt.append(SPACE).append(defaultValue);
-        }
 
-        returnStmt.append(END_STMT);
-        System.out.println("DEBUG: Return statement padrão: " + returnStmt.toString().trim());
-        code.append(returnStmt);
-        System.out.println("DEBUG: FIM addDefaultReturn");
-    }
-
-    private String visitMethodDecl(JmmNode node, Void context) {
-        System.out.println("DEBUG: INICIO visitMethodDecl - Nó: " + node.getKind());
-        StringBuilder code = new StringBuilder(METHOD_PREFIX);
+    private Void visitMethodDecl(JmmNode node, OllirCodeWriter code) {
+        Log.debug(() -> "INICIO visitMethodDecl - Nó: " + node.getKind());
+        code.append(METHOD_PREFIX);
 
         // Definir método atual para contexto
         String methodName = node.hasAttribute("name") ? node.get("name") : "unknown";
-        System.out.println("DEBUG: Nome do método: " + methodName);
+        Log.debug(() -> "Nome do método: " + methodName);
         this.currentMethod = methodName;
         this.exprVisitor.setCurrentMethod(methodName);
 
@@ -2184,22 +1719,19 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         String returnTypeStr = returnType != null ? ollirTypeUtils.toOllirType(returnType) : ".V";
         code.append(returnTypeStr).append(" {").append("\n");
 
-        // Processar corpo do método
-        StringBuilder bodyCode = new StringBuilder();
-        processMethodStatements(node, bodyCode);
+        // Processar corpo do método, indentado um nível dentro do cabeçalho
+        code.indent();
+        processMethodStatements(node, code);
 
         // Verificar se há return statement
         boolean hasReturn = methodBodyHasReturn(node);
         if (!hasReturn && !returnTypeStr.equals(".V")) {
             // Adicionar return padrão para métodos não-void
-            bodyCode.append("    ret").append(returnTypeStr).append(" ");
-            bodyCode.append(getDefaultValue(returnType)).append(returnTypeStr);
-            bodyCode.append(END_STMT);
+            code.append("ret").append(returnTypeStr).append(" ");
+            code.append(getDefaultValue(returnType)).append(returnTypeStr);
+            code.append(END_STMT);
         }
-
-        // Aplicar formatação consistente ao corpo do método
-        String formattedBody = applyConsistentFormatting(bodyCode.toString());
-        code.append(formattedBody);
+        code.dedent();
 
         code.append("}").append("\n");
 
@@ -2208,7 +1740,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         this.exprVisitor.setCurrentMethod(null);
         this.labelManager.resetMethod();
 
-        return code.toString();
+        return null;
     }
     /**
      * Helper method to check if a word is a reserved keyword in OLLIR
@@ -2225,28 +1757,18 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
     /**
      * Generates an assignment statement.
      */
-    private String generateAssignment(JmmNode lhs, JmmNode rhs) {
-        System.out.println("DEBUG: INICIO generateAssignment");
-        System.out.println("DEBUG: LHS: " + lhs.getKind() + ", RHS: " + rhs.getKind());
-
-        StringBuilder code = new StringBuilder();
+    private void generateAssignment(JmmNode lhs, JmmNode rhs, OllirCodeWriter code) {
+        Log.debug("INICIO generateAssignment");
+        Log.debug(() -> "LHS: " + lhs.getKind() + ", RHS: " + rhs.getKind());
 
         // Processamos o lado direito da atribuição primeiro
-        OllirExprResult rhsResult = exprVisitor.visit(rhs);
-        code.append(rhsResult.getComputation());
+        OllirExprResult rhsResult = exprVisitor.visit(rhs, code);
 
         // Para atribuição a elementos de array
         if ("ArrayAccessLValue".equals(lhs.getKind())) {
             // O formato correto é: array[index].type := value
-            String lhsCode = visit(lhs);
-
-            // Se há computação no LHS (para calcular o índice), a adicionamos
-            if (lhsCode.contains(";")) {
-                // Extraímos a parte da computação e a parte do acesso ao array
-                int lastSemicolon = lhsCode.lastIndexOf(";") + 1;
-                code.append(lhsCode.substring(0, lastSemicolon));
-                lhsCode = lhsCode.substring(lastSemicolon).trim();
-            }
+            // A computação do índice, se houver, é escrita antes da atribuição
+            String lhsCode = generateArrayAccessLValue(lhs, code);
 
             // Geramos a instrução de atribuição para o array
             code.append(lhsCode)
@@ -2257,7 +1779,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         // Para atribuição a variáveis normais ou campos
         else if ("IdentifierLValue".equals(lhs.getKind()) && lhs.hasAttribute("name")) {
             String varName = lhs.get("name");
-            System.out.println("DEBUG: Analisando variável: " + varName);
+            Log.debug(() -> "Analisando variável: " + varName);
 
             // Check if variable name is a reserved keyword
             String safeVarName = isReservedKeyword(varName) ?
@@ -2274,19 +1796,17 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
                 // Para campos, usar putfield com tipo correto
                 String assignStmt = "putfield(this, " + safeVarName + typeStr + ", " +
                         rhsResult.getCode() + ").V" + END_STMT;
-                System.out.println("DEBUG: Gerando putfield para campo: " + assignStmt);
+                Log.debug(() -> "Gerando putfield para campo: " + assignStmt);
                 code.append(assignStmt);
             } else {
                 // Para variáveis locais, usar atribuição direta
                 String assignStmt = safeVarName + typeStr + SPACE +
                         ASSIGN + typeStr + SPACE +
                         rhsResult.getCode() + END_STMT;
-                System.out.println("DEBUG: Gerando atribuição para variável local: " + assignStmt);
+                Log.debug(() -> "Gerando atribuição para variável local: " + assignStmt);
                 code.append(assignStmt);
             }
         }
-
-        return code.toString();
     }
 
     /**
@@ -2368,63 +1888,46 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         }
         return null;
     }
-    /**
-     * Collects declared variables in a statement.
-     */
-    private void collectDeclaredVariables(JmmNode node, Set<String> declaredVars) {
-        System.out.println("DEBUG: collectDeclaredVariables para nó: " + node.getKind());
-
-        if ("VarDeclarationStmt".equals(node.getKind())) {
-            System.out.println("DEBUG: Encontrada declaração de variável");
-            for (JmmNode child : node.getChildren()) {
-                if ("VAR_DECL".equals(child.getKind()) && child.hasAttribute("name")) {
-                    String varName = child.get("name");
-                    System.out.println("DEBUG: Adicionando variável declarada: " + varName);
-                    declaredVars.add(varName);
-                }
-            }
-        }
-
-        for (JmmNode child : node.getChildren()) {
-            collectDeclaredVariables(child, declaredVars);
-        }
-    }
 
     /**
      * Builds an import path from an import declaration node.
      */
     private String buildImportPath(JmmNode node) {
-        System.out.println("DEBUG: INICIO buildImportPath");
+        Log.debug("INICIO buildImportPath");
 
         if (node.hasAttribute("firstPart")) {
             String firstPart = node.get("firstPart");
-            System.out.println("DEBUG: Primeira parte do caminho: " + firstPart);
+            Log.debug(() -> "Primeira parte do caminho: " + firstPart);
             StringBuilder path = new StringBuilder(firstPart);
 
             if (node.hasAttribute("otherParts")) {
                 String otherParts = node.get("otherParts");
-                System.out.println("DEBUG: Outras partes do caminho (bruto): " + otherParts);
+                if (Log.isEnabled(LogLevel.DEBUG)) {
+                    Log.debug("Outras partes do caminho (bruto): " + otherParts);
+                }
                 // Remove brackets and split by comma
                 if (otherParts.startsWith("[") && otherParts.endsWith("]")) {
                     otherParts = otherParts.substring(1, otherParts.length() - 1);
-                    System.out.println("DEBUG: Outras partes sem colchetes: " + otherParts);
+                    if (Log.isEnabled(LogLevel.DEBUG)) {
+                        Log.debug("Outras partes sem colchetes: " + otherParts);
+                    }
                 }
 
                 for (String part : otherParts.split(",")) {
                     String trimmed = part.trim();
                     if (!trimmed.isEmpty()) {
-                        System.out.println("DEBUG: Adicionando parte ao caminho: " + trimmed);
+                        Log.debug(() -> "Adicionando parte ao caminho: " + trimmed);
                         path.append(".").append(trimmed);
                     }
                 }
             }
 
             String result = path.toString();
-            System.out.println("DEBUG: Caminho de importação construído: " + result);
+            Log.debug(() -> "Caminho de importação construído: " + result);
             return result;
         }
 
-        System.out.println("DEBUG: FIM buildImportPath - Sem firstPart, retornando null");
+        Log.debug("FIM buildImportPath - Sem firstPart, retornando null");
         return null;
     }
 
@@ -2432,57 +1935,61 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
      * Builds a qualified name from a qualified name node.
      */
     private String buildQualifiedName(JmmNode node) {
-        System.out.println("DEBUG: INICIO buildQualifiedName para nó: " + node.getKind());
+        Log.debug(() -> "INICIO buildQualifiedName para nó: " + node.getKind());
 
         if (node.hasAttribute("firstPart")) {
             String firstPart = node.get("firstPart");
-            System.out.println("DEBUG: Primeira parte do nome qualificado: " + firstPart);
+            Log.debug(() -> "Primeira parte do nome qualificado: " + firstPart);
             StringBuilder path = new StringBuilder(firstPart);
 
             if (node.hasAttribute("otherParts")) {
                 String otherParts = node.get("otherParts");
-                System.out.println("DEBUG: Outras partes do nome (bruto): " + otherParts);
+                if (Log.isEnabled(LogLevel.DEBUG)) {
+                    Log.debug("Outras partes do nome (bruto): " + otherParts);
+                }
                 // Remove brackets and split by comma
                 if (otherParts.startsWith("[") && otherParts.endsWith("]")) {
                     otherParts = otherParts.substring(1, otherParts.length() - 1);
-                    System.out.println("DEBUG: Outras partes sem colchetes: " + otherParts);
+                    if (Log.isEnabled(LogLevel.DEBUG)) {
+                        Log.debug("Outras partes sem colchetes: " + otherParts);
+                    }
                 }
 
                 for (String part : otherParts.split(",")) {
                     String trimmed = part.trim();
                     if (!trimmed.isEmpty()) {
-                        System.out.println("DEBUG: Adicionando parte ao nome: " + trimmed);
+                        Log.debug(() -> "Adicionando parte ao nome: " + trimmed);
                         path.append(".").append(trimmed);
                     }
                 }
             }
 
             String result = path.toString();
-            System.out.println("DEBUG: Nome qualificado construído: " + result);
+            Log.debug(() -> "Nome qualificado construído: " + result);
             return result;
         }
 
         // Build from children
-        System.out.println("DEBUG: Construindo nome qualificado a partir dos filhos");
+        Log.debug("Construindo nome qualificado a partir dos filhos");
         StringJoiner joiner = new StringJoiner(".");
         boolean foundAny = false;
 
         for (JmmNode child : node.getChildren()) {
             if (child.hasAttribute("name")) {
                 String name = child.get("name");
-                System.out.println("DEBUG: Adicionando nome de filho: " + name);
+                Log.debug(() -> "Adicionando nome de filho: " + name);
                 joiner.add(name);
                 foundAny = true;
             } else if (child.hasAttribute("value")) {
                 String value = child.get("value");
-                System.out.println("DEBUG: Adicionando valor de filho: " + value);
+                Log.debug(() -> "Adicionando valor de filho: " + value);
                 joiner.add(value);
                 foundAny = true;
             }
         }
 
         String result = foundAny ? joiner.toString() : "";
-        System.out.println("DEBUG: FIM buildQualifiedName - Resultado: " + result);
+        Log.debug(() -> "FIM buildQualifiedName - Resultado: " + result);
         return result;
     }
 
@@ -2490,40 +1997,40 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
      * Resolves variable type from the symbol table.
      */
     private Type resolveVariableType(String varName) {
-        System.out.println("DEBUG: INICIO resolveVariableType para: " + varName);
-        System.out.println("DEBUG: Método atual: " + currentMethod);
+        Log.debug(() -> "INICIO resolveVariableType para: " + varName);
+        Log.debug(() -> "Método atual: " + currentMethod);
 
         // Check method parameters
         if (currentMethod != null) {
-            System.out.println("DEBUG: Verificando parâmetros do método: " + currentMethod);
+            Log.debug(() -> "Verificando parâmetros do método: " + currentMethod);
             for (Symbol param : symbolTable.getParameters(currentMethod)) {
                 if (param.getName().equals(varName)) {
-                    System.out.println("DEBUG: Encontrado como parâmetro do método");
+                    Log.debug("Encontrado como parâmetro do método");
                     return param.getType();
                 }
             }
 
             // Check local variables
-            System.out.println("DEBUG: Verificando variáveis locais do método: " + currentMethod);
+            Log.debug(() -> "Verificando variáveis locais do método: " + currentMethod);
             for (Symbol local : symbolTable.getLocalVariables(currentMethod)) {
                 if (local.getName().equals(varName)) {
-                    System.out.println("DEBUG: Encontrado como variável local do método");
+                    Log.debug("Encontrado como variável local do método");
                     return local.getType();
                 }
             }
         }
 
         // Check fields
-        System.out.println("DEBUG: Verificando campos da classe");
+        Log.debug("Verificando campos da classe");
         for (Symbol field : symbolTable.getFields()) {
             if (field.getName().equals(varName)) {
-                System.out.println("DEBUG: Encontrado como campo da classe");
+                Log.debug("Encontrado como campo da classe");
                 return field.getType();
             }
         }
 
         // Default to int if not found
-        System.out.println("DEBUG: Tipo não encontrado, usando int como padrão");
+        Log.debug("Tipo não encontrado, usando int como padrão");
         return TypeUtils.newIntType();
     }
 
@@ -2531,7 +2038,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
      * Gets the default value for a type.
      */
     private String getDefaultValue(Type type) {
-        System.out.println("DEBUG: getDefaultValue para tipo: " + type.getName() + (type.isArray() ? "[]" : ""));
+        Log.debug(() -> "getDefaultValue para tipo: " + type.getName() + (type.isArray() ? "[]" : ""));
         String defaultValue;
 
         if (type.isArray()) {
@@ -2544,7 +2051,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
             defaultValue = "null";
         }
 
-        System.out.println("DEBUG: Valor padrão selecionado: " + defaultValue);
+        Log.debug(() -> "Valor padrão selecionado: " + defaultValue);
         return defaultValue;
     }
 
@@ -2552,31 +2059,17 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
      * Extracts the type string from a variable reference.
      */
     private String extractTypeString(String code) {
-        System.out.println("DEBUG: extractTypeString de: " + code);
+        Log.debug(() -> "extractTypeString de: " + code);
         int dotIndex = code.indexOf('.');
         if (dotIndex >= 0) {
             String typeStr = code.substring(dotIndex);
-            System.out.println("DEBUG: Tipo extraído: " + typeStr);
+            Log.debug(() -> "Tipo extraído: " + typeStr);
             return typeStr;
         }
-        System.out.println("DEBUG: Nenhum tipo encontrado, usando .i32 como padrão");
+        Log.debug("Nenhum tipo encontrado, usando .i32 como padrão");
         return ".i32"; // Default to int
     }
 
-    /**
-     * Adds indentation to multi-line code.
-     */
-    private String addIndentation(String code) {
-        System.out.println("DEBUG: INICIO addIndentation para código (tamanho): " + code.length());
-        StringBuilder indented = new StringBuilder();
-        for (String line : code.split("\n")) {
-            if (!line.isEmpty()) {
-                indented.append(TAB).append(line).append("\n");
-            }
-        }
-        System.out.println("DEBUG: FIM addIndentation - Código indentado (tamanho): " + indented.length());
-        return indented.toString();
-    }
 
 
 
@@ -2586,7 +2079,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
     public List<String> getErrors() {
         List<String> allErrors = new ArrayList<>(errors);
         allErrors.addAll(exprVisitor.getErrors());
-        System.out.println("DEBUG: Total de erros encontrados: " + allErrors.size());
+        Log.debug(() -> "Total de erros encontrados: " + allErrors.size());
         return allErrors;
     }
 
@@ -2595,140 +2088,8 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
      */
     public boolean hasErrors() {
         boolean hasAnyErrors = !errors.isEmpty() || exprVisitor.hasErrors();
-        System.out.println("DEBUG: Verificação de erros: " + hasAnyErrors);
+        Log.debug(() -> "Verificação de erros: " + hasAnyErrors);
         return hasAnyErrors;
     }
 
-    /**
-     * Formata blocos específicos de controle de fluxo com indentação consistente.
-     * Otimizado para estruturas if-then-endif e switch-like statements.
-     *
-     * @param blockCode Código do bloco condicional
-     * @param indentLevel Nível de indentação base
-     * @return Código do bloco formatado
-     */
-    private String formatConditionalBlock(String blockCode, int indentLevel) {
-        String[] lines = blockCode.split("\n");
-        StringBuilder formatted = new StringBuilder();
-        String baseIndent = "    ".repeat(indentLevel);
-        String codeIndent = "    ".repeat(indentLevel + 1);
-
-        for (String line : lines) {
-            line = line.trim();
-            if (line.isEmpty()) continue;
-
-            if (line.startsWith("if ") || line.startsWith("goto ")) {
-                // Instruções de controle de fluxo principais
-                formatted.append(baseIndent).append(line).append("\n");
-            } else if (line.endsWith(":")) {
-                // Labels (then: e endif:)
-                formatted.append(baseIndent).append(line).append("\n");
-            } else {
-                // Corpo do bloco (instruções)
-                formatted.append(codeIndent).append(line).append("\n");
-            }
-        }
-
-        return formatted.toString();
-    }
-    /**
-     * Formata o código OLLIR com indentação consistente.
-     * Aplica regras específicas para diferentes elementos do código.
-     *
-     * @param ollirCode Código OLLIR a ser formatado
-     * @return Código OLLIR formatado com indentação consistente
-     */
-    public String formatOllirCode(String ollirCode) {
-        String[] lines = ollirCode.split("\n");
-        StringBuilder formatted = new StringBuilder();
-        boolean inMethod = false;
-        String indentation = "    "; // 4 espaços para indentação padrão
-
-        for (int i = 0; i < lines.length; i++) {
-            String line = lines[i].trim();
-
-            // Linhas vazias são mantidas sem indentação
-            if (line.isEmpty()) {
-                formatted.append("\n");
-                continue;
-            }
-
-            // Identificar início de método
-            if (line.startsWith(".method")) {
-                inMethod = true;
-                formatted.append(line).append(" {\n");
-                continue;
-            }
-
-            // Identificar fim de método
-            if (line.equals("}") && inMethod) {
-                inMethod = false;
-                formatted.append("}\n");
-                continue;
-            }
-
-            // Dentro de método, aplicar regras de formatação específicas
-            if (inMethod) {
-                // Linhas que são labels (terminam com :)
-                if (line.endsWith(":")) {
-                    formatted.append(indentation).append(line).append("\n");
-                }
-                // Instrução ret deve ter indentação adicional
-                else if (line.startsWith("ret")) {
-                    formatted.append(indentation).append(indentation).append(line).append("\n");
-                }
-                // Outras instruções mantêm indentação consistente
-                else {
-                    formatted.append(indentation).append(indentation).append(line).append("\n");
-                }
-            } else {
-                // Fora de método (classe, construtor, etc.)
-                formatted.append(line).append("\n");
-            }
-        }
-
-        return formatted.toString();
-    }
-    /**
-     * Aplica formatação consistente ao código OLLIR dentro de um método.
-     * Mantém indentação uniforme e alinhamento para melhor legibilidade.
-     *
-     * @param methodBody Corpo do método a ser formatado
-     * @return Corpo do método com formatação consistente
-     */
-    private String applyConsistentFormatting(String methodBody) {
-        String[] lines = methodBody.split("\n");
-        StringBuilder formatted = new StringBuilder();
-        String indentation = "    "; // Indentação padrão de 4 espaços
-
-        for (String line : lines) {
-            String trimmedLine = line.trim();
-
-            if (trimmedLine.isEmpty()) {
-                formatted.append("\n");
-                continue;
-            }
-
-            // Aplicar regras específicas de formatação
-
-            // Regra 1: Labels (linhas que terminam com :) recebem indentação básica
-            if (trimmedLine.endsWith(":")) {
-                formatted.append(indentation).append(trimmedLine).append("\n");
-            }
-            // Regra 2: Instruções de fluxo (if, goto) recebem indentação básica
-            else if (trimmedLine.startsWith("if ") || trimmedLine.startsWith("goto ")) {
-                formatted.append(indentation).append(trimmedLine).append("\n");
-            }
-            // Regra 3: Instruções de retorno (ret) recebem indentação básica
-            else if (trimmedLine.startsWith("ret")) {
-                formatted.append(indentation).append(trimmedLine).append("\n");
-            }
-            // Regra 4: Outras instruções recebem indentação extra
-            else {
-                formatted.append(indentation).append(indentation).append(trimmedLine).append("\n");
-            }
-        }
-
-        return formatted.toString();
-    }
 }
\ No newline at end of file
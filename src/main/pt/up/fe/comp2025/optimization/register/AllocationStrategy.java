@@ -0,0 +1,83 @@
+package pt.up.fe.comp2025.optimization.register;
+
+import java.util.StringJoiner;
+
+/**
+ * How {@link RegisterAllocator} assigns registers when minimizing them ('-r=0'), chosen with '-a'.
+ */
+public enum AllocationStrategy {
+
+    /**
+     * Chosen for each method from the size and density of its interference graph: binpacking on methods with more than
+     * {@link RegisterAllocator#LINEAR_SCAN_THRESHOLD} variables, exact coloring (DSatur if too large) on large dense
+     * graphs (see {@link RegisterAllocator#DENSE_GRAPH_NODES}) and iterated coalescing otherwise, replaced by the exact
+     * coloring of small graphs when that needs fewer registers.
+     */
+    AUTO("auto"),
+    /**
+     * DSatur coloring of the interference graph.
+     */
+    DSATUR("dsatur"),
+    /**
+     * Coloring of the interference graph with the fewest registers, by branch and bound, on graphs with at most
+     * the number of variables given with '-x' (DSatur on larger ones).
+     */
+    EXACT("exact"),
+    /**
+     * Greedy coloring of the interference graph by decreasing degree.
+     */
+    GREEDY("greedy"),
+    /**
+     * Greedy coloring of the interference graph in smallest-last order.
+     */
+    SMALLEST_LAST("smallest-last"),
+    /**
+     * Iterated register coalescing, which also removes the copies between variables it puts in the same register.
+     */
+    COALESCING("coalesce"),
+    /**
+     * Linear scan over the live intervals of the variables, without building the interference graph.
+     */
+    LINEAR_SCAN("linear"),
+    /**
+     * Linear scan that also places variables in the lifetime holes of the variables already in a register.
+     */
+    BINPACKING("binpack");
+
+    private final String optionName;
+
+    AllocationStrategy(String optionName) {
+        this.optionName = optionName;
+    }
+
+    /**
+     * @return The name of the strategy in the '-a' option
+     */
+    public String getOptionName() {
+        return optionName;
+    }
+
+    /**
+     * @return The names of all strategies in the '-a' option, separated by ', '
+     */
+    public static String optionNames() {
+        StringJoiner names = new StringJoiner(", ");
+        for (AllocationStrategy strategy : values()) {
+            names.add(strategy.optionName);
+        }
+        return names.toString();
+    }
+
+    /**
+     * @param name The name of a strategy in the '-a' option, in any case (e.g., 'linear')
+     */
+    public static AllocationStrategy fromName(String name) {
+        for (AllocationStrategy strategy : values()) {
+            if (strategy.optionName.equalsIgnoreCase(name)) {
+                return strategy;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown allocation strategy '" + name + "'");
+    }
+}
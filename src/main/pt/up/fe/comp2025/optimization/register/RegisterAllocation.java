@@ -0,0 +1,117 @@
+package pt.up.fe.comp2025.optimization.register;
+
+import org.specs.comp.ollir.ClassUnit;
+import org.specs.comp.ollir.Descriptor;
+import org.specs.comp.ollir.Method;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Registers given by {@link RegisterAllocator} to the variables of each method of a class.
+ * <p>
+ * The allocation is read by the backend while emitting each method, so the OLLIR class needs neither its descriptors
+ * rewritten nor to be parsed again between allocation and code generation. Methods the allocator did not change keep
+ * the registers of their descriptors.
+ */
+public final class RegisterAllocation {
+
+    private static final RegisterAllocation NONE = new RegisterAllocation(Map.of(), false);
+
+    private final Map<Method, MethodAllocation> methods;
+    private final boolean budgetExceeded;
+
+    private RegisterAllocation(Map<Method, MethodAllocation> methods, boolean budgetExceeded) {
+        this.methods = methods;
+        this.budgetExceeded = budgetExceeded;
+    }
+
+    /**
+     * @return The allocation that keeps the registers of the descriptors of every method
+     */
+    public static RegisterAllocation none() {
+        return NONE;
+    }
+
+    /**
+     * @param registers      The register of each variable, per method, over the registers of the descriptors
+     * @param budgetExceeded If the allocation of some method ran out of time and fell back to another strategy
+     */
+    static RegisterAllocation of(ClassUnit ollirClass, Map<Method, Map<String, Integer>> registers,
+                                 boolean budgetExceeded) {
+        Map<Method, MethodAllocation> methods = new IdentityHashMap<>();
+        for (Method method : ollirClass.getMethods()) {
+            methods.put(method, MethodAllocation.of(method, registers.getOrDefault(method, Map.of())));
+        }
+        return new RegisterAllocation(Collections.unmodifiableMap(methods), budgetExceeded);
+    }
+
+    /**
+     * @return True if the allocation of some method ran out of its time budget, so another run of the same
+     * compilation, on a less loaded machine, may allocate different registers
+     */
+    public boolean isBudgetExceeded() {
+        return budgetExceeded;
+    }
+
+    /**
+     * @return The allocation of the method, or null if its descriptors hold its registers
+     */
+    public MethodAllocation get(Method method) {
+        return methods.get(method);
+    }
+
+    /**
+     * Writes the registers into the descriptors of the variables, for consumers of the OLLIR class that read them
+     * there rather than from the allocation.
+     */
+    public void applyTo(ClassUnit ollirClass) {
+        for (Method method : ollirClass.getMethods()) {
+            MethodAllocation allocation = methods.get(method);
+            if (allocation == null) {
+                continue;
+            }
+
+            method.getVarTable().forEach((varName, descriptor) -> {
+                int register = allocation.getRegister(varName);
+                if (descriptor != null && register >= 0) {
+                    descriptor.setVirtualReg(register);
+                }
+            });
+        }
+    }
+
+    /**
+     * Registers of the variables of one method.
+     *
+     * @param registers   The register of each variable in the var table
+     * @param maxRegister The highest register used, or -1 if there are no variables
+     */
+    public record MethodAllocation(Map<String, Integer> registers, int maxRegister) {
+
+        static MethodAllocation of(Method method, Map<String, Integer> allocated) {
+            Map<String, Integer> registers = new HashMap<>();
+            int maxRegister = -1;
+            for (Map.Entry<String, Descriptor> entry : method.getVarTable().entrySet()) {
+                Integer register = allocated.get(entry.getKey());
+                if (register == null && entry.getValue() != null) {
+                    register = entry.getValue().getVirtualReg();
+                }
+                if (register != null) {
+                    registers.put(entry.getKey(), register);
+                    maxRegister = Math.max(maxRegister, register);
+                }
+            }
+            return new MethodAllocation(Collections.unmodifiableMap(registers), maxRegister);
+        }
+
+        /**
+         * @return The register of the variable, or -1 if it is not in the var table
+         */
+        public int getRegister(String varName) {
+            return registers.getOrDefault(varName, -1);
+        }
+    }
+}
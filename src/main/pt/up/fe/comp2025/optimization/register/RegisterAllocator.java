@@ -4,15 +4,26 @@ import org.specs.comp.ollir.*;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.ReportType;
 import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.metrics.CompilerMetrics;
+import pt.up.fe.comp2025.optimization.register.analysis.InterferenceGraph;
 import pt.up.fe.comp2025.optimization.register.analysis.InterferenceGraphBuilder;
+import pt.up.fe.comp2025.optimization.register.analysis.LiveRanges;
 import pt.up.fe.comp2025.optimization.register.analysis.LivenessAnalyzer;
 import pt.up.fe.comp2025.optimization.register.coloring.DSaturColoringStrategy;
+import pt.up.fe.comp2025.optimization.register.coloring.ExactColoringStrategy;
 import pt.up.fe.comp2025.optimization.register.coloring.GraphColoringStrategy;
+import pt.up.fe.comp2025.optimization.register.coloring.GreedyColoringStrategy;
+import pt.up.fe.comp2025.optimization.register.coloring.IteratedCoalescingStrategy;
+import pt.up.fe.comp2025.optimization.register.coloring.LinearScanStrategy;
+import pt.up.fe.comp2025.optimization.register.coloring.LiveRangeAllocationStrategy;
+import pt.up.fe.comp2025.optimization.register.spill.Rematerializer;
+import pt.up.fe.comp2025.optimization.register.spill.SpillRewriter;
+import pt.up.fe.comp2025.optimization.util.ControlFlowIndex;
 
 import java.lang.annotation.ElementType;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Coordena o processo de alocação de registradores.
@@ -20,10 +31,49 @@ import java.util.regex.Pattern;
  */
 public class RegisterAllocator {
 
+    /**
+     * Número de variáveis a partir do qual o modo automático usa linear scan em vez do coalescing.
+     */
+    public static final int LINEAR_SCAN_THRESHOLD = 500;
+
+    /**
+     * Número de variáveis a partir do qual o modo automático usa DSatur em vez do coalescing, se o grafo de
+     * interferência tiver pelo menos {@link #DENSE_GRAPH_DENSITY} das arestas possíveis. Em grafos densos quase todas
+     * as cópias ligam variáveis que interferem, e o coalescing custa mais sem eliminar cópias.
+     */
+    public static final int DENSE_GRAPH_NODES = 64;
+
+    /**
+     * Fração das arestas possíveis a partir da qual um grafo de interferência é denso.
+     */
+    public static final double DENSE_GRAPH_DENSITY = 0.5;
+
+    /**
+     * Número de variáveis, além de 'this' e dos parâmetros, até ao qual o grafo de interferência é colorido de forma
+     * exata, se não for indicado outro.
+     */
+    public static final int EXACT_COLORING_NODES = 40;
+
+    /**
+     * Número máximo de nós da pesquisa da coloração exata em cada método.
+     */
+    public static final long EXACT_COLORING_SEARCH_NODES = 200_000;
+
+    /**
+     * Número de métodos a partir do qual os métodos são alocados em paralelo.
+     */
+    public static final int PARALLEL_THRESHOLD = 4;
+
     private final ClassUnit ollirClass;
     private final int maxRegisters;
+    private final AllocationStrategy strategy;
+    private final long budgetNanos;
+    private final int exactNodes;
     private final List<Report> reports;
 
+    // Relatórios de cada método durante a alocação, cada lista escrita só pela tarefa do seu método
+    private final Map<Method, List<Report>> methodReports;
+
     // Mapeamento final de variáveis para registradores
     private final Map<Method, Map<String, Integer>> methodRegisterMaps;
 
@@ -36,11 +86,18 @@ public class RegisterAllocator {
     // Componentes para alocação de registradores
     private final LivenessAnalyzer livenessAnalyzer;
     private final InterferenceGraphBuilder graphBuilder;
-    private final GraphColoringStrategy coloringStrategy;
+    private final IteratedCoalescingStrategy coalescingStrategy;
+
+    // Estratégias que colorem o grafo de interferência e estratégias sobre os intervalos de vida, por opção '-a'
+    private final Map<AllocationStrategy, GraphColoringStrategy> graphColorings;
+    private final Map<AllocationStrategy, LiveRangeAllocationStrategy> liveRangeAllocations;
 
     // Contador de registradores efetivamente usados no código final
     private int actualRegisterCount;
 
+    // Se o tempo da alocação de algum método mudou a estratégia usada, escrito pelas tarefas dos métodos
+    private volatile boolean budgetExceeded;
+
     /**
      * Construtor do alocador de registradores.
      *
@@ -48,17 +105,59 @@ public class RegisterAllocator {
      * @param maxRegisters Número máximo de registradores (-1 para ilimitado, 0 para otimizado)
      */
     public RegisterAllocator(ClassUnit ollirClass, int maxRegisters) {
+        this(ollirClass, maxRegisters, AllocationStrategy.AUTO);
+    }
+
+    /**
+     * Construtor do alocador de registradores.
+     *
+     * @param ollirClass A classe OLLIR a ser processada
+     * @param maxRegisters Número máximo de registradores (-1 para ilimitado, 0 para otimizado)
+     * @param strategy Estratégia usada na alocação otimizada
+     */
+    public RegisterAllocator(ClassUnit ollirClass, int maxRegisters, AllocationStrategy strategy) {
+        this(ollirClass, maxRegisters, strategy, Long.MAX_VALUE / 1_000_000, EXACT_COLORING_NODES);
+    }
+
+    /**
+     * Construtor do alocador de registradores.
+     *
+     * @param ollirClass A classe OLLIR a ser processada
+     * @param maxRegisters Número máximo de registradores (-1 para ilimitado, 0 para otimizado)
+     * @param strategy Estratégia usada na alocação otimizada
+     * @param budgetMillis Tempo máximo da alocação otimizada de cada método, passado o qual se usa binpacking
+     * @param exactNodes Número máximo de variáveis, além de 'this' e dos parâmetros, com coloração exata
+     */
+    public RegisterAllocator(ClassUnit ollirClass, int maxRegisters, AllocationStrategy strategy, long budgetMillis,
+                             int exactNodes) {
         this.ollirClass = ollirClass;
         this.maxRegisters = maxRegisters;
+        this.strategy = strategy;
+        this.budgetNanos = budgetMillis * 1_000_000;
+        this.exactNodes = exactNodes;
         this.reports = new ArrayList<>();
-        this.methodRegisterMaps = new HashMap<>();
-        this.methodSpilledVars = new HashMap<>();
-        this.methodTotalRegisters = new HashMap<>();
+        this.methodReports = new HashMap<>();
+        this.methodRegisterMaps = new ConcurrentHashMap<>();
+        this.methodSpilledVars = new ConcurrentHashMap<>();
+        this.methodTotalRegisters = new ConcurrentHashMap<>();
         this.actualRegisterCount = 0;
 
         this.livenessAnalyzer = new LivenessAnalyzer();
         this.graphBuilder = new InterferenceGraphBuilder();
-        this.coloringStrategy = new DSaturColoringStrategy();
+        this.coalescingStrategy = new IteratedCoalescingStrategy();
+
+        this.graphColorings = new EnumMap<>(AllocationStrategy.class);
+        graphColorings.put(AllocationStrategy.DSATUR, new DSaturColoringStrategy());
+        graphColorings.put(AllocationStrategy.EXACT,
+                new ExactColoringStrategy(exactNodes, EXACT_COLORING_SEARCH_NODES, budgetNanos));
+        graphColorings.put(AllocationStrategy.GREEDY,
+                new GreedyColoringStrategy(GreedyColoringStrategy.Order.LARGEST_FIRST));
+        graphColorings.put(AllocationStrategy.SMALLEST_LAST,
+                new GreedyColoringStrategy(GreedyColoringStrategy.Order.SMALLEST_LAST));
+
+        this.liveRangeAllocations = new EnumMap<>(AllocationStrategy.class);
+        liveRangeAllocations.put(AllocationStrategy.LINEAR_SCAN, new LinearScanStrategy(false));
+        liveRangeAllocations.put(AllocationStrategy.BINPACKING, new LinearScanStrategy(true));
 
         reports.add(new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
                 "Iniciando alocação de registradores com limite de " + maxRegisters + " registradores"));
@@ -75,54 +174,123 @@ public class RegisterAllocator {
 
     /**
      * Executa a alocação de registradores para todos os métodos da classe.
+     * A partir de {@link #PARALLEL_THRESHOLD} métodos, cada método é alocado numa tarefa do ForkJoinPool comum,
+     * já que a liveness, a interferência e a coloração de um método não dependem dos outros. Os relatórios de cada
+     * método são juntados no fim pela ordem dos métodos na classe, qualquer que seja a ordem em que terminam.
+     * <p>
+     * Os descritores das variáveis não são alterados: o resultado é lido diretamente pelo backend, ou escrito nos
+     * descritores com {@link RegisterAllocation#applyTo(ClassUnit)}.
+     *
+     * @return Os registradores das variáveis de cada método
      */
-    public void allocate() {
+    public RegisterAllocation allocate() {
         reports.add(new Report(ReportType.LOG, Stage.OPTIMIZATION, -1, -1,
                 "Iniciando alocação de registradores para a classe " + ollirClass.getClassName()));
 
-        for (Method method : ollirClass.getMethods()) {
-            // Para fins de debug: mostrar informações da tabela de variáveis
-            logMethodVariables(method);
+        List<Method> methods = ollirClass.getMethods();
+        for (Method method : methods) {
+            methodReports.put(method, new ArrayList<>());
+        }
 
-            // Pular construtor da classe
-            if (method.isConstructMethod()) {
-                reports.add(new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
-                        "Pulando construtor da classe"));
-                continue;
+        if (maxRegisters >= 0 && methods.size() >= PARALLEL_THRESHOLD) {
+            // Cada tarefa mede as suas etapas à parte, juntadas depois às da thread que compila
+            List<ForkJoinTask<CompilerMetrics>> tasks = new ArrayList<>();
+            for (Method method : methods) {
+                CompilerMetrics metrics = CompilerMetrics.fork();
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    try (var scope = metrics == null ? null : metrics.install()) {
+                        allocateMethod(method);
+                    }
+                    return metrics;
+                }));
             }
 
-            reports.add(new Report(ReportType.LOG, Stage.OPTIMIZATION, -1, -1,
-                    "Alocando registradores para o método " + method.getMethodName()));
+            for (ForkJoinTask<CompilerMetrics> task : ForkJoinTask.invokeAll(tasks)) {
+                CompilerMetrics.join(task.join());
+            }
+        } else {
+            for (Method method : methods) {
+                allocateMethod(method);
+            }
+        }
 
-            try {
-                if (maxRegisters == -1) {
-                    allocateDefaultRegisters(method);
-                } else if (maxRegisters == 0) {
-                    allocateOptimizedRegisters(method);
-                } else {
-                    allocateLimitedRegisters(method, maxRegisters);
-                }
-            } catch (Exception e) {
-                reports.add(new Report(ReportType.ERROR, Stage.OPTIMIZATION, -1, -1,
-                        "Erro durante alocação de registradores para " + method.getMethodName() +
-                                ": " + e.getMessage()));
-                e.printStackTrace();
+        for (Method method : methods) {
+            reports.addAll(methodReports.remove(method));
+        }
+
+        RegisterAllocation allocation = RegisterAllocation.of(ollirClass, methodRegisterMaps, budgetExceeded);
+
+        // Calcular o número total de registradores usados
+        updateActualRegisterCount(allocation);
+        return allocation;
+    }
+
+    /**
+     * Aloca os registradores de um método, com a estratégia indicada por maxRegisters.
+     */
+    private void allocateMethod(Method method) {
+        // Para fins de debug: mostrar informações da tabela de variáveis
+        logMethodVariables(method);
+
+        // Pular construtor da classe
+        if (method.isConstructMethod()) {
+            report(method, new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
+                    "Pulando construtor da classe"));
+            return;
+        }
+
+        report(method, new Report(ReportType.LOG, Stage.OPTIMIZATION, -1, -1,
+                "Alocando registradores para o método " + method.getMethodName()));
+
+        try {
+            if (maxRegisters >= 0) {
+                rematerialize(method);
+            }
 
-                createEmergencyAllocation(method);
+            if (maxRegisters == -1) {
+                allocateDefaultRegisters(method);
+            } else if (maxRegisters == 0) {
+                allocateOptimizedRegisters(method);
+            } else {
+                allocateLimitedRegisters(method, maxRegisters);
             }
+        } catch (Exception e) {
+            report(method, new Report(ReportType.ERROR, Stage.OPTIMIZATION, -1, -1,
+                    "Erro durante alocação de registradores para " + method.getMethodName() +
+                            ": " + e.getMessage()));
+            e.printStackTrace();
+
+            createEmergencyAllocation(method);
         }
+    }
 
-        // Calcular o número total de registradores usados
-        updateActualRegisterCount();
+    /**
+     * Substitui os temporários com literais, 'this' ou o tamanho de um array pelo seu valor nos usos, para que não
+     * ocupem registradores.
+     */
+    private void rematerialize(Method method) {
+        Set<String> removed = CompilerMetrics.measure("rematerialization",
+                () -> new Rematerializer(method).rematerialize());
+
+        if (!removed.isEmpty()) {
+            report(method, new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
+                    "Temporários recalculados nos usos em " + method.getMethodName() + ": " + removed));
+        }
+    }
+
+    /**
+     * Adiciona um relatório aos do método, juntados aos da classe no fim da alocação.
+     */
+    private void report(Method method, Report report) {
+        methodReports.get(method).add(report);
     }
 
 // Em RegisterAllocator.java, adicionar/modificar os seguintes métodos:
 
     /**
      * Atualiza o contador real de registradores usados em todos os métodos.
-     * CORREÇÃO: Respeitar o limite de registradores na contagem.
      */
-    private void updateActualRegisterCount() {
+    private void updateActualRegisterCount(RegisterAllocation allocation) {
         // Mapa para armazenar o número de registradores por método
         Map<String, Integer> methodRegCounts = new HashMap<>();
 
@@ -131,24 +299,10 @@ public class RegisterAllocator {
             String methodName = method.getMethodName();
 
             // Contar registradores realmente usados pelo método
-            Set<Integer> methodRegs = new HashSet<>();
-            Map<String, Descriptor> varTable = method.getVarTable();
-            if (varTable != null) {
-                for (Descriptor descriptor : varTable.values()) {
-                    if (descriptor != null) {
-                        methodRegs.add(descriptor.getVirtualReg());
-                    }
-                }
-            }
+            Set<Integer> methodRegs = new HashSet<>(allocation.get(method).registers().values());
 
             int regCount = methodRegs.size();
 
-            // CORREÇÃO: Se temos um limite de registradores, garantir que respeitamos esse limite
-            if (maxRegisters > 0) {
-                regCount = Math.min(regCount, maxRegisters);
-            }
-
-
             // Armazenar a contagem de registradores para este método
             methodRegCounts.put(methodName, regCount);
 
@@ -162,72 +316,21 @@ public class RegisterAllocator {
                 .max(Integer::compare)
                 .orElse(0);
 
-        // CORREÇÃO: Se temos limite de registradores, garantir que a contagem total respeite esse limite
-        if (maxRegisters > 0) {
-            this.actualRegisterCount = Math.min(this.actualRegisterCount, maxRegisters);
-        }
-
         reports.add(new Report(ReportType.LOG, Stage.OPTIMIZATION, -1, -1,
                 "Total de registradores utilizados: " + actualRegisterCount));
     }
 
     /**
-     * Aplica a alocação de registradores a um método, atualizando os descritores.
-     * CORREÇÃO: Garantir que os registradores atribuídos não excedam o limite.
+     * Verifica que as variáveis mapeadas de um método estão na sua tabela de variáveis.
      */
-    private void applyRegisterAllocationToMethod(Method method, Map<String, Integer> registerMap) {
+    private void checkRegisterMap(Method method, Map<String, Integer> registerMap) {
         Map<String, Descriptor> varTable = method.getVarTable();
-
-
-        // Verificação preventiva - apenas para debug
         for (String varName : registerMap.keySet()) {
             if (!varTable.containsKey(varName)) {
-                reports.add(new Report(ReportType.WARNING, Stage.OPTIMIZATION, -1, -1,
+                report(method, new Report(ReportType.WARNING, Stage.OPTIMIZATION, -1, -1,
                         "Variável mapeada " + varName + " não encontrada na tabela de variáveis"));
             }
         }
-
-        // Aplicar registradores aos descritores
-        for (Map.Entry<String, Descriptor> entry : varTable.entrySet()) {
-            String varName = entry.getKey();
-            Descriptor descriptor = entry.getValue();
-
-            if (descriptor != null && registerMap.containsKey(varName)) {
-                int register = registerMap.get(varName);
-
-                // CORREÇÃO: Garantir que o registro esteja dentro do limite
-                if (maxRegisters > 0) {
-                    register = Math.min(register, maxRegisters - 1);
-                }
-
-                descriptor.setVirtualReg(register);
-            }
-        }
-
-        // Verificação pós-aplicação para validar o resultado
-        Set<Integer> uniqueRegs = new HashSet<>();
-        for (Descriptor descriptor : varTable.values()) {
-            if (descriptor != null) {
-                uniqueRegs.add(descriptor.getVirtualReg());
-            }
-        }
-
-        // CORREÇÃO: Verificar se o número de registros respeita o limite
-        if (maxRegisters > 0 && Collections.max(uniqueRegs) >= maxRegisters) {
-            reports.add(new Report(ReportType.WARNING, Stage.OPTIMIZATION, -1, -1,
-                    "Registros atribuídos excedem o limite! Ajustando para " + maxRegisters + " registros."));
-
-            // Atualizar descritores novamente para garantir conformidade
-            for (Descriptor descriptor : varTable.values()) {
-                if (descriptor != null && descriptor.getVirtualReg() >= maxRegisters) {
-                    descriptor.setVirtualReg(maxRegisters - 1);
-                }
-            }
-        }
-
-        reports.add(new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
-                "Após aplicação: " + Math.min(uniqueRegs.size(), maxRegisters > 0 ? maxRegisters : Integer.MAX_VALUE) +
-                        " registradores únicos para método " + method.getMethodName()));
     }
 
     /**
@@ -250,7 +353,7 @@ public class RegisterAllocator {
             sb.append(varName).append(", ");
         }
 
-        reports.add(new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1, sb.toString()));
+        report(method, new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1, sb.toString()));
     }
 
     /**
@@ -293,54 +396,104 @@ public class RegisterAllocator {
         // Gerar relatório do mapeamento
         logRegisterMapping(method, registerMap);
 
-        // Aplicar alocação
-        applyRegisterAllocationToMethod(method, registerMap);
+        checkRegisterMap(method, registerMap);
     }
 
     /**
      * Alocação otimizada de registradores, usando análise de liveness.
-     * Minimiza o número de registradores utilizados através da coloração de grafo.
+     * Minimiza o número de registradores utilizados através da coloração de grafo ou, em métodos grandes, de
+     * linear scan.
      */
     private void allocateOptimizedRegisters(Method method) {
-        reports.add(new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
+        report(method, new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
                 "Executando análise de liveness para " + method.getMethodName()));
 
         // 1. Calcular intervalos de vida das variáveis
-        Map<String, Set<Integer>> liveRanges = livenessAnalyzer.analyze(method);
+        ControlFlowIndex cfg = CompilerMetrics.measure("cfg", () -> ControlFlowIndex.build(method));
+        LiveRanges liveRanges = CompilerMetrics.measure("liveness", () -> livenessAnalyzer.analyze(method, cfg));
 
         // Identificar variáveis que nunca são usadas e registrá-las
         Set<String> unusedVariables = new HashSet<>();
-        for (Map.Entry<String, Set<Integer>> entry : liveRanges.entrySet()) {
-            if (entry.getValue().isEmpty()) {
-                unusedVariables.add(entry.getKey());
-                reports.add(new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
-                        "Variável " + entry.getKey() + " parece não ser usada"));
+        for (String varName : liveRanges.getVariables()) {
+            if (liveRanges.isEmpty(varName)) {
+                unusedVariables.add(varName);
+                report(method, new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
+                        "Variável " + varName + " parece não ser usada"));
             }
         }
 
-        reports.add(new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
-                "Construindo grafo de interferência para " + method.getMethodName()));
-
-        // 2. Construir grafo de interferência
-        Map<String, Set<String>> interferenceGraph = graphBuilder.build(liveRanges);
-
-        // Visualização do grafo para debugging
-        String graphVisualization = graphBuilder.visualizeGraph(interferenceGraph);
-        reports.add(new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
-                "Grafo de interferência:\n" + graphVisualization));
+        // 'this' no registrador 0 e parâmetros nos registradores seguintes, como a JVM os passa
+        Map<String, Integer> precolored = precolor(method);
 
-        // Garantir que todas as variáveis estejam no grafo, mesmo que sem interferências
-        for (String varName : method.getVarTable().keySet()) {
-            if (!varName.equals("return") && !interferenceGraph.containsKey(varName)) {
-                interferenceGraph.put(varName, new HashSet<>());
+        // 2. Escolher a estratégia para este método, no modo automático pelo tamanho e densidade do grafo
+        long start = System.nanoTime();
+        AllocationStrategy methodStrategy = strategy;
+        InterferenceGraph interferenceGraph = null;
+        if (methodStrategy == AllocationStrategy.AUTO) {
+            if (liveRanges.size() > LINEAR_SCAN_THRESHOLD) {
+                methodStrategy = AllocationStrategy.BINPACKING;
+            } else {
+                interferenceGraph = CompilerMetrics.measure("interference",
+                        () -> graphBuilder.buildAtDefinitions(liveRanges));
+                methodStrategy = chooseStrategy(interferenceGraph);
+            }
+        }
+
+        report(method, new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
+                "Alocando " + liveRanges.size() + " variáveis de " + method.getMethodName() +
+                        " com a estratégia " + methodStrategy.getOptionName() +
+                        (interferenceGraph == null ? "" : String.format(Locale.ROOT, " (densidade %.2f)",
+                                density(interferenceGraph)))));
+
+        // A coloração exata usa o grafo construído nas definições, com menos arestas
+        if (methodStrategy == AllocationStrategy.EXACT && interferenceGraph == null) {
+            interferenceGraph = CompilerMetrics.measure("interference",
+                    () -> graphBuilder.buildAtDefinitions(liveRanges));
+        }
+
+        // 3. Alocar registradores sem limite
+        Map<String, Integer> registerMap;
+        if (graphColorings.containsKey(methodStrategy)) {
+            registerMap = colorInterferenceGraph(method, liveRanges, interferenceGraph, precolored,
+                    graphColorings.get(methodStrategy));
+        } else if (methodStrategy == AllocationStrategy.COALESCING) {
+            long remaining = budgetNanos - (System.nanoTime() - start);
+            registerMap = coalesceAndColor(method, cfg, liveRanges, interferenceGraph, precolored, remaining);
+            if (registerMap == null) {
+                report(method, new Report(ReportType.LOG, Stage.OPTIMIZATION, -1, -1,
+                        "Coalescing de " + method.getMethodName() + " excedeu " + budgetNanos / 1_000_000 +
+                                " ms, usando " + AllocationStrategy.BINPACKING.getOptionName()));
+                methodStrategy = AllocationStrategy.BINPACKING;
+                budgetExceeded = true;
+            } else if (strategy == AllocationStrategy.AUTO
+                    && interferenceGraph.size() - precolored.size() <= exactNodes) {
+                // Em grafos pequenos, a coloração exata mostra se o coalescing usou registradores a mais, no tempo
+                // que o coalescing deixou por usar
+                long left = budgetNanos - (System.nanoTime() - start);
+                Map<String, Integer> exact = registerMap;
+                if (left > 0) {
+                    exact = colorInterferenceGraph(method, liveRanges, interferenceGraph, precolored,
+                            new ExactColoringStrategy(exactNodes, EXACT_COLORING_SEARCH_NODES, left));
+                } else {
+                    budgetExceeded = true;
+                }
+                if (getMaxRegister(exact) < getMaxRegister(registerMap)) {
+                    report(method, new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
+                            "Coloração exata de " + method.getMethodName() + " usa " + (getMaxRegister(exact) + 1) +
+                                    " registradores em vez de " + (getMaxRegister(registerMap) + 1)));
+                    registerMap = exact;
+                    methodStrategy = AllocationStrategy.EXACT;
+                }
             }
+        } else {
+            registerMap = null;
         }
 
-        reports.add(new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
-                "Realizando coloração de grafo para " + method.getMethodName()));
-
-        // 3. Alocar registradores usando coloração de grafo sem limite
-        Map<String, Integer> registerMap = coloringStrategy.colorGraph(interferenceGraph);
+        if (registerMap == null) {
+            LiveRangeAllocationStrategy scan = liveRangeAllocations.get(methodStrategy);
+            registerMap = CompilerMetrics.measure("linear-scan", () -> scan.allocate(liveRanges, precolored));
+        }
+        long elapsed = System.nanoTime() - start;
 
         // 4. Verificar se alguma variável não foi mapeada
         Map<String, Descriptor> varTable = method.getVarTable();
@@ -365,7 +518,7 @@ public class RegisterAllocator {
                 // Se o parâmetro não foi mapeado ou se é um parâmetro especial como 'args'
                 if (!registerMap.containsKey(paramName) && varTable.containsKey(paramName)) {
                     registerMap.put(paramName, nextReg++);
-                    reports.add(new Report(ReportType.WARNING, Stage.OPTIMIZATION, -1, -1,
+                    report(method, new Report(ReportType.WARNING, Stage.OPTIMIZATION, -1, -1,
                             "Parâmetro " + paramName + " recebendo registro dedicado " + (nextReg-1)));
                 }
             }
@@ -381,7 +534,7 @@ public class RegisterAllocator {
                 for (String otherVar : unusedVariables) {
                     if (!otherVar.equals(varName) && registerMap.containsKey(otherVar)) {
                         registerMap.put(varName, registerMap.get(otherVar));
-                        reports.add(new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
+                        report(method, new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
                                 "Variável não usada " + varName + " compartilhando registro com " + otherVar));
                         reuseFound = true;
                         break;
@@ -391,7 +544,7 @@ public class RegisterAllocator {
                 // Se não encontrou para reutilizar, criar um novo
                 if (!reuseFound) {
                     registerMap.put(varName, nextReg++);
-                    reports.add(new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
+                    report(method, new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
                             "Variável não usada " + varName + " recebendo novo registro " + (nextReg-1)));
                 }
             }
@@ -401,7 +554,7 @@ public class RegisterAllocator {
         for (String varName : varTable.keySet()) {
             if (!varName.equals("return") && !registerMap.containsKey(varName)) {
                 registerMap.put(varName, nextReg++);
-                reports.add(new Report(ReportType.WARNING, Stage.OPTIMIZATION, -1, -1,
+                report(method, new Report(ReportType.WARNING, Stage.OPTIMIZATION, -1, -1,
                         "Variável " + varName + " não foi mapeada. Atribuindo reg" + (nextReg-1)));
             }
         }
@@ -409,9 +562,10 @@ public class RegisterAllocator {
         // 5. Determinar número de registradores utilizados
         int registersUsed = getMaxRegister(registerMap) + 1;
 
-        reports.add(new Report(ReportType.LOG, Stage.OPTIMIZATION, -1, -1,
+        report(method, new Report(ReportType.LOG, Stage.OPTIMIZATION, -1, -1,
                 "Método " + method.getMethodName() + ": Otimização resultou em " +
-                        registersUsed + " registradores"));
+                        registersUsed + " registradores" + String.format(Locale.ROOT, " (%s, %.3f ms)",
+                        methodStrategy.getOptionName(), elapsed / 1e6)));
 
         // 6. Armazenar mapeamento
         methodRegisterMaps.put(method, registerMap);
@@ -421,220 +575,197 @@ public class RegisterAllocator {
         // 7. Gerar relatório do mapeamento
         logRegisterMapping(method, registerMap);
 
-        // 8. Aplicar alocação
-        applyRegisterAllocationToMethod(method, registerMap);
+        checkRegisterMap(method, registerMap);
     }
 
     /**
-     * Alocação com número limitado de registradores.
-     * Utiliza a coloração de grafo com limite e identifica variáveis "spilled".
+     * Estratégia do modo automático para um método com o grafo dado e até {@link #LINEAR_SCAN_THRESHOLD} variáveis.
      */
-    private void allocateLimitedRegisters(Method method, int maxRegisters) {
-        reports.add(new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
-                "Executando análise de liveness para " + method.getMethodName() +
-                        " com limite de " + maxRegisters + " registradores"));
+    private static AllocationStrategy chooseStrategy(InterferenceGraph graph) {
+        if (graph.size() >= DENSE_GRAPH_NODES && density(graph) >= DENSE_GRAPH_DENSITY) {
+            return AllocationStrategy.EXACT;
+        }
+        return AllocationStrategy.COALESCING;
+    }
+
+    /**
+     * Fração das arestas possíveis que existem no grafo.
+     */
+    private static double density(InterferenceGraph graph) {
+        long possible = (long) graph.size() * (graph.size() - 1) / 2;
+        return possible == 0 ? 0 : (double) graph.getEdgeCount() / possible;
+    }
 
-        // 1. Calcular intervalos de vida
-        Map<String, Set<Integer>> liveRanges = livenessAnalyzer.analyze(method);
+    /**
+     * Aloca registradores colorindo o grafo de interferência com a estratégia dada.
+     * Sem grafo já construído, constrói o grafo de interferência dos intervalos de vida.
+     */
+    private Map<String, Integer> colorInterferenceGraph(Method method, LiveRanges liveRanges, InterferenceGraph graph,
+                                                        Map<String, Integer> precolored,
+                                                        GraphColoringStrategy coloringStrategy) {
+        report(method, new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
+                "Construindo grafo de interferência para " + method.getMethodName()));
 
-        // 2. Construir grafo de interferência
-        Map<String, Set<String>> interferenceGraph = graphBuilder.build(liveRanges);
+        // Garantir que todas as variáveis estejam no grafo, mesmo que sem interferências
+        List<String> varNames = method.getVarTable().keySet().stream()
+                .filter(varName -> !varName.equals("return"))
+                .sorted()
+                .toList();
+        InterferenceGraph interferenceGraph = (graph != null ? graph
+                : CompilerMetrics.measure("interference", () -> graphBuilder.build(liveRanges)))
+                .withVariables(varNames);
 
-        // 3. Reservar registradores para 'this' e parâmetros
-        Map<String, Integer> registerMap = new HashMap<>();
-        int reservedRegs = 0;
+        // Visualização do grafo para debugging
+        String graphVisualization = graphBuilder.visualizeGraph(interferenceGraph);
+        report(method, new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
+                "Grafo de interferência:\n" + graphVisualization));
+
+        report(method, new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
+                "Realizando coloração de grafo para " + method.getMethodName()));
+
+        return CompilerMetrics.measure("coloring", () -> coloringStrategy.colorGraph(interferenceGraph, precolored));
+    }
+
+    /**
+     * Aloca registradores com iterated register coalescing, com o menor número de registradores sem spill.
+     * Sem grafo já construído, constrói o grafo de interferência nas definições.
+     *
+     * @return O registrador de cada variável, ou null se a alocação não terminou no tempo dado
+     */
+    private Map<String, Integer> coalesceAndColor(Method method, ControlFlowIndex cfg, LiveRanges liveRanges,
+                                                  InterferenceGraph graph, Map<String, Integer> precolored,
+                                                  long budgetNanos) {
+        InterferenceGraph interferenceGraph = graph != null ? graph
+                : CompilerMetrics.measure("interference", () -> graphBuilder.buildAtDefinitions(liveRanges));
+        double[] spillCosts = IteratedCoalescingStrategy.spillCosts(liveRanges, cfg);
+
+        IteratedCoalescingStrategy.Result result = CompilerMetrics.measure("coalescing", () -> {
+            var allocation = coalescingStrategy.allocateMinimal(interferenceGraph, liveRanges, spillCosts, precolored,
+                    budgetNanos);
+            CompilerMetrics.count("copies", liveRanges.getCopies().size());
+            allocation.ifPresent(done -> CompilerMetrics.count("coalesced", done.coalescedCopies()));
+            return allocation.orElse(null);
+        });
+        if (result == null) {
+            return null;
+        }
+
+        report(method, new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
+                "Coalescing de " + method.getMethodName() + ": " + result.coalescedCopies() + " de " +
+                        liveRanges.getCopies().size() + " cópias eliminadas"));
+
+        return new HashMap<>(result.registers());
+    }
+
+    /**
+     * Registradores fixos de um método: 'this' no registrador 0 e os parâmetros nos seguintes, pela ordem.
+     */
+    private Map<String, Integer> precolor(Method method) {
+        Map<String, Integer> precolored = new HashMap<>();
+        int reg = 0;
 
-        // 'this' sempre no registrador 0
         if (method.getVarTable().containsKey("this")) {
-            registerMap.put("this", reservedRegs++);
+            precolored.put("this", reg++);
         }
 
-        // Parâmetros em registradores subsequentes
         for (Element param : method.getParams()) {
             if (param instanceof Operand) {
                 String paramName = ((Operand) param).getName();
                 if (method.getVarTable().containsKey(paramName)) {
-                    registerMap.put(paramName, reservedRegs++);
+                    precolored.put(paramName, reg++);
                 }
             }
         }
 
-        // 4. Determinar número de registradores disponíveis para variáveis locais
-        int availableRegsForLocals = maxRegisters;
-
-        // 5. Identificar variáveis locais
-        List<String> localVars = new ArrayList<>();
-        for (String varName : method.getVarTable().keySet()) {
-            if (!varName.equals("this") && !varName.equals("return") &&
-                    !registerMap.containsKey(varName)) {
-                localVars.add(varName);
-            }
-        }
-
-        // 6. Ordenar variáveis locais por grau (número de interferências)
-        localVars.sort((v1, v2) -> {
-            Set<String> interferences1 = interferenceGraph.getOrDefault(v1, Collections.emptySet());
-            Set<String> interferences2 = interferenceGraph.getOrDefault(v2, Collections.emptySet());
-            return interferences2.size() - interferences1.size();
-        });
+        return precolored;
+    }
 
-        // 7. Cálculo de registradores necessários para respeitar todas as interferências
-        int necessaryRegs = 0;
-        for (String varName : localVars) {
-            Set<String> adjVars = interferenceGraph.getOrDefault(varName, Collections.emptySet());
-            Set<Integer> usedRegs = new HashSet<>();
+    /**
+     * Alocação com número limitado de registradores.
+     * 'this' e os parâmetros ficam com registradores só seus e as restantes variáveis têm maxRegisters registradores.
+     * As variáveis que não cabem vão para um array de spill do método (ver {@link SpillRewriter}), escolhidas pelo
+     * iterated register coalescing pelo menor custo de spill, e a alocação repete-se até o método caber. Se nem assim
+     * couber (por exemplo, uma instrução que usa mais valores do que os registradores), usa-se mais um registrador
+     * em vez de falhar a compilação.
+     */
+    private void allocateLimitedRegisters(Method method, int maxRegisters) {
+        report(method, new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
+                "Executando análise de liveness para " + method.getMethodName() +
+                        " com limite de " + maxRegisters + " registradores"));
 
-            // Verificar quais registradores já estão em uso por vizinhos
-            for (String adjVar : adjVars) {
-                if (registerMap.containsKey(adjVar)) {
-                    usedRegs.add(registerMap.get(adjVar));
+        // 1. Reservar registradores para 'this' (registrador 0) e parâmetros (registradores subsequentes)
+        Map<String, Integer> precolored = precolor(method);
+        int registers = precolored.size() + maxRegisters;
+
+        // 2. Colorir com o limite, derramando as variáveis que não cabem até não faltar nenhuma
+        SpillRewriter spiller = new SpillRewriter(method);
+        IteratedCoalescingStrategy.Result result;
+        while (true) {
+            ControlFlowIndex cfg = CompilerMetrics.measure("cfg", () -> ControlFlowIndex.build(method));
+            LiveRanges liveRanges = CompilerMetrics.measure("liveness", () -> livenessAnalyzer.analyze(method, cfg));
+            InterferenceGraph interferenceGraph = CompilerMetrics.measure("interference",
+                    () -> graphBuilder.buildAtDefinitions(liveRanges, precolored.keySet()));
+
+            // Referências, o array de spill e os temporários das cargas ficam sempre em registradores
+            double[] spillCosts = IteratedCoalescingStrategy.spillCosts(liveRanges, cfg);
+            for (int var = 0; var < spillCosts.length; var++) {
+                if (!spiller.canSpill(liveRanges.getVariable(var))) {
+                    spillCosts[var] = Double.POSITIVE_INFINITY;
                 }
             }
 
-            // Encontrar o menor registrador disponível
-            int reg = reservedRegs;
-            while (usedRegs.contains(reg)) {
-                reg++;
-            }
-
-            if (reg > necessaryRegs) {
-                necessaryRegs = reg;
+            int colors = registers;
+            result = CompilerMetrics.measure("coalescing", () -> coalescingStrategy.allocate(interferenceGraph,
+                    liveRanges, spillCosts, precolored, colors));
+            if (result.spilled().isEmpty()) {
+                break;
             }
-        }
-
-        // 8. Determinar quantos registradores precisamos na realidade
-        int totalNecessaryRegs = necessaryRegs + 1; // +1 porque contamos de 0
-        int spillCount = Math.max(0, totalNecessaryRegs - (reservedRegs + availableRegsForLocals));
-
-        // 9. Calcular registradores totais conforme a especificação
-        int totalRegs = reservedRegs + Math.min(availableRegsForLocals, necessaryRegs + 1);
-        if (spillCount > 0) {
-            totalRegs++; // Adicionar um registrador para variáveis derramadas
-        }
-
-        // 10. Algoritmo de coloração com limite
-        Set<String> spilledVars = new HashSet<>();
-        int spillReg = totalRegs - 1; // Último registrador para variáveis derramadas
-
-        for (String varName : localVars) {
-            Set<String> adjVars = interferenceGraph.getOrDefault(varName, Collections.emptySet());
-            Set<Integer> usedRegs = new HashSet<>();
 
-            // Verificar quais registradores já estão em uso por vizinhos
-            for (String adjVar : adjVars) {
-                if (registerMap.containsKey(adjVar)) {
-                    usedRegs.add(registerMap.get(adjVar));
+            Set<String> spilled = new TreeSet<>();
+            for (String varName : result.spilled()) {
+                if (spiller.canSpill(varName)) {
+                    spilled.add(varName);
                 }
             }
 
-            // Determinar se é necessário derramar esta variável
-            boolean mustSpill = true;
-            for (int r = reservedRegs; r < reservedRegs + availableRegsForLocals; r++) {
-                if (!usedRegs.contains(r)) {
-                    registerMap.put(varName, r);
-                    mustSpill = false;
-                    break;
-                }
+            if (spilled.isEmpty()) {
+                registers++;
+                continue;
             }
 
-            // Derramar a variável se necessário
-            if (mustSpill) {
-                registerMap.put(varName, spillReg);
-                spilledVars.add(varName);
-            }
+            int accesses = CompilerMetrics.measure("spill", () -> spiller.spill(spilled));
+            CompilerMetrics.count("spilled", spilled.size());
+            report(method, new Report(ReportType.DEBUG, Stage.OPTIMIZATION, -1, -1,
+                    "Spill de " + spilled + " em " + method.getMethodName() + ": " + accesses +
+                            " cargas e escritas inseridas"));
         }
 
-        // 11. Garantir que todas as variáveis tenham um registrador atribuído
+        if (registers > precolored.size() + maxRegisters) {
+            report(method, new Report(ReportType.WARNING, Stage.OPTIMIZATION, -1, -1,
+                    "Método " + method.getMethodName() + " não cabe em " + maxRegisters +
+                            " registradores mesmo com spill, usando " + (registers - precolored.size())));
+        }
+
+        // 3. Garantir que todas as variáveis tenham um registrador atribuído
+        Map<String, Integer> registerMap = new HashMap<>(result.registers());
         for (String varName : method.getVarTable().keySet()) {
             if (!varName.equals("return") && !registerMap.containsKey(varName)) {
-                // Variáveis que não estão no grafo (como não usadas) podem compartilhar o mesmo registrador
-                registerMap.put(varName, reservedRegs);
+                // Variáveis fora do grafo (como não usadas) podem partilhar qualquer registrador livre
+                registerMap.put(varName, Math.min(precolored.size(), registers - 1));
             }
         }
 
-        // 12. Armazenar mapeamento e variáveis derramadas
+        // 4. Armazenar mapeamento e variáveis derramadas
+        Set<String> spilledVars = new HashSet<>(spiller.getSlots().keySet());
         methodRegisterMaps.put(method, registerMap);
         methodSpilledVars.put(method, spilledVars);
-        methodTotalRegisters.put(method, totalRegs);
-
+        methodTotalRegisters.put(method, getMaxRegister(registerMap) + 1);
 
-        // 14. Gerar relatório do mapeamento
+        // 5. Gerar relatório do mapeamento
         logRegisterMapping(method, registerMap, spilledVars);
-
-        // 15. Aplicar alocação aos descritores
-        applyRegisterAllocationToMethod(method, registerMap);
-    }
-    /**
-     * Adapta a alocação de registradores respeitando o grafo de interferência e o limite de registradores.
-     * Implementa um algoritmo de coloração adaptativa que respeita as interferências entre variáveis.
-     */
-    private Map<String, Integer> adaptRegisterAllocation(
-            Map<String, Integer> originalMap,
-            Map<String, Set<String>> interferenceGraph,
-            int maxRegisters,
-            Set<String> spilledVars) {
-
-        Map<String, Integer> newMap = new HashMap<>();
-
-        // Reservar registradores fixos (this e parâmetros)
-        int reservedRegs = 0;
-        for (Map.Entry<String, Integer> entry : originalMap.entrySet()) {
-            String varName = entry.getKey();
-            // 'this' sempre no reg0, parâmetros em regs subsequentes
-            if (varName.equals("this") || isParameter(varName, interferenceGraph)) {
-                newMap.put(varName, reservedRegs++);
-            }
-        }
-
-        // Ordenar variáveis locais por grau de interferência (decrescente)
-        List<String> sortedLocals = new ArrayList<>();
-        for (String varName : originalMap.keySet()) {
-            if (!newMap.containsKey(varName)) {
-                sortedLocals.add(varName);
-            }
-        }
-        sortedLocals.sort((v1, v2) ->
-                interferenceGraph.getOrDefault(v2, Collections.emptySet()).size() -
-                        interferenceGraph.getOrDefault(v1, Collections.emptySet()).size());
-
-        // Colorir variáveis locais respeitando interferências
-        for (String varName : sortedLocals) {
-            // Determinar registradores indisponíveis (usados por vizinhos)
-            Set<Integer> usedRegs = new HashSet<>();
-            for (String neighbor : interferenceGraph.getOrDefault(varName, Collections.emptySet())) {
-                if (newMap.containsKey(neighbor)) {
-                    usedRegs.add(newMap.get(neighbor));
-                }
-            }
-
-            // Encontrar o menor registrador disponível
-            int reg = reservedRegs;
-            while (usedRegs.contains(reg)) {
-                reg++;
-            }
-
-            // Verificar se excede o limite de registradores
-            if (reg >= maxRegisters) {
-                // Registrador de "spill"
-                newMap.put(varName, maxRegisters);
-                spilledVars.add(varName);
-            } else {
-                newMap.put(varName, reg);
-            }
-        }
-
-        return newMap;
+        checkRegisterMap(method, registerMap);
     }
 
-    /**
-     * Verifica se uma variável é um parâmetro baseado em seu padrão de interferência.
-     * Parâmetros tendem a ter menos interferências com outras variáveis.
-     */
-    private boolean isParameter(String varName, Map<String, Set<String>> interferenceGraph) {
-        // Verificação simples por nome (arg, args) ou por padrão de interferência
-        return varName.startsWith("arg") ||
-                interferenceGraph.getOrDefault(varName, Collections.emptySet()).isEmpty();
-    }
     /**
      * Registra o mapeamento de registradores para um método.
      */
@@ -665,7 +796,14 @@ public class RegisterAllocator {
             reportMsg.append("\n");
         }
 
-        reports.add(new Report(ReportType.LOG, Stage.OPTIMIZATION, -1, -1, reportMsg.toString()));
+        // Variáveis derramadas já não estão em nenhum registrador
+        for (String var : new TreeSet<>(spilledVars)) {
+            if (!registerMap.containsKey(var)) {
+                reportMsg.append("  ").append(var).append(" -> memória (spilled)\n");
+            }
+        }
+
+        report(method, new Report(ReportType.LOG, Stage.OPTIMIZATION, -1, -1, reportMsg.toString()));
     }
 
     /**
@@ -673,7 +811,7 @@ public class RegisterAllocator {
      * Garante que todas as variáveis tenham um registrador atribuído.
      */
     private void createEmergencyAllocation(Method method) {
-        reports.add(new Report(ReportType.WARNING, Stage.OPTIMIZATION, -1, -1,
+        report(method, new Report(ReportType.WARNING, Stage.OPTIMIZATION, -1, -1,
                 "Criando alocação de emergência para o método " + method.getMethodName()));
 
         Map<String, Integer> emergencyMap = new HashMap<>();
@@ -726,10 +864,9 @@ public class RegisterAllocator {
         methodRegisterMaps.put(method, emergencyMap);
         methodSpilledVars.put(method, spilledVars);
 
-        // Aplicar a alocação ao método
-        applyRegisterAllocationToMethod(method, emergencyMap);
+        checkRegisterMap(method, emergencyMap);
 
-        reports.add(new Report(ReportType.LOG, Stage.OPTIMIZATION, -1, -1,
+        report(method, new Report(ReportType.LOG, Stage.OPTIMIZATION, -1, -1,
                 "Alocação de emergência aplicada para o método " + method.getMethodName() +
                         " com " + register + " registradores"));
     }
@@ -748,57 +885,6 @@ public class RegisterAllocator {
         return maxColor;
     }
 
-    /**
-     * Aplica o mapeamento de registradores ao código OLLIR.
-     * Substitui nomes de variáveis por registradores.
-     */
-    public String applyAllocation(String ollirCode) {
-        // Apply all register allocations to each method in the class
-        for (Method method : ollirClass.getMethods()) {
-            // Get the register map for this method
-            Map<String, Integer> registerMap = methodRegisterMaps.get(method);
-
-            // Skip if this method wasn't processed or has no register map
-            if (registerMap == null || registerMap.isEmpty()) {
-                continue;
-            }
-
-            // Update the descriptors directly
-            Map<String, Descriptor> varTable = method.getVarTable();
-            for (Map.Entry<String, Integer> entry : registerMap.entrySet()) {
-                String varName = entry.getKey();
-                int register = entry.getValue();
-
-                if (varTable.containsKey(varName)) {
-                    Descriptor descriptor = varTable.get(varName);
-                    if (descriptor != null) {
-                        descriptor.setVirtualReg(register);
-                    }
-                }
-            }
-        }
-
-        // After modifying all the descriptors, update the actual register count
-        updateActualRegisterCount();
-
-        // Return the original OLLIR code - we've already modified the class directly
-        return ollirCode;
-    }
-
-    /**
-     * Extrai o nome do método de uma linha de declaração de método OLLIR.
-     */
-    private String extractMethodName(String line) {
-        Pattern pattern = Pattern.compile("\\.method\\s+(?:public\\s+|private\\s+|static\\s+)*([\\w<>]+)\\s*\\(");
-        Matcher matcher = pattern.matcher(line);
-
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-
-        return null;
-    }
-
     /**
      * Retorna a lista de relatórios gerados durante a alocação.
      */
@@ -0,0 +1,103 @@
+package pt.up.fe.comp2025.optimization.register.analysis;
+
+import org.specs.comp.ollir.ArrayOperand;
+import org.specs.comp.ollir.Element;
+import org.specs.comp.ollir.Operand;
+import org.specs.comp.ollir.inst.AssignInstruction;
+import org.specs.comp.ollir.inst.BinaryOpInstruction;
+import org.specs.comp.ollir.inst.CallInstruction;
+import org.specs.comp.ollir.inst.CondBranchInstruction;
+import org.specs.comp.ollir.inst.FieldInstruction;
+import org.specs.comp.ollir.inst.Instruction;
+import org.specs.comp.ollir.inst.OpInstruction;
+import org.specs.comp.ollir.inst.PutFieldInstruction;
+import org.specs.comp.ollir.inst.ReturnInstruction;
+import org.specs.comp.ollir.inst.SingleOpInstruction;
+import org.specs.comp.ollir.inst.UnaryOpInstruction;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Operands read by an OLLIR instruction, as seen by liveness, spilling and rematerialization.
+ * <p>
+ * The operands read include the array and index of an array element being written, and the indexes of every array
+ * element read. Where another element may take the place of an operand, such as a literal as the operand of an
+ * arithmetic instruction, the use also tells how to replace it.
+ */
+public final class InstructionUses {
+
+    private InstructionUses() {
+    }
+
+    /**
+     * An operand read by an instruction, and how to put another element in its place, or null if only a variable can
+     * be there.
+     */
+    public record Use(Operand operand, Consumer<Element> replace) {
+    }
+
+    /**
+     * Visits the operands an instruction reads.
+     */
+    public static void forEachOperand(Instruction instruction, Consumer<Operand> visitor) {
+        forEachUse(instruction, use -> visitor.accept(use.operand()));
+    }
+
+    /**
+     * Visits the operands an instruction reads, with how to replace each of them.
+     */
+    public static void forEachUse(Instruction instruction, Consumer<Use> visitor) {
+        switch (instruction) {
+            case null -> {
+            }
+            case AssignInstruction assign -> {
+                if (assign.getDest() instanceof ArrayOperand dest) {
+                    visitElement(dest, null, visitor);
+                }
+                forEachUse(assign.getRhs(), visitor);
+            }
+            case BinaryOpInstruction binary -> {
+                visitElement(binary.getLeftOperand(), binary::setLeftOperand, visitor);
+                visitElement(binary.getRightOperand(), binary::setRightOperand, visitor);
+            }
+            case UnaryOpInstruction unary -> visitElement(unary.getOperand(), unary::setOperand, visitor);
+            case OpInstruction op -> op.getOperands().forEach(element -> visitElement(element, null, visitor));
+            case SingleOpInstruction single -> visitElement(single.getSingleOperand(), single::setSingleOperand,
+                    visitor);
+            case CallInstruction call -> {
+                visitElement(call.getCaller(), null, visitor);
+                List<Element> arguments = call.getArguments();
+                for (int i = 0; i < arguments.size(); i++) {
+                    int index = i;
+                    visitElement(arguments.get(i), element -> arguments.set(index, element), visitor);
+                }
+            }
+            case PutFieldInstruction put -> {
+                visitElement(put.getObject(), null, visitor);
+                visitElement(put.getValue(), null, visitor);
+            }
+            case FieldInstruction field -> visitElement(field.getObject(), null, visitor);
+            case CondBranchInstruction branch -> forEachUse(branch.getCondition(), visitor);
+            case ReturnInstruction ret -> ret.getOperand().ifPresent(element ->
+                    visitElement(element, ret::setOperand, visitor));
+            default -> {
+                // Gotos and ldc read no variable
+            }
+        }
+    }
+
+    private static void visitElement(Element element, Consumer<Element> replace, Consumer<Use> visitor) {
+        if (element instanceof Operand operand) {
+            // An array element stays an operand, only its index can become a literal
+            visitor.accept(new Use(operand, operand instanceof ArrayOperand ? null : replace));
+            if (operand instanceof ArrayOperand array) {
+                List<Element> indexes = array.getIndexOperands();
+                for (int i = 0; i < indexes.size(); i++) {
+                    int index = i;
+                    visitElement(indexes.get(i), indexed -> indexes.set(index, indexed), visitor);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package pt.up.fe.comp2025.optimization.register.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Interference graph of the variables of a method, built by {@link InterferenceGraphBuilder}.
+ * <p>
+ * Variables are numbered as in the {@link LiveRanges} the graph was built from. The neighbours of each variable are
+ * kept as a sorted int array; graphs with up to {@link #MATRIX_LIMIT} variables also keep a bit matrix, so that
+ * {@link #interferes(int, int)} is a single bit test instead of a binary search.
+ */
+public class InterferenceGraph {
+
+    /**
+     * Largest number of variables for which the bit matrix is kept (2 MB at the limit).
+     */
+    public static final int MATRIX_LIMIT = 4096;
+
+    private final String[] variables;
+    private final Map<String, Integer> indexes;
+    private final int[][] neighbors;
+    private final long[] matrix;
+    private final int rowWords;
+
+    InterferenceGraph(String[] variables, int[][] neighbors) {
+        this.variables = variables;
+        this.neighbors = neighbors;
+
+        this.indexes = new HashMap<>(variables.length * 2);
+        for (int i = 0; i < variables.length; i++) {
+            indexes.put(variables[i], i);
+        }
+
+        if (variables.length <= MATRIX_LIMIT) {
+            this.rowWords = (variables.length + 63) >>> 6;
+            this.matrix = new long[variables.length * rowWords];
+            for (int i = 0; i < neighbors.length; i++) {
+                for (int j : neighbors[i]) {
+                    matrix[i * rowWords + (j >>> 6)] |= 1L << j;
+                }
+            }
+        } else {
+            this.rowWords = 0;
+            this.matrix = null;
+        }
+    }
+
+    /**
+     * Builds a graph from an adjacency map, numbering the variables in name order.
+     *
+     * @param adjacency The variables each variable interferes with, which must be keys of the map as well
+     */
+    public static InterferenceGraph of(Map<String, Set<String>> adjacency) {
+        String[] variables = adjacency.keySet().toArray(new String[0]);
+        Arrays.sort(variables);
+
+        Map<String, Integer> indexes = new HashMap<>(variables.length * 2);
+        for (int i = 0; i < variables.length; i++) {
+            indexes.put(variables[i], i);
+        }
+
+        int[][] neighbors = new int[variables.length][];
+        for (int i = 0; i < variables.length; i++) {
+            neighbors[i] = adjacency.get(variables[i]).stream().mapToInt(indexes::get).sorted().toArray();
+        }
+        return new InterferenceGraph(variables, neighbors);
+    }
+
+    /**
+     * @return The number of variables
+     */
+    public int size() {
+        return variables.length;
+    }
+
+    public List<String> getVariables() {
+        return List.of(variables);
+    }
+
+    public String getVariable(int index) {
+        return variables[index];
+    }
+
+    /**
+     * @return The index of the variable, or -1 if it is not in the graph
+     */
+    public int indexOf(String variable) {
+        Integer index = indexes.get(variable);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @return The variables that interfere with the given one, in increasing order. The array is shared and must not
+     * be modified.
+     */
+    public int[] getNeighbors(int index) {
+        return neighbors[index];
+    }
+
+    public int getDegree(int index) {
+        return neighbors[index].length;
+    }
+
+    /**
+     * @return The number of edges
+     */
+    public int getEdgeCount() {
+        int ends = 0;
+        for (int[] adjacent : neighbors) {
+            ends += adjacent.length;
+        }
+        return ends / 2;
+    }
+
+    public boolean interferes(int first, int second) {
+        if (matrix != null) {
+            return (matrix[first * rowWords + (second >>> 6)] & (1L << second)) != 0;
+        }
+
+        return Arrays.binarySearch(neighbors[first], second) >= 0;
+    }
+
+    public boolean interferes(String first, String second) {
+        int firstIndex = indexOf(first);
+        int secondIndex = indexOf(second);
+        return firstIndex >= 0 && secondIndex >= 0 && interferes(firstIndex, secondIndex);
+    }
+
+    /**
+     * @return This graph with the given variables that are not in it added without interferences, after the others
+     */
+    public InterferenceGraph withVariables(Collection<String> names) {
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            if (!indexes.containsKey(name) && !missing.contains(name)) {
+                missing.add(name);
+            }
+        }
+        if (missing.isEmpty()) {
+            return this;
+        }
+
+        String[] extended = Arrays.copyOf(variables, variables.length + missing.size());
+        int[][] extendedNeighbors = Arrays.copyOf(neighbors, extended.length);
+        for (int i = variables.length; i < extended.length; i++) {
+            extended[i] = missing.get(i - variables.length);
+            extendedNeighbors[i] = new int[0];
+        }
+        return new InterferenceGraph(extended, extendedNeighbors);
+    }
+}
@@ -0,0 +1,142 @@
+package pt.up.fe.comp2025.optimization.register.analysis;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instruction points where each variable of a method is live, as computed by {@link LivenessAnalyzer}.
+ * <p>
+ * Variables are numbered densely from 0, in the order given when building the ranges, and the points of each
+ * variable are kept as a {@link BitSet} indexed by instruction. Besides the live points, the ranges keep where each
+ * variable is written, read and live after the instruction, and the copies between variables, which is what
+ * coalescing allocators need to build their interference graph and weigh spills.
+ */
+public class LiveRanges {
+
+    /**
+     * Copy {@code destination := source} between two variables, at the given instruction.
+     */
+    public record Copy(int point, int destination, int source) {
+    }
+
+    private final String[] variables;
+    private final Map<String, Integer> indexes;
+    private final BitSet[] points;
+    private final BitSet[] definitions;
+    private final BitSet[] uses;
+    private final BitSet[] liveOut;
+    private final List<Copy> copies;
+
+    /**
+     * @param variables   The variables, in the order of their indexes
+     * @param points      The live points of each variable, by index; they are kept, not copied, as are the other sets
+     * @param definitions The points where each variable is written
+     * @param uses        The points where each variable is read
+     * @param liveOut     The points after which each variable is live
+     * @param copies      The copies between variables, by instruction
+     */
+    LiveRanges(String[] variables, BitSet[] points, BitSet[] definitions, BitSet[] uses, BitSet[] liveOut,
+               List<Copy> copies) {
+        this.variables = variables;
+        this.points = points;
+        this.definitions = definitions;
+        this.uses = uses;
+        this.liveOut = liveOut;
+        this.copies = List.copyOf(copies);
+        this.indexes = new HashMap<>(variables.length * 2);
+        for (int i = 0; i < variables.length; i++) {
+            indexes.put(variables[i], i);
+        }
+    }
+
+    /**
+     * @return The number of variables
+     */
+    public int size() {
+        return variables.length;
+    }
+
+    public List<String> getVariables() {
+        return Collections.unmodifiableList(Arrays.asList(variables));
+    }
+
+    public String getVariable(int index) {
+        return variables[index];
+    }
+
+    /**
+     * @return The index of the variable, or -1 if it is not a variable of the method
+     */
+    public int indexOf(String variable) {
+        Integer index = indexes.get(variable);
+        return index == null ? -1 : index;
+    }
+
+    public boolean contains(String variable) {
+        return indexes.containsKey(variable);
+    }
+
+    /**
+     * @return The points where the variable with the given index is live. The set is shared and must not be modified.
+     */
+    public BitSet getPoints(int index) {
+        return points[index];
+    }
+
+    /**
+     * @return The points where the variable is live, empty if it is not a variable of the method. The set is shared
+     * and must not be modified.
+     */
+    public BitSet getPoints(String variable) {
+        int index = indexOf(variable);
+        return index < 0 ? new BitSet() : points[index];
+    }
+
+    /**
+     * @return The points where the variable with the given index is written. The set is shared and must not be
+     * modified.
+     */
+    public BitSet getDefinitions(int index) {
+        return definitions[index];
+    }
+
+    /**
+     * @return The points where the variable with the given index is read. The set is shared and must not be modified.
+     */
+    public BitSet getUses(int index) {
+        return uses[index];
+    }
+
+    /**
+     * @return The points after which the variable with the given index is still live. The set is shared and must not
+     * be modified.
+     */
+    public BitSet getLiveOut(int index) {
+        return liveOut[index];
+    }
+
+    /**
+     * @return The copies between variables of the method, by instruction
+     */
+    public List<Copy> getCopies() {
+        return copies;
+    }
+
+    /**
+     * @return True if the variable is never live, e.g. because it is never used
+     */
+    public boolean isEmpty(String variable) {
+        return getPoints(variable).isEmpty();
+    }
+
+    /**
+     * @return True if both variables are live at some common point
+     */
+    public boolean overlap(String first, String second) {
+        return getPoints(first).intersects(getPoints(second));
+    }
+}
@@ -2,6 +2,10 @@ package pt.up.fe.comp2025.optimization.register.analysis;
 
 import org.specs.comp.ollir.*;
 import org.specs.comp.ollir.inst.*;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.logging.LogLevel;
+import pt.up.fe.comp2025.metrics.CompilerMetrics;
+import pt.up.fe.comp2025.optimization.util.ControlFlowIndex;
 
 import java.io.PrintWriter;
 import java.io.BufferedWriter;
@@ -10,479 +14,318 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
-import java.util.function.Consumer;
 
 /**
  * ========================================================================
- *  LIVENESS ANALYZER  +  REGISTER‑CLASS INFERENCE
+ *  LIVENESS ANALYZER
  * ------------------------------------------------------------------------
  *  Passo 1:  calcula  DEF/USE  e itera  in/out  até fix‑point.
- *  Passo 2:  constroi live‑ranges   (var → {insts onde está viva}).
- *  Passo 3:  COPY‑COALESCING  — une variáveis que:
- *              (a) aparecem numa instrução de cópia simples  x := y
- *              (b) nunca estão vivas simultaneamente (|range(x) ∩ range(y)| = 0)
- *            usando uma estrutura Union–Find.
+ *  Passo 2:  constroi live‑ranges   (var → {insts onde está viva}), com
+ *            os pontos de DEF, USE e out de cada variável.
+ *  Passo 3:  regista as cópias simples  x := y  entre variáveis, que o
+ *            alocador com coalescing tenta pôr no mesmo registo.
  *
- *  Resultado:  • liveRanges (Map<String,Set<Integer>>)
- *              • registerClasses (Map<String,String>)  —> root de cada classe
+ *  As variáveis são numeradas 0..V-1 e os conjuntos DEF/USE/in/out são
+ *  bitsets: W = ⌈V/64⌉ longs por instrução, guardados em arrays planos
+ *  (instrução i ocupa [i*W, (i+1)*W)). A iteração faz OR / AND‑NOT palavra
+ *  a palavra, sem alocar nada.
+ *
+ *  O fix‑point é calculado sobre os blocos básicos do ControlFlowIndex,
+ *  com uma worklist ordenada em reverse‑postorder do CFG invertido: um
+ *  bloco só é revisitado se o in de um sucessor mudou. No fim, o in/out de
+ *  cada instrução obtém‑se percorrendo o seu bloco uma vez, de trás para a
+ *  frente. Iterações e visitas vão para as métricas da stage "liveness".
+ *
+ *  Resultado:  liveRanges (LiveRanges — BitSets de pontos por var + cópias)
  * ========================================================================
  */
 public final class LivenessAnalyzer {
 
-    /* ------------------------------------------------------------------ *
-     * 0. LOGGING CONFIGURATION                                            *
-     * ------------------------------------------------------------------ */
-    public enum LogLevel { TRACE, INFO, OFF }
-
-    private static final LogLevel LOG_LEVEL =
-            switch (System.getenv().getOrDefault("LIVENESS_LOG", "").toUpperCase()) {
-                case "TRACE" -> LogLevel.TRACE;
-                case "INFO"  -> LogLevel.INFO;
-                default      -> LogLevel.OFF;
-            };
-
-    private static void log(LogLevel lvl, String fmt, Object... args) {
-        if (lvl.ordinal() >= LOG_LEVEL.ordinal())
-            System.out.printf("[LIVENESS:%s] %s%n", lvl, String.format(fmt, args));
-    }
-
     /* ------------------------------------------------------------------ *
      * 1.  INTERNAL STRUCTURES                                             *
      * ------------------------------------------------------------------ */
-    private static final class NodeInfo {
-        final Set<String> def = new HashSet<>();
-        final Set<String> use = new HashSet<>();
-        final Set<String> in  = new HashSet<>();
-        final Set<String> out = new HashSet<>();
-    }
-
-    /* ---------- Union–Find para classes de registo -------------------- */
-    private static final class RegisterClassInfo {
-        private final Map<String, String> parent = new HashMap<>();
-        private final Map<String, Integer> rank  = new HashMap<>();
-
-        /** inicializa cada var como root de si mesma */
-        RegisterClassInfo(Collection<String> vars) { vars.forEach(v -> { parent.put(v,v); rank.put(v,0); }); }
-
-        private String find(String v) {
-            String p = parent.get(v);
-            if (!p.equals(v)) parent.put(v, p = find(p));
-            return p;
-        }
-        void union(String a, String b) {
-            String ra = find(a), rb = find(b);
-            if (ra.equals(rb)) return;
-            int rkA = rank.get(ra), rkB = rank.get(rb);
-            if (rkA < rkB)       parent.put(ra, rb);
-            else if (rkA > rkB)  parent.put(rb, ra);
-            else { parent.put(rb, ra); rank.put(ra, rkA+1); }
-        }
-        /** devolve o representante (root) da classe de {@code v}. */
-        String cls(String v){ return find(v); }
-
-        Map<String, Set<String>> asClasses() {
-            Map<String,Set<String>> map = new HashMap<>();
-            for (String v : parent.keySet())
-                map.computeIfAbsent(find(v), k->new HashSet<>()).add(v);
-            return map;
+    /** DEF/USE/in/out de todas as instruções, {@code words} longs por instrução. */
+    private static final class DataFlowSets {
+        final int words;
+        final long[] def;
+        final long[] use;
+        final long[] in;
+        final long[] out;
+
+        DataFlowSets(int instructions, int vars) {
+            words = (vars + 63) >>> 6;
+            def = new long[instructions * words];
+            use = new long[instructions * words];
+            in  = new long[instructions * words];
+            out = new long[instructions * words];
         }
+
+        static void add(long[] set, int base, int var) { set[base + (var >>> 6)] |= 1L << var; }
     }
 
     /* ------------------------------------------------------------------ *
-     * 2.  PUBLIC STATE (resultados)                                       *
+     * 2.  ANALYSIS PIPELINE                                               *
      * ------------------------------------------------------------------ */
-    private Map<String, Set<Integer>> liveRanges;         // var → pontos vivos
-    private RegisterClassInfo registerClasses;            // alias‑sets
-
-    /** devolve mapping var → representative (root) depois de analyse(). */
-    public Map<String,String> getRegisterClasses() {
-        Map<String,String> m = new HashMap<>();
-        registerClasses.parent.keySet()
-                .forEach(v -> m.put(v, registerClasses.cls(v)));
-        return m;
+    public LiveRanges analyze(org.specs.comp.ollir.Method method) {
+        return analyze(method, ControlFlowIndex.build(method));
     }
 
-    /** mapping completo varRoot → {members} (útil para debug/UI). */
-    public Map<String,Set<String>> getClassSets(){ return registerClasses.asClasses(); }
-
-    /* ------------------------------------------------------------------ *
-     * 3.  ANALYSIS PIPELINE                                               *
-     * ------------------------------------------------------------------ */
-    public Map<String, Set<Integer>> analyze(org.specs.comp.ollir.Method method) {
+    /** @param cfg  índice do CFG de {@code method}, partilhado com quem o chama */
+    public LiveRanges analyze(org.specs.comp.ollir.Method method, ControlFlowIndex cfg) {
 
-        log(LogLevel.INFO, "Analyse %s", method.getMethodName());
+        Log.debug(() -> "[Liveness] Analyse " + method.getMethodName());
         Instant t0 = Instant.now();
 
-        /* 3.1  LIVENESS BASE ******************************************** */
-        List<Instruction> instrs = method.getInstructions();
-        int N = instrs.size();
-        NodeInfo[] info = new NodeInfo[N];
-        for (int i = 0; i < N; i++) info[i] = new NodeInfo();
-
-        Set<String> vars = new HashSet<>(method.getVarTable().keySet());
-        vars.remove("this"); vars.remove("return");
+        /* 2.1  NUMERAÇÃO DAS VARIÁVEIS ************************************ */
+        // Variáveis analisadas primeiro (0..V-1); 'this'/'return' no fim, sempre com intervalo vazio
+        Set<String> names = new LinkedHashSet<>(method.getVarTable().keySet());
+        names.remove("this"); names.remove("return");
         method.getParams().stream()
                 .filter(Operand.class::isInstance)
                 .map(p -> ((Operand)p).getName())
-                .forEach(vars::add);
+                .forEach(names::add);
+        int V = names.size();
+        names.addAll(method.getVarTable().keySet());
+
+        String[] vars = names.toArray(new String[0]);
+        Map<String, Integer> ids = new HashMap<>(V * 2);
+        for (int v = 0; v < V; v++) ids.put(vars[v], v);
 
-        buildDefUse(instrs, info, vars);
-        int iters = iterateInOut(method, info);
-        liveRanges = toLiveRanges(info, vars);
+        /* 2.2  LIVENESS BASE ******************************************** */
+        List<Instruction> instrs = method.getInstructions();
+        int N = instrs.size();
+        DataFlowSets sets = new DataFlowSets(N, V);
+        buildDefUse(instrs, sets, ids);
+        int iters = solve(cfg, sets);
 
-        /* 3.2  COPY‑COALESCING ******************************************* */
-        registerClasses = new RegisterClassInfo(vars);
+        /* 2.3  CÓPIAS **************************************************** */
+        List<LiveRanges.Copy> copies = new ArrayList<>();
 
         for (int idx = 0; idx < N; idx++) {
             Instruction inst = instrs.get(idx);
             if (inst.getInstType() != InstructionType.ASSIGN) continue;
 
             AssignInstruction a = (AssignInstruction) inst;
+            if (a.getDest() instanceof ArrayOperand) continue;   // a[i] := y  não é cópia
             String dest = ((Operand)a.getDest()).getName();
 
             Instruction rhs = a.getRhs();
-            // copia simples  x := y     (SingleOp sobre Operand)
+            // copia simples  x := y     (SingleOp sobre Operand; y[i] não é cópia)
             if (rhs instanceof SingleOpInstruction ssi &&
-                    ssi.getSingleOperand() instanceof Operand op) {
+                    ssi.getSingleOperand() instanceof Operand op && !(op instanceof ArrayOperand)) {
 
-                String src = ((Operand)op).getName();
-                if (!vars.contains(src) || dest.equals(src)) continue;
+                Integer src = ids.get(op.getName()), dst = ids.get(dest);
+                if (src == null || dst == null || src.equals(dst)) continue;
 
-                // overlap check
-                if (Collections.disjoint(liveRanges.get(dest), liveRanges.get(src))) {
-                    log(LogLevel.TRACE, "Coalesce copy #%d   %s ← %s", idx,dest,src);
-                    registerClasses.union(dest, src);
-                } else {
-                    log(LogLevel.TRACE, "Cannot coalesce %s/%s : live‑ranges overlap", dest, src);
+                if (Log.isEnabled(LogLevel.TRACE)) {
+                    Log.trace("[Liveness] Copy #%d   %s ← %s".formatted(idx, dest, op.getName()));
                 }
+                copies.add(new LiveRanges.Copy(idx, dst, src));
             }
         }
 
-        /* 3.3  PARÂMETROS NÃO USADOS ************************************ */
-        for (Element p : method.getParams()) {
-            if (!(p instanceof Operand op)) continue;
-            String v = op.getName();
-            if (liveRanges.getOrDefault(v, Set.of()).isEmpty()) {
-                // garante classe própria — já está por defeito
-                log(LogLevel.TRACE, "Param %s never used: isolated register class", v);
-            }
-        }
-
-        // Garantir que todas as variáveis na varTable tenham um intervalo de vida
-        for (String varName : method.getVarTable().keySet()) {
-            if (!liveRanges.containsKey(varName)) {
-                liveRanges.put(varName, new HashSet<>());
-            }
-        }
+        LiveRanges liveRanges = toLiveRanges(sets, vars, N, copies);
 
-        log(LogLevel.INFO, "Finished in %d ms, %d iterations, %d classes",
+        Log.debug(() -> "[Liveness] Finished in %d ms, %d iterations, %d copies".formatted(
                 Duration.between(t0, Instant.now()).toMillis(),
                 iters,
-                registerClasses.asClasses().size());
+                copies.size()));
 
-        if (LOG_LEVEL == LogLevel.TRACE)
-            dumpDot(method, instrs, info);
+        if (Log.isEnabled(LogLevel.TRACE))
+            dumpDot(method, instrs, sets, vars, cfg);
 
         return liveRanges;
     }
 
     /* ------------------------------------------------------------------ *
-     * 4. BUILD DEF / USE                                                  *
+     * 3. BUILD DEF / USE                                                  *
      * ------------------------------------------------------------------ */
-    private void buildDefUse(List<Instruction> instrs, NodeInfo[] info, Set<String> vars) {
+    private void buildDefUse(List<Instruction> instrs, DataFlowSets sets, Map<String, Integer> ids) {
         for (int idx = 0; idx < instrs.size(); idx++) {
             Instruction inst = instrs.get(idx);
-            NodeInfo ni      = info[idx];
-
-            Consumer<Element> addUse = e -> {
-                if (e instanceof Operand op && vars.contains(op.getName()))
-                    ni.use.add(op.getName());
-            };
-            Consumer<Element> addDef = e -> {
-                if (e instanceof Operand op && vars.contains(op.getName()))
-                    ni.def.add(op.getName());
-            };
-
-            switch (inst.getInstType()) {
-                case ASSIGN -> {
-                    AssignInstruction a = (AssignInstruction) inst;
-                    addDef.accept(a.getDest());
-                    extractUses(a.getRhs(), addUse);
-                }
-                case BINARYOPER -> {
-                    BinaryOpInstruction b = (BinaryOpInstruction) inst;
-                    addUse.accept(b.getLeftOperand());
-                    addUse.accept(b.getRightOperand());
-                }
-                case UNARYOPER -> reflectUnaryOperand((UnaryOpInstruction) inst)
-                        .ifPresent(addUse);
-                case CALL -> fetchCallOperands((CallInstruction) inst)
-                        .forEach(addUse);
-                case PUTFIELD, GETFIELD ->
-                        reflectFieldOperands(inst).forEach(addUse);
-                case BRANCH -> reflectCondCondition((CondBranchInstruction) inst)
-                        .ifPresent(cond -> extractUses(cond, addUse));
-                case RETURN -> {
-                    ReturnInstruction r = (ReturnInstruction) inst;
-                    if (r.hasReturnValue()) r.getOperand().ifPresent(addUse);
-                }
-                default -> {/* GOTO / NOPER */}
-            }
-        }
-    }
+            int base         = idx * sets.words;
 
-    /* ------------------------------------------------------------------ *
-     * 5. DATA‑FLOW ITERATION                                              *
-     * ------------------------------------------------------------------ */
-    private int iterateInOut(org.specs.comp.ollir.Method m, NodeInfo[] info) {
-        List<Instruction> instrs = m.getInstructions();
-        int N = instrs.size(), iter = 0; boolean changed;
-        do {
-            changed = false; iter++;
-            for (int i = N-1; i>=0; i--) {
-                NodeInfo ni = info[i];
-                Set<String> newOut = new HashSet<>();
-                for (int s : successors(m,i)) newOut.addAll(info[s].in);
-                Set<String> newIn = new HashSet<>(ni.use);
-                newOut.stream().filter(v->!ni.def.contains(v)).forEach(newIn::add);
-                if (!ni.out.equals(newOut)) { ni.out.clear(); ni.out.addAll(newOut); changed=true; }
-                if (!ni.in .equals(newIn )) { ni.in .clear(); ni.in .addAll(newIn ); changed=true; }
-            }
-        } while (changed);
-        return iter;
-    }
+            // a[i] := x  usa 'a' e 'i', não os redefine; o InstructionUses já os inclui
+            if (inst instanceof AssignInstruction a && !(a.getDest() instanceof ArrayOperand)
+                    && a.getDest() instanceof Operand op && ids.containsKey(op.getName()))
+                DataFlowSets.add(sets.def, base, ids.get(op.getName()));
 
-    /* ------------------------------------------------------------------ *
-     * 6. LIVE‑RANGE                                                   *
-     * ------------------------------------------------------------------ */
-    private Map<String, Set<Integer>> toLiveRanges(NodeInfo[] info, Set<String> vars){
-        Map<String, Set<Integer>> map=new HashMap<>();
-        vars.forEach(v->map.put(v,new HashSet<>()));
-        for (int i=0;i<info.length;i++){
-            int id=i;
-            info[i].in .forEach(v->map.get(v).add(id));
-            info[i].out.forEach(v->map.get(v).add(id));
+            InstructionUses.forEachOperand(inst, op -> {
+                Integer v = ids.get(op.getName());
+                if (v != null) DataFlowSets.add(sets.use, base, v);
+            });
         }
-        return map;
     }
 
     /* ------------------------------------------------------------------ *
-     * 7. DOT DUMP (opcional)                                              *
+     * 4. DATA‑FLOW (worklist sobre blocos básicos)                        *
      * ------------------------------------------------------------------ */
-    private void dumpDot(org.specs.comp.ollir.Method m, List<Instruction> instrs, NodeInfo[] info){
-        try(BufferedWriter bw = Files.newBufferedWriter(Path.of(m.getMethodName()+"_liveness.dot"));
-            PrintWriter w = new PrintWriter(bw)){
-            w.write("digraph CFG {\n  node [shape=box,fontname=\"monospace\",fontsize=10];\n");
-            for(int i=0;i<instrs.size();i++){
-                NodeInfo ni=info[i];
-                String lab=("%d: %s\\ldef=%s\\luse=%s\\lin=%s\\lout=%s"
-                        .formatted(i,instrs.get(i),ni.def,ni.use,ni.in,ni.out))
-                        .replace("\"","\\\"");
-                w.write("  n%d [label=\"%s\"];\n".formatted(i,lab));
-            }
-            for(int i=0;i<instrs.size();i++)
-                for(int s:successors(m,i)) w.write("  n%d -> n%d;\n".formatted(i,s));
-            w.write("}\n");
-            log(LogLevel.INFO,"DOT written");
-        }catch(Exception e){log(LogLevel.INFO,"DOT fail: %s",e.getMessage());}
-    }
-
-    /* ------------------------------------------------------------------ *
-     * 8. Helpers: USE extraction, reflection, successors                  *
-     * ------------------------------------------------------------------ */
-    private void extractUses(Instruction inst, Consumer<Element> addUse){
-        if(inst==null)return;
-        switch(inst.getInstType()){
-            case BINARYOPER->{
-                BinaryOpInstruction b=(BinaryOpInstruction)inst;
-                addUse.accept(b.getLeftOperand()); addUse.accept(b.getRightOperand());
+    /**
+     * Por bloco:  gen = usos antes de qualquer def ; kill = defs
+     *             out[b] = ∪ in[s]   ;   in[b] = gen[b] ∪ (out[b] − kill[b])
+     * Cada ronda percorre os blocos pendentes em reverse‑postorder do CFG
+     * invertido; quando in[b] muda, os predecessores de b ficam pendentes.
+     *
+     * @return número de rondas até ao fix‑point
+     */
+    private int solve(ControlFlowIndex cfg, DataFlowSets sets) {
+        int B = cfg.getBlockCount(), W = sets.words;
+        long[] def = sets.def, use = sets.use, in = sets.in, out = sets.out;
+        long[] gen = new long[B * W], kill = new long[B * W];
+        long[] blockIn = new long[B * W], blockOut = new long[B * W];
+
+        for (int b = 0; b < B; b++) {
+            for (int i = cfg.getBlockEnd(b) - 1; i >= cfg.getBlockStart(b); i--) {
+                for (int w = 0; w < W; w++) {
+                    gen [b*W + w] = use[i*W + w] | (gen[b*W + w] & ~def[i*W + w]);
+                    kill[b*W + w] |= def[i*W + w];
+                }
             }
-            case UNARYOPER->reflectUnaryOperand((UnaryOpInstruction)inst).ifPresent(addUse);
-            case CALL->fetchCallOperands((CallInstruction)inst).forEach(addUse);
-            case ASSIGN->extractUses(((AssignInstruction)inst).getRhs(),addUse);
-            case PUTFIELD,GETFIELD->reflectFieldOperands(inst).forEach(addUse);
-            default->{}
         }
-    }
-
-    private Optional<Element> reflectUnaryOperand(UnaryOpInstruction u){
-        for(String m:List.of("getRightOperand","getOperand"))
-            try{ java.lang.reflect.Method mm=u.getClass().getMethod(m);
-                return Optional.ofNullable((Element) mm.invoke(u)); }
-            catch(Exception ignored){}
-        return Optional.empty();
-    }
 
-    private List<Element> reflectFieldOperands(Object f) {
-        List<Element> operands = new ArrayList<>();
-        try {
-            if (f instanceof GetFieldInstruction g) {
-                // Usar reflection para obter o operando
-                try {
-                    java.lang.reflect.Method m = g.getClass().getMethod("getObjectOperand");
-                    Element operand = (Element) m.invoke(g);
-                    if (operand != null) operands.add(operand);
-                } catch (Exception e) {
-                    // Tentar métodos alternativos
-                    for (String methodName : List.of("getOperand", "getSelfOperand", "getFieldOperand")) {
-                        try {
-                            java.lang.reflect.Method m = g.getClass().getMethod(methodName);
-                            Element operand = (Element) m.invoke(g);
-                            if (operand != null) {
-                                operands.add(operand);
-                                break;
-                            }
-                        } catch (Exception ignored) {}
-                    }
+        int[] order = reverseCfgPostorder(cfg);
+        boolean[] pending = new boolean[B];
+        Arrays.fill(pending, true);
+        int remaining = B, rounds = 0, visits = 0;
+
+        while (remaining > 0) {
+            rounds++;
+            for (int b : order) {
+                if (!pending[b]) continue;
+                pending[b] = false; remaining--; visits++;
+
+                boolean changed = false;
+                for (int w = 0; w < W; w++) {
+                    long newOut = 0;
+                    for (int s : cfg.getBlockSuccessors(b)) newOut |= blockIn[s*W + w];
+                    blockOut[b*W + w] = newOut;
+                    long newIn = gen[b*W + w] | (newOut & ~kill[b*W + w]);
+                    if (blockIn[b*W + w] != newIn) { blockIn[b*W + w] = newIn; changed = true; }
                 }
-                return operands;
-            }
 
-            if (f instanceof PutFieldInstruction p) {
-                // Tentar obter os operandos via reflection
-                try {
-                    java.lang.reflect.Method objM = p.getClass().getMethod("getObjectOperand");
-                    Element objOperand = (Element) objM.invoke(p);
-                    if (objOperand != null) operands.add(objOperand);
-
-                    java.lang.reflect.Method valM = p.getClass().getMethod("getValueOperand");
-                    Element valOperand = (Element) valM.invoke(p);
-                    if (valOperand != null) operands.add(valOperand);
-                } catch (Exception e) {
-                    // Tentar métodos alternativos
-                    for (int i = 1; i <= 2; i++) {
-                        try {
-                            java.lang.reflect.Method m = p.getClass().getMethod("getOperand" + i);
-                            Element operand = (Element) m.invoke(p);
-                            if (operand != null) operands.add(operand);
-                        } catch (Exception ignored) {}
-                    }
-                }
-                return operands;
+                if (changed)
+                    for (int p : cfg.getBlockPredecessors(b))
+                        if (!pending[p]) { pending[p] = true; remaining++; }
             }
-        } catch (Exception ignored) {}
-        return operands;
-    }
+        }
 
-    private Optional<Instruction> reflectCondCondition(CondBranchInstruction cb) {
-        try {
-            return Optional.ofNullable(cb.getCondition());
-        } catch (Exception ignored) {
-            // Tentar usar reflection para obter a condição
-            try {
-                java.lang.reflect.Method m = cb.getClass().getMethod("getConditionInstruction");
-                return Optional.ofNullable((Instruction) m.invoke(cb));
-            } catch (Exception e) {
-                return Optional.empty();
+        // Expandir para cada instrução: out[i] = in[i+1] dentro do bloco
+        for (int b = 0; b < B; b++) {
+            int end = cfg.getBlockEnd(b);
+            for (int i = end - 1; i >= cfg.getBlockStart(b); i--) {
+                for (int w = 0; w < W; w++) {
+                    long o = i == end - 1 ? blockOut[b*W + w] : in[(i+1)*W + w];
+                    out[i*W + w] = o;
+                    in [i*W + w] = use[i*W + w] | (o & ~def[i*W + w]);
+                }
             }
         }
-    }
 
-    private List<Element> fetchCallOperands(CallInstruction c) {
-        List<Element> operands = new ArrayList<>();
-        try {
-            // Tentar diferentes métodos para obter o primeiro argumento
-            for (String methodName : List.of("getInvokeObject", "getFirstArg", "getCallerObject", "getFirstOperand")) {
-                try {
-                    java.lang.reflect.Method m = c.getClass().getMethod(methodName);
-                    Element first = (Element) m.invoke(c);
-                    if (first != null) {
-                        operands.add(first);
-                        break;
-                    }
-                } catch (Exception ignored) {}
-            }
+        CompilerMetrics.count("blocks", B);
+        CompilerMetrics.count("iterations", rounds);
+        CompilerMetrics.count("visits", visits);
+        return rounds;
+    }
 
-            // Obter os argumentos através do método getArguments() ou similar
-            for (String methodName : List.of("getArguments", "getParams", "getCallArgs")) {
-                try {
-                    java.lang.reflect.Method argsMethod = c.getClass().getMethod(methodName);
-                    Object args = argsMethod.invoke(c);
-                    if (args instanceof List) {
-                        for (Object arg : (List<?>) args) {
-                            if (arg instanceof Element) {
-                                operands.add((Element) arg);
-                            }
-                        }
-                        return operands;
+    /**
+     * Reverse‑postorder do CFG invertido (DFS pelos predecessores a partir das
+     * saídas): cada bloco aparece antes dos seus predecessores, excepto nas
+     * arestas de retorno dos ciclos. Blocos sem caminho para uma saída (ciclos
+     * infinitos) são visitados no fim.
+     */
+    private static int[] reverseCfgPostorder(ControlFlowIndex cfg) {
+        int B = cfg.getBlockCount();
+        int[] postorder = new int[B];
+        int done = 0;
+
+        boolean[] seen = new boolean[B];
+        int[] stack = new int[B], edge = new int[B];
+
+        for (int pass = 0; pass < 2; pass++) {
+            for (int root = B - 1; root >= 0; root--) {
+                boolean exit = cfg.getBlockSuccessors(root).length == 0;
+                if (seen[root] || (pass == 0 && !exit)) continue;
+
+                int top = 0;
+                stack[0] = root; edge[0] = 0; seen[root] = true;
+                while (top >= 0) {
+                    int[] preds = cfg.getBlockPredecessors(stack[top]);
+                    if (edge[top] < preds.length) {
+                        int p = preds[edge[top]++];
+                        if (!seen[p]) { seen[p] = true; stack[++top] = p; edge[top] = 0; }
+                    } else {
+                        postorder[done++] = stack[top--];
                     }
-                } catch (Exception ignored) {}
+                }
             }
+        }
 
-            // Se não conseguiu com nenhum método específico, tentar um método genérico
-            try {
-                java.lang.reflect.Method countMethod = c.getClass().getMethod("getNumOperands");
-                int count = (int) countMethod.invoke(c);
-                for (int i = 0; i < count; i++) {
-                    try {
-                        java.lang.reflect.Method getMethod = c.getClass().getMethod("getOperand", int.class);
-                        Element arg = (Element) getMethod.invoke(c, i);
-                        if (arg != null) operands.add(arg);
-                    } catch (Exception ignored) {}
-                }
-            } catch (Exception ignored) {}
-        } catch (Exception ignored) {}
-        return operands;
+        int[] order = new int[B];
+        for (int k = 0; k < B; k++) order[k] = postorder[B - 1 - k];
+        return order;
     }
 
-    private List<Integer> successors(org.specs.comp.ollir.Method m, int idx) {
-        List<Integer> succ = new ArrayList<>();
-        Instruction inst = m.getInstructions().get(idx);
+    /* ------------------------------------------------------------------ *
+     * 5. LIVE‑RANGE                                                   *
+     * ------------------------------------------------------------------ */
+    /**
+     * Transpõe in ∪ out ∪ def (instrução → vars) para pontos vivos (var → instruções).
+     * O def conta mesmo se o valor nunca for lido: a escrita ocupa um registo
+     * nesse ponto e não pode ir para o de uma variável viva.
+     * DEF, USE e out são transpostos da mesma forma.
+     */
+    private LiveRanges toLiveRanges(DataFlowSets sets, String[] vars, int N, List<LiveRanges.Copy> copies){
+        int W = sets.words;
+        long[] live = new long[N * W];
+        for (int k = 0; k < live.length; k++) live[k] = sets.in[k] | sets.out[k] | sets.def[k];
+
+        return new LiveRanges(vars, transpose(live, W, vars.length, N), transpose(sets.def, W, vars.length, N),
+                transpose(sets.use, W, vars.length, N), transpose(sets.out, W, vars.length, N), copies);
+    }
 
-        // Adicionar o próximo na sequência, a menos que seja um return ou goto incondicional
-        InstructionType type = inst.getInstType();
-        if (type != InstructionType.RETURN && !(type == InstructionType.GOTO && !(inst instanceof CondBranchInstruction))) {
-            if (idx + 1 < m.getInstructions().size())
-                succ.add(idx + 1);
-        }
+    private static BitSet[] transpose(long[] set, int W, int vars, int N){
+        BitSet[] byVar = new BitSet[vars];
+        for (int v = 0; v < vars; v++) byVar[v] = new BitSet(N);
 
-        // Adicionar destinos de branch
-        if (type == InstructionType.GOTO) {
-            GotoInstruction g = (GotoInstruction) inst;
-            int target = findLabel(m, g.getLabel());
-            if (target >= 0) succ.add(target);
-        } else if (type == InstructionType.BRANCH) {
-            CondBranchInstruction cb = (CondBranchInstruction) inst;
-            int target = findLabel(m, cb.getLabel());
-            if (target >= 0) succ.add(target);
+        for (int i = 0; i < N; i++) {
+            for (int w = 0; w < W; w++) {
+                for (long bits = set[i * W + w]; bits != 0; bits &= bits - 1) {
+                    byVar[(w << 6) + Long.numberOfTrailingZeros(bits)].set(i);
+                }
+            }
         }
-
-        return succ;
+        return byVar;
     }
 
-    private int findLabel(org.specs.comp.ollir.Method m, String l) {
-        List<Instruction> instrs = m.getInstructions();
-        for (int i = 0; i < instrs.size(); i++) {
-            Instruction inst = instrs.get(i);
-            // Verificar se o tipo da instrução representa um label
-            try {
-                // Como InstructionType.LABEL não está disponível, vamos tentar verificar pelo nome ou classe
-                if (inst.getClass().getSimpleName().contains("Label") ||
-                        inst.getInstType().toString().equals("LABEL")) {
-
-                    // Tentar obter o label usando reflection
-                    for (String methodName : List.of("getLabel", "getLabelName", "getName")) {
-                        try {
-                            java.lang.reflect.Method labelMethod = inst.getClass().getMethod(methodName);
-                            String label = (String) labelMethod.invoke(inst);
-                            if (l.equals(label)) return i;
-                        } catch (Exception ignored) {}
-                    }
+    /* ------------------------------------------------------------------ *
+     * 6. DOT DUMP (opcional)                                              *
+     * ------------------------------------------------------------------ */
+    private void dumpDot(org.specs.comp.ollir.Method m, List<Instruction> instrs, DataFlowSets sets,
+                         String[] vars, ControlFlowIndex cfg){
+        try(BufferedWriter bw = Files.newBufferedWriter(Path.of(m.getMethodName()+"_liveness.dot"));
+            PrintWriter w = new PrintWriter(bw)){
+            w.write("digraph CFG {\n  node [shape=box,fontname=\"monospace\",fontsize=10];\n");
+            for(int i=0;i<instrs.size();i++){
+                int base=i*sets.words;
+                String lab=("%d: %s\\ldef=%s\\luse=%s\\lin=%s\\lout=%s"
+                        .formatted(i,instrs.get(i),
+                                names(sets.def,base,sets.words,vars),names(sets.use,base,sets.words,vars),
+                                names(sets.in,base,sets.words,vars),names(sets.out,base,sets.words,vars)))
+                        .replace("\"","\\\"");
+                w.write("  n%d [label=\"%s\"];\n".formatted(i,lab));
+            }
+            for(int i=0;i<instrs.size();i++)
+                for(int s:cfg.getSuccessors(i)) w.write("  n%d -> n%d;\n".formatted(i,s));
+            w.write("}\n");
+            Log.debug("[Liveness] DOT written");
+        }catch(Exception e){Log.debug(() -> "[Liveness] DOT fail: " + e.getMessage());}
+    }
 
-                    // Fallback: tentar encontrar qualquer método que retorne String sem parâmetros
-                    for (java.lang.reflect.Method method : inst.getClass().getMethods()) {
-                        if (method.getReturnType() == String.class &&
-                                method.getParameterCount() == 0 &&
-                                !method.getName().equals("toString")) {
-                            try {
-                                String label = (String) method.invoke(inst);
-                                if (l.equals(label)) return i;
-                            } catch (Exception ignored) {}
-                        }
-                    }
-                }
-            } catch (Exception ignored) {}
-        }
-        return -1;
+    private static List<String> names(long[] set, int base, int words, String[] vars){
+        List<String> names=new ArrayList<>();
+        for(int w=0;w<words;w++)
+            for(long bits=set[base+w];bits!=0;bits&=bits-1)
+                names.add(vars[(w<<6)+Long.numberOfTrailingZeros(bits)]);
+        return names;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,265 @@
+package pt.up.fe.comp2025.optimization.register.coloring;
+
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.optimization.register.analysis.InterferenceGraph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Exact coloring with the fewest registers, by branch and bound over DSatur (Brélaz; Sewell).
+ * <p>
+ * The DSatur coloring is the first upper bound, and the largest clique found greedily is the lower bound. The search
+ * colors next the node whose neighbours have the most distinct colors, trying each color in use and one new color, and
+ * drops any branch that cannot beat the best coloring found so far. It stops when a coloring reaches the lower bound,
+ * which proves it minimal, or when it runs out of search nodes or time, keeping the best coloring found.
+ * <p>
+ * Since the search is exponential in the worst case, graphs with more uncolored nodes than the given limit get the
+ * DSatur coloring directly. As in the other strategies, 'this' conflicts with every node.
+ */
+public class ExactColoringStrategy implements GraphColoringStrategy {
+
+    private final GraphColoringStrategy heuristic = new DSaturColoringStrategy();
+
+    private final int maxNodes;
+    private final long nodeBudget;
+    private final long budgetNanos;
+
+    /**
+     * @param maxNodes    Largest number of uncolored nodes searched exactly, larger graphs are colored with DSatur
+     * @param nodeBudget  Largest number of search nodes visited per graph
+     * @param budgetNanos Time the search may take per graph, in nanoseconds
+     */
+    public ExactColoringStrategy(int maxNodes, long nodeBudget, long budgetNanos) {
+        this.maxNodes = maxNodes;
+        this.nodeBudget = nodeBudget;
+        this.budgetNanos = budgetNanos;
+    }
+
+    @Override
+    public int[] color(InterferenceGraph graph, int[] precolored) {
+        int[] initial = heuristic.color(graph, precolored);
+
+        long free = Arrays.stream(precolored).filter(color -> color < 0).count();
+        if (free > maxNodes) {
+            Log.debug(() -> "Exact coloring skipped, " + free + " nodes to color");
+            return initial;
+        }
+
+        Search search = new Search(graph, precolored, initial);
+        int[] coloring = search.run();
+
+        Log.debug(() -> "Exact coloring: " + search.best + " colors (DSatur " + search.heuristicColors
+                + ", lower bound " + search.lowerBound + ", " + search.visited + " search nodes"
+                + (search.exhausted ? ", budget exhausted)" : ")"));
+        return coloring;
+    }
+
+    @Override
+    public int[] colorLimited(InterferenceGraph graph, int maxColors) {
+        int[] precolored = new int[graph.size()];
+        Arrays.fill(precolored, -1);
+        int[] coloring = color(graph, precolored);
+        int colors = Arrays.stream(coloring).max().orElse(-1) + 1;
+        if (colors > maxColors) {
+            throw new RuntimeException("Cannot color graph with " + maxColors + " colors, needs " + colors);
+        }
+        return coloring;
+    }
+
+    /**
+     * State of the search on one graph, with the nodes numbered as in the graph.
+     */
+    private final class Search {
+
+        private final int size;
+        private final int[][] neighbors;
+        private final BitSet[] adjacent;
+
+        private final int[] color;
+        private final int[] saturation;
+        // Number of neighbours of each node with each color, up to the colors of the initial coloring
+        private final int[][] neighborColors;
+
+        private final int[] bestColor;
+        private final int heuristicColors;
+        private final int lowerBound;
+        private int best;
+
+        private final long start = System.nanoTime();
+        private long visited;
+        private boolean exhausted;
+
+        Search(InterferenceGraph graph, int[] precolored, int[] initial) {
+            size = graph.size();
+
+            // 'this' is adjacent to every node
+            int self = graph.indexOf("this");
+            adjacent = new BitSet[size];
+            for (int node = 0; node < size; node++) {
+                adjacent[node] = new BitSet(size);
+                for (int neighbor : graph.getNeighbors(node)) {
+                    adjacent[node].set(neighbor);
+                }
+            }
+            if (self >= 0) {
+                adjacent[self].set(0, size);
+                adjacent[self].clear(self);
+                for (int node = 0; node < size; node++) {
+                    if (node != self) {
+                        adjacent[node].set(self);
+                    }
+                }
+            }
+
+            neighbors = new int[size][];
+            for (int node = 0; node < size; node++) {
+                neighbors[node] = adjacent[node].stream().toArray();
+            }
+
+            bestColor = initial.clone();
+            heuristicColors = Arrays.stream(bestColor).max().orElse(-1) + 1;
+            best = heuristicColors;
+
+            color = new int[size];
+            Arrays.fill(color, -1);
+            saturation = new int[size];
+            neighborColors = new int[size][Math.max(best, 1)];
+
+            int fixedColors = 0;
+            for (int node = 0; node < size; node++) {
+                int fixed = precolored[node];
+                if (fixed < 0 && node == self) {
+                    fixed = initial[self];
+                }
+                if (fixed >= 0) {
+                    assign(node, fixed);
+                    fixedColors = Math.max(fixedColors, fixed + 1);
+                }
+            }
+            lowerBound = Math.max(fixedColors, largestClique());
+        }
+
+        int[] run() {
+            int colored = 0;
+            int used = 0;
+            for (int node = 0; node < size; node++) {
+                if (color[node] >= 0) {
+                    colored++;
+                    used = Math.max(used, color[node] + 1);
+                }
+            }
+
+            if (best > lowerBound) {
+                search(colored, used);
+            }
+
+            return bestColor;
+        }
+
+        /**
+         * @return True to stop the search, because the lower bound was reached or the budget exhausted
+         */
+        private boolean search(int colored, int used) {
+            if (++visited > nodeBudget || ((visited & 1023) == 0 && System.nanoTime() - start > budgetNanos)) {
+                exhausted = true;
+                return true;
+            }
+
+            if (colored == size) {
+                best = used;
+                System.arraycopy(color, 0, bestColor, 0, size);
+                return best <= lowerBound;
+            }
+
+            int node = nextNode();
+            // Colors that keep this branch below the best coloring, including one new color
+            int limit = Math.min(used, best - 2);
+            for (int c = 0; c <= limit; c++) {
+                if (neighborColors[node][c] > 0) {
+                    continue;
+                }
+
+                assign(node, c);
+                boolean stop = search(colored + 1, Math.max(used, c + 1));
+                unassign(node, c);
+                if (stop) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * The uncolored node with the most distinct colors among its neighbours, then with the most uncolored
+         * neighbours.
+         */
+        private int nextNode() {
+            int chosen = -1;
+            int chosenDegree = -1;
+            for (int node = 0; node < size; node++) {
+                if (color[node] >= 0 || (chosen >= 0 && saturation[node] < saturation[chosen])) {
+                    continue;
+                }
+
+                int degree = 0;
+                for (int neighbor : neighbors[node]) {
+                    if (color[neighbor] < 0) {
+                        degree++;
+                    }
+                }
+                if (chosen < 0 || saturation[node] > saturation[chosen] || degree > chosenDegree) {
+                    chosen = node;
+                    chosenDegree = degree;
+                }
+            }
+            return chosen;
+        }
+
+        private void assign(int node, int c) {
+            color[node] = c;
+            for (int neighbor : neighbors[node]) {
+                if (neighborColors[neighbor][c]++ == 0) {
+                    saturation[neighbor]++;
+                }
+            }
+        }
+
+        private void unassign(int node, int c) {
+            color[node] = -1;
+            for (int neighbor : neighbors[node]) {
+                if (--neighborColors[neighbor][c] == 0) {
+                    saturation[neighbor]--;
+                }
+            }
+        }
+
+        /**
+         * Size of the largest clique found by growing one from each node, adding the candidates with the most
+         * neighbours among the remaining candidates first.
+         */
+        private int largestClique() {
+            int largest = size == 0 ? 0 : 1;
+            for (int seed = 0; seed < size; seed++) {
+                BitSet candidates = (BitSet) adjacent[seed].clone();
+                int size = 1;
+                while (!candidates.isEmpty()) {
+                    int next = -1;
+                    int nextDegree = -1;
+                    for (int node = candidates.nextSetBit(0); node >= 0; node = candidates.nextSetBit(node + 1)) {
+                        BitSet common = (BitSet) adjacent[node].clone();
+                        common.and(candidates);
+                        if (common.cardinality() > nextDegree) {
+                            next = node;
+                            nextDegree = common.cardinality();
+                        }
+                    }
+                    candidates.and(adjacent[next]);
+                    size++;
+                }
+                largest = Math.max(largest, size);
+            }
+            return largest;
+        }
+    }
+}
@@ -1,30 +1,92 @@
 package pt.up.fe.comp2025.optimization.register.coloring;
 
+import pt.up.fe.comp2025.optimization.register.analysis.InterferenceGraph;
+
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Interface for graph coloring algorithms used in register allocation.
  * Follows the Strategy pattern to allow different coloring implementations.
+ * <p>
+ * Strategies work on the variable numbers of the {@link InterferenceGraph} and return a color per number; names are
+ * only looked up when converting from and to the maps of {@link #colorGraph(InterferenceGraph, Map)}. As in the other
+ * strategies, 'this' conflicts with every node, so its color is not given to any other.
  */
 public interface GraphColoringStrategy {
 
     /**
-     * Colors a graph using the minimum number of colors possible.
+     * Colors a graph using the minimum number of colors possible, keeping the colors of some nodes fixed.
      *
-     * @param graph The interference graph as an adjacency list
-     * @return A mapping from node names to color numbers (registers)
+     * @param graph The interference graph
+     * @param precolored The fixed color of each node (e.g., 'this' and the parameters), or -1 for the nodes to color
+     * @return The color of each node
      */
-    Map<String, Integer> colorGraph(Map<String, Set<String>> graph);
+    int[] color(InterferenceGraph graph, int[] precolored);
 
     /**
      * Colors a graph using at most maxColors colors.
-     * Throws an exception if not possible.
      *
-     * @param graph The interference graph as an adjacency list
+     * @param graph The interference graph
      * @param maxColors The maximum number of colors to use
-     * @return A mapping from node names to color numbers (registers)
+     * @return The color of each node
      * @throws RuntimeException if the graph cannot be colored with maxColors
      */
-    Map<String, Integer> colorGraphLimited(Map<String, Set<String>> graph, int maxColors);
-}
\ No newline at end of file
+    int[] colorLimited(InterferenceGraph graph, int maxColors);
+
+    /**
+     * Colors a graph using the minimum number of colors possible.
+     *
+     * @return A mapping from node names to color numbers (registers)
+     */
+    default Map<String, Integer> colorGraph(InterferenceGraph graph) {
+        return colorGraph(graph, Map.of());
+    }
+
+    /**
+     * Colors a graph using the minimum number of colors possible, keeping the colors of some nodes fixed.
+     *
+     * @param precolored Nodes whose color is fixed (e.g., 'this' and the parameters), kept as given
+     * @return A mapping from node names to color numbers (registers)
+     */
+    default Map<String, Integer> colorGraph(InterferenceGraph graph, Map<String, Integer> precolored) {
+        int[] fixed = new int[graph.size()];
+        Arrays.fill(fixed, -1);
+        precolored.forEach((variable, color) -> {
+            int node = graph.indexOf(variable);
+            if (node >= 0) {
+                fixed[node] = color;
+            }
+        });
+
+        int[] colors = color(graph, fixed);
+        Map<String, Integer> coloring = new HashMap<>(colors.length * 2);
+        for (int node = 0; node < colors.length; node++) {
+            coloring.put(graph.getVariable(node), colors[node]);
+        }
+        return coloring;
+    }
+
+    /**
+     * Copies the fixed colors and gives 'this' its color, register 0 unless fixed otherwise.
+     *
+     * @return The colors to fill, -1 for the nodes still to color
+     */
+    static int[] initialColors(InterferenceGraph graph, int[] precolored) {
+        int[] colors = Arrays.copyOf(precolored, graph.size());
+        int self = graph.indexOf("this");
+        if (self >= 0 && colors[self] < 0) {
+            colors[self] = 0;
+        }
+        return colors;
+    }
+
+    /**
+     * @return The color of 'this', which no other node may take, or -1 if the graph has no 'this'
+     */
+    static int blockedColor(InterferenceGraph graph, int[] colors) {
+        int self = graph.indexOf("this");
+        return self >= 0 ? colors[self] : -1;
+    }
+}
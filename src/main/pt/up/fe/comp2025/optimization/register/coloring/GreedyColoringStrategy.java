@@ -0,0 +1,161 @@
+package pt.up.fe.comp2025.optimization.register.coloring;
+
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.optimization.register.analysis.InterferenceGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Sequential greedy coloring: nodes are visited in a fixed order and each gets the lowest color none of its colored
+ * neighbours has.
+ * <p>
+ * The order decides how many colors are used. Largest first (Welsh and Powell) visits the nodes by decreasing
+ * degree. Smallest last (Matula and Beck) repeatedly removes a node of minimum degree from the graph and colors them
+ * in the reverse order of removal, which never uses more than one color above the degeneracy of the graph. Both run
+ * in time linear on the size of the graph apart from sorting, without the saturation bookkeeping of DSatur.
+ */
+public class GreedyColoringStrategy implements GraphColoringStrategy {
+
+    /**
+     * The order in which nodes are colored.
+     */
+    public enum Order {
+        LARGEST_FIRST,
+        SMALLEST_LAST
+    }
+
+    private final Order order;
+
+    public GreedyColoringStrategy(Order order) {
+        this.order = order;
+    }
+
+    @Override
+    public int[] color(InterferenceGraph graph, int[] precolored) {
+        int[] colors = color(graph, GraphColoringStrategy.initialColors(graph, precolored), Integer.MAX_VALUE);
+
+        Log.debug(() -> "Greedy coloring (" + order + ") used " + (Arrays.stream(colors).max().orElse(-1) + 1)
+                + " colors for " + colors.length + " nodes");
+        return colors;
+    }
+
+    @Override
+    public int[] colorLimited(InterferenceGraph graph, int maxColors) {
+        int[] precolored = new int[graph.size()];
+        Arrays.fill(precolored, -1);
+        return color(graph, GraphColoringStrategy.initialColors(graph, precolored), maxColors);
+    }
+
+    private int[] color(InterferenceGraph graph, int[] colors, int maxColors) {
+        // 'this' interferes with every variable, so its register is never given to another
+        int blocked = GraphColoringStrategy.blockedColor(graph, colors);
+
+        BitSet used = new BitSet();
+        for (int node : order(graph, colors)) {
+            used.clear();
+            if (blocked >= 0) {
+                used.set(blocked);
+            }
+            for (int neighbor : graph.getNeighbors(node)) {
+                if (colors[neighbor] >= 0) {
+                    used.set(colors[neighbor]);
+                }
+            }
+
+            int color = used.nextClearBit(0);
+            if (color >= maxColors) {
+                throw new RuntimeException("Cannot color node " + graph.getVariable(node) + " with " + maxColors
+                        + " colors");
+            }
+            colors[node] = color;
+        }
+
+        return colors;
+    }
+
+    /**
+     * @return The nodes that are not colored yet, in the order they should be colored
+     */
+    private int[] order(InterferenceGraph graph, int[] colors) {
+        // Sorting by name first keeps the result independent of the numbering of the graph
+        Integer[] nodes = IntStream.range(0, graph.size())
+                .filter(node -> colors[node] < 0)
+                .boxed()
+                .sorted(Comparator.comparing(graph::getVariable))
+                .toArray(Integer[]::new);
+
+        if (order == Order.LARGEST_FIRST) {
+            Arrays.sort(nodes, Comparator.comparingInt((Integer node) -> graph.getDegree(node)).reversed());
+            return Arrays.stream(nodes).mapToInt(Integer::intValue).toArray();
+        }
+
+        return smallestLast(graph, colors, nodes);
+    }
+
+    /**
+     * Removes nodes of minimum degree one at a time, keeping the nodes in buckets by their degree among the nodes
+     * not removed yet, and returns them in the reverse order of removal.
+     */
+    private static int[] smallestLast(InterferenceGraph graph, int[] colors, Integer[] nodes) {
+        // Degree among the uncolored nodes not removed yet, -1 for the others
+        int[] degree = new int[graph.size()];
+        Arrays.fill(degree, -1);
+        for (int node : nodes) {
+            degree[node] = 0;
+        }
+
+        int maxDegree = 0;
+        for (int node : nodes) {
+            int count = 0;
+            for (int neighbor : graph.getNeighbors(node)) {
+                if (colors[neighbor] < 0) {
+                    count++;
+                }
+            }
+            degree[node] = count;
+            maxDegree = Math.max(maxDegree, count);
+        }
+
+        List<Set<Integer>> buckets = new ArrayList<>(maxDegree + 1);
+        for (int d = 0; d <= maxDegree; d++) {
+            buckets.add(new LinkedHashSet<>());
+        }
+        for (int node : nodes) {
+            buckets.get(degree[node]).add(node);
+        }
+
+        int[] removed = new int[nodes.length];
+        int lowest = 0;
+        for (int i = removed.length - 1; i >= 0; i--) {
+            // Removing a node lowers the degree of its neighbours by one, so the minimum drops by at most one
+            lowest = Math.max(0, lowest - 1);
+            while (buckets.get(lowest).isEmpty()) {
+                lowest++;
+            }
+
+            var bucket = buckets.get(lowest).iterator();
+            int node = bucket.next();
+            bucket.remove();
+            degree[node] = -1;
+            removed[i] = node;
+
+            for (int neighbor : graph.getNeighbors(node)) {
+                int count = degree[neighbor];
+                if (count > 0) {
+                    buckets.get(count).remove(neighbor);
+                    buckets.get(count - 1).add(neighbor);
+                    degree[neighbor] = count - 1;
+                }
+            }
+        }
+
+        return removed;
+    }
+}
@@ -0,0 +1,588 @@
+package pt.up.fe.comp2025.optimization.register.coloring;
+
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.logging.LogLevel;
+import pt.up.fe.comp2025.optimization.register.analysis.InterferenceGraph;
+import pt.up.fe.comp2025.optimization.register.analysis.LiveRanges;
+import pt.up.fe.comp2025.optimization.util.ControlFlowIndex;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Iterated register coalescing (George and Appel), which colors the interference graph while trying to give both
+ * sides of each copy the same register, so the copy disappears from the generated code.
+ * <p>
+ * Nodes go through the simplify, coalesce, freeze and spill worklists of the original algorithm. Copies are coalesced
+ * with the Briggs test, or with the George test when one side is precolored ('this' and the parameters). When every
+ * node left has K or more neighbours, the node with the lowest spill cost per neighbour is pushed as a potential
+ * spill; costs count the reads and writes of each variable, weighted by 10 to the loop nesting depth of the
+ * instruction, so variables used in inner loops are the last to be spilled.
+ * <p>
+ * The graph must be built with {@code InterferenceGraphBuilder.buildAtDefinitions}, where the two sides of a copy do
+ * not interfere because of the copy itself.
+ */
+public class IteratedCoalescingStrategy {
+
+    /**
+     * Outcome of an allocation.
+     *
+     * @param registers       The register of each variable that was not spilled, including the precolored ones
+     * @param spilled         The variables that did not fit in the registers
+     * @param coalescedCopies The number of copies whose sides got the same register
+     */
+    public record Result(Map<String, Integer> registers, Set<String> spilled, int coalescedCopies) {
+    }
+
+    /**
+     * Spill cost of each variable: its reads and writes, each weighted by 10 to the loop depth of the instruction.
+     *
+     * @param liveRanges The live ranges of the variables of a method
+     * @param cfg        The control-flow graph of the same method
+     */
+    public static double[] spillCosts(LiveRanges liveRanges, ControlFlowIndex cfg) {
+        double[] costs = new double[liveRanges.size()];
+        for (int var = 0; var < costs.length; var++) {
+            BitSet accesses = (BitSet) liveRanges.getDefinitions(var).clone();
+            accesses.or(liveRanges.getUses(var));
+            for (int point = accesses.nextSetBit(0); point >= 0; point = accesses.nextSetBit(point + 1)) {
+                costs[var] += Math.pow(10, cfg.getLoopDepth(cfg.getBlockOf(point)));
+            }
+        }
+        return costs;
+    }
+
+    /**
+     * Colors the graph with at most the given number of registers, spilling the variables that do not fit.
+     *
+     * @param graph      The interference graph, built at definitions from the same live ranges
+     * @param liveRanges The live ranges, for the copies between variables
+     * @param spillCosts The spill cost of each variable, see {@link #spillCosts(LiveRanges, ControlFlowIndex)}
+     * @param precolored Variables whose register is fixed, kept as given
+     * @param registers  The number of registers, raised if needed to fit the precolored variables
+     */
+    public Result allocate(InterferenceGraph graph, LiveRanges liveRanges, double[] spillCosts,
+                           Map<String, Integer> precolored, int registers) {
+        int colors = Math.max(registers, minimumRegisters(precolored));
+        Result result = new Allocation(graph, liveRanges, spillCosts, precolored, colors).run();
+
+        Log.debug(() -> "Iterated coalescing with " + colors + " registers: " + result.coalescedCopies()
+                + " copies coalesced, " + result.spilled().size() + " variables spilled");
+        return result;
+    }
+
+    /**
+     * Colors the graph with the fewest registers for which nothing is spilled, trying each number of registers from
+     * the ones taken by the precolored variables up.
+     */
+    public Result allocateMinimal(InterferenceGraph graph, LiveRanges liveRanges, double[] spillCosts,
+                                  Map<String, Integer> precolored) {
+        return allocateMinimal(graph, liveRanges, spillCosts, precolored, Long.MAX_VALUE).orElseThrow();
+    }
+
+    /**
+     * Same as {@link #allocateMinimal(InterferenceGraph, LiveRanges, double[], Map)}, giving up when a number of
+     * registers still spills after the given time. The time is checked between tries, so a single try is not cut.
+     *
+     * @param budgetNanos Time the allocation may take, in nanoseconds
+     * @return The allocation, or empty if it did not finish in time
+     */
+    public Optional<Result> allocateMinimal(InterferenceGraph graph, LiveRanges liveRanges, double[] spillCosts,
+                                            Map<String, Integer> precolored, long budgetNanos) {
+        long start = System.nanoTime();
+        int registers = minimumRegisters(precolored);
+        while (true) {
+            Result result = allocate(graph, liveRanges, spillCosts, precolored, registers);
+            if (result.spilled().isEmpty()) {
+                return Optional.of(result);
+            }
+            if (System.nanoTime() - start > budgetNanos) {
+                return Optional.empty();
+            }
+            registers++;
+        }
+    }
+
+    private static int minimumRegisters(Map<String, Integer> precolored) {
+        return Math.max(1, precolored.values().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1);
+    }
+
+    /**
+     * State of one run of the algorithm, for a fixed number of registers.
+     */
+    private static final class Allocation {
+
+        // Node states: the worklist or set each node is in
+        private static final byte INITIAL = 0;
+        private static final byte PRECOLORED = 1;
+        private static final byte SIMPLIFY = 2;
+        private static final byte FREEZE = 3;
+        private static final byte SPILL = 4;
+        private static final byte SPILLED = 5;
+        private static final byte COALESCED = 6;
+        private static final byte COLORED = 7;
+        private static final byte SELECTED = 8;
+
+        // Move states
+        private static final byte WORKLIST_MOVE = 0;
+        private static final byte ACTIVE_MOVE = 1;
+        private static final byte COALESCED_MOVE = 2;
+        private static final byte CONSTRAINED_MOVE = 3;
+        private static final byte FROZEN_MOVE = 4;
+
+        private final InterferenceGraph graph;
+        private final int colors;
+        private final int size;
+
+        private final byte[] state;
+        private final int[] degree;
+        private final int[] alias;
+        private final int[] color;
+        private final double[] cost;
+
+        // Adjacency, including the edges added when coalescing; precolored nodes keep no neighbour list
+        private final BitSet[] adjacentSet;
+        private final int[][] adjacentList;
+        private final int[] adjacentCount;
+
+        private final int[] moveDestinations;
+        private final int[] moveSources;
+        private final byte[] moveState;
+        private final int[][] moveList;
+        private final int[] moveCount;
+
+        private final ArrayDeque<Integer> simplifyWorklist = new ArrayDeque<>();
+        private final Set<Integer> freezeWorklist = new LinkedHashSet<>();
+        private final Set<Integer> spillWorklist = new LinkedHashSet<>();
+        private final ArrayDeque<Integer> worklistMoves = new ArrayDeque<>();
+        private final int[] selectStack;
+        private int selectTop;
+
+        // Marks for the Briggs test, by stamp
+        private final int[] seen;
+        private int stamp;
+
+        Allocation(InterferenceGraph graph, LiveRanges liveRanges, double[] spillCosts, Map<String, Integer> precolored,
+                   int colors) {
+            this.graph = graph;
+            this.colors = colors;
+            this.size = graph.size();
+
+            this.state = new byte[size];
+            this.degree = new int[size];
+            this.alias = new int[size];
+            this.color = new int[size];
+            this.cost = Arrays.copyOf(spillCosts, size);
+            this.adjacentSet = new BitSet[size];
+            this.adjacentList = new int[size][];
+            this.adjacentCount = new int[size];
+            this.moveList = new int[size][];
+            this.moveCount = new int[size];
+            this.selectStack = new int[size];
+            this.seen = new int[size];
+
+            Arrays.fill(color, -1);
+            for (int node = 0; node < size; node++) {
+                alias[node] = node;
+                adjacentSet[node] = new BitSet();
+                Integer register = precolored.get(graph.getVariable(node));
+                if (register != null) {
+                    state[node] = PRECOLORED;
+                    color[node] = register;
+                    degree[node] = Integer.MAX_VALUE / 2;
+                }
+            }
+
+            for (int node = 0; node < size; node++) {
+                for (int neighbor : graph.getNeighbors(node)) {
+                    if (node < neighbor) {
+                        addEdge(node, neighbor);
+                    }
+                }
+            }
+
+            int copies = liveRanges.getCopies().size();
+            this.moveDestinations = new int[copies];
+            this.moveSources = new int[copies];
+            this.moveState = new byte[copies];
+            for (int move = 0; move < copies; move++) {
+                LiveRanges.Copy copy = liveRanges.getCopies().get(move);
+                moveDestinations[move] = copy.destination();
+                moveSources[move] = copy.source();
+                moveState[move] = WORKLIST_MOVE;
+                appendMove(copy.destination(), move);
+                appendMove(copy.source(), move);
+                worklistMoves.add(move);
+            }
+        }
+
+        Result run() {
+            makeWorklist();
+
+            while (!simplifyWorklist.isEmpty() || !worklistMoves.isEmpty() || !freezeWorklist.isEmpty()
+                    || !spillWorklist.isEmpty()) {
+                if (!simplifyWorklist.isEmpty()) {
+                    simplify();
+                } else if (!worklistMoves.isEmpty()) {
+                    coalesce();
+                } else if (!freezeWorklist.isEmpty()) {
+                    freeze();
+                } else {
+                    selectSpill();
+                }
+            }
+
+            assignColors();
+
+            Map<String, Integer> registers = new HashMap<>(size * 2);
+            Set<String> spilled = new HashSet<>();
+            for (int node = 0; node < size; node++) {
+                if (state[node] == SPILLED) {
+                    spilled.add(graph.getVariable(node));
+                } else {
+                    registers.put(graph.getVariable(node), color[node]);
+                }
+            }
+
+            int coalesced = 0;
+            for (byte move : moveState) {
+                if (move == COALESCED_MOVE) {
+                    coalesced++;
+                }
+            }
+
+            return new Result(registers, spilled, coalesced);
+        }
+
+        private void makeWorklist() {
+            for (int node = 0; node < size; node++) {
+                if (state[node] != INITIAL) {
+                    continue;
+                }
+
+                if (degree[node] >= colors) {
+                    state[node] = SPILL;
+                    spillWorklist.add(node);
+                } else if (isMoveRelated(node)) {
+                    state[node] = FREEZE;
+                    freezeWorklist.add(node);
+                } else {
+                    pushSimplify(node);
+                }
+            }
+        }
+
+        private void simplify() {
+            int node = simplifyWorklist.poll();
+            if (state[node] != SIMPLIFY) {
+                return;
+            }
+
+            state[node] = SELECTED;
+            selectStack[selectTop++] = node;
+            for (int k = 0; k < adjacentCount[node]; k++) {
+                int neighbor = adjacentList[node][k];
+                if (isAdjacent(neighbor)) {
+                    decrementDegree(neighbor);
+                }
+            }
+        }
+
+        private void coalesce() {
+            int move = worklistMoves.poll();
+            if (moveState[move] != WORKLIST_MOVE) {
+                return;
+            }
+
+            int x = getAlias(moveDestinations[move]);
+            int y = getAlias(moveSources[move]);
+            int u = state[y] == PRECOLORED ? y : x;
+            int v = state[y] == PRECOLORED ? x : y;
+
+            if (u == v) {
+                moveState[move] = COALESCED_MOVE;
+                addWorklist(u);
+            } else if (state[v] == PRECOLORED || adjacentSet[u].get(v)) {
+                moveState[move] = CONSTRAINED_MOVE;
+                addWorklist(u);
+                addWorklist(v);
+            } else if (state[u] == PRECOLORED ? george(u, v) : briggs(u, v)) {
+                moveState[move] = COALESCED_MOVE;
+                combine(u, v);
+                addWorklist(u);
+            } else {
+                moveState[move] = ACTIVE_MOVE;
+            }
+
+            if (Log.isEnabled(LogLevel.TRACE)) {
+                Log.trace("Copy " + graph.getVariable(moveDestinations[move]) + " := "
+                        + graph.getVariable(moveSources[move]) + " is " + moveStateName(moveState[move]));
+            }
+        }
+
+        private void freeze() {
+            Iterator<Integer> first = freezeWorklist.iterator();
+            int node = first.next();
+            first.remove();
+            pushSimplify(node);
+            freezeMoves(node);
+        }
+
+        private void selectSpill() {
+            int candidate = -1;
+            double best = Double.POSITIVE_INFINITY;
+            for (int node : spillWorklist) {
+                // Nodes that must not be spilled have an infinite cost, and are only picked when nothing else is left
+                double weight = cost[node] / Math.max(1, degree[node]);
+                if (candidate < 0 || weight < best) {
+                    best = weight;
+                    candidate = node;
+                }
+            }
+
+            spillWorklist.remove(candidate);
+            pushSimplify(candidate);
+            freezeMoves(candidate);
+
+            if (Log.isEnabled(LogLevel.TRACE)) {
+                Log.trace("Potential spill: " + graph.getVariable(candidate) + " (cost " + cost[candidate] + ")");
+            }
+        }
+
+        private void assignColors() {
+            BitSet available = new BitSet(colors);
+            while (selectTop > 0) {
+                int node = selectStack[--selectTop];
+
+                available.set(0, colors);
+                for (int k = 0; k < adjacentCount[node]; k++) {
+                    int neighbor = getAlias(adjacentList[node][k]);
+                    if (state[neighbor] == COLORED || state[neighbor] == PRECOLORED) {
+                        available.clear(color[neighbor]);
+                    }
+                }
+
+                if (available.isEmpty()) {
+                    state[node] = SPILLED;
+                } else {
+                    state[node] = COLORED;
+                    color[node] = available.nextSetBit(0);
+                }
+            }
+
+            for (int node = 0; node < size; node++) {
+                if (state[node] == COALESCED) {
+                    int root = getAlias(node);
+                    if (state[root] == SPILLED) {
+                        state[node] = SPILLED;
+                    } else {
+                        color[node] = color[root];
+                    }
+                }
+            }
+        }
+
+        private void addEdge(int u, int v) {
+            if (u == v || adjacentSet[u].get(v)) {
+                return;
+            }
+
+            adjacentSet[u].set(v);
+            adjacentSet[v].set(u);
+            if (state[u] != PRECOLORED) {
+                appendNeighbor(u, v);
+                degree[u]++;
+            }
+            if (state[v] != PRECOLORED) {
+                appendNeighbor(v, u);
+                degree[v]++;
+            }
+        }
+
+        private void decrementDegree(int node) {
+            if (state[node] == PRECOLORED) {
+                return;
+            }
+
+            int before = degree[node]--;
+            if (before == colors && state[node] == SPILL) {
+                enableMoves(node);
+                for (int k = 0; k < adjacentCount[node]; k++) {
+                    int neighbor = adjacentList[node][k];
+                    if (isAdjacent(neighbor)) {
+                        enableMoves(neighbor);
+                    }
+                }
+
+                spillWorklist.remove(node);
+                if (isMoveRelated(node)) {
+                    state[node] = FREEZE;
+                    freezeWorklist.add(node);
+                } else {
+                    pushSimplify(node);
+                }
+            }
+        }
+
+        private void enableMoves(int node) {
+            for (int k = 0; k < moveCount[node]; k++) {
+                int move = moveList[node][k];
+                if (moveState[move] == ACTIVE_MOVE) {
+                    moveState[move] = WORKLIST_MOVE;
+                    worklistMoves.add(move);
+                }
+            }
+        }
+
+        private void addWorklist(int node) {
+            if (state[node] == FREEZE && !isMoveRelated(node) && degree[node] < colors) {
+                freezeWorklist.remove(node);
+                pushSimplify(node);
+            }
+        }
+
+        /**
+         * George test: every neighbour of v already interferes with u, or cannot block it.
+         */
+        private boolean george(int u, int v) {
+            for (int k = 0; k < adjacentCount[v]; k++) {
+                int t = adjacentList[v][k];
+                if (isAdjacent(t) && degree[t] >= colors && state[t] != PRECOLORED && !adjacentSet[t].get(u)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Briggs test: the merged node has fewer than K neighbours of significant degree.
+         */
+        private boolean briggs(int u, int v) {
+            stamp++;
+            int significant = 0;
+            for (int node : new int[]{u, v}) {
+                for (int k = 0; k < adjacentCount[node]; k++) {
+                    int neighbor = adjacentList[node][k];
+                    if (isAdjacent(neighbor) && seen[neighbor] != stamp) {
+                        seen[neighbor] = stamp;
+                        if (degree[neighbor] >= colors) {
+                            significant++;
+                        }
+                    }
+                }
+            }
+            return significant < colors;
+        }
+
+        private void combine(int u, int v) {
+            freezeWorklist.remove(v);
+            spillWorklist.remove(v);
+            state[v] = COALESCED;
+            alias[v] = u;
+            cost[u] += cost[v];
+
+            for (int k = 0; k < moveCount[v]; k++) {
+                appendMove(u, moveList[v][k]);
+            }
+            enableMoves(v);
+
+            for (int k = 0; k < adjacentCount[v]; k++) {
+                int neighbor = adjacentList[v][k];
+                if (isAdjacent(neighbor)) {
+                    addEdge(neighbor, u);
+                    decrementDegree(neighbor);
+                }
+            }
+
+            if (degree[u] >= colors && state[u] == FREEZE) {
+                freezeWorklist.remove(u);
+                state[u] = SPILL;
+                spillWorklist.add(u);
+            }
+        }
+
+        private void freezeMoves(int node) {
+            for (int k = 0; k < moveCount[node]; k++) {
+                int move = moveList[node][k];
+                if (moveState[move] != ACTIVE_MOVE && moveState[move] != WORKLIST_MOVE) {
+                    continue;
+                }
+
+                int x = moveDestinations[move];
+                int y = moveSources[move];
+                int other = getAlias(y) == getAlias(node) ? getAlias(x) : getAlias(y);
+                moveState[move] = FROZEN_MOVE;
+
+                if (state[other] == FREEZE && !isMoveRelated(other) && degree[other] < colors) {
+                    freezeWorklist.remove(other);
+                    pushSimplify(other);
+                }
+            }
+        }
+
+        private boolean isMoveRelated(int node) {
+            for (int k = 0; k < moveCount[node]; k++) {
+                byte move = moveState[moveList[node][k]];
+                if (move == ACTIVE_MOVE || move == WORKLIST_MOVE) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return True if the node is still in the graph, i.e. neither on the select stack nor coalesced
+         */
+        private boolean isAdjacent(int node) {
+            return state[node] != SELECTED && state[node] != COALESCED;
+        }
+
+        private int getAlias(int node) {
+            while (state[node] == COALESCED) {
+                node = alias[node];
+            }
+            return node;
+        }
+
+        private void pushSimplify(int node) {
+            state[node] = SIMPLIFY;
+            simplifyWorklist.add(node);
+        }
+
+        private void appendNeighbor(int node, int neighbor) {
+            if (adjacentList[node] == null) {
+                adjacentList[node] = new int[4];
+            } else if (adjacentCount[node] == adjacentList[node].length) {
+                adjacentList[node] = Arrays.copyOf(adjacentList[node], adjacentCount[node] * 2);
+            }
+            adjacentList[node][adjacentCount[node]++] = neighbor;
+        }
+
+        private void appendMove(int node, int move) {
+            if (moveList[node] == null) {
+                moveList[node] = new int[2];
+            } else if (moveCount[node] == moveList[node].length) {
+                moveList[node] = Arrays.copyOf(moveList[node], moveCount[node] * 2);
+            }
+            moveList[node][moveCount[node]++] = move;
+        }
+
+        private static String moveStateName(byte move) {
+            return switch (move) {
+                case WORKLIST_MOVE -> "pending";
+                case ACTIVE_MOVE -> "not coalesced yet";
+                case COALESCED_MOVE -> "coalesced";
+                case CONSTRAINED_MOVE -> "constrained";
+                default -> "frozen";
+            };
+        }
+    }
+}
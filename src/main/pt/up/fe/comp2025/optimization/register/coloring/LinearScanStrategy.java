@@ -0,0 +1,156 @@
+package pt.up.fe.comp2025.optimization.register.coloring;
+
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.logging.LogLevel;
+import pt.up.fe.comp2025.optimization.register.analysis.LiveRanges;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Linear-scan register allocation (Poletto and Sarkar), linear on the number of variables apart from sorting them.
+ * <p>
+ * The live interval of a variable goes from the first to the last point where it is live. Variables are visited by
+ * the start of their interval and get the lowest register that holds no variable whose interval is still running.
+ * Since intervals ignore the holes in the live ranges, this may use more registers than coloring the interference
+ * graph.
+ * <p>
+ * With binpacking (as in the second-chance binpacking of Traub et al.), each register keeps the points where the
+ * variables already in it are live, and a variable goes into the lowest register where none of them is live at any of
+ * its points, so it can fill the lifetime holes of other variables. Registers then match exactly the interference
+ * graph, at the cost of a bit set operation per register tried.
+ */
+public class LinearScanStrategy implements LiveRangeAllocationStrategy {
+
+    private final boolean binpacking;
+
+    /**
+     * @param binpacking True to place variables in the lifetime holes of the variables already in a register
+     */
+    public LinearScanStrategy(boolean binpacking) {
+        this.binpacking = binpacking;
+    }
+
+    @Override
+    public Map<String, Integer> allocate(LiveRanges liveRanges, Map<String, Integer> precolored) {
+        Map<String, Integer> registers = new HashMap<>(precolored);
+
+        // 'this' interferes with every variable, so its register is never free
+        int blocked = precolored.getOrDefault("this", -1);
+
+        // Variables to allocate, with a non-empty range, as (start << 32 | variable) in increasing order
+        long[] order = new long[liveRanges.size()];
+        int count = 0;
+        List<Integer> unused = new ArrayList<>();
+        for (int var = 0; var < liveRanges.size(); var++) {
+            if (precolored.containsKey(liveRanges.getVariable(var))) {
+                continue;
+            }
+
+            BitSet points = liveRanges.getPoints(var);
+            if (points.isEmpty()) {
+                unused.add(var);
+            } else {
+                order[count++] = ((long) points.nextSetBit(0) << 32) | var;
+            }
+        }
+        Arrays.sort(order, 0, count);
+
+        if (binpacking) {
+            packIntoHoles(liveRanges, precolored, blocked, order, count, registers);
+        } else {
+            scanIntervals(liveRanges, precolored, blocked, order, count, registers);
+        }
+
+        // Variables that are never live can share any register but the one of 'this'
+        int anyRegister = blocked == 0 ? 1 : 0;
+        for (int var : unused) {
+            registers.put(liveRanges.getVariable(var), anyRegister);
+        }
+
+        Log.debug(() -> "Linear scan" + (binpacking ? " with binpacking" : "") + " assigned "
+                + (registers.values().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1)
+                + " registers to " + registers.size() + " variables");
+        return registers;
+    }
+
+    private void scanIntervals(LiveRanges liveRanges, Map<String, Integer> precolored, int blocked,
+                               long[] order, int count, Map<String, Integer> registers) {
+        // Registers in use, and the intervals holding them as (end << 32 | register) by increasing end
+        BitSet busy = new BitSet();
+        PriorityQueue<Long> active = new PriorityQueue<>();
+
+        if (blocked >= 0) {
+            busy.set(blocked);
+        }
+
+        // Precolored variables hold their register from the start of the method, which they are usually live at
+        for (Map.Entry<String, Integer> entry : precolored.entrySet()) {
+            BitSet points = liveRanges.getPoints(entry.getKey());
+            if (entry.getValue() != blocked && !points.isEmpty()) {
+                busy.set(entry.getValue());
+                active.add(((long) points.length() - 1 << 32) | entry.getValue());
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            int var = (int) order[i];
+            int start = (int) (order[i] >>> 32);
+            BitSet points = liveRanges.getPoints(var);
+
+            // Free the registers of the intervals that ended before this one starts
+            while (!active.isEmpty() && (int) (active.peek() >>> 32) < start) {
+                busy.clear((int) (long) active.poll());
+            }
+
+            int register = busy.nextClearBit(0);
+            busy.set(register);
+            active.add(((long) points.length() - 1 << 32) | register);
+            assign(liveRanges.getVariable(var), register, registers);
+        }
+    }
+
+    private void packIntoHoles(LiveRanges liveRanges, Map<String, Integer> precolored, int blocked,
+                               long[] order, int count, Map<String, Integer> registers) {
+        // Points where some variable in each register is live
+        List<BitSet> occupied = new ArrayList<>();
+
+        for (Map.Entry<String, Integer> entry : precolored.entrySet()) {
+            if (entry.getValue() != blocked) {
+                occupiedBy(occupied, entry.getValue()).or(liveRanges.getPoints(entry.getKey()));
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            int var = (int) order[i];
+            BitSet points = liveRanges.getPoints(var);
+
+            int register = 0;
+            while (register == blocked || occupiedBy(occupied, register).intersects(points)) {
+                register++;
+            }
+
+            occupied.get(register).or(points);
+            assign(liveRanges.getVariable(var), register, registers);
+        }
+    }
+
+    private static BitSet occupiedBy(List<BitSet> occupied, int register) {
+        while (occupied.size() <= register) {
+            occupied.add(new BitSet());
+        }
+        return occupied.get(register);
+    }
+
+    private static void assign(String variable, int register, Map<String, Integer> registers) {
+        registers.put(variable, register);
+        if (Log.isEnabled(LogLevel.TRACE)) {
+            Log.trace("Assigning register " + register + " to " + variable);
+        }
+    }
+}
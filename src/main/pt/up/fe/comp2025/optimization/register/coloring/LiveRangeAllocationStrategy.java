@@ -0,0 +1,23 @@
+package pt.up.fe.comp2025.optimization.register.coloring;
+
+import pt.up.fe.comp2025.optimization.register.analysis.LiveRanges;
+
+import java.util.Map;
+
+/**
+ * Interface for register allocators that work directly on the live ranges of the variables, without an interference
+ * graph. Sibling of {@link GraphColoringStrategy}, for methods where building and coloring the graph is too costly.
+ */
+public interface LiveRangeAllocationStrategy {
+
+    /**
+     * Assigns a register to every variable, so that variables live at a common point get different registers.
+     * <p>
+     * As in the interference graph, 'this' conflicts with every variable, so its register is not given to any other.
+     *
+     * @param liveRanges The live ranges of the variables of a method
+     * @param precolored Variables whose register is fixed (e.g., 'this' and the parameters), kept as given
+     * @return A mapping from each variable to its register, including the precolored ones
+     */
+    Map<String, Integer> allocate(LiveRanges liveRanges, Map<String, Integer> precolored);
+}
@@ -0,0 +1,205 @@
+package pt.up.fe.comp2025.optimization.register.spill;
+
+import org.specs.comp.ollir.ArrayOperand;
+import org.specs.comp.ollir.Descriptor;
+import org.specs.comp.ollir.LiteralElement;
+import org.specs.comp.ollir.Method;
+import org.specs.comp.ollir.Operand;
+import org.specs.comp.ollir.VarScope;
+import org.specs.comp.ollir.inst.ArrayLengthInstruction;
+import org.specs.comp.ollir.inst.AssignInstruction;
+import org.specs.comp.ollir.inst.Instruction;
+import org.specs.comp.ollir.inst.SingleOpInstruction;
+import org.specs.comp.ollir.type.BuiltinKind;
+import org.specs.comp.ollir.type.BuiltinType;
+import org.specs.comp.ollir.type.Type;
+import pt.up.fe.comp2025.optimization.register.analysis.InstructionUses;
+import pt.up.fe.comp2025.optimization.register.analysis.InstructionUses.Use;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Recomputes cheap values where they are used instead of keeping them in a register.
+ * <p>
+ * A compiler temporary defined once as a literal, as 'this' or as the length of an array that is assigned at most once
+ * gives the same value wherever it is used. Literals and 'this' replace the temporary in the instructions that read
+ * it, so the backend pushes them directly (iconst, bipush, sipush, aload_0). The length of an array is computed again
+ * into a new temporary right before each instruction that reads it, so that temporary only lives around a single
+ * instruction. The definitions are then removed, together with the temporaries, and the allocation that follows sees
+ * fewer and shorter live ranges.
+ * <p>
+ * Variables written in the source are left alone, as the allocation reports their registers. The method is changed in
+ * place (instructions, labels and variable table).
+ */
+public class Rematerializer {
+
+    private static final Type INT = new BuiltinType(BuiltinKind.INT32);
+
+    // Names given to temporaries by the OLLIR generator
+    private static final Pattern TEMPORARY = Pattern.compile("tmp\\d+");
+
+    private final Method method;
+
+    public Rematerializer(Method method) {
+        this.method = method;
+    }
+
+    /**
+     * Rewrites the uses of the temporaries that can be recomputed and removes their definitions.
+     *
+     * @return The temporaries that were removed, in the order they were defined
+     */
+    public Set<String> rematerialize() {
+        List<Instruction> instructions = method.getInstructions();
+        Map<String, AssignInstruction> candidates = findCandidates(instructions);
+
+        // Uses of each candidate, dropping literals read where only a variable fits (e.g., as the object of a call)
+        Map<String, List<Use>> uses = new HashMap<>();
+        Set<String> fixed = new HashSet<>();
+        for (Instruction instruction : instructions) {
+            InstructionUses.forEachUse(instruction, use -> {
+                String name = use.operand().getName();
+                if (!candidates.containsKey(name) || candidates.get(name) == instruction) {
+                    return;
+                }
+                if (use.replace() == null && literalOf(candidates.get(name)) != null) {
+                    fixed.add(name);
+                }
+                uses.computeIfAbsent(name, key -> new ArrayList<>()).add(use);
+            });
+        }
+        candidates.keySet().removeAll(fixed);
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+
+        // Instructions that each label points to, so labels move with the instructions inserted before them
+        Map<Instruction, List<String>> labels = new LinkedHashMap<>();
+        method.getLabels().forEach((label, instruction) ->
+                labels.computeIfAbsent(instruction, key -> new ArrayList<>()).add(label));
+
+        Set<Instruction> definitions = new HashSet<>(candidates.values());
+        List<Instruction> rewritten = new ArrayList<>(instructions.size());
+        List<String> pendingLabels = new ArrayList<>();
+
+        for (Instruction instruction : instructions) {
+            if (definitions.contains(instruction)) {
+                pendingLabels.addAll(labels.getOrDefault(instruction, List.of()));
+                continue;
+            }
+
+            List<Instruction> lengths = new ArrayList<>();
+            Map<String, String> recomputed = new HashMap<>();
+            InstructionUses.forEachUse(instruction, use -> {
+                AssignInstruction definition = candidates.get(use.operand().getName());
+                if (definition != null) {
+                    rewrite(use, definition, recomputed, lengths);
+                }
+            });
+
+            Instruction first = lengths.isEmpty() ? instruction : lengths.get(0);
+            pendingLabels.addAll(labels.getOrDefault(instruction, List.of()));
+            for (String label : pendingLabels) {
+                method.getLabels().put(label, first);
+            }
+            pendingLabels.clear();
+
+            rewritten.addAll(lengths);
+            rewritten.add(instruction);
+        }
+
+        instructions.clear();
+        instructions.addAll(rewritten);
+        candidates.keySet().forEach(method.getVarTable()::remove);
+        return candidates.keySet();
+    }
+
+    /**
+     * Temporaries with a single definition that can be recomputed, and that is not the last instruction of the method
+     * (the labels of a removed definition move to the instruction after it).
+     */
+    private Map<String, AssignInstruction> findCandidates(List<Instruction> instructions) {
+        Map<String, Integer> definitionCount = new HashMap<>();
+        for (Instruction instruction : instructions) {
+            if (instruction instanceof AssignInstruction assign && assign.getDest() instanceof Operand dest
+                    && !(dest instanceof ArrayOperand)) {
+                definitionCount.merge(dest.getName(), 1, Integer::sum);
+            }
+        }
+
+        Map<String, AssignInstruction> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < instructions.size() - 1; i++) {
+            if (!(instructions.get(i) instanceof AssignInstruction assign)
+                    || !(assign.getDest() instanceof Operand dest) || dest instanceof ArrayOperand) {
+                continue;
+            }
+
+            String name = dest.getName();
+            if (!TEMPORARY.matcher(name).matches() || definitionCount.get(name) != 1
+                    || !(method.getVarTable().get(name) instanceof Descriptor descriptor)
+                    || descriptor.getScope() != VarScope.LOCAL) {
+                continue;
+            }
+
+            // The array must hold the same value at every use, which a single definition guarantees as it already
+            // reaches the definition of the length
+            if (literalOf(assign) != null || isThis(assign)
+                    || (arrayOf(assign) instanceof Operand array
+                    && definitionCount.getOrDefault(array.getName(), 0) <= 1)) {
+                candidates.put(name, assign);
+            }
+        }
+        return candidates;
+    }
+
+    private void rewrite(Use use, AssignInstruction definition, Map<String, String> recomputed,
+                         List<Instruction> lengths) {
+        if (literalOf(definition) instanceof LiteralElement literal) {
+            use.replace().accept(new LiteralElement(literal.getLiteral(), literal.getType()));
+        } else if (isThis(definition)) {
+            use.operand().setName("this");
+        } else {
+            Operand array = arrayOf(definition);
+            String temporary = recomputed.computeIfAbsent(use.operand().getName(), name -> {
+                String fresh = freshName(name + "_");
+                method.getVarTable().put(fresh,
+                        new Descriptor(VarScope.LOCAL, method.getVarTable().size(), INT));
+                var length = new ArrayLengthInstruction(new Operand(array.getName(), array.getType()), INT);
+                lengths.add(new AssignInstruction(new Operand(fresh, INT), INT, length));
+                return fresh;
+            });
+            use.operand().setName(temporary);
+        }
+    }
+
+    private String freshName(String prefix) {
+        String name = prefix + 0;
+        for (int suffix = 1; method.getVarTable().containsKey(name); suffix++) {
+            name = prefix + suffix;
+        }
+        return name;
+    }
+
+    private static LiteralElement literalOf(AssignInstruction assign) {
+        return assign.getRhs() instanceof SingleOpInstruction single
+                && single.getSingleOperand() instanceof LiteralElement literal ? literal : null;
+    }
+
+    private static boolean isThis(AssignInstruction assign) {
+        return assign.getRhs() instanceof SingleOpInstruction single
+                && single.getSingleOperand() instanceof Operand operand && !(operand instanceof ArrayOperand)
+                && operand.getName().equals("this");
+    }
+
+    private static Operand arrayOf(AssignInstruction assign) {
+        return assign.getRhs() instanceof ArrayLengthInstruction length
+                && length.getCaller() instanceof Operand array && !(array instanceof ArrayOperand) ? array : null;
+    }
+}
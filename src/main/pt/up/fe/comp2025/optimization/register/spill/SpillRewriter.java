@@ -0,0 +1,204 @@
+package pt.up.fe.comp2025.optimization.register.spill;
+
+import org.specs.comp.ollir.ArrayOperand;
+import org.specs.comp.ollir.Descriptor;
+import org.specs.comp.ollir.Element;
+import org.specs.comp.ollir.LiteralElement;
+import org.specs.comp.ollir.Method;
+import org.specs.comp.ollir.Operand;
+import org.specs.comp.ollir.VarScope;
+import org.specs.comp.ollir.inst.AssignInstruction;
+import org.specs.comp.ollir.inst.Instruction;
+import org.specs.comp.ollir.inst.NewInstruction;
+import org.specs.comp.ollir.inst.SingleOpInstruction;
+import org.specs.comp.ollir.type.ArrayType;
+import org.specs.comp.ollir.type.BuiltinKind;
+import org.specs.comp.ollir.type.BuiltinType;
+import org.specs.comp.ollir.type.Type;
+import pt.up.fe.comp2025.optimization.register.analysis.InstructionUses;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Rewrites a method so that some of its variables live in memory instead of a register.
+ * <p>
+ * Spilled variables get a slot in an int array created when the method starts, so each invocation has its own slots
+ * and recursive calls do not overwrite them. Every instruction that reads a spilled variable is preceded by a load of
+ * its slot into a new temporary, and every instruction that writes one writes a new temporary instead, followed by a
+ * store to the slot. Temporaries only live around a single instruction, so running the allocation again on the
+ * rewritten method needs fewer registers.
+ * <p>
+ * Only int and boolean variables are spilled, since the JVM keeps both in an int; references stay in registers. The
+ * method is changed in place (instructions, labels and variable table), and the same rewriter should be used for each
+ * round of spilling on a method, so that all spilled variables share one array.
+ */
+public class SpillRewriter {
+
+    private static final Type INT = new BuiltinType(BuiltinKind.INT32);
+
+    private final Method method;
+
+    // Slot of each spilled variable, in the order they were spilled
+    private final Map<String, Integer> slots = new LinkedHashMap<>();
+
+    // The spill array and the temporaries, which must not be spilled themselves
+    private final Set<String> introduced = new HashSet<>();
+
+    private String arrayName;
+    private ArrayType arrayType;
+    private LiteralElement arraySize;
+
+    public SpillRewriter(Method method) {
+        this.method = method;
+    }
+
+    /**
+     * @return True if the variable can be moved to memory: an int or boolean of the method that is neither a parameter
+     * nor a variable created by this rewriter
+     */
+    public boolean canSpill(String variable) {
+        Descriptor descriptor = method.getVarTable().get(variable);
+        if (descriptor == null || descriptor.getScope() == VarScope.PARAMETER || introduced.contains(variable)
+                || slots.containsKey(variable)) {
+            return false;
+        }
+
+        Type type = descriptor.getVarType();
+        return BuiltinType.is(type, BuiltinKind.INT32) || BuiltinType.is(type, BuiltinKind.BOOLEAN);
+    }
+
+    /**
+     * @return The spilled variables and their slots in the spill array, in the order they were spilled
+     */
+    public Map<String, Integer> getSlots() {
+        return slots;
+    }
+
+    /**
+     * Moves the given variables to memory, removing them from the variable table.
+     *
+     * @param variables Variables for which {@link #canSpill(String)} holds
+     * @return The number of loads and stores inserted
+     */
+    public int spill(Set<String> variables) {
+        Map<String, Descriptor> varTable = method.getVarTable();
+        List<Instruction> instructions = method.getInstructions();
+
+        if (arrayName == null) {
+            createArray(instructions);
+        }
+
+        Map<String, Type> types = new LinkedHashMap<>();
+        for (String variable : variables) {
+            slots.put(variable, slots.size());
+            types.put(variable, varTable.remove(variable).getVarType());
+        }
+        arraySize.setLiteral(Integer.toString(slots.size()));
+
+        // Instructions that each label points to, so labels move to the loads inserted before them
+        Map<Instruction, List<String>> labels = new LinkedHashMap<>();
+        method.getLabels().forEach((label, instruction) ->
+                labels.computeIfAbsent(instruction, key -> new ArrayList<>()).add(label));
+
+        List<Instruction> rewritten = new ArrayList<>(instructions.size());
+        int accesses = 0;
+
+        for (Instruction instruction : instructions) {
+            // One temporary per spilled variable mentioned by the instruction
+            Map<String, String> temporaries = new LinkedHashMap<>();
+            Consumer<Operand> rename = operand -> {
+                if (types.containsKey(operand.getName())) {
+                    String temporary = temporaries.computeIfAbsent(operand.getName(),
+                            variable -> addTemporary(types.get(variable)));
+                    operand.setName(temporary);
+                }
+            };
+
+            List<Instruction> loads = new ArrayList<>();
+            InstructionUses.forEachOperand(instruction, operand -> {
+                String variable = operand.getName();
+                boolean loaded = temporaries.containsKey(variable);
+                rename.accept(operand);
+                if (!loaded && temporaries.containsKey(variable)) {
+                    loads.add(load(temporaries.get(variable), types.get(variable), slots.get(variable)));
+                }
+            });
+
+            Instruction store = null;
+            if (instruction instanceof AssignInstruction assign && assign.getDest() instanceof Operand dest
+                    && !(dest instanceof ArrayOperand) && types.containsKey(dest.getName())) {
+                String variable = dest.getName();
+                rename.accept(dest);
+                store = store(temporaries.get(variable), types.get(variable), slots.get(variable));
+            }
+
+            if (!loads.isEmpty()) {
+                for (String label : labels.getOrDefault(instruction, List.of())) {
+                    method.getLabels().put(label, loads.get(0));
+                }
+            }
+
+            rewritten.addAll(loads);
+            rewritten.add(instruction);
+            if (store != null) {
+                rewritten.add(store);
+            }
+            accesses += loads.size() + (store == null ? 0 : 1);
+        }
+
+        instructions.clear();
+        instructions.addAll(rewritten);
+        return accesses;
+    }
+
+    /**
+     * Creates the spill array at the start of the method, before any label, so loops do not create it again.
+     */
+    private void createArray(List<Instruction> instructions) {
+        arrayType = new ArrayType(1);
+        arrayType.setElementType(INT);
+        arrayName = freshName("spill");
+        arraySize = new LiteralElement("0", INT);
+
+        Instruction allocation = new NewInstruction(new Operand("array", arrayType), List.<Element>of(arraySize),
+                arrayType, false);
+        instructions.add(0, new AssignInstruction(new Operand(arrayName, arrayType), arrayType, allocation));
+        addVariable(arrayName, arrayType);
+    }
+
+    private Instruction load(String temporary, Type type, int slot) {
+        var element = new ArrayOperand(arrayName, INT, List.<Element>of(new LiteralElement(Integer.toString(slot), INT)));
+        return new AssignInstruction(new Operand(temporary, type), type, new SingleOpInstruction(element));
+    }
+
+    private Instruction store(String temporary, Type type, int slot) {
+        var element = new ArrayOperand(arrayName, INT, List.<Element>of(new LiteralElement(Integer.toString(slot), INT)));
+        return new AssignInstruction(element, INT, new SingleOpInstruction(new Operand(temporary, type)));
+    }
+
+    private String addTemporary(Type type) {
+        String name = freshName(arrayName + "_t");
+        addVariable(name, type);
+        return name;
+    }
+
+    private void addVariable(String name, Type type) {
+        introduced.add(name);
+        method.getVarTable().put(name, new Descriptor(VarScope.LOCAL, method.getVarTable().size(), type));
+    }
+
+    private String freshName(String prefix) {
+        Map<String, Descriptor> varTable = method.getVarTable();
+        String name = prefix;
+        for (int suffix = 0; varTable.containsKey(name) || slots.containsKey(name); suffix++) {
+            name = prefix + suffix;
+        }
+        return name;
+    }
+}
@@ -0,0 +1,63 @@
+package pt.up.fe.comp2025.optimization.util;
+
+import pt.up.fe.specs.util.collections.AccumulatorMap;
+
+/**
+ * Counters that number the labels and temporaries of the OLLIR generated for one compilation.
+ * <p>
+ * Each OLLIR generation creates its own context and hands it to the generators, through {@link LabelManager} and
+ * {@link OptUtils}, so compilations running at the same time on different threads number their labels and
+ * temporaries independently. A context is used by a single thread and is not synchronized.
+ */
+public class CompilationContext {
+
+    private int labelCounter = 0;
+    private int tmpCounter = 0;
+    private final AccumulatorMap<String> temporaries = new AccumulatorMap<>();
+
+    /**
+     * @return The next label number of this compilation
+     */
+    public int nextLabel() {
+        return labelCounter++;
+    }
+
+    /**
+     * Reserves a run of consecutive label numbers.
+     *
+     * @return The first of the reserved numbers
+     */
+    public int nextLabels(int count) {
+        int first = labelCounter;
+        labelCounter += count;
+        return first;
+    }
+
+    /**
+     * @return The next temporary with the default prefix, e.g. "tmp3"
+     */
+    public String nextTemp() {
+        return "tmp" + (tmpCounter++);
+    }
+
+    /**
+     * @return The next temporary with the given prefix, numbered separately from those of other prefixes
+     */
+    public String nextTemp(String prefix) {
+        return prefix + (temporaries.add(prefix) - 1);
+    }
+
+    /**
+     * @return The number the next temporary with the given prefix would get
+     */
+    public int peekNextTempNum(String prefix) {
+        return temporaries.getCount(prefix);
+    }
+
+    /**
+     * Numbers the next temporaries with the default prefix from 0 again.
+     */
+    public void resetTemporaries() {
+        tmpCounter = 0;
+    }
+}
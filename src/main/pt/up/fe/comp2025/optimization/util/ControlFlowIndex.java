@@ -0,0 +1,335 @@
+package pt.up.fe.comp2025.optimization.util;
+
+import org.specs.comp.ollir.InstructionType;
+import org.specs.comp.ollir.Method;
+import org.specs.comp.ollir.inst.CondBranchInstruction;
+import org.specs.comp.ollir.inst.GotoInstruction;
+import org.specs.comp.ollir.inst.Instruction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Control-flow graph of a method, with instructions identified by their position in {@link Method#getInstructions()}.
+ * <p>
+ * Built once per method from the labels of the method ({@link Method#getLabels()}), with the same edges as
+ * {@link Method#buildCFG()} except that returns have no successors, so it does not need the CFG of the method to be
+ * built. Successors and predecessors are kept as int arrays, so data-flow analyses can walk the graph without
+ * looking up labels or instructions.
+ * <p>
+ * Instructions are also grouped into basic blocks, numbered in the order they appear in the method. A block starts at
+ * the first instruction, at any instruction that is reached from somewhere other than the instruction before it, and
+ * after any instruction that does not simply fall through to the next one.
+ * <p>
+ * The loop nesting depth of each block is found from the back edges of a depth-first search from the first block: the
+ * target of a back edge is a loop header, and the loop holds the blocks that reach the source of the edge without
+ * going through the header. This matches the natural loops of the structured control flow the compiler generates.
+ */
+public class ControlFlowIndex {
+
+    private static final int[] NONE = new int[0];
+
+    private final int[][] successors;
+    private final int[][] predecessors;
+    private final Map<String, Integer> labels;
+    private final List<List<String>> labelsAt;
+
+    // Block b holds the instructions in [blockStarts[b], blockStarts[b + 1])
+    private final int[] blockStarts;
+    private final int[] blockOf;
+    private final int[][] blockSuccessors;
+    private final int[][] blockPredecessors;
+    private final int[] loopDepths;
+
+    private ControlFlowIndex(int[][] successors, int[][] predecessors, Map<String, Integer> labels,
+                             List<List<String>> labelsAt) {
+        this.successors = successors;
+        this.predecessors = predecessors;
+        this.labels = labels;
+        this.labelsAt = labelsAt;
+
+        int size = successors.length;
+        int[] starts = new int[size + 1];
+        int blocks = 0;
+        for (int i = 0; i < size; i++) {
+            if (isBlockStart(i)) {
+                starts[blocks++] = i;
+            }
+        }
+        starts[blocks] = size;
+
+        this.blockStarts = Arrays.copyOf(starts, blocks + 1);
+        this.blockOf = new int[size];
+        for (int b = 0; b < blocks; b++) {
+            Arrays.fill(blockOf, blockStarts[b], blockStarts[b + 1], b);
+        }
+
+        this.blockSuccessors = new int[blocks][];
+        for (int b = 0; b < blocks; b++) {
+            int[] last = successors[blockStarts[b + 1] - 1];
+            blockSuccessors[b] = last.length == 0 ? NONE : new int[last.length];
+            for (int s = 0; s < last.length; s++) {
+                blockSuccessors[b][s] = blockOf[last[s]];
+            }
+        }
+        this.blockPredecessors = invert(blockSuccessors);
+        this.loopDepths = computeLoopDepths();
+    }
+
+    private int[] computeLoopDepths() {
+        int blocks = blockSuccessors.length;
+        int[] depths = new int[blocks];
+        if (blocks == 0) {
+            return depths;
+        }
+
+        // Iterative DFS from the first block; an edge to a block still on the stack is a back edge
+        List<List<Integer>> backEdgeSources = new ArrayList<>(Collections.nCopies(blocks, null));
+        byte[] state = new byte[blocks];
+        int[] stack = new int[blocks];
+        int[] edge = new int[blocks];
+        int top = 0;
+        stack[0] = 0;
+        state[0] = 1;
+        while (top >= 0) {
+            int block = stack[top];
+            if (edge[top] < blockSuccessors[block].length) {
+                int next = blockSuccessors[block][edge[top]++];
+                if (state[next] == 0) {
+                    state[next] = 1;
+                    stack[++top] = next;
+                    edge[top] = 0;
+                } else if (state[next] == 1) {
+                    if (backEdgeSources.get(next) == null) {
+                        backEdgeSources.set(next, new ArrayList<>(1));
+                    }
+                    backEdgeSources.get(next).add(block);
+                }
+            } else {
+                state[block] = 2;
+                top--;
+            }
+        }
+
+        // Each header adds one level to the blocks of its loop, found by walking back from the back edges
+        boolean[] inLoop = new boolean[blocks];
+        int[] worklist = new int[blocks];
+        for (int header = 0; header < blocks; header++) {
+            List<Integer> sources = backEdgeSources.get(header);
+            if (sources == null) {
+                continue;
+            }
+
+            Arrays.fill(inLoop, false);
+            inLoop[header] = true;
+            int pending = 0;
+            for (int source : sources) {
+                if (!inLoop[source]) {
+                    inLoop[source] = true;
+                    worklist[pending++] = source;
+                }
+            }
+
+            while (pending > 0) {
+                for (int predecessor : blockPredecessors[worklist[--pending]]) {
+                    if (!inLoop[predecessor]) {
+                        inLoop[predecessor] = true;
+                        worklist[pending++] = predecessor;
+                    }
+                }
+            }
+
+            for (int block = 0; block < blocks; block++) {
+                if (inLoop[block]) {
+                    depths[block]++;
+                }
+            }
+        }
+
+        return depths;
+    }
+
+    private boolean isBlockStart(int instruction) {
+        if (instruction == 0) {
+            return true;
+        }
+
+        int[] before = successors[instruction - 1];
+        int[] into = predecessors[instruction];
+        boolean fallsThrough = before.length == 1 && before[0] == instruction;
+        boolean onlyFromBefore = into.length == 1 && into[0] == instruction - 1;
+        return !fallsThrough || !onlyFromBefore;
+    }
+
+    private static int[][] invert(int[][] edges) {
+        int size = edges.length;
+        int[] count = new int[size];
+        for (int[] targets : edges) {
+            for (int target : targets) {
+                count[target]++;
+            }
+        }
+
+        int[][] inverted = new int[size][];
+        for (int i = 0; i < size; i++) {
+            inverted[i] = count[i] == 0 ? NONE : new int[count[i]];
+        }
+
+        int[] filled = new int[size];
+        for (int i = 0; i < size; i++) {
+            for (int target : edges[i]) {
+                inverted[target][filled[target]++] = i;
+            }
+        }
+
+        return inverted;
+    }
+
+    public static ControlFlowIndex build(Method method) {
+        List<Instruction> instructions = method.getInstructions();
+        int size = instructions.size();
+
+        Map<Instruction, Integer> positions = new IdentityHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            positions.put(instructions.get(i), i);
+        }
+
+        // Labels that point to an instruction of the method, in the order of the label map
+        Map<String, Integer> labels = new HashMap<>();
+        List<List<String>> labelsAt = new ArrayList<>(Collections.nCopies(size, List.of()));
+        for (Map.Entry<String, Instruction> label : method.getLabels().entrySet()) {
+            Integer position = label.getValue() == null ? null : positions.get(label.getValue());
+            if (label.getKey() == null || position == null) {
+                continue;
+            }
+
+            labels.put(label.getKey(), position);
+            if (labelsAt.get(position).isEmpty()) {
+                labelsAt.set(position, new ArrayList<>(1));
+            }
+            labelsAt.get(position).add(label.getKey());
+        }
+
+        int[][] successors = new int[size][];
+        for (int i = 0; i < size; i++) {
+            Instruction instruction = instructions.get(i);
+            InstructionType type = instruction.getInstType();
+
+            int next = i + 1 < size && type != InstructionType.GOTO && type != InstructionType.RETURN ? i + 1 : -1;
+            int target = switch (type) {
+                case GOTO -> labels.getOrDefault(((GotoInstruction) instruction).getLabel(), -1);
+                case BRANCH -> labels.getOrDefault(((CondBranchInstruction) instruction).getLabel(), -1);
+                default -> -1;
+            };
+
+            if (target == next) {
+                target = -1;
+            }
+
+            if (next < 0 && target < 0) {
+                successors[i] = NONE;
+            } else if (next < 0 || target < 0) {
+                successors[i] = new int[]{Math.max(next, target)};
+            } else {
+                successors[i] = new int[]{next, target};
+            }
+        }
+
+        return new ControlFlowIndex(successors, invert(successors), labels, labelsAt);
+    }
+
+    /**
+     * @return The number of instructions of the method
+     */
+    public int size() {
+        return successors.length;
+    }
+
+    /**
+     * @return The instructions that can run right after the given one. The array is shared and must not be modified.
+     */
+    public int[] getSuccessors(int instruction) {
+        return successors[instruction];
+    }
+
+    /**
+     * @return The instructions that can run right before the given one. The array is shared and must not be modified.
+     */
+    public int[] getPredecessors(int instruction) {
+        return predecessors[instruction];
+    }
+
+    /**
+     * @return The position of the instruction with the given label, or -1 if there is none
+     */
+    public int indexOf(String label) {
+        return labels.getOrDefault(label, -1);
+    }
+
+    /**
+     * @return The labels of the instruction at the given position, possibly empty
+     */
+    public List<String> getLabels(int instruction) {
+        return Collections.unmodifiableList(labelsAt.get(instruction));
+    }
+
+    public int getBlockCount() {
+        return blockSuccessors.length;
+    }
+
+    /**
+     * @return The position of the first instruction of the block
+     */
+    public int getBlockStart(int block) {
+        return blockStarts[block];
+    }
+
+    /**
+     * @return The position after the last instruction of the block
+     */
+    public int getBlockEnd(int block) {
+        return blockStarts[block + 1];
+    }
+
+    /**
+     * @return The block of the instruction at the given position
+     */
+    public int getBlockOf(int instruction) {
+        return blockOf[instruction];
+    }
+
+    /**
+     * @return The blocks that can run right after the given one. The array is shared and must not be modified.
+     */
+    public int[] getBlockSuccessors(int block) {
+        return blockSuccessors[block];
+    }
+
+    /**
+     * @return The blocks that can run right before the given one. The array is shared and must not be modified.
+     */
+    public int[] getBlockPredecessors(int block) {
+        return blockPredecessors[block];
+    }
+
+    /**
+     * @return The number of loops the block is in, 0 outside of any loop
+     */
+    public int getLoopDepth(int block) {
+        return loopDepths[block];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < successors.length; i++) {
+            builder.append(i).append(" -> ").append(Arrays.toString(successors[i])).append("\n");
+        }
+        return builder.toString();
+    }
+}
@@ -5,13 +5,11 @@ import java.util.Map;
 
 /**
  * Gerenciador de labels para código OLLIR.
- * Implementação modificada para usar contador sequencial global.
+ * Os labels são numerados por uma única sequência, a da compilação a que o gerenciador pertence.
  */
 public class LabelManager {
-    private static LabelManager instance;
-
-    // NOVO: Contador sequencial global para todos os labels
-    private int globalSequentialCounter = 0;
+    // Dono do contador sequencial de todos os labels da compilação
+    private final CompilationContext context;
 
     // Mantemos esse mapa para compatibilidade, embora não o usemos para sequenciamento
     private Map<String, Map<String, Integer>> methodStructureCounters = new HashMap<>();
@@ -25,13 +23,8 @@ public class LabelManager {
     public static final String GENERIC_STRUCTURE = "generic";
     public static final String SWITCH_STRUCTURE = "switch";
 
-    private LabelManager() {}
-
-    public static synchronized LabelManager getInstance() {
-        if (instance == null) {
-            instance = new LabelManager();
-        }
-        return instance;
+    public LabelManager(CompilationContext context) {
+        this.context = context;
     }
 
     public void setCurrentMethod(String methodName) {
@@ -42,13 +35,11 @@ public class LabelManager {
     }
 
     /**
-     * MODIFICAÇÃO CRÍTICA: Agora ignora o tipo de estrutura e retorna
-     * o próximo valor da sequência global, garantindo labels únicos
+     * Ignora o tipo de estrutura e retorna o próximo valor da sequência da compilação, garantindo labels únicos
      * e corretamente numerados sequencialmente.
      */
     public int nextLabel(String structureType) {
-        // Ignora o tipo de estrutura e retorna o próximo na sequência global
-        return globalSequentialCounter++;
+        return context.nextLabel();
     }
 
     /**
@@ -60,28 +51,19 @@ public class LabelManager {
 
     public void resetMethod() {
         this.currentMethod = null;
-        // NÃO resetamos o contador global, mantendo a sequência
-    }
-
-    /**
-     * NOVO: Método explícito para reset do contador global.
-     * Útil para testes e entre execuções.
-     */
-    public void resetGlobalCounter() {
-        this.globalSequentialCounter = 0;
+        // NÃO resetamos o contador, mantendo a sequência
     }
 
     /**
      * Obtém conjunto de labels em ordem reversa para estrutura switch-like.
-     * Modificado para usar a sequência global.
+     * Usa a sequência da compilação.
      */
     public String[] getSwitchLabels(int count) {
         // Criar array de labels
         String[] labels = new String[count];
 
         // Obter count valores sequenciais
-        int baseValue = globalSequentialCounter;
-        globalSequentialCounter += count;
+        int baseValue = context.nextLabels(count);
 
         for (int i = 0; i < count; i++) {
             labels[i] = String.valueOf(baseValue + i);
@@ -3,7 +3,7 @@ package pt.up.fe.comp2025.optimization.util;
 import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp2025.ast.TypeUtils;
-import pt.up.fe.specs.util.collections.AccumulatorMap;
+import pt.up.fe.comp2025.logging.Log;
 
 import static pt.up.fe.comp2025.ast.Kind.TYPE;
 
@@ -14,17 +14,18 @@ import static pt.up.fe.comp2025.ast.Kind.TYPE;
  */
 public class OptUtils {
 
-    private static AccumulatorMap<String> temporaries = new AccumulatorMap<>();
     private final TypeUtils types;
-    private int tmpCounter = 0;
+    private final CompilationContext context;
 
     /**
      * Constructs a new OptUtils instance.
      *
-     * @param types The TypeUtils instance for type conversions
+     * @param types   The TypeUtils instance for type conversions
+     * @param context The compilation whose temporaries are numbered
      */
-    public OptUtils(TypeUtils types) {
+    public OptUtils(TypeUtils types, CompilationContext context) {
         this.types = types;
+        this.context = context;
     }
 
     /**
@@ -33,7 +34,7 @@ public class OptUtils {
      * @return A unique temporary variable name
      */
     public String nextTemp() {
-        return "tmp" + (tmpCounter++);
+        return context.nextTemp();
     }
     /**
      * Creates a new temporary variable name with the specified prefix.
@@ -42,14 +43,13 @@ public class OptUtils {
      * @return A unique temporary variable name
      */
     public String nextTemp(String prefix) {
-        var nextTempNum = temporaries.add(prefix) - 1;
-        return prefix + nextTempNum;
+        return context.nextTemp(prefix);
     }
 
 
     public void resetTemporaries() {
-        tmpCounter = 0;
-        System.out.println("DEBUG: Contadores de temporários resetados");
+        context.resetTemporaries();
+        Log.debug("Contadores de temporários resetados");
     }
 
     /**
@@ -70,7 +70,7 @@ public class OptUtils {
      * @return The next number that would be assigned
      */
     public int peekNextTempNum(String prefix) {
-        return temporaries.getCount(prefix);
+        return context.peekNextTempNum(prefix);
     }
 
 
@@ -9,8 +9,15 @@ import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.JavammLexer;
 import pt.up.fe.comp2025.JavammParser;
+import pt.up.fe.comp2025.metrics.CompilerMetrics;
+import pt.up.fe.comp2025.metrics.StageTimer;
+import pt.up.fe.specs.util.SpecsSystem;
 
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Copyright 2022 SPeCS.
@@ -27,6 +34,13 @@ import java.util.Map;
 
 public class JmmParserImpl implements JmmParser {
 
+    /**
+     * AntlrParser finds the starting rule through SpecsSystem.invoke, which caches reflective lookups in a plain
+     * HashMap. Rules are resolved once under the write lock, so that concurrent parses only ever read that cache.
+     */
+    private static final ReadWriteLock RULE_CACHE_LOCK = new ReentrantReadWriteLock();
+    private static final Set<String> RESOLVED_RULES = ConcurrentHashMap.newKeySet();
+
     @Override
     public String getDefaultRule() {
         return "program";
@@ -35,7 +49,7 @@ public class JmmParserImpl implements JmmParser {
     @Override
     public JmmParserResult parse(String jmmCode, String startingRule, Map<String, String> config) {
 
-        try {
+        try (StageTimer timer = CompilerMetrics.stage("parse")) {
             // Convert code string into a character stream
             var input = new ANTLRInputStream(jmmCode);
             // Transform characters into tokens using the lexer
@@ -47,7 +61,15 @@ public class JmmParserImpl implements JmmParser {
 
 
             // Convert ANTLR CST to JmmNode AST
-            var r = AntlrParser.parse(lex, parser, startingRule, config);
+            resolveRule(startingRule);
+
+            JmmParserResult r;
+            RULE_CACHE_LOCK.readLock().lock();
+            try {
+                r = AntlrParser.parse(lex, parser, startingRule, config);
+            } finally {
+                RULE_CACHE_LOCK.readLock().unlock();
+            }
 
             //if (r.getRootNode() != null) {
             //    System.out.println("AST:\n" + r.getRootNode().toTree());
@@ -60,4 +82,18 @@ public class JmmParserImpl implements JmmParser {
             return JmmParserResult.newError(Report.newError(Stage.SYNTATIC, -1, -1, "Exception during parsing", e), config);
         }
     }
+
+    private static void resolveRule(String startingRule) {
+        if (RESOLVED_RULES.contains(startingRule)) {
+            return;
+        }
+
+        RULE_CACHE_LOCK.writeLock().lock();
+        try {
+            SpecsSystem.getMethod(JavammParser.class, startingRule);
+            RESOLVED_RULES.add(startingRule);
+        } finally {
+            RULE_CACHE_LOCK.writeLock().unlock();
+        }
+    }
 }
@@ -4,6 +4,7 @@ import pt.up.fe.comp.jmm.analysis.table.Symbol;
 import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp2025.ast.ArrayType;
+import pt.up.fe.comp2025.logging.Log;
 import pt.up.fe.specs.util.exceptions.NotImplementedException;
 
 import java.util.*;
@@ -61,7 +62,7 @@ public class JmmSymbolTable extends AJmmSymbolTable {
             return;
         }
 
-        System.out.println("DEBUG: Registrando símbolo " + symbolName +
+        Log.debug(() -> "Registrando símbolo " + symbolName +
                 " como array com " + dimensions + " dimensões" +
                 (methodName != null ? " no método " + methodName : " como campo"));
 
@@ -90,7 +91,7 @@ public class JmmSymbolTable extends AJmmSymbolTable {
 
         Type returnType = getReturnType(methodName);
         if (returnType != null && !returnType.isArray()) {
-            System.out.println("WARN: Tentativa de registrar dimensões para método que não retorna array: " + methodName);
+            Log.warn(() -> "Tentativa de registrar dimensões para método que não retorna array: " + methodName);
         }
     }
 
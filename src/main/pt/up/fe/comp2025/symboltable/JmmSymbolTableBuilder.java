@@ -7,6 +7,8 @@ import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.ast.ArrayType;
 import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.logging.LogLevel;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -18,7 +20,6 @@ import java.util.Set;
 public class JmmSymbolTableBuilder {
 
     private List<Report> reports;
-    private static final boolean DEBUG = true;
 
     private Map<String, String> methodSignaturesToNames;
     private Map<String, List<Symbol>> methodSignaturesToParams;
@@ -39,26 +40,19 @@ public class JmmSymbolTableBuilder {
         this.methodSignaturesToParams = new HashMap<>();
         this.methodSignaturesToReturnTypes = new HashMap<>();
 
-        if (DEBUG) {
-            System.out.println("SymbolTableBuilder ----- Root da AST");
-            System.out.println(root.toTree());
-        }
+        Log.debug(() -> "SymbolTableBuilder ----- Root da AST\n" + root.toTree());
 
         List<String> imports = buildImports(root);
         JmmNode classDecl = findClassDeclaration(root);
         if (classDecl == null) {
-            if (DEBUG) {
-                System.out.println(">>> 'CLASS_DECL' not found in AST!");
-            }
+            Log.debug(">>> 'CLASS_DECL' not found in AST!");
             reports.add(newError(root, "No class declaration found in AST"));
             return createEmptyTable(imports);
         }
 
         String className = classDecl.get("name");
         String superClass = classDecl.hasAttribute("extendsId") ? classDecl.get("extendsId") : null;
-        if (DEBUG) {
-            System.out.println(">>> CLASS_DECL with name: " + className + ", super=" + superClass);
-        }
+        Log.debug(() -> ">>> CLASS_DECL with name: " + className + ", super=" + superClass);
 
         List<Symbol> fields = buildFields(classDecl);
         buildMethods(classDecl);
@@ -268,13 +262,13 @@ public class JmmSymbolTableBuilder {
 
                 List<Symbol> methodParams = extractMethodParameters(methodNode);
                 String signature = buildMethodSignature(methodName, methodParams);
-                System.out.println("DEBUG: Generated signature for method: " + signature);
+                Log.debug(() -> "Generated signature for method: " + signature);
                 methodSignaturesToNames.put(signature, methodName);
                 methodSignaturesToParams.put(signature, methodParams);
                 Type returnType = extractMethodReturnType(methodNode);
                 methodSignaturesToReturnTypes.put(signature, returnType);
 
-                System.out.println("DEBUG: Method signature " + signature +
+                Log.debug(() -> "Method signature " + signature +
                         " has return type " + returnType.getName() +
                         (returnType.isArray() ? "[]" : ""));
             }
@@ -364,8 +358,10 @@ public class JmmSymbolTableBuilder {
             if (dimensions > 0) {
                 String baseTypeName = paramType.getName();
                 paramType = new ArrayType(baseTypeName, dimensions);
-                System.out.println("DEBUG: Parameter " + paramName + " is an array with " +
-                        dimensions + " dimensions (recursive count)");
+                if (Log.isEnabled(LogLevel.DEBUG)) {
+                    Log.debug("Parameter " + paramName + " is an array with " +
+                            dimensions + " dimensions (recursive count)");
+                }
             }
         }
 
@@ -374,7 +370,7 @@ public class JmmSymbolTableBuilder {
 
     private Map<String, List<Symbol>> buildLocals(JmmNode classDecl, List<String> methods) {
         Map<String, List<Symbol>> localsMap = new HashMap<>();
-        System.out.println("DEBUG buildLocals: Building local variables for class " +
+        Log.debug(() -> "buildLocals: Building local variables for class " +
                 (classDecl.hasAttribute("name") ? classDecl.get("name") : "unknown"));
 
         for (String method : methods) {
@@ -383,16 +379,16 @@ public class JmmSymbolTableBuilder {
 
         JmmNode classBody = findFirstChildByKind(classDecl, "CLASS_BODY");
         if (classBody == null) {
-            System.out.println("  DEBUG No CLASS_BODY found");
+            Log.debug("  No CLASS_BODY found");
             return localsMap;
         }
 
-        System.out.println("  DEBUG Found CLASS_BODY, processing method declarations");
+        Log.debug("  Found CLASS_BODY, processing method declarations");
 
         for (JmmNode methodNode : classBody.getChildren()) {
             if (isMethodDeclaration(methodNode) && methodNode.hasAttribute("name")) {
                 String methodName = methodNode.get("name");
-                System.out.println("  DEBUG Processing method: " + methodName);
+                Log.debug(() -> "  Processing method: " + methodName);
 
                 List<Symbol> params = extractMethodParameters(methodNode);
                 String signature = buildMethodSignature(methodName, params);
@@ -405,11 +401,11 @@ public class JmmSymbolTableBuilder {
                     collectAllVariableDeclarations(methodBody, locals);
                 }
 
-                System.out.println("  DEBUG Collected " + locals.size() +
+                Log.debug(() -> "  Collected " + locals.size() +
                         " local variables for method " + signature);
 
                 localsMap.put(methodName, locals);
-                System.out.println("  DEBUG Added locals for method: " + methodName);
+                Log.debug(() -> "  Added locals for method: " + methodName);
             }
         }
 
@@ -424,7 +420,7 @@ public class JmmSymbolTableBuilder {
                     Symbol symbol = convertVarDeclToSymbol(child);
                     if (symbol != null) {
                         vars.add(symbol);
-                        System.out.println("    DEBUG Added local variable: " + symbol.getName() +
+                        Log.debug(() -> "    Added local variable: " + symbol.getName() +
                                 " : " + symbol.getType().getName() +
                                 (symbol.getType().isArray() ? "[]" : ""));
                     }
@@ -434,7 +430,7 @@ public class JmmSymbolTableBuilder {
             Symbol symbol = convertVarDeclToSymbol(node);
             if (symbol != null) {
                 vars.add(symbol);
-                System.out.println("    DEBUG Added local variable: " + symbol.getName() +
+                Log.debug(() -> "    Added local variable: " + symbol.getName() +
                         " : " + symbol.getType().getName() +
                         (symbol.getType().isArray() ? "[]" : ""));
             }
@@ -451,18 +447,18 @@ public class JmmSymbolTableBuilder {
         }
 
         String varName = varDeclNode.get("name");
-        System.out.println("DEBUG varDeclToSymbol: Processing VAR_DECL for variable '" + varName + "'");
+        Log.debug(() -> "varDeclToSymbol: Processing VAR_DECL for variable '" + varName + "'");
 
         Type varType = TypeUtils.newIntType(); // Default to int
         JmmNode typeNode = findFirstChildByKind(varDeclNode, "TYPE");
 
         if (typeNode != null) {
-            System.out.println("  DEBUG Type node: " + typeNode.getKind() +
+            Log.debug(() -> "  Type node: " + typeNode.getKind() +
                     (typeNode.hasAttribute("name") ? " name=" + typeNode.get("name") : ""));
-            System.out.println("  DEBUG Type node children:");
+            Log.debug("  Type node children:");
 
             for (JmmNode child : typeNode.getChildren()) {
-                System.out.println("    - " + child.getKind());
+                Log.debug(() -> "    - " + child.getKind());
             }
 
             varType = TypeUtils.convertType(typeNode);
@@ -472,15 +468,17 @@ public class JmmSymbolTableBuilder {
                 if (dimensions > 0) {
                     String baseTypeName = varType.getName();
                     varType = new ArrayType(baseTypeName, dimensions);
-                    System.out.println("  DEBUG Variable " + varName + " is an array with " +
+                    Log.debug(() -> "  Variable " + varName + " is an array with " +
                             dimensions + " dimensions (recursive count)");
                 }
             }
 
-            System.out.println("  DEBUG Converted to type: " + varType.getName() +
-                    (varType.isArray() ? "[]" : ""));
+            if (Log.isEnabled(LogLevel.DEBUG)) {
+                Log.debug("  Converted to type: " + varType.getName() +
+                        (varType.isArray() ? "[]" : ""));
+            }
         } else {
-            System.out.println("  DEBUG No TYPE node found, defaulting to int");
+            Log.debug("  No TYPE node found, defaulting to int");
         }
 
         return new Symbol(varType, varName);
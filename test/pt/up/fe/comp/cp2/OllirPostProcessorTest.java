@@ -0,0 +1,88 @@
+package pt.up.fe.comp.cp2;
+
+import org.junit.Test;
+import pt.up.fe.comp2025.optimization.ollir.processor.OllirPostProcessor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OllirPostProcessorTest {
+
+    private static String process(String... lines) {
+        return new OllirPostProcessor().process(String.join("\n", lines) + "\n");
+    }
+
+    @Test
+    public void temporariesAreRenumberedInOrderOfAppearance() {
+        var code = process(
+                "A {",
+                ".method public f().i32 {",
+                "    tmp7.i32 :=.i32 1.i32;",
+                "    tmp3.i32 :=.i32 tmp7.i32;",
+                "    xtmp9.i32 :=.i32 tmp3.i32;",
+                "    ret.i32 tmp7.i32;",
+                "}",
+                "}");
+
+        assertTrue(code, code.contains("tmp0.i32 :=.i32 1.i32;"));
+        assertTrue(code, code.contains("tmp1.i32 :=.i32 tmp0.i32;"));
+        assertTrue(code, code.contains("xtmp9.i32 :=.i32 tmp1.i32;"));
+        assertTrue(code, code.contains("ret.i32 tmp0.i32;"));
+    }
+
+    @Test
+    public void importsAreFixedAndFieldsMovedBeforeMembers() {
+        var code = process(
+                "import a.b.[];",
+                "A {",
+                ".field private x.i32;",
+                ".construct A().V {",
+                "    invokespecial(this, \"<init>\").V;",
+                "}",
+                ".field private y.bool;",
+                ".method public f().V {",
+                "    ret.V;",
+                "}",
+                ".field private z.i32;",
+                "}");
+
+        assertEquals(String.join("\n",
+                "import a.b;",
+                "A {",
+                ".field private x.i32;",
+                ".field private y.bool;",
+                ".field private z.i32;",
+                ".construct A().V {",
+                "    invokespecial(this, \"<init>\").V;",
+                "}",
+                ".method public f().V {",
+                "    ret.V;",
+                "}",
+                "}", ""), code);
+    }
+
+    @Test
+    public void emptyMethodsGetADefaultReturnAndBodiesAreIndentedOnce() {
+        var code = process(
+                "A {",
+                ".method public f(a.i32).i32 {",
+                "// nada",
+                "}",
+                ".method public g().V {",
+                "a.i32 :=.i32 1.i32;",
+                "        ret.V;",
+                "}",
+                "}");
+
+        assertEquals(String.join("\n",
+                "A {",
+                ".method public f(a.i32).i32 {",
+                "    ret.i32 0.i32;",
+                "}",
+                ".method public g().V {",
+                "    a.i32 :=.i32 1.i32;",
+                "        ret.V;",
+                "}",
+                "}", ""), code);
+    }
+}
@@ -0,0 +1,66 @@
+package pt.up.fe.comp.driver;
+
+import org.junit.Test;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.driver.BatchCompiler;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BatchCompilerTest {
+
+    private static final String BASE_PATH = "pt/up/fe/comp/cp2/ollir/basic/";
+
+    private static File copyToTemp(File folder, String filename) {
+        var file = new File(folder, filename);
+        SpecsIo.write(file, SpecsIo.getResource(BASE_PATH + filename));
+        return file;
+    }
+
+    @Test
+    public void compilesEveryFileAndWritesOutputsSideBySide() {
+        var folder = SpecsIo.getTempFolder("batch_compiler_test");
+        SpecsIo.deleteFolderContents(folder);
+
+        var inputs = List.of(
+                copyToTemp(folder, "BasicClass.jmm"),
+                copyToTemp(folder, "BasicMethodInvocation.jmm"),
+                copyToTemp(folder, "BasicAssignment.jmm"));
+
+        var results = new BatchCompiler(CompilerConfig.getDefault(), 2).compileAll(inputs);
+
+        assertEquals(inputs.size(), results.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            var result = results.get(i);
+            assertEquals(inputs.get(i), result.getInput());
+            assertTrue("Expected " + result.getInput() + " to compile: " + result.getResult().getReports(),
+                    result.getResult().isSuccess());
+
+            var baseName = SpecsIo.removeExtension(inputs.get(i).getName());
+            assertTrue(new File(folder, baseName + ".ollir").isFile());
+            assertTrue(new File(folder, baseName + ".j").isFile());
+        }
+    }
+
+    @Test
+    public void reportsFailuresPerFile() {
+        var folder = SpecsIo.getTempFolder("batch_compiler_test_errors");
+        SpecsIo.deleteFolderContents(folder);
+
+        var broken = new File(folder, "Broken.jmm");
+        SpecsIo.write(broken, "class Broken { public int foo() { return ; } }");
+
+        var inputs = List.of(copyToTemp(folder, "BasicClass.jmm"), broken);
+        var results = new BatchCompiler(CompilerConfig.getDefault(), 2).compileAll(inputs);
+
+        assertTrue(results.get(0).getResult().isSuccess());
+        assertFalse(results.get(1).getResult().isSuccess());
+        assertTrue(results.get(1).getOutputs().isEmpty());
+        assertTrue(BatchCompiler.summarize(results).contains("1 of 2 files compiled successfully"));
+    }
+}
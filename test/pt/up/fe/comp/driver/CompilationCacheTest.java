@@ -0,0 +1,96 @@
+package pt.up.fe.comp.driver;
+
+import org.junit.Test;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.driver.CompilationCache;
+import pt.up.fe.comp2025.driver.CompilationResult;
+import pt.up.fe.comp2025.driver.CompilerPipeline;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CompilationCacheTest {
+
+    private static Path emptyCacheFolder(String name) {
+        var folder = SpecsIo.getTempFolder(name);
+        SpecsIo.deleteFolderContents(folder);
+        return folder.toPath();
+    }
+
+    @Test
+    public void keyDependsOnSourceAndOptions() {
+        var config = CompilerConfig.getDefault();
+        var optimized = CompilerConfig.getDefault();
+        optimized.put(ConfigOptions.getOptimize(), "true");
+        var exact = CompilerConfig.getDefault();
+        exact.put(ConfigOptions.getExactColoringNodes(), "5");
+        var budget = CompilerConfig.getDefault();
+        budget.put(ConfigOptions.getAllocationBudget(), "1");
+
+        assertEquals(CompilationCache.key("class A {}", config), CompilationCache.key("class A {}", config));
+        assertNotEquals(CompilationCache.key("class A {}", config), CompilationCache.key("class B {}", config));
+        assertNotEquals(CompilationCache.key("class A {}", config), CompilationCache.key("class A {}", optimized));
+        assertNotEquals(CompilationCache.key("class A {}", config), CompilationCache.key("class A {}", exact));
+        assertNotEquals(CompilationCache.key("class A {}", config), CompilationCache.key("class A {}", budget));
+    }
+
+    @Test
+    public void pipelineReusesCachedResult() {
+        var cache = new CompilationCache(emptyCacheFolder("compilation_cache_test"), 1024 * 1024);
+        var code = SpecsIo.getResource("pt/up/fe/comp/cp2/ollir/basic/BasicClass.jmm");
+        var config = CompilerConfig.getDefault();
+        var pipeline = new CompilerPipeline(cache);
+
+        var compiled = pipeline.compile(code, config);
+        assertTrue(compiled.getReports().toString(), compiled.isSuccess());
+
+        var cached = cache.lookup(CompilationCache.key(code, config));
+        assertTrue(cached.isPresent());
+        assertEquals(compiled.getJasminCode(), cached.get().getJasminCode());
+        assertEquals(compiled.getOllirCode(), cached.get().getOllirCode());
+        assertEquals(compiled.getReports().size(), cached.get().getReports().size());
+
+        assertEquals(compiled.getJasminCode(), pipeline.compile(code, config).getJasminCode());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedEntries() throws Exception {
+        var cache = new CompilationCache(emptyCacheFolder("compilation_cache_eviction_test"), 3000);
+        var jasmin = "x".repeat(1000);
+
+        cache.store("first", new CompilationResult("A", "", jasmin, List.of()));
+        Thread.sleep(20);
+        cache.store("second", new CompilationResult("B", "", jasmin, List.of()));
+        Thread.sleep(20);
+
+        // Using the first entry makes the second one the least recently used
+        assertTrue(cache.lookup("first").isPresent());
+        Thread.sleep(20);
+        cache.store("third", new CompilationResult("C", "", jasmin, List.of()));
+
+        assertTrue(cache.size() <= 3000);
+        assertTrue(cache.lookup("first").isPresent());
+        assertFalse(cache.lookup("second").isPresent());
+        assertTrue(cache.lookup("third").isPresent());
+    }
+
+    @Test
+    public void crashesAreNotCached() {
+        var cache = new CompilationCache(emptyCacheFolder("compilation_cache_crash_test"), 1024 * 1024);
+        var crash = new Report(ReportType.ERROR, Stage.OTHER, -1, -1, "Exception during compilation");
+
+        cache.store("crash", CompilationResult.failed(List.of(crash)));
+
+        assertFalse(cache.lookup("crash").isPresent());
+    }
+}
@@ -0,0 +1,147 @@
+package pt.up.fe.comp.driver;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.junit.Test;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.driver.CompileDaemon;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CompileDaemonTest {
+
+    private static Thread start(CompileDaemon daemon, Path socket) throws InterruptedException {
+        var server = new Thread(() -> {
+            try {
+                daemon.serve();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        server.start();
+
+        // Wait for the socket to be bound
+        for (int i = 0; i < 100 && !Files.exists(socket); i++) {
+            Thread.sleep(50);
+        }
+        return server;
+    }
+
+    private static JsonObject send(String request, BufferedReader reader, Writer writer) throws IOException {
+        writer.write(request + "\n");
+        writer.flush();
+        return JsonParser.parseString(reader.readLine()).getAsJsonObject();
+    }
+
+    @Test
+    public void compilesRequestsUntilShutdown() throws Exception {
+        Path socket = SpecsIo.getTempFolder("compile_daemon_test").toPath().resolve("jmm.sock");
+        var daemon = new CompileDaemon(socket.toString(), CompilerConfig.getDefault());
+        var server = start(daemon, socket);
+
+        try (var channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+
+            var reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+            Writer writer = new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8);
+
+            var request = new JsonObject();
+            request.addProperty("id", 1);
+            request.addProperty("source", SpecsIo.getResource("pt/up/fe/comp/cp2/ollir/basic/BasicClass.jmm"));
+            request.addProperty("registerAllocation", 0);
+
+            var response = send(request.toString(), reader, writer);
+            assertEquals(1, response.get("id").getAsInt());
+            assertTrue(response.get("reports").toString(), response.get("success").getAsBoolean());
+            assertTrue(response.get("jasmin").getAsString().contains(".class"));
+
+            var errorResponse = send("{\"id\": 2, \"source\": \"class {\"}", reader, writer);
+            assertEquals(2, errorResponse.get("id").getAsInt());
+            assertFalse(errorResponse.get("success").getAsBoolean());
+
+            assertTrue(send("{\"command\": \"shutdown\"}", reader, writer).get("shutdown").getAsBoolean());
+        }
+
+        server.join(5000);
+        assertFalse(server.isAlive());
+    }
+
+    @Test
+    public void malformedFieldsGetAnErrorResponse() throws Exception {
+        var folder = SpecsIo.getTempFolder("compile_daemon_test_fields").toPath();
+        Path socket = folder.resolve("jmm.sock");
+        // With a cache, the options are also hashed into the cache key before any stage runs
+        var config = CompilerConfig.parseArgs(new String[]{"-s=" + socket, "-c=" + folder.resolve("cache")});
+        var server = start(new CompileDaemon(socket.toString(), config), socket);
+
+        try (var channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+
+            var reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+            Writer writer = new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8);
+
+            var source = new JsonPrimitive(SpecsIo.getResource("pt/up/fe/comp/cp2/ollir/basic/BasicClass.jmm"));
+            var requests = List.of(
+                    "{\"id\": 1, \"source\": {\"x\": 1}}",
+                    "{\"id\": 2, \"source\": " + source + ", \"registerAllocation\": \"abc\"}",
+                    "{\"id\": 3, \"source\": " + source + ", \"allocator\": \"unknown\"}",
+                    "{\"id\": 4, \"source\": " + source + ", \"allocationBudget\": 0}",
+                    "{\"id\": 5, \"source\": " + source + ", \"exactColoringNodes\": [1]}",
+                    "{\"id\": 6, \"command\": {}}");
+            for (int i = 0; i < requests.size(); i++) {
+                var response = send(requests.get(i), reader, writer);
+                assertEquals(response.toString(), i + 1, response.get("id").getAsInt());
+                assertFalse(response.toString(), response.get("success").getAsBoolean());
+                assertTrue(response.toString(), response.has("error"));
+            }
+
+            // The daemon still compiles valid requests afterwards
+            var response = send("{\"id\": 7, \"source\": " + source + ", \"registerAllocation\": 0}", reader, writer);
+            assertTrue(response.get("reports").toString(), response.get("success").getAsBoolean());
+
+            assertTrue(send("{\"command\": \"shutdown\"}", reader, writer).get("shutdown").getAsBoolean());
+        }
+
+        server.join(5000);
+        assertFalse(server.isAlive());
+    }
+
+    @Test
+    public void refusesToReplaceFilesThatAreNotSockets() throws Exception {
+        Path file = SpecsIo.getTempFolder("compile_daemon_test").toPath().resolve("not-a-socket.txt");
+        Files.writeString(file, "keep me");
+        var daemon = new CompileDaemon(file.toString(), CompilerConfig.getDefault());
+
+        try {
+            daemon.serve();
+            fail("Expected the daemon to refuse " + file);
+        } catch (FileAlreadyExistsException e) {
+            assertEquals("keep me", Files.readString(file));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAnEmptyAddress() {
+        new CompileDaemon("", CompilerConfig.getDefault());
+    }
+}
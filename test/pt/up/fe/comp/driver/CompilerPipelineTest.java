@@ -0,0 +1,62 @@
+package pt.up.fe.comp.driver;
+
+import org.junit.Test;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.driver.CompilationResult;
+import pt.up.fe.comp2025.driver.CompilerPipeline;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CompilerPipelineTest {
+
+    @Test
+    public void concurrentCompilationsNumberLabelsAndTemporariesIndependently() throws Exception {
+        var code = SpecsIo.getResource("pt/up/fe/comp/cp2/ollir/extra/ComplexWhile.jmm");
+        var pipeline = new CompilerPipeline();
+        var expected = pipeline.compile(code, CompilerConfig.getDefault());
+        assertTrue(expected.getReports().toString(), expected.isSuccess());
+
+        int compilations = 8;
+        ExecutorService workers = Executors.newFixedThreadPool(compilations);
+        try {
+            var start = new CountDownLatch(1);
+            List<Future<CompilationResult>> results = new ArrayList<>();
+            for (int i = 0; i < compilations; i++) {
+                results.add(workers.submit(() -> {
+                    start.await();
+                    return pipeline.compile(code, CompilerConfig.getDefault());
+                }));
+            }
+            start.countDown();
+
+            for (var result : results) {
+                assertEquals(expected.getOllirCode(), result.get().getOllirCode());
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void postProcessorReportsReachTheResult() {
+        var code = "class A { public int f() { int a; a = 1; return a + 2 * a; } "
+                + "public static void main(String[] args) { } }";
+        var result = new CompilerPipeline().compile(code, CompilerConfig.getDefault());
+
+        assertTrue(result.getReports().toString(), result.isSuccess());
+        // Renumbering the temporaries of 'f' is reported by the post-processor
+        assertTrue(result.getReports().toString(), result.getReports().stream()
+                .anyMatch(report -> report.getType() == ReportType.LOG
+                        && report.getMessage().startsWith("Renumeração concluída")));
+    }
+}
@@ -0,0 +1,75 @@
+package pt.up.fe.comp.generator;
+
+import org.junit.Test;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.driver.CompilerPipeline;
+import pt.up.fe.comp2025.generator.GeneratorOptions;
+import pt.up.fe.comp2025.generator.ProgramGenerator;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ProgramGeneratorTest {
+
+    private static GeneratorOptions smallProgram() {
+        return new GeneratorOptions()
+                .setClasses(2)
+                .setMethodsPerClass(4)
+                .setStatementsPerMethod(15)
+                .setNestingDepth(3)
+                .setLocals(5)
+                .setArrays(2)
+                .setCallFanOut(2);
+    }
+
+    @Test
+    public void generatedProgramsCompile() {
+        var pipeline = new CompilerPipeline();
+        var allocated = CompilerConfig.getDefault();
+        allocated.put(ConfigOptions.getRegister(), "0");
+
+        for (var seed = 0; seed < 3; seed++) {
+            for (var code : new ProgramGenerator(smallProgram().setSeed(seed)).generate()) {
+                var result = pipeline.compile(code, CompilerConfig.getDefault());
+                assertTrue(code + "\n" + result.getReports(), result.isSuccess());
+
+                var allocatedResult = pipeline.compile(code, allocated);
+                assertTrue(code + "\n" + allocatedResult.getReports(), allocatedResult.isSuccess());
+            }
+        }
+    }
+
+    @Test
+    public void sameOptionsGenerateSamePrograms() {
+        assertEquals(new ProgramGenerator(smallProgram()).generate(), new ProgramGenerator(smallProgram()).generate());
+        assertNotEquals(new ProgramGenerator(smallProgram()).generate(),
+                new ProgramGenerator(smallProgram().setSeed(7)).generate());
+    }
+
+    @Test
+    public void programsGrowWithTheOptions() {
+        long small = lines(new ProgramGenerator(smallProgram()).generate());
+        long moreMethods = lines(new ProgramGenerator(smallProgram().setMethodsPerClass(8)).generate());
+        long moreStatements = lines(new ProgramGenerator(smallProgram().setStatementsPerMethod(60)).generate());
+
+        assertTrue(moreMethods > small);
+        assertTrue(moreStatements > small);
+    }
+
+    @Test
+    public void generatesRequestedNumberOfLines() {
+        var sources = new ProgramGenerator(smallProgram()).generateLines(5000);
+        var lastClass = ProgramGenerator.countLines(sources.get(sources.size() - 1));
+
+        assertTrue(lines(sources) >= 5000);
+        assertTrue(lines(sources) < 5000 + lastClass);
+    }
+
+    private static long lines(List<String> sources) {
+        return sources.stream().mapToLong(ProgramGenerator::countLines).sum();
+    }
+}
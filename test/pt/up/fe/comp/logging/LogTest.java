@@ -0,0 +1,59 @@
+package pt.up.fe.comp.logging;
+
+import org.junit.After;
+import org.junit.Test;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.logging.Log;
+import pt.up.fe.comp2025.logging.LogLevel;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LogTest {
+
+    @After
+    public void restoreDefaults() {
+        Log.setLevel(CompilerConfig.getLogLevel(CompilerConfig.getDefault()));
+        Log.setOutput(System.err);
+    }
+
+    @Test
+    public void disabledLevelsDoNotBuildMessages() {
+        var output = new ByteArrayOutputStream();
+        Log.setOutput(new PrintStream(output, true));
+        Log.setLevel(LogLevel.INFO);
+
+        Log.debug(() -> {
+            fail("Debug message built while the level is INFO");
+            return "";
+        });
+        Log.info(() -> "shown");
+        Log.warn("also shown");
+
+        assertEquals("[INFO] shown" + System.lineSeparator() + "[WARN] also shown" + System.lineSeparator(),
+                output.toString());
+    }
+
+    @Test
+    public void offDisablesEveryLevel() {
+        Log.setLevel(LogLevel.OFF);
+
+        for (LogLevel level : LogLevel.values()) {
+            assertFalse(Log.isEnabled(level));
+        }
+    }
+
+    @Test
+    public void levelIsReadFromConfig() {
+        assertEquals(LogLevel.WARN, CompilerConfig.getLogLevel(CompilerConfig.getDefault()));
+        assertEquals(LogLevel.TRACE, CompilerConfig.getLogLevel(
+                CompilerConfig.parseArgs(new String[]{"-l=trace", "-s=0"})));
+        assertTrue(CompilerConfig.getLogLevel(CompilerConfig.parseArgs(new String[]{"-l", "-s=0"}))
+                .compareTo(LogLevel.INFO) > 0);
+    }
+}
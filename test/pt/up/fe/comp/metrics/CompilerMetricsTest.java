@@ -0,0 +1,101 @@
+package pt.up.fe.comp.metrics;
+
+import org.junit.Test;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.driver.CompilerPipeline;
+import pt.up.fe.comp2025.metrics.CompilerMetrics;
+import pt.up.fe.comp2025.metrics.StageMetrics;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CompilerMetricsTest {
+
+    private static List<String> paths(CompilerMetrics metrics) {
+        return metrics.getStages().stream().map(StageMetrics::getPath).collect(Collectors.toList());
+    }
+
+    @Test
+    public void nestedStagesAreListedUnderTheirParent() {
+        var metrics = new CompilerMetrics();
+
+        try (var scope = metrics.install()) {
+            try (var outer = CompilerMetrics.stage("outer")) {
+                for (int i = 0; i < 3; i++) {
+                    try (var inner = CompilerMetrics.stage("inner")) {
+                        // Nothing to measure
+                    }
+                }
+            }
+            try (var other = CompilerMetrics.stage("other")) {
+                // Nothing to measure
+            }
+        }
+
+        // Not installed anymore, so this stage is not recorded
+        try (var ignored = CompilerMetrics.stage("ignored")) {
+            // Nothing to measure
+        }
+
+        assertEquals(List.of("outer", "outer/inner", "other"), paths(metrics));
+        assertEquals(3, metrics.getStages().get(1).getInvocations());
+        assertEquals(1, metrics.getStages().get(1).getDepth());
+        assertTrue(metrics.getStages().get(0).getWallNanos() >= metrics.getStages().get(1).getWallNanos());
+    }
+
+    @Test
+    public void forkedStagesAreListedUnderTheRunningStage() throws Exception {
+        var metrics = new CompilerMetrics();
+
+        try (var scope = metrics.install()) {
+            try (var outer = CompilerMetrics.stage("outer")) {
+                var forked = CompilerMetrics.fork();
+                var worker = new Thread(() -> {
+                    try (var workerScope = forked.install()) {
+                        CompilerMetrics.measure("task", () -> {
+                            CompilerMetrics.count("items", 2);
+                            return null;
+                        });
+                    }
+                });
+                worker.start();
+                worker.join();
+                CompilerMetrics.join(forked);
+            }
+        }
+
+        assertEquals(List.of("outer", "outer/task"), paths(metrics));
+        assertEquals(1, metrics.getStages().get(1).getDepth());
+        assertEquals(2L, (long) metrics.getStages().get(1).getCounters().get("items"));
+    }
+
+    @Test
+    public void pipelineReportsEveryStage() {
+        var config = CompilerConfig.getDefault();
+        config.put(ConfigOptions.getOptimize(), "true");
+        config.put(ConfigOptions.getRegister(), "0");
+        config.put(ConfigOptions.getMetrics(), "json");
+
+        var code = SpecsIo.getResource("pt/up/fe/comp/cp2/ollir/basic/BasicMethodInvocation.jmm");
+        var result = new CompilerPipeline().compile(code, config);
+
+        assertTrue(result.getReports().toString(), result.isSuccess());
+        var stages = paths(result.getMetrics().orElseThrow());
+        for (var expected : List.of("parse", "symbol-table", "analysis/UndeclaredVariable", "ast-optimization/iteration-1",
+                "ollir-generation/visitor", "ollir-generation/post-processor", "register-allocation/allocate",
+                "jasmin-generation")) {
+            assertTrue("Missing stage '" + expected + "' in " + stages, stages.contains(expected));
+        }
+
+        var visitor = result.getMetrics().orElseThrow().getStages().stream()
+                .filter(stage -> stage.getPath().equals("ollir-generation/visitor"))
+                .findFirst().orElseThrow();
+        assertTrue(visitor.getCounters().toString(), visitor.getCounters().get("expr-cache-misses") > 0);
+        assertTrue(visitor.getCounters().toString(), visitor.getCounters().containsKey("expr-cache-hits"));
+    }
+}
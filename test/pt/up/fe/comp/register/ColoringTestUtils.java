@@ -0,0 +1,45 @@
+package pt.up.fe.comp.register;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Graphs and checks shared by the graph coloring tests.
+ */
+public class ColoringTestUtils {
+
+    /**
+     * @param edges Edges written as "a-b"
+     * @return The undirected graph with the given edges, as an adjacency map
+     */
+    public static Map<String, Set<String>> graph(String... edges) {
+        Map<String, Set<String>> graph = new HashMap<>();
+        for (String edge : edges) {
+            String[] ends = edge.split("-");
+            graph.computeIfAbsent(ends[0], key -> new HashSet<>()).add(ends[1]);
+            graph.computeIfAbsent(ends[1], key -> new HashSet<>()).add(ends[0]);
+        }
+        return graph;
+    }
+
+    /**
+     * @return The number of colors used, taking colors as numbered from 0
+     */
+    public static int colors(Map<String, Integer> coloring) {
+        return coloring.values().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+    }
+
+    /**
+     * Checks that every node of the graph is colored and that no two neighbors share a color.
+     */
+    public static void assertProper(Map<String, Set<String>> graph, Map<String, Integer> coloring) {
+        assertEquals(graph.keySet(), coloring.keySet());
+        graph.forEach((node, neighbors) -> neighbors.forEach(neighbor ->
+                assertNotEquals(node + " and " + neighbor, coloring.get(node), coloring.get(neighbor))));
+    }
+}
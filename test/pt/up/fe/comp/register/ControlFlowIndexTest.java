@@ -0,0 +1,100 @@
+package pt.up.fe.comp.register;
+
+import org.junit.Test;
+import org.specs.comp.ollir.Method;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.optimization.register.analysis.LiveRanges;
+import pt.up.fe.comp2025.optimization.register.analysis.LivenessAnalyzer;
+import pt.up.fe.comp2025.optimization.util.ControlFlowIndex;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static pt.up.fe.comp.register.OllirTestUtils.*;
+
+public class ControlFlowIndexTest {
+
+    // 0: i := 0, 1: s := 0, 2: if, 3: s := s + i, 4: i := i + 1, 5: goto, 6: ret
+    static final String LOOP = """
+            Loop {
+                .construct Loop().V {
+                    invokespecial(this, "<init>").V;
+                }
+
+                .method public sum(n.i32).i32 {
+                    i.i32 :=.i32 0.i32;
+                    s.i32 :=.i32 0.i32;
+                loop:
+                    if (i.i32 >=.bool n.i32) goto end;
+                    s.i32 :=.i32 s.i32 +.i32 i.i32;
+                    i.i32 :=.i32 i.i32 +.i32 1.i32;
+                    goto loop;
+                end:
+                    ret.i32 s.i32;
+                }
+            }
+            """;
+
+    private static Method sum() {
+        return method(LOOP, "sum");
+    }
+
+    @Test
+    public void edgesFollowLabels() {
+        var cfg = ControlFlowIndex.build(sum());
+
+        assertEquals(7, cfg.size());
+        assertArrayEquals(new int[]{1}, cfg.getSuccessors(0));
+        assertArrayEquals(new int[]{3, 6}, cfg.getSuccessors(2));
+        assertArrayEquals(new int[]{2}, cfg.getSuccessors(5));
+        assertArrayEquals(new int[0], cfg.getSuccessors(6));
+        assertArrayEquals(new int[]{1, 5}, cfg.getPredecessors(2));
+        assertArrayEquals(new int[]{2}, cfg.getPredecessors(6));
+
+        assertEquals(2, cfg.indexOf("loop"));
+        assertEquals(6, cfg.indexOf("end"));
+        assertEquals(-1, cfg.indexOf("missing"));
+        assertEquals("end", cfg.getLabels(6).get(0));
+        assertTrue(cfg.getLabels(3).isEmpty());
+    }
+
+    @Test
+    public void instructionsAreGroupedInBlocks() {
+        var cfg = ControlFlowIndex.build(sum());
+
+        // [i := 0, s := 0] [if] [s := s + i, i := i + 1, goto] [ret]
+        assertEquals(4, cfg.getBlockCount());
+        assertEquals(0, cfg.getBlockStart(0));
+        assertEquals(2, cfg.getBlockEnd(0));
+        assertEquals(3, cfg.getBlockStart(2));
+        assertEquals(6, cfg.getBlockEnd(2));
+        assertEquals(2, cfg.getBlockOf(5));
+        assertArrayEquals(new int[]{2, 3}, cfg.getBlockSuccessors(1));
+        assertArrayEquals(new int[]{1}, cfg.getBlockSuccessors(2));
+        assertArrayEquals(new int[]{0, 2}, cfg.getBlockPredecessors(1));
+    }
+
+    @Test
+    public void loopDepthCountsEnclosingLoops() {
+        var cfg = ControlFlowIndex.build(sum());
+
+        // The condition and the body are in the loop, the blocks before and after it are not
+        assertEquals(0, cfg.getLoopDepth(0));
+        assertEquals(1, cfg.getLoopDepth(1));
+        assertEquals(1, cfg.getLoopDepth(2));
+        assertEquals(0, cfg.getLoopDepth(3));
+    }
+
+    @Test
+    public void livenessFollowsTheLoopBack() {
+        LiveRanges ranges = new LivenessAnalyzer().analyze(sum());
+
+        // Variables read by the loop condition stay live across the back edge
+        assertTrue(ranges.getPoints("i").get(5));
+        assertTrue(ranges.getPoints("n").get(5));
+        assertTrue(ranges.getPoints("s").get(6));
+        assertFalse(ranges.getPoints("i").get(6));
+        assertFalse(ranges.getPoints("s").get(0));
+    }
+}
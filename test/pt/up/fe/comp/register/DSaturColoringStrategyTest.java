@@ -0,0 +1,55 @@
+package pt.up.fe.comp.register;
+
+import org.junit.Test;
+import pt.up.fe.comp2025.optimization.register.analysis.InterferenceGraph;
+import pt.up.fe.comp2025.optimization.register.coloring.DSaturColoringStrategy;
+
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static pt.up.fe.comp.register.ColoringTestUtils.*;
+
+public class DSaturColoringStrategyTest {
+
+    @Test
+    public void crownGraphIsColoredWithTwoColors() {
+        // Ordering by degree alone may use four colors here, but saturation keeps each side on one color
+        var graph = graph("a1-b2", "a1-b3", "a1-b4", "a2-b1", "a2-b3", "a2-b4",
+                "a3-b1", "a3-b2", "a3-b4", "a4-b1", "a4-b2", "a4-b3");
+        var coloring = new DSaturColoringStrategy().colorGraph(InterferenceGraph.of(graph));
+
+        assertProper(graph, coloring);
+        assertEquals(2, colors(coloring));
+    }
+
+    @Test
+    public void precoloredNodesAndThisKeepTheirRegisters() {
+        var graph = graph("this-a", "this-b", "this-n", "a-b", "b-n");
+        graph.computeIfAbsent("d", key -> new HashSet<>());
+        var coloring = new DSaturColoringStrategy().colorGraph(InterferenceGraph.of(graph), Map.of("n", 1));
+
+        assertProper(graph, coloring);
+        assertEquals(0, (int) coloring.get("this"));
+        assertEquals(1, (int) coloring.get("n"));
+        // 'd' interferes with nothing in the graph, but 'this' always holds its register
+        assertNotEquals(0, (int) coloring.get("d"));
+    }
+
+    @Test
+    public void specialParametersGetDedicatedRegisters() {
+        var graph = graph("args-a");
+        graph.computeIfAbsent("b", key -> new HashSet<>());
+        var coloring = new DSaturColoringStrategy().colorGraph(InterferenceGraph.of(graph));
+
+        assertProper(graph, coloring);
+        int args = coloring.get("args");
+        assertEquals(1, coloring.values().stream().filter(color -> color == args).count());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void limitedColoringFailsWhenColorsAreMissing() {
+        new DSaturColoringStrategy().colorLimited(InterferenceGraph.of(graph("a-b", "b-c", "c-a")), 2);
+    }
+}
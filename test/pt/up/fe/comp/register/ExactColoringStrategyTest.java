@@ -0,0 +1,70 @@
+package pt.up.fe.comp.register;
+
+import org.junit.Test;
+import pt.up.fe.comp2025.optimization.register.analysis.InterferenceGraph;
+import pt.up.fe.comp2025.optimization.register.coloring.DSaturColoringStrategy;
+import pt.up.fe.comp2025.optimization.register.coloring.ExactColoringStrategy;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static pt.up.fe.comp.register.ColoringTestUtils.*;
+
+public class ExactColoringStrategyTest {
+
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    // Grötzsch graph: no triangles, so the clique bound is 2, but 4 colors are needed
+    private static Map<String, Set<String>> grotzsch() {
+        return graph("a-b", "b-c", "c-d", "d-e", "e-a",
+                "ua-b", "ua-e", "ub-a", "ub-c", "uc-b", "uc-d", "ud-c", "ud-e", "ue-d", "ue-a",
+                "w-ua", "w-ub", "w-uc", "w-ud", "w-ue");
+    }
+
+    @Test
+    public void searchProvesTheChromaticNumberBeyondTheCliqueBound() {
+        var graph = grotzsch();
+        var coloring = new ExactColoringStrategy(40, UNLIMITED, UNLIMITED).colorGraph(InterferenceGraph.of(graph));
+
+        assertProper(graph, coloring);
+        assertEquals(4, colors(coloring));
+    }
+
+    @Test
+    public void oddCycleWithThisNeedsFourRegisters() {
+        var graph = graph("a-b", "b-c", "c-d", "d-e", "e-a", "this-a", "this-b", "this-c", "this-d", "this-e");
+        var coloring = new ExactColoringStrategy(40, UNLIMITED, UNLIMITED)
+                .colorGraph(InterferenceGraph.of(graph), Map.of("this", 0));
+
+        assertProper(graph, coloring);
+        assertEquals(0, (int) coloring.get("this"));
+        assertEquals(4, colors(coloring));
+    }
+
+    @Test
+    public void precoloredNodesKeepTheirRegisters() {
+        // 'a' and 'b' interfere with neither parameter, so they can share registers 0 to 2 with them
+        var graph = graph("n-m", "a-b");
+        var coloring = new ExactColoringStrategy(40, UNLIMITED, UNLIMITED)
+                .colorGraph(InterferenceGraph.of(graph), Map.of("n", 1, "m", 2));
+
+        assertProper(graph, coloring);
+        assertEquals(1, (int) coloring.get("n"));
+        assertEquals(2, (int) coloring.get("m"));
+        assertEquals(3, colors(coloring));
+    }
+
+    @Test
+    public void largeGraphsAndExhaustedBudgetsKeepTheHeuristicColoring() {
+        var graph = grotzsch();
+        var heuristic = new DSaturColoringStrategy().colorGraph(InterferenceGraph.of(graph));
+
+        assertEquals(heuristic,
+                new ExactColoringStrategy(5, UNLIMITED, UNLIMITED).colorGraph(InterferenceGraph.of(graph)));
+
+        var coloring = new ExactColoringStrategy(40, 1, UNLIMITED).colorGraph(InterferenceGraph.of(graph));
+        assertProper(graph, coloring);
+        assertEquals(colors(heuristic), colors(coloring));
+    }
+}
@@ -0,0 +1,49 @@
+package pt.up.fe.comp.register;
+
+import org.junit.Test;
+import pt.up.fe.comp2025.optimization.register.analysis.InterferenceGraph;
+import pt.up.fe.comp2025.optimization.register.coloring.GreedyColoringStrategy;
+import pt.up.fe.comp2025.optimization.register.coloring.GreedyColoringStrategy.Order;
+
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static pt.up.fe.comp.register.ColoringTestUtils.*;
+
+public class GreedyColoringStrategyTest {
+
+    @Test
+    public void bothOrdersKeepPrecoloredNodesAndTheRegisterOfThis() {
+        var graph = graph("this-a", "this-b", "this-n", "a-b", "b-c", "c-n", "a-n");
+        graph.computeIfAbsent("d", key -> new HashSet<>());
+
+        for (Order order : Order.values()) {
+            var coloring = new GreedyColoringStrategy(order)
+                    .colorGraph(InterferenceGraph.of(graph), Map.of("this", 0, "n", 1));
+
+            assertProper(graph, coloring);
+            assertEquals(0, (int) coloring.get("this"));
+            assertEquals(1, (int) coloring.get("n"));
+            // 'd' interferes with nothing in the graph, but 'this' always holds its register
+            assertNotEquals(0, (int) coloring.get("d"));
+        }
+    }
+
+    @Test
+    public void smallestLastColorsTreesWithTwoColors() {
+        // Every subgraph of a tree has a node with at most one neighbour, which smallest last colors after it
+        var graph = graph("a-x", "b-x", "x-y", "y-p", "y-q", "y-r", "p-c", "q-d", "r-e", "c-f", "d-g", "e-h");
+
+        var coloring = new GreedyColoringStrategy(Order.SMALLEST_LAST).colorGraph(InterferenceGraph.of(graph));
+        assertProper(graph, coloring);
+        assertEquals(2, colors(coloring));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void limitedColoringFailsWhenColorsAreMissing() {
+        new GreedyColoringStrategy(Order.LARGEST_FIRST)
+                .colorLimited(InterferenceGraph.of(graph("a-b", "b-c", "c-a")), 2);
+    }
+}
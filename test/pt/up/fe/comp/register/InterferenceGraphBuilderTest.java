@@ -0,0 +1,84 @@
+package pt.up.fe.comp.register;
+
+import org.junit.Test;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.optimization.register.analysis.InterferenceGraph;
+import pt.up.fe.comp2025.optimization.register.analysis.InterferenceGraphBuilder;
+import pt.up.fe.comp2025.optimization.register.analysis.LivenessAnalyzer;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static pt.up.fe.comp.register.OllirTestUtils.*;
+
+public class InterferenceGraphBuilderTest {
+
+    // 'v' is live at 0-1 and 4-5, 't' only in the hole at 2-3
+    static final String HOLE = """
+            Hole {
+                .construct Hole().V {
+                    invokespecial(this, "<init>").V;
+                }
+
+                .method public hole().i32 {
+                    v.i32 :=.i32 1.i32;
+                    w.i32 :=.i32 v.i32;
+                    t.i32 :=.i32 5.i32;
+                    u.i32 :=.i32 t.i32 +.i32 w.i32;
+                    v.i32 :=.i32 u.i32;
+                    ret.i32 v.i32;
+                }
+            }
+            """;
+
+    private static InterferenceGraph graph(String ollirCode, String name) {
+        return new InterferenceGraphBuilder().build(new LivenessAnalyzer().analyze(method(ollirCode, name)));
+    }
+
+    @Test
+    public void onlySimultaneouslyLiveVariablesInterfere() {
+        InterferenceGraph graph = graph(HOLE, "hole");
+
+        assertTrue(graph.interferes("w", "t"));
+        assertTrue(graph.interferes("t", "w"));
+        // The interval of 'v' contains the one of 't', but they are never live together
+        assertFalse(graph.interferes("v", "t"));
+    }
+
+    @Test
+    public void thisInterferesWithEveryVariable() {
+        InterferenceGraph graph = graph(HOLE, "hole");
+
+        for (String variable : new String[]{"v", "w", "t", "u"}) {
+            assertTrue(graph.interferes("this", variable));
+        }
+    }
+
+    @Test
+    public void neighborsAreSortedAndSymmetric() {
+        InterferenceGraph graph = graph(ControlFlowIndexTest.LOOP, "sum");
+
+        assertTrue(graph.interferes("i", "s"));
+        assertTrue(graph.interferes("i", "n"));
+        assertTrue(graph.interferes("s", "n"));
+
+        for (int var = 0; var < graph.size(); var++) {
+            int[] neighbors = graph.getNeighbors(var);
+            int[] sorted = neighbors.clone();
+            Arrays.sort(sorted);
+            assertArrayEquals(sorted, neighbors);
+
+            for (int neighbor : neighbors) {
+                assertTrue(graph.interferes(neighbor, var));
+            }
+        }
+
+        assertEquals(graph.getEdgeCount() * 2, IntStream.range(0, graph.size())
+                .map(graph::getDegree)
+                .sum());
+    }
+}
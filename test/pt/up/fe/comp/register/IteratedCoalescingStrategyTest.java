@@ -0,0 +1,96 @@
+package pt.up.fe.comp.register;
+
+import org.junit.Test;
+import org.specs.comp.ollir.Method;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.optimization.register.analysis.InterferenceGraph;
+import pt.up.fe.comp2025.optimization.register.analysis.InterferenceGraphBuilder;
+import pt.up.fe.comp2025.optimization.register.analysis.LiveRanges;
+import pt.up.fe.comp2025.optimization.register.analysis.LivenessAnalyzer;
+import pt.up.fe.comp2025.optimization.register.coloring.IteratedCoalescingStrategy;
+import pt.up.fe.comp2025.optimization.util.ControlFlowIndex;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static pt.up.fe.comp.register.OllirTestUtils.*;
+
+public class IteratedCoalescingStrategyTest {
+
+    // Each variable is a copy of the previous one, which is dead after the copy
+    static final String CHAIN = """
+            Chain {
+                .construct Chain().V {
+                    invokespecial(this, "<init>").V;
+                }
+
+                .method public chain(n.i32).i32 {
+                    a.i32 :=.i32 n.i32 +.i32 1.i32;
+                    b.i32 :=.i32 a.i32;
+                    c.i32 :=.i32 b.i32;
+                    d.i32 :=.i32 c.i32;
+                    ret.i32 d.i32;
+                }
+            }
+            """;
+
+    @Test
+    public void copiesDoNotInterfereAtDefinitions() {
+        LiveRanges ranges = new LivenessAnalyzer().analyze(method(CHAIN, "chain"));
+        InterferenceGraph graph = new InterferenceGraphBuilder().buildAtDefinitions(ranges);
+
+        assertEquals(3, ranges.getCopies().size());
+        assertFalse(graph.interferes("a", "b"));
+        assertFalse(graph.interferes("b", "c"));
+        assertFalse(graph.interferes("c", "d"));
+        assertTrue(graph.interferes("this", "a"));
+    }
+
+    @Test
+    public void copyChainIsCoalescedIntoOneRegister() {
+        Method method = method(CHAIN, "chain");
+        LiveRanges ranges = new LivenessAnalyzer().analyze(method);
+        InterferenceGraph graph = new InterferenceGraphBuilder().buildAtDefinitions(ranges);
+        double[] costs = IteratedCoalescingStrategy.spillCosts(ranges, ControlFlowIndex.build(method));
+
+        var result = new IteratedCoalescingStrategy()
+                .allocateMinimal(graph, ranges, costs, Map.of("this", 0, "n", 1));
+
+        assertTrue(result.spilled().isEmpty());
+        assertEquals(3, result.coalescedCopies());
+        assertEquals(0, (int) result.registers().get("this"));
+        assertEquals(1, (int) result.registers().get("n"));
+        int register = result.registers().get("a");
+        for (String variable : new String[]{"b", "c", "d"}) {
+            assertEquals(variable, register, (int) result.registers().get(variable));
+        }
+    }
+
+    @Test
+    public void variablesInLoopsCostMore() {
+        Method method = method(ControlFlowIndexTest.LOOP, "sum");
+        LiveRanges ranges = new LivenessAnalyzer().analyze(method);
+        double[] costs = IteratedCoalescingStrategy.spillCosts(ranges, ControlFlowIndex.build(method));
+
+        // 'i' is accessed at one instruction before the loop and at three in it, 'n' at one in it
+        assertEquals(31, costs[ranges.indexOf("i")], 0);
+        assertEquals(10, costs[ranges.indexOf("n")], 0);
+    }
+
+    @Test
+    public void variablesThatDoNotFitAreSpilled() {
+        Method method = method(ControlFlowIndexTest.LOOP, "sum");
+        LiveRanges ranges = new LivenessAnalyzer().analyze(method);
+        InterferenceGraph graph = new InterferenceGraphBuilder().buildAtDefinitions(ranges);
+        double[] costs = IteratedCoalescingStrategy.spillCosts(ranges, ControlFlowIndex.build(method));
+
+        var result = new IteratedCoalescingStrategy().allocate(graph, ranges, costs, Map.of("this", 0, "n", 1), 3);
+
+        // 'i' and 's' are live together with 'this' and 'n', so the cheaper 's' has no register left
+        assertEquals(Set.of("s"), result.spilled());
+        assertEquals(3, result.registers().size());
+    }
+}
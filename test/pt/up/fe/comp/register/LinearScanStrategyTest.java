@@ -0,0 +1,80 @@
+package pt.up.fe.comp.register;
+
+import org.junit.Test;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.optimization.register.AllocationStrategy;
+import pt.up.fe.comp2025.optimization.register.RegisterAllocator;
+import pt.up.fe.comp2025.optimization.register.analysis.LiveRanges;
+import pt.up.fe.comp2025.optimization.register.analysis.LivenessAnalyzer;
+import pt.up.fe.comp2025.optimization.register.coloring.LinearScanStrategy;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static pt.up.fe.comp.register.OllirTestUtils.*;
+
+public class LinearScanStrategyTest {
+
+    private static LiveRanges ranges(String ollirCode, String name) {
+        return new LivenessAnalyzer().analyze(method(ollirCode, name));
+    }
+
+    private static void assertNoConflicts(LiveRanges ranges, Map<String, Integer> registers) {
+        for (String first : ranges.getVariables()) {
+            if (!first.equals("this")) {
+                assertNotEquals(first, registers.get("this"), registers.get(first));
+            }
+            for (String second : ranges.getVariables()) {
+                if (!first.equals(second) && ranges.overlap(first, second)) {
+                    assertNotEquals(first + " and " + second, registers.get(first), registers.get(second));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void intervalsDoNotShareRegisters() {
+        LiveRanges ranges = ranges(InterferenceGraphBuilderTest.HOLE, "hole");
+        Map<String, Integer> registers = new LinearScanStrategy(false).allocate(ranges, Map.of("this", 0));
+
+        assertNoConflicts(ranges, registers);
+        assertEquals(0, (int) registers.get("this"));
+        // The interval of 'v' contains the one of 't', so they do not share a register without binpacking
+        assertNotEquals(registers.get("v"), registers.get("t"));
+    }
+
+    @Test
+    public void binpackingFillsLifetimeHoles() {
+        LiveRanges ranges = ranges(InterferenceGraphBuilderTest.HOLE, "hole");
+        Map<String, Integer> registers = new LinearScanStrategy(true).allocate(ranges, Map.of("this", 0));
+
+        assertNoConflicts(ranges, registers);
+        assertEquals(registers.get("v"), registers.get("t"));
+    }
+
+    @Test
+    public void precoloredVariablesKeepTheirRegisters() {
+        LiveRanges ranges = ranges(ControlFlowIndexTest.LOOP, "sum");
+
+        for (boolean binpacking : new boolean[]{false, true}) {
+            Map<String, Integer> registers = new LinearScanStrategy(binpacking)
+                    .allocate(ranges, Map.of("this", 0, "n", 1));
+
+            assertNoConflicts(ranges, registers);
+            assertEquals(1, (int) registers.get("n"));
+            assertEquals(4, registers.values().stream().distinct().count());
+        }
+    }
+
+    @Test
+    public void parametersFollowThisWithEveryStrategy() {
+        for (AllocationStrategy strategy : AllocationStrategy.values()) {
+            var ollirClass = parse(ControlFlowIndexTest.LOOP);
+            var allocation = new RegisterAllocator(ollirClass, 0, strategy).allocate().get(method(ollirClass, "sum"));
+
+            assertEquals(strategy.getOptionName(), 0, allocation.getRegister("this"));
+            assertEquals(strategy.getOptionName(), 1, allocation.getRegister("n"));
+        }
+    }
+}
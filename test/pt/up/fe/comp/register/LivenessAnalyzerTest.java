@@ -0,0 +1,72 @@
+package pt.up.fe.comp.register;
+
+import org.junit.Test;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.metrics.CompilerMetrics;
+import pt.up.fe.comp2025.metrics.StageMetrics;
+import pt.up.fe.comp2025.optimization.register.analysis.LiveRanges;
+import pt.up.fe.comp2025.optimization.register.analysis.LivenessAnalyzer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static pt.up.fe.comp.register.OllirTestUtils.*;
+
+public class LivenessAnalyzerTest {
+
+    // 0: a := new, 1: b := p, 2: a[i] := b, 3: d := 1, 4: ret a[i]
+    private static final String COPIES = """
+            Copies {
+                .construct Copies().V {
+                    invokespecial(this, "<init>").V;
+                }
+
+                .method public store(p.i32, i.i32).i32 {
+                    a.array.i32 :=.array.i32 new(array, 8.i32).array.i32;
+                    b.i32 :=.i32 p.i32;
+                    a[i.i32].i32 :=.i32 b.i32;
+                    d.i32 :=.i32 1.i32;
+                    ret.i32 a[i.i32].i32;
+                }
+            }
+            """;
+
+    @Test
+    public void copiesAndArrayStoresAreUses() {
+        LiveRanges ranges = new LivenessAnalyzer().analyze(method(COPIES, "store"));
+
+        // 'p' is read by the copy, 'b' by the store, 'a' and 'i' by the store and the return
+        assertTrue(ranges.getPoints("p").get(1));
+        assertTrue(ranges.getPoints("b").get(2));
+        assertFalse(ranges.getPoints("b").get(3));
+        assertTrue(ranges.getPoints("a").get(3));
+        assertTrue(ranges.getPoints("i").get(4));
+    }
+
+    @Test
+    public void deadDefinitionsStillTakeAPoint() {
+        LiveRanges ranges = new LivenessAnalyzer().analyze(method(COPIES, "store"));
+
+        // 'd' is never read, but writing it must not clobber 'a' or 'i'
+        assertEquals(1, ranges.getPoints("d").cardinality());
+        assertTrue(ranges.overlap("d", "a"));
+        assertTrue(ranges.overlap("d", "i"));
+    }
+
+    @Test
+    public void solverReportsItsWork() {
+        var method = method(ControlFlowIndexTest.LOOP, "sum");
+        var metrics = new CompilerMetrics();
+
+        try (var scope = metrics.install()) {
+            CompilerMetrics.measure("liveness", () -> new LivenessAnalyzer().analyze(method));
+        }
+
+        StageMetrics liveness = metrics.getStages().get(0);
+        assertEquals(4L, (long) liveness.getCounters().get("blocks"));
+        // One visit per block, plus the blocks of the loop once the back edge is known
+        long visits = liveness.getCounters().get("visits");
+        assertTrue("Visits: " + visits, visits >= 4 && visits <= 7);
+        assertTrue(liveness.getCounters().get("iterations") <= 2);
+    }
+}
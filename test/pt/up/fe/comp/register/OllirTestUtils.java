@@ -0,0 +1,36 @@
+package pt.up.fe.comp.register;
+
+import org.specs.comp.ollir.ClassUnit;
+import org.specs.comp.ollir.Method;
+import pt.up.fe.comp.jmm.ollir.OllirResult;
+import pt.up.fe.comp2025.CompilerConfig;
+
+/**
+ * Parsing of the OLLIR code used by the register allocation tests.
+ */
+public class OllirTestUtils {
+
+    /**
+     * @return The class of the given OLLIR code, parsed with the default configuration
+     */
+    public static ClassUnit parse(String ollirCode) {
+        return new OllirResult(ollirCode, CompilerConfig.getDefault()).getOllirClass();
+    }
+
+    /**
+     * @return The method of the class with the given name
+     */
+    public static Method method(ClassUnit ollirClass, String name) {
+        return ollirClass.getMethods().stream()
+                .filter(method -> method.getMethodName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    /**
+     * @return The method with the given name of the class in the OLLIR code
+     */
+    public static Method method(String ollirCode, String name) {
+        return method(parse(ollirCode), name);
+    }
+}
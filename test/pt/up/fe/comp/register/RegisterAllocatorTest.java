@@ -0,0 +1,153 @@
+package pt.up.fe.comp.register;
+
+import org.junit.Test;
+import org.specs.comp.ollir.Method;
+import pt.up.fe.comp.jmm.ollir.OllirResult;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.backend.JasminBackendImpl;
+import pt.up.fe.comp2025.optimization.register.AllocationStrategy;
+import pt.up.fe.comp2025.optimization.register.RegisterAllocator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static pt.up.fe.comp.register.OllirTestUtils.*;
+
+public class RegisterAllocatorTest {
+
+    private static String manyMethods(int count) {
+        StringBuilder code = new StringBuilder("""
+                Many {
+                    .construct Many().V {
+                        invokespecial(this, "<init>").V;
+                    }
+                """);
+        for (int i = 0; i < count; i++) {
+            code.append("""
+                        .method public m%d(n.i32).i32 {
+                            a.i32 :=.i32 n.i32 +.i32 %d.i32;
+                            b.i32 :=.i32 a.i32 *.i32 a.i32;
+                            c.i32 :=.i32 b.i32 -.i32 n.i32;
+                            ret.i32 c.i32;
+                        }
+                    """.formatted(i, i));
+        }
+        return code.append("}\n").toString();
+    }
+
+    // 'v0' to 'v69' are all live at the call, so the interference graph is nearly complete
+    private static String denseMethod() {
+        StringBuilder code = new StringBuilder("""
+                Dense {
+                    .construct Dense().V {
+                        invokespecial(this, "<init>").V;
+                    }
+
+                    .method public f(n.i32).i32 {
+                """);
+        StringJoiner arguments = new StringJoiner(", ");
+        for (int i = 0; i < 70; i++) {
+            code.append("        v%d.i32 :=.i32 n.i32 +.i32 %d.i32;\n".formatted(i, i));
+            arguments.add("v" + i + ".i32");
+        }
+        code.append("        r.i32 :=.i32 invokestatic(Dense, \"g\", ").append(arguments).append(").i32;\n");
+        return code.append("""
+                        ret.i32 r.i32;
+                    }
+                }
+                """).toString();
+    }
+
+    private static boolean hasMessage(RegisterAllocator allocator, String text) {
+        return allocator.getReports().stream().anyMatch(report -> report.getMessage().contains(text));
+    }
+
+    private static List<String> allocationMessages(List<Report> reports) {
+        return reports.stream()
+                .map(Report::getMessage)
+                .filter(message -> message.startsWith("Alocando registradores para o método"))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void parallelAllocationMergesReportsInMethodOrder() {
+        int count = RegisterAllocator.PARALLEL_THRESHOLD * 4;
+        var ollirClass = parse(manyMethods(count));
+        var allocator = new RegisterAllocator(ollirClass, 0);
+        var allocation = allocator.allocate();
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            expected.add("Alocando registradores para o método m" + i);
+        }
+        assertEquals(expected, allocationMessages(allocator.getReports()));
+
+        for (Method method : ollirClass.getMethods()) {
+            if (method.isConstructMethod()) {
+                continue;
+            }
+            assertEquals(0, allocation.get(method).getRegister("this"));
+            assertEquals(1, allocation.get(method).getRegister("n"));
+        }
+        assertEquals(3, allocator.getActualRegisterCount());
+    }
+
+    @Test
+    public void autoUsesExactColoringOnLargeDenseGraphs() {
+        var ollirClass = parse(denseMethod());
+        var allocator = new RegisterAllocator(ollirClass, 0);
+        allocator.allocate();
+
+        // Above the limit of the exact coloring, which then colors with DSatur
+        assertTrue(hasMessage(allocator, "com a estratégia exact"));
+        assertTrue(hasMessage(allocator, "(exact, "));
+
+        // The small methods of the same program still coalesce
+        ollirClass = parse(manyMethods(1));
+        allocator = new RegisterAllocator(ollirClass, 0);
+        allocator.allocate();
+        assertTrue(hasMessage(allocator, "com a estratégia coalesce"));
+    }
+
+    @Test
+    public void coalescingPastTheBudgetFallsBackToBinpacking() {
+        var ollirClass = parse(manyMethods(1));
+        var allocator = new RegisterAllocator(ollirClass, 0, AllocationStrategy.COALESCING, 0,
+                RegisterAllocator.EXACT_COLORING_NODES);
+        var allocation = allocator.allocate();
+
+        // With 'this' and 'n' only, 'a' does not fit, and trying again is already past the budget
+        assertTrue(hasMessage(allocator, "usando binpack"));
+        assertTrue(hasMessage(allocator, "(binpack, "));
+        Method m0 = ollirClass.getMethods().stream()
+                .filter(method -> method.getMethodName().equals("m0"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(0, allocation.get(m0).getRegister("this"));
+        assertEquals(1, allocation.get(m0).getRegister("n"));
+    }
+
+    @Test
+    public void backendReadsTheAllocationWithoutChangesToTheDescriptors() {
+        var ollirResult = new OllirResult(manyMethods(1), CompilerConfig.getDefault());
+        Method m0 = ollirResult.getOllirClass().getMethods().stream()
+                .filter(method -> method.getMethodName().equals("m0"))
+                .findFirst()
+                .orElseThrow();
+        int registerOfC = m0.getVarTable().get("c").getVirtualReg();
+
+        var allocation = new RegisterAllocator(ollirResult.getOllirClass(), 0).allocate();
+        assertEquals(registerOfC, m0.getVarTable().get("c").getVirtualReg());
+
+        // 'this', 'n' and one register shared by 'a', 'b' and 'c'
+        var backend = new JasminBackendImpl();
+        assertTrue(backend.toJasmin(ollirResult).getJasminCode().contains(".limit locals 5"));
+        String jasminCode = backend.toJasmin(ollirResult, allocation, List.of()).getJasminCode();
+        assertTrue(jasminCode, jasminCode.contains(".limit locals 3"));
+    }
+}
@@ -0,0 +1,122 @@
+package pt.up.fe.comp.register;
+
+import org.junit.Test;
+import org.specs.comp.ollir.LiteralElement;
+import org.specs.comp.ollir.Method;
+import org.specs.comp.ollir.Operand;
+import org.specs.comp.ollir.inst.ArrayLengthInstruction;
+import org.specs.comp.ollir.inst.AssignInstruction;
+import org.specs.comp.ollir.inst.BinaryOpInstruction;
+import org.specs.comp.ollir.inst.CallInstruction;
+import org.specs.comp.ollir.inst.Instruction;
+import org.specs.comp.ollir.inst.ReturnInstruction;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.optimization.register.analysis.LivenessAnalyzer;
+import pt.up.fe.comp2025.optimization.register.spill.Rematerializer;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static pt.up.fe.comp.register.OllirTestUtils.*;
+
+public class RematerializerTest {
+
+    // 'tmp0' holds a literal, 'tmp1' holds 'this' and 'tmp2' the length of a parameter, used in the loop condition
+    static final String CONSTANTS = """
+            Constants {
+                .construct Constants().V {
+                    invokespecial(this, "<init>").V;
+                }
+
+                .method public f(a.array.i32).i32 {
+                    tmp0.i32 :=.i32 5.i32;
+                    tmp1.Constants :=.Constants this.Constants;
+                    tmp2.i32 :=.i32 arraylength(a.array.i32).i32;
+                    s.i32 :=.i32 0.i32;
+                    i.i32 :=.i32 0.i32;
+                loop:
+                    if (i.i32 >=.bool tmp2.i32) goto end;
+                    tmp3.i32 :=.i32 a.array.i32[i.i32].i32;
+                    s.i32 :=.i32 s.i32 +.i32 tmp3.i32;
+                    i.i32 :=.i32 i.i32 +.i32 1.i32;
+                    goto loop;
+                end:
+                    tmp4.i32 :=.i32 invokevirtual(tmp1.Constants, "g", tmp0.i32).i32;
+                    s.i32 :=.i32 s.i32 *.i32 tmp0.i32;
+                    ret.i32 s.i32;
+                }
+
+                .method public g(x.i32).i32 {
+                    ret.i32 x.i32;
+                }
+
+                .method public h(b.bool).i32 {
+                    c.array.i32 :=.array.i32 new(array, 1.i32).array.i32;
+                    if (b.bool) goto other;
+                    tmp0.i32 :=.i32 1.i32;
+                    goto join;
+                other:
+                    tmp0.i32 :=.i32 2.i32;
+                    c.array.i32 :=.array.i32 new(array, 2.i32).array.i32;
+                join:
+                    tmp1.i32 :=.i32 arraylength(c.array.i32).i32;
+                    tmp2.i32 :=.i32 tmp0.i32 +.i32 tmp1.i32;
+                    ret.i32 tmp2.i32;
+                }
+            }
+            """;
+
+    @Test
+    public void literalsAndThisReplaceTheirTemporaries() {
+        Method f = method(CONSTANTS, "f");
+        int instructions = f.getInstructions().size();
+
+        Set<String> removed = new Rematerializer(f).rematerialize();
+        assertEquals(Set.of("tmp0", "tmp1", "tmp2"), removed);
+        assertTrue(removed.stream().noneMatch(f.getVarTable()::containsKey));
+
+        // Three definitions removed and one length computed again, in the loop condition
+        assertEquals(instructions - 2, f.getInstructions().size());
+
+        var call = (CallInstruction) ((AssignInstruction) f.getLabels().get("end")).getRhs();
+        assertEquals("this", ((Operand) call.getCaller()).getName());
+        assertEquals("5", ((LiteralElement) call.getArguments().get(0)).getLiteral());
+
+        var product = (BinaryOpInstruction) ((AssignInstruction) instruction(f, -2)).getRhs();
+        assertEquals("5", ((LiteralElement) product.getRightOperand()).getLiteral());
+        assertTrue(instruction(f, -1) instanceof ReturnInstruction);
+    }
+
+    @Test
+    public void lengthIsComputedAgainBeforeEachUse() {
+        Method f = method(CONSTANTS, "f");
+        new Rematerializer(f).rematerialize();
+
+        // The loop starts at the new length, which only lives until the condition
+        var header = (AssignInstruction) f.getLabels().get("loop");
+        assertTrue(header.getRhs() instanceof ArrayLengthInstruction);
+        String length = ((Operand) header.getDest()).getName();
+        assertTrue(f.getVarTable().containsKey(length));
+        assertEquals(2, new LivenessAnalyzer().analyze(f).getPoints(length).cardinality());
+
+        // 's' is not a temporary and 'tmp3' is read from the array
+        assertTrue(f.getVarTable().containsKey("s"));
+        assertTrue(f.getVarTable().containsKey("tmp3"));
+    }
+
+    @Test
+    public void temporariesWithSeveralValuesAreKept() {
+        Method h = method(CONSTANTS, "h");
+        int instructions = h.getInstructions().size();
+
+        // 'tmp0' is assigned in both branches and 'c' may be either array when its length is taken
+        assertTrue(new Rematerializer(h).rematerialize().isEmpty());
+        assertEquals(instructions, h.getInstructions().size());
+        assertTrue(h.getVarTable().containsKey("tmp1"));
+    }
+
+    private static Instruction instruction(Method method, int fromEnd) {
+        return method.getInstructions().get(method.getInstructions().size() + fromEnd);
+    }
+}
@@ -0,0 +1,111 @@
+package pt.up.fe.comp.register;
+
+import org.junit.Test;
+import org.specs.comp.ollir.ArrayOperand;
+import org.specs.comp.ollir.ClassUnit;
+import org.specs.comp.ollir.Method;
+import org.specs.comp.ollir.Operand;
+import org.specs.comp.ollir.inst.AssignInstruction;
+import org.specs.comp.ollir.inst.SingleOpInstruction;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp2025.CompilerConfig;
+import pt.up.fe.comp2025.optimization.register.RegisterAllocator;
+import pt.up.fe.comp2025.optimization.register.analysis.LiveRanges;
+import pt.up.fe.comp2025.optimization.register.analysis.LivenessAnalyzer;
+import pt.up.fe.comp2025.optimization.register.spill.SpillRewriter;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static pt.up.fe.comp.register.OllirTestUtils.*;
+
+public class SpillRewriterTest {
+
+    // 'a', 'b', 'c', 'd' and 'i' are all live in the loop, besides 'this' and 'n'
+    static final String PRESSURE = """
+            Pressure {
+                .construct Pressure().V {
+                    invokespecial(this, "<init>").V;
+                }
+
+                .method public f(n.i32).i32 {
+                    a.i32 :=.i32 n.i32 +.i32 1.i32;
+                    b.i32 :=.i32 n.i32 +.i32 2.i32;
+                    c.i32 :=.i32 n.i32 +.i32 3.i32;
+                    d.i32 :=.i32 0.i32;
+                    i.i32 :=.i32 0.i32;
+                loop:
+                    if (i.i32 >=.bool n.i32) goto end;
+                    t.i32 :=.i32 a.i32 *.i32 b.i32;
+                    d.i32 :=.i32 d.i32 +.i32 t.i32;
+                    d.i32 :=.i32 d.i32 -.i32 c.i32;
+                    i.i32 :=.i32 i.i32 +.i32 1.i32;
+                    goto loop;
+                end:
+                    r.i32 :=.i32 d.i32 +.i32 a.i32;
+                    ret.i32 r.i32;
+                }
+            }
+            """;
+
+    @Test
+    public void spilledVariablesAreLoadedBeforeUsesAndStoredAfterDefinitions() {
+        Method sum = method(parse(ControlFlowIndexTest.LOOP), "sum");
+        int instructions = sum.getInstructions().size();
+
+        var spiller = new SpillRewriter(sum);
+        assertTrue(spiller.canSpill("i"));
+        assertFalse(spiller.canSpill("n"));
+
+        // 'i' is written twice and read by three instructions, 'i := i + 1' being both
+        assertEquals(5, spiller.spill(Set.of("i")));
+        assertEquals(instructions + 6, sum.getInstructions().size());
+        assertFalse(sum.getVarTable().containsKey("i"));
+        assertEquals(0, (int) spiller.getSlots().get("i"));
+
+        // The loop starts at the load of 'i' for the condition, not at the condition itself
+        var header = (AssignInstruction) sum.getLabels().get("loop");
+        var slot = (ArrayOperand) ((SingleOpInstruction) header.getRhs()).getSingleOperand();
+        String temporary = ((Operand) header.getDest()).getName();
+        assertTrue(sum.getVarTable().containsKey(slot.getName()));
+        assertFalse(spiller.canSpill(temporary));
+
+        // Temporaries only live at their load and at the instruction that reads them
+        LiveRanges ranges = new LivenessAnalyzer().analyze(sum);
+        assertEquals(2, ranges.getPoints(temporary).cardinality());
+    }
+
+    @Test
+    public void limitedAllocationSpillsUntilTheMethodFits() {
+        ClassUnit ollirClass = parse(PRESSURE);
+        var allocator = new RegisterAllocator(ollirClass, 3);
+        Method f = method(ollirClass, "f");
+        var allocation = allocator.allocate().get(f);
+
+        Set<Integer> registers = new HashSet<>(allocation.registers().values());
+        assertEquals(f.getVarTable().keySet(), allocation.registers().keySet());
+
+        // 'this' and 'n' plus the 3 registers given with '-r'
+        assertTrue("Registers: " + registers, registers.size() <= 5);
+        assertEquals(0, allocation.getRegister("this"));
+        assertEquals(1, allocation.getRegister("n"));
+        assertTrue(Set.of("a", "b", "c", "d", "i").stream().anyMatch(var -> !f.getVarTable().containsKey(var)));
+        assertTrue(allocator.getReports().stream().noneMatch(report -> report.getType() == ReportType.WARNING
+                || report.getType() == ReportType.ERROR));
+    }
+
+    @Test
+    public void limitIsRaisedWhenSpillingCannotMeetIt() {
+        ClassUnit ollirClass = parse(PRESSURE);
+        var allocator = new RegisterAllocator(ollirClass, 1);
+        var allocation = allocator.allocate();
+
+        // The spill array and two operands of an instruction need 3 registers
+        assertTrue(allocator.getReports().stream().anyMatch(report -> report.getType() == ReportType.WARNING));
+        assertTrue(allocator.getReports().stream().noneMatch(report -> report.getType() == ReportType.ERROR));
+        assertEquals(0, allocation.get(method(ollirClass, "f")).getRegister("this"));
+    }
+}